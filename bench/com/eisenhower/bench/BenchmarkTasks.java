@@ -0,0 +1,81 @@
+package com.eisenhower.bench;
+
+import com.eisenhower.util.Task;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Generates the tasks used by benchmarks, in a reproducible way.
+ */
+final class BenchmarkTasks {
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+
+    private BenchmarkTasks() {
+    }
+
+    /**
+     * Creates distinct atomic tasks, with a name, a date within a year and a time.
+     * Tasks are returned in random order, so that they are not already sorted.
+     *
+     * @param count the number of tasks to be created.
+     * @param seed  the seed of the random generator.
+     * @return a new list of tasks.
+     */
+    static List<Task> atomicTasks(int count, long seed) {
+        Random random = new Random(seed);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate date = FIRST_DATE.plusDays(random.nextInt(365));
+            LocalTime time = LocalTime.ofSecondOfDay(random.nextInt(24 * 60 * 60));
+            tasks.add(new Task("Task " + seed + "-" + i, date, time, true));
+        }
+        return tasks;
+    }
+
+    /**
+     * Creates a task with a chain of nested subtasks, each one having a single subtask.
+     *
+     * @param depth the number of nested subtasks.
+     * @return the root of the chain.
+     */
+    static Task deepTask(int depth) {
+        Task root = new Task("Deep", FIRST_DATE);
+        Task parent = root;
+        for (int i = 0; i < depth; i++) {
+            Task subtask = new Task("Deep " + i, FIRST_DATE);
+            parent.addSubtask(subtask);
+            parent = subtask;
+        }
+        return root;
+    }
+
+    /**
+     * Creates a task with many atomic subtasks.
+     *
+     * @param width the number of subtasks.
+     * @return the task holding the subtasks.
+     */
+    static Task wideTask(int width) {
+        Task root = new Task("Wide", FIRST_DATE);
+        for (Task subtask : atomicTasks(width, width)) {
+            root.addSubtask(subtask);
+        }
+        return root;
+    }
+
+    /**
+     * Returns the deepest subtask of a chain created by {@link #deepTask(int)}.
+     *
+     * @param root the root of the chain.
+     * @return the last task of the chain.
+     */
+    static Task leafOf(Task root) {
+        Task task = root;
+        while (!task.getSubtasks().isEmpty()) {
+            task = task.getSubtasks().iterator().next();
+        }
+        return task;
+    }
+}
@@ -0,0 +1,127 @@
+package com.eisenhower.bench;
+
+import com.eisenhower.matrix.ELongStorage;
+import com.eisenhower.matrix.LongBitmap;
+import com.eisenhower.matrix.LongEisenhowerMatrix;
+import com.eisenhower.util.Quadrant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures combining the quadrants of many {@link LongEisenhowerMatrix}es, as {@link HashSet}s of
+ * boxed identifiers against {@link LongBitmap}s, and the cost of each storage for single updates.
+ * <p>
+ * Each matrix holds {@value #TASKS} identifiers out of a shared range ten times larger, like the IDs
+ * of tasks shared between teams; {@value #MATRICES} matrices are combined per invocation.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BitmapBenchmark {
+
+    private static final int MATRICES = 1_000;
+    private static final int TASKS = 10_000;
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+
+    @Param({"HASH", "BITMAP"})
+    public ELongStorage storage;
+
+    private LongEisenhowerMatrix[] matrices;
+    private List<Set<Long>> urgentSets;
+    private List<LongBitmap> urgentBitmaps;
+    private LongEisenhowerMatrix updated;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        matrices = new LongEisenhowerMatrix[MATRICES];
+        for (int m = 0; m < MATRICES; m++) {
+            matrices[m] = new LongEisenhowerMatrix(ELongStorage.BITMAP);
+            for (int i = 0; i < TASKS; i++) {
+                matrices[m].addTask(random.nextInt(TASKS * 10), QUADRANTS[random.nextInt(QUADRANTS.length)]);
+            }
+        }
+        urgentSets = new ArrayList<>();
+        urgentBitmaps = new ArrayList<>();
+        for (LongEisenhowerMatrix matrix : matrices) {
+            LongBitmap urgent = matrix.getTasksBitmap(Quadrant.DO_IT_NOW);
+            urgent.or(matrix.getTasksBitmap(Quadrant.DELEGATE_OR_OPTIMIZE_IT));
+            urgentBitmaps.add(urgent);
+            Set<Long> set = new HashSet<>();
+            urgent.forEach(set::add);
+            urgentSets.add(set);
+        }
+        updated = this.addTask();
+    }
+
+    // ---- Combining matrices, independent of the storage parameter ---------- //
+
+    @Benchmark
+    public Set<Long> hashSetUnion() {
+        Set<Long> union = new HashSet<>();
+        for (Set<Long> set : urgentSets) {
+            union.addAll(set);
+        }
+        return union;
+    }
+
+    @Benchmark
+    public LongBitmap bitmapUnion() {
+        LongBitmap union = new LongBitmap();
+        for (LongBitmap bitmap : urgentBitmaps) {
+            union.or(bitmap);
+        }
+        return union;
+    }
+
+    @Benchmark
+    public void hashSetIntersectionOfPairs(Blackhole blackhole) {
+        for (int m = 1; m < MATRICES; m++) {
+            Set<Long> intersection = new HashSet<>(urgentSets.get(m - 1));
+            intersection.retainAll(urgentSets.get(m));
+            blackhole.consume(intersection);
+        }
+    }
+
+    @Benchmark
+    public void bitmapIntersectionOfPairs(Blackhole blackhole) {
+        for (int m = 1; m < MATRICES; m++) {
+            blackhole.consume(LongBitmap.and(urgentBitmaps.get(m - 1), urgentBitmaps.get(m)));
+        }
+    }
+
+    @Benchmark
+    public void getAllTasksBitmap(Blackhole blackhole) {
+        for (LongEisenhowerMatrix matrix : matrices) {
+            blackhole.consume(matrix.getAllTasksBitmap());
+        }
+    }
+
+    // ---- Single updates, for each storage --------------------------------- //
+
+    /**
+     * Fills a matrix of {@value #TASKS} identifiers with the given storage.
+     */
+    @Benchmark
+    public LongEisenhowerMatrix addTask() {
+        LongEisenhowerMatrix matrix = new LongEisenhowerMatrix(storage);
+        for (int i = 0; i < TASKS; i++) {
+            matrix.addTask(i * 7L % (TASKS * 10), QUADRANTS[i & 3]);
+        }
+        return matrix;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public void getQuadrant(Blackhole blackhole) {
+        for (int i = 0; i < TASKS; i++) {
+            blackhole.consume(updated.getQuadrant(i * 7L % (TASKS * 10)));
+        }
+    }
+}
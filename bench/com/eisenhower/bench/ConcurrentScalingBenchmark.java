@@ -0,0 +1,90 @@
+package com.eisenhower.bench;
+
+import com.eisenhower.matrix.ConcurrentEisenhowerMatrix;
+import com.eisenhower.matrix.EisenhowerMatrix;
+import com.eisenhower.matrix.EisenhowerMatrixSet;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the throughput of concurrent matrices, as the number of threads grows.
+ * <p>
+ * Each operation is drawn from a mix of 80% reads ({@code containsTask}, {@code getQuadrant}) and
+ * 20% writes ({@code addTask}, {@code removeTaskOccurrences}) on random tasks.
+ * {@link ConcurrentEisenhowerMatrix} is compared against an {@link EisenhowerMatrixSet}
+ * guarded by a single lock.
+ * </p>
+ *
+ * <p>The number of threads is set by the JMH option {@code -t} (e.g. {@code -t 8}); scaling beyond
+ * the number of available processors is not meaningful.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ConcurrentScalingBenchmark {
+
+    private static final int TASKS = 100_000;
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+
+    private List<Task> tasks;
+    private EisenhowerMatrix<Task> concurrent;
+    private EisenhowerMatrix<Task> locked;
+    private final Object lock = new Object();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        tasks = BenchmarkTasks.atomicTasks(TASKS, 0);
+        concurrent = new ConcurrentEisenhowerMatrix<>();
+        locked = new EisenhowerMatrixSet<>();
+        // Half of the tasks are held, so that lookups hit and miss equally
+        for (int i = 0; i < TASKS; i += 2) {
+            concurrent.addTask(tasks.get(i), QUADRANTS[i & 3]);
+            locked.addTask(tasks.get(i), QUADRANTS[i & 3]);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Benchmark
+    public Object concurrentMatrix() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return perform(concurrent, tasks.get(random.nextInt(TASKS)), random.nextInt(10));
+    }
+
+    @Benchmark
+    public Object singleLockMatrix() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Task task = tasks.get(random.nextInt(TASKS));
+        int operation = random.nextInt(10);
+        synchronized (lock) {
+            return perform(locked, task, operation);
+        }
+    }
+
+    /**
+     * Performs a single operation of the mix.
+     *
+     * @param matrix    the matrix.
+     * @param task      the task to operate on.
+     * @param operation a random number between 0 (inclusive) and 10 (exclusive).
+     * @return the result of the operation.
+     */
+    private static Object perform(EisenhowerMatrix<Task> matrix, Task task, int operation) {
+        if (operation < 4) {
+            return matrix.containsTask(task);
+        } else if (operation < 8) {
+            return matrix.getQuadrant(task);
+        } else if (operation == 8) {
+            return matrix.addTask(task, QUADRANTS[task.hashCode() & 3]);
+        } else {
+            return matrix.removeTaskOccurrences(task);
+        }
+    }
+}
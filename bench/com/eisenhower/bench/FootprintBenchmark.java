@@ -0,0 +1,45 @@
+package com.eisenhower.bench;
+
+import com.eisenhower.util.Task;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the heap taken by each {@link Task}, for a few typical shapes of task.
+ * <p>
+ * Each benchmark creates a single task, which is returned and therefore escapes. The footprint is
+ * the allocation per operation reported by the GC profiler ({@code -prof gc}, metric
+ * {@code gc.alloc.rate.norm}): since creating a task allocates nothing but the task itself and the
+ * objects it holds, this is the heap retained by the task. Shared values (names, dates) are
+ * allocated once, so that only the tasks themselves are measured.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FootprintBenchmark {
+
+    private static final String NAME = "Task";
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 1);
+
+    @Benchmark
+    public Task atomicTask() {
+        return new Task(NAME, DATE, true);
+    }
+
+    @Benchmark
+    public Task nonAtomicTaskWithoutSubtasks() {
+        return new Task(NAME, DATE, false);
+    }
+
+    @Benchmark
+    public Task atomicTaskWithCustomProperty() {
+        Task task = new Task(NAME, DATE, true);
+        task.putProperty("Custom", NAME);
+        return task;
+    }
+}
@@ -0,0 +1,132 @@
+package com.eisenhower.bench;
+
+import com.eisenhower.io.MatrixJournal;
+import com.eisenhower.matrix.EisenhowerMatrixList;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures logging changes with {@link MatrixJournal}, making each change durable on its own
+ * ({@code commitDelayMillis} 0) or in groups, and recovering a matrix of {@value #TASKS} tasks
+ * from a checkpoint and a log.
+ * <p>
+ * A new journal is opened for each iteration, on a copy of the recovered journal, so that the
+ * matrix holds {@value #TASKS} tasks without logging them again. Logging benchmarks add a task and
+ * remove it again, so that the matrix does not grow across iterations. With a commit delay, each
+ * change waits for its batch to be forced, so they measure the latency of a single thread.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+
+    private static final int TASKS = 100_000;
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+
+    @Param({"0", "5"})
+    public int commitDelayMillis;
+
+    private List<Task> tasks;
+    private Path directory;
+    private EisenhowerMatrixList<Task> matrix;
+    private MatrixJournal journal;
+    private Path recoveryDirectory;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        tasks = BenchmarkTasks.atomicTasks(TASKS, 0);
+
+        // Half of the tasks in the checkpoint, half in the log
+        recoveryDirectory = Files.createTempDirectory("journal");
+        EisenhowerMatrixList<Task> recovered = new EisenhowerMatrixList<>();
+        try (MatrixJournal recoveredJournal = new MatrixJournal(recoveryDirectory, recovered)) {
+            for (int i = 0; i < TASKS; i++) {
+                recovered.addTask(tasks.get(i), QUADRANTS[i & 3]);
+                if (i == TASKS / 2) {
+                    recoveredJournal.checkpoint();
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void openJournal() throws IOException {
+        directory = Files.createTempDirectory("journal");
+        try (var files = Files.list(recoveryDirectory)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, directory.resolve(file.getFileName()));
+            }
+        }
+        matrix = new EisenhowerMatrixList<>();
+        journal = new MatrixJournal(directory, matrix, Duration.ofMillis(commitDelayMillis));
+        journal.checkpoint();
+        tasks = new ArrayList<>(matrix.getAllTasks());
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeJournal() throws IOException {
+        journal.close();
+        delete(directory);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        delete(recoveryDirectory);
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public boolean addAndRemoveTask() {
+        Task task = this.nextTask();
+        return matrix.addTask(task, Quadrant.ELIMINATE_IT) & matrix.removeTask(task, Quadrant.ELIMINATE_IT);
+    }
+
+    @Benchmark
+    public Object putProperty() {
+        Task task = this.nextTask();
+        return task.putProperty(TaskProperties.LOCATION, "Room " + (next & 15));
+    }
+
+    /**
+     * Recovers the whole matrix, half from the checkpoint and half from the log.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public EisenhowerMatrixList<Task> recovery() throws IOException {
+        EisenhowerMatrixList<Task> recovered = new EisenhowerMatrixList<>();
+        new MatrixJournal(recoveryDirectory, recovered).close();
+        return recovered;
+    }
+
+    // -------------------------------------------------------------------------
+
+    private Task nextTask() {
+        Task task = tasks.get(next);
+        next = (next + 1 == TASKS) ? 0 : next + 1;
+        return task;
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}
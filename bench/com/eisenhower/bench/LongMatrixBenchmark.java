@@ -0,0 +1,98 @@
+package com.eisenhower.bench;
+
+import com.eisenhower.matrix.EisenhowerMatrixSet;
+import com.eisenhower.matrix.LongEisenhowerMatrix;
+import com.eisenhower.util.Quadrant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures tracking {@value #TASKS} task identifiers with {@link LongEisenhowerMatrix}, against
+ * boxed {@link Long}s in an {@link EisenhowerMatrixSet}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class LongMatrixBenchmark {
+
+    private static final int TASKS = 1_000_000;
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+
+    private long[] ids;
+    private EisenhowerMatrixSet<Long> boxed;
+    private LongEisenhowerMatrix primitive;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        ids = new long[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            ids[i] = random.nextLong();
+        }
+        boxed = this.boxedAddTask();
+        primitive = this.primitiveAddTask();
+    }
+
+    /**
+     * The position of a thread in the sequence of identifiers.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        int next() {
+            int current = next;
+            next = (current + 1 == TASKS) ? 0 : current + 1;
+            return current;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public EisenhowerMatrixSet<Long> boxedAddTask() {
+        EisenhowerMatrixSet<Long> matrix = new EisenhowerMatrixSet<>();
+        for (int i = 0; i < TASKS; i++) {
+            matrix.addTask(ids[i], QUADRANTS[i & 3]);
+        }
+        return matrix;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public LongEisenhowerMatrix primitiveAddTask() {
+        LongEisenhowerMatrix matrix = new LongEisenhowerMatrix();
+        for (int i = 0; i < TASKS; i++) {
+            matrix.addTask(ids[i], QUADRANTS[i & 3]);
+        }
+        return matrix;
+    }
+
+    @Benchmark
+    public Quadrant boxedGetQuadrant(Cursor cursor) {
+        return boxed.getQuadrant(ids[cursor.next()]);
+    }
+
+    @Benchmark
+    public Quadrant primitiveGetQuadrant(Cursor cursor) {
+        return primitive.getQuadrant(ids[cursor.next()]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Long> boxedGetTasksSorted() {
+        return boxed.getTasksSorted(Quadrant.DO_IT_NOW);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object primitiveGetTasksSorted() {
+        return primitive.getTasksSorted(Quadrant.DO_IT_NOW);
+    }
+}
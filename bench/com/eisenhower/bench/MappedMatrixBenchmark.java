@@ -0,0 +1,129 @@
+package com.eisenhower.bench;
+
+import static java.nio.file.StandardOpenOption.*;
+import com.eisenhower.io.MappedEisenhowerMatrix;
+import com.eisenhower.io.MatrixReader;
+import com.eisenhower.io.MatrixWriter;
+import com.eisenhower.matrix.EisenhowerMatrix;
+import com.eisenhower.matrix.EisenhowerMatrixSet;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures opening an indexed snapshot of {@value #TASKS} tasks with {@link MappedEisenhowerMatrix}
+ * against loading it with {@link MatrixReader}, and the queries served by the mapped matrix
+ * ({@code queried} {@code MAPPED}) against those served by the matrix it was written from
+ * ({@code queried} {@code HEAP}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MappedMatrixBenchmark {
+
+    private static final int TASKS = 1_000_000;
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+
+    /**
+     * The matrices serving the queries.
+     */
+    public enum Queried {
+        HEAP,
+        MAPPED
+    }
+
+    @Param({"HEAP", "MAPPED"})
+    public Queried queried;
+
+    private List<Task> tasks;
+    private Path file;
+    private EisenhowerMatrix<Task> matrix;
+
+    @Setup
+    public void setUp() throws IOException {
+        EisenhowerMatrix<Task> heap = new EisenhowerMatrixSet<>();
+        tasks = BenchmarkTasks.atomicTasks(TASKS, 0);
+        for (int i = 0; i < tasks.size(); i++) {
+            heap.addTask(tasks.get(i), QUADRANTS[i & 3]);
+        }
+        file = Files.createTempFile("matrix", ".snapshot");
+        try (MatrixWriter writer = new MatrixWriter(FileChannel.open(file, WRITE, TRUNCATE_EXISTING), true)) {
+            writer.writeMatrix(heap);
+        }
+        matrix = (queried == Queried.HEAP) ? heap : MappedEisenhowerMatrix.open(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        matrix = null;
+        Files.delete(file);
+    }
+
+    /**
+     * The position of a thread in the sequence of queries.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private final Random random = new Random(1);
+        private int offset;
+
+        int nextTask() {
+            return random.nextInt(TASKS);
+        }
+
+        int nextOffset() {
+            offset = (offset + 97) % (TASKS / 4);
+            return offset;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object readIntoMatrixSet() throws IOException {
+        EisenhowerMatrix<Task> loaded = new EisenhowerMatrixSet<>();
+        try (MatrixReader reader = new MatrixReader(FileChannel.open(file, READ))) {
+            return reader.readInto(loaded);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public MappedEisenhowerMatrix open() throws IOException {
+        return MappedEisenhowerMatrix.open(file);
+    }
+
+    @Benchmark
+    public boolean containsTask(Cursor cursor) {
+        return matrix.containsTask(tasks.get(cursor.nextTask()));
+    }
+
+    /**
+     * Iterates over a quadrant of {@code TASKS / 4} tasks.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void iterateQuadrant(Blackhole blackhole) {
+        for (Task task : matrix.getTasks(Quadrant.DO_IT_NOW)) {
+            blackhole.consume(task);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Task> getTasksSortedPage(Cursor cursor) {
+        return matrix.getTasksSorted(Quadrant.SCHEDULE_IT, cursor.nextOffset(), 20);
+    }
+}
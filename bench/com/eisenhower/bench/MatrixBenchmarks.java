@@ -0,0 +1,219 @@
+package com.eisenhower.bench;
+
+import com.eisenhower.matrix.*;
+import com.eisenhower.util.EQuadrantsSorting;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks of the {@link EisenhowerMatrix} API, for each implementation and quadrant size.
+ * <p>
+ * Each quadrant holds {@code size} tasks. Read benchmarks perform a single operation per
+ * invocation, on the next task of a fixed sequence; {@link #addTask()} fills a whole matrix per
+ * invocation, and the benchmarks modifying a matrix start each invocation from a freshly filled one,
+ * whose construction is not measured.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MatrixBenchmarks {
+
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+
+    // Tasks modified per invocation by the benchmarks needing a fresh matrix
+    private static final int MODIFICATIONS = 256;
+
+    // Number of tasks read from sorted pages and streams, as a UI page would do
+    private static final int PAGE_SIZE = 20;
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 3);
+    private static final LocalDate SATURDAY = LocalDate.of(2024, 6, 8);
+
+    /**
+     * The implementations being compared.
+     */
+    public enum Implementation {
+        SET(EisenhowerMatrixSet::new),
+        LIST_LINKED(() -> new EisenhowerMatrixList<>(EListStorage.LINKED)),
+        LIST_ARRAY(() -> new EisenhowerMatrixList<>(EListStorage.ARRAY)),
+        CONCURRENT(ConcurrentEisenhowerMatrix::new);
+
+        private final Supplier<EisenhowerMatrix<Task>> factory;
+
+        Implementation(Supplier<EisenhowerMatrix<Task>> factory) {
+            this.factory = factory;
+        }
+
+        EisenhowerMatrix<Task> newMatrix() {
+            return factory.get();
+        }
+    }
+
+    @Param({"SET", "LIST_LINKED", "LIST_ARRAY", "CONCURRENT"})
+    public Implementation implementation;
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private List<Task> tasks;
+    private List<Task> absentTasks;
+    private EisenhowerMatrix<Task> filled;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkTasks.atomicTasks(size * QUADRANTS.length, size);
+        absentTasks = BenchmarkTasks.atomicTasks(size, -size);
+        filled = filledMatrix(implementation, tasks);
+    }
+
+    /**
+     * The position of a thread in the sequence of tasks.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        int next(int bound) {
+            int current = next;
+            next = (current + 1 == bound) ? 0 : current + 1;
+            return current;
+        }
+    }
+
+    /**
+     * A matrix filled before each invocation, for the benchmarks modifying it.
+     */
+    @State(Scope.Thread)
+    public static class FreshMatrix {
+
+        EisenhowerMatrix<Task> matrix;
+
+        @Setup(Level.Invocation)
+        public void fill(MatrixBenchmarks benchmarks) {
+            matrix = filledMatrix(benchmarks.implementation, benchmarks.tasks);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Fills an empty matrix with {@code 4 * size} tasks: the time per task is the score divided by that.
+     */
+    @Benchmark
+    public EisenhowerMatrix<Task> addTask() {
+        return filledMatrix(implementation, tasks);
+    }
+
+    @Benchmark
+    public boolean containsTaskPresent(Cursor cursor) {
+        return filled.containsTask(tasks.get(cursor.next(tasks.size())));
+    }
+
+    @Benchmark
+    public boolean containsTaskAbsent(Cursor cursor) {
+        return filled.containsTask(absentTasks.get(cursor.next(absentTasks.size())));
+    }
+
+    @Benchmark
+    public Quadrant getQuadrant(Cursor cursor) {
+        return filled.getQuadrant(tasks.get(cursor.next(tasks.size())));
+    }
+
+    @Benchmark
+    public List<Task> getTasksSorted(Cursor cursor) {
+        return filled.getTasksSorted(QUADRANTS[cursor.next(QUADRANTS.length)]);
+    }
+
+    @Benchmark
+    public List<Task> getAllTasksSorted() {
+        return filled.getAllTasksSorted(EQuadrantsSorting.IMPORTANCE_OVER_URGENCY);
+    }
+
+    @Benchmark
+    public List<Task> getTasksSortedPageInTheMiddle(Cursor cursor) {
+        return filled.getTasksSorted(QUADRANTS[cursor.next(QUADRANTS.length)], size / 2, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public int rankOf(Cursor cursor) {
+        int i = cursor.next(tasks.size());
+        return filled.rankOf(tasks.get(i), QUADRANTS[i & 3]);
+    }
+
+    @Benchmark
+    public List<Task> getTasksBetweenOneWeek(Cursor cursor) {
+        return TaskPeriods.getTasksDue(filled, QUADRANTS[cursor.next(QUADRANTS.length)], MONDAY, SATURDAY);
+    }
+
+    @Benchmark
+    public List<Task> getAllTasksBetweenOneWeek() {
+        return TaskPeriods.getAllTasksDue(filled, MONDAY, SATURDAY);
+    }
+
+    @Benchmark
+    public List<Task> streamAllTasksSortedFirstPage() {
+        return filled.streamAllTasksSorted(EQuadrantsSorting.IMPORTANCE_OVER_URGENCY)
+                .limit(PAGE_SIZE).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Task> streamAllTasksSortedWithComparatorFirstPage() {
+        return filled.streamAllTasksSorted(Comparator.reverseOrder(), EQuadrantsSorting.IMPORTANCE_OVER_URGENCY)
+                .limit(PAGE_SIZE).collect(Collectors.toList());
+    }
+
+    /**
+     * Moves tasks to the next quadrant and back: two moves per task.
+     */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public boolean moveTask(Cursor cursor) {
+        int i = cursor.next(tasks.size());
+        Task task = tasks.get(i);
+        return filled.moveTask(task, QUADRANTS[i & 3], QUADRANTS[(i + 1) & 3])
+                & filled.moveTask(task, QUADRANTS[(i + 1) & 3], QUADRANTS[i & 3]);
+    }
+
+    @Benchmark
+    public int reclassifyHalfOfAQuadrant(FreshMatrix fresh) {
+        return fresh.matrix.reclassify(Quadrant.SCHEDULE_IT, Quadrant.DO_IT_NOW, task -> (task.hashCode() & 1) == 0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MODIFICATIONS)
+    public int removeTaskOccurrences(FreshMatrix fresh) {
+        int removed = 0;
+        for (int i = 0; i < MODIFICATIONS; i++) {
+            removed += fresh.matrix.removeTaskOccurrences(tasks.get(i)) ? 1 : 0;
+        }
+        return removed;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Creates a matrix holding the given tasks, spread evenly over the quadrants.
+     *
+     * @param implementation the implementation of the matrix.
+     * @param tasks          the tasks to be added.
+     * @return a new matrix holding the tasks.
+     */
+    static EisenhowerMatrix<Task> filledMatrix(Implementation implementation, List<Task> tasks) {
+        EisenhowerMatrix<Task> matrix = implementation.newMatrix();
+        for (int i = 0; i < tasks.size(); i++) {
+            matrix.addTask(tasks.get(i), QUADRANTS[i & 3]);
+        }
+        return matrix;
+    }
+}
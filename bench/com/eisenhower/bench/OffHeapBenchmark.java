@@ -0,0 +1,153 @@
+package com.eisenhower.bench;
+
+import com.eisenhower.matrix.EisenhowerMatrix;
+import com.eisenhower.matrix.EisenhowerMatrixList;
+import com.eisenhower.offheap.OffHeapEisenhowerMatrix;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the heap retained by a matrix of {@code size} tasks stored on the heap
+ * ({@link EisenhowerMatrixList}) and off-heap ({@link OffHeapEisenhowerMatrix}), and the time taken
+ * to add and sort tasks off-heap.
+ * <p>
+ * The retained heap is reported by the secondary results of {@link #retainedHeap(Footprint)},
+ * estimated from the used heap before and after filling a matrix. JMH sums them over all the
+ * measured iterations, as it does the {@code tasks} added: the footprint per task is
+ * {@code heapBytes / tasks} and {@code offHeapBytes / tasks}. It should be run with a fixed heap (e.g. {@code -jvmArgs
+ * "-Xms4g -Xmx4g"}), and enough direct memory for the largest matrix. Tasks are created one at
+ * a time while being added, so that only the matrix retains them.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OffHeapBenchmark {
+
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+
+    /**
+     * The matrices being compared.
+     */
+    public enum Storage {
+        HEAP,
+        OFF_HEAP;
+
+        EisenhowerMatrix<Task> newMatrix() {
+            return (this == HEAP) ? new EisenhowerMatrixList<>() : new OffHeapEisenhowerMatrix();
+        }
+    }
+
+    @Param({"HEAP", "OFF_HEAP"})
+    public Storage storage;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private EisenhowerMatrix<Task> filled;
+
+    @Setup
+    public void setUp() {
+        filled = fill(storage.newMatrix(), size);
+    }
+
+    /**
+     * The memory retained by the matrix filled in an iteration, and the number of tasks it holds.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long heapBytes;
+        public long offHeapBytes;
+        public long tasks;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            heapBytes = 0;
+            offHeapBytes = 0;
+            tasks = 0;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Fills a matrix, measuring the heap it retains: the score is the time taken to fill it.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public EisenhowerMatrix<Task> retainedHeap(Footprint footprint) {
+        long before = usedHeap();
+        EisenhowerMatrix<Task> matrix = fill(storage.newMatrix(), size);
+        long after = usedHeap();
+        footprint.heapBytes = after - before;
+        if (matrix instanceof OffHeapEisenhowerMatrix offHeapMatrix) {
+            footprint.offHeapBytes = offHeapMatrix.reservedBytes();
+        }
+        footprint.tasks = size;
+        return matrix;
+    }
+
+    /**
+     * Fills a matrix of {@code size} tasks: the time per task is the score divided by {@code size}.
+     */
+    @Benchmark
+    public EisenhowerMatrix<Task> insert() {
+        return fill(storage.newMatrix(), size);
+    }
+
+    @Benchmark
+    public List<Task> getTasksSorted() {
+        return filled.getTasksSorted(Quadrant.DO_IT_NOW);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Task> getTasksSortedPageInTheMiddle() {
+        return filled.getTasksSorted(Quadrant.DO_IT_NOW, size / 8, 20);
+    }
+
+    @Benchmark
+    public Object getHandlesSorted() {
+        return (filled instanceof OffHeapEisenhowerMatrix offHeapMatrix)
+                ? offHeapMatrix.getHandlesSorted(Quadrant.DO_IT_NOW)
+                : null;
+    }
+
+    // -------------------------------------------------------------------------
+
+    private static <M extends EisenhowerMatrix<Task>> M fill(M matrix, int size) {
+        Random random = new Random(size);
+        for (int i = 0; i < size; i++) {
+            LocalDate date = FIRST_DATE.plusDays(random.nextInt(365));
+            LocalTime time = LocalTime.ofSecondOfDay(random.nextInt(24 * 60 * 60));
+            matrix.addTask(new Task("Task " + i, date, time, true), QUADRANTS[i & 3]);
+        }
+        return matrix;
+    }
+
+    /**
+     * Returns the used heap, after requesting a few garbage collections.
+     *
+     * @return the used heap in bytes.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
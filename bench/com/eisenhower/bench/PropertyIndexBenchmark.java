@@ -0,0 +1,112 @@
+package com.eisenhower.bench;
+
+import com.eisenhower.matrix.EPropertyIndex;
+import com.eisenhower.matrix.EisenhowerMatrixSet;
+import com.eisenhower.matrix.PropertyIndex;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares filtering the tasks of a matrix by {@link TaskProperties#LOCATION} and {@link TaskProperties#PRIORITY}
+ * by scanning all quadrants, with looking them up in a {@link PropertyIndex}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PropertyIndexBenchmark {
+
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+    private static final int TASKS = 100_000;
+    private static final int LOCATIONS = 100;
+    private static final int PRIORITIES = 10;
+
+    private List<Task> tasks;
+    private EisenhowerMatrixSet<Task> matrix;
+    private PropertyIndex locations;
+    private PropertyIndex priorities;
+
+    @Setup
+    public void setUp() {
+        matrix = new EisenhowerMatrixSet<>();
+        Random random = new Random(0);
+        tasks = BenchmarkTasks.atomicTasks(TASKS, 0);
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            task.putProperty(TaskProperties.LOCATION, "Location " + random.nextInt(LOCATIONS));
+            task.putProperty(TaskProperties.PRIORITY, random.nextInt(PRIORITIES));
+            matrix.addTask(task, QUADRANTS[i & 3]);
+        }
+        locations = new PropertyIndex(matrix, TaskProperties.LOCATION, EPropertyIndex.HASH);
+        priorities = new PropertyIndex(matrix, TaskProperties.PRIORITY, EPropertyIndex.SORTED);
+    }
+
+    /**
+     * The position of a thread in the sequence of tasks.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        int next(int bound) {
+            int current = next;
+            next = (current + 1 == bound) ? 0 : current + 1;
+            return current;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Benchmark
+    public Set<Task> equalityScan() {
+        Set<Task> found = new HashSet<>();
+        for (Quadrant quadrant : QUADRANTS) {
+            for (Task task : matrix.getTasks(quadrant)) {
+                if ("Location 7".equals(task.getProperty(TaskProperties.LOCATION))) {
+                    found.add(task);
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Set<Task> equalityHashIndex() {
+        return locations.getTasks("Location 7");
+    }
+
+    @Benchmark
+    public Set<Task> rangeScan() {
+        Set<Task> found = new HashSet<>();
+        for (Quadrant quadrant : QUADRANTS) {
+            for (Task task : matrix.getTasks(quadrant)) {
+                if (task.getProperty(TaskProperties.PRIORITY) instanceof Integer priority && priority >= 8) {
+                    found.add(task);
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Set<Task> rangeSortedIndex() {
+        return priorities.getTasksBetween(8, PRIORITIES);
+    }
+
+    /**
+     * Replaces an indexed property of a task with the same value, which still notifies the index.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object updateIndexedProperty(Cursor cursor) {
+        Task task = tasks.get(cursor.next(TASKS));
+        return task.replaceProperty(TaskProperties.LOCATION, task.getProperty(TaskProperties.LOCATION));
+    }
+}
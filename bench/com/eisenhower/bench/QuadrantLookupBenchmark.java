@@ -0,0 +1,73 @@
+package com.eisenhower.bench;
+
+import com.eisenhower.util.Quadrant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares looking up the collection of a quadrant in a {@link HashMap} keyed by {@link Quadrant},
+ * as the matrices used to do, with indexing an array by {@link Quadrant#ordinal()}, as they do now.
+ * Each invocation looks up {@value #LOOKUPS} random quadrants.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class QuadrantLookupBenchmark {
+
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+    private static final int LOOKUPS = 1_024;
+
+    private final Map<Quadrant, Collection<Integer>> hashMap = new HashMap<>();
+    private final Map<Quadrant, Collection<Integer>> enumMap = new EnumMap<>(Quadrant.class);
+    @SuppressWarnings("unchecked")
+    private final Collection<Integer>[] array = new Collection[QUADRANTS.length];
+    private final Quadrant[] lookups = new Quadrant[LOOKUPS];
+
+    @Setup
+    public void setUp() {
+        for (Quadrant quadrant : QUADRANTS) {
+            Collection<Integer> tasks = new HashSet<>(List.of(quadrant.ordinal()));
+            hashMap.put(quadrant, tasks);
+            enumMap.put(quadrant, tasks);
+            array[quadrant.ordinal()] = tasks;
+        }
+        Random random = new Random(0);
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = QUADRANTS[random.nextInt(QUADRANTS.length)];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int hashMap() {
+        int sum = 0;
+        for (Quadrant quadrant : lookups) {
+            sum += hashMap.get(quadrant).size();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int enumMap() {
+        int sum = 0;
+        for (Quadrant quadrant : lookups) {
+            sum += enumMap.get(quadrant).size();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int ordinalArray() {
+        int sum = 0;
+        for (Quadrant quadrant : lookups) {
+            sum += array[quadrant.ordinal()].size();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,80 @@
+package com.eisenhower.bench;
+
+import static java.nio.file.StandardOpenOption.*;
+import com.eisenhower.io.MatrixReader;
+import com.eisenhower.io.MatrixWriter;
+import com.eisenhower.matrix.EisenhowerMatrix;
+import com.eisenhower.matrix.EisenhowerMatrixSet;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures writing a matrix of {@code tasks} tasks to a binary snapshot file with {@link MatrixWriter},
+ * and reading it back with {@link MatrixReader}. Each invocation writes or reads the whole snapshot:
+ * the time per task is the score divided by {@code tasks}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+
+    @Param({"100000"})
+    public int tasks;
+
+    private EisenhowerMatrix<Task> matrix;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        matrix = new EisenhowerMatrixSet<>();
+        List<Task> list = BenchmarkTasks.atomicTasks(tasks, 0);
+        for (int i = 0; i < list.size(); i++) {
+            matrix.addTask(list.get(i), QUADRANTS[i & 3]);
+        }
+        file = Files.createTempFile("matrix", ".snapshot");
+        this.writeMatrix();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Benchmark
+    public long writeMatrix() throws IOException {
+        try (MatrixWriter writer = new MatrixWriter(FileChannel.open(file, WRITE, TRUNCATE_EXISTING))) {
+            writer.writeMatrix(matrix);
+        }
+        return Files.size(file);
+    }
+
+    @Benchmark
+    public void forEachRemaining(Blackhole blackhole) throws IOException {
+        try (MatrixReader reader = new MatrixReader(FileChannel.open(file, READ))) {
+            reader.forEachRemaining((quadrant, task) -> blackhole.consume(task));
+        }
+    }
+
+    @Benchmark
+    public Object readIntoMatrixSet() throws IOException {
+        EisenhowerMatrix<Task> loaded = new EisenhowerMatrixSet<>();
+        try (MatrixReader reader = new MatrixReader(FileChannel.open(file, READ))) {
+            return reader.readInto(loaded);
+        }
+    }
+}
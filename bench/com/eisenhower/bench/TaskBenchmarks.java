@@ -0,0 +1,124 @@
+package com.eisenhower.bench;
+
+import com.eisenhower.matrix.EisenhowerMatrixSet;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks of {@link Task#hashCode()} and {@link Task#compareTo(Task)}.
+ * <p>
+ * Hash codes are measured on flat tasks and on deep and wide subtask trees, both when the
+ * cached hash code is valid and right after a subtask has been modified, which invalidates it.
+ * The same trees are then looked up in a matrix after such a change, with and without
+ * an {@link Task#withIdentity() identity}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TaskBenchmarks {
+
+    private static final int TASKS = 10_000;
+    private static final int DEPTH = 100;
+    private static final int WIDTH = 1_000;
+
+    /**
+     * The shapes of subtask trees.
+     */
+    public enum Shape {
+        DEEP,
+        WIDE
+    }
+
+    @Param({"DEEP", "WIDE"})
+    public Shape shape;
+
+    private List<Task> tasks;
+    private Task root;
+    private Task leaf;
+    private Task rootWithIdentity;
+    private EisenhowerMatrixSet<Task> matrix;
+    private EisenhowerMatrixSet<Task> matrixWithIdentity;
+    private int next;
+    private int change;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkTasks.atomicTasks(TASKS, 0);
+        if (shape == Shape.DEEP) {
+            root = BenchmarkTasks.deepTask(DEPTH);
+            leaf = BenchmarkTasks.leafOf(root);
+        } else {
+            root = BenchmarkTasks.wideTask(WIDTH);
+            leaf = root.getSubtasks().iterator().next();
+        }
+        rootWithIdentity = root.withIdentity();
+        matrix = new EisenhowerMatrixSet<>();
+        matrix.addTask(root, Quadrant.DO_IT_NOW);
+        matrixWithIdentity = new EisenhowerMatrixSet<>();
+        matrixWithIdentity.addTask(rootWithIdentity, Quadrant.DO_IT_NOW);
+    }
+
+    private Task nextTask() {
+        Task task = tasks.get(next);
+        next = (next + 1 == TASKS) ? 0 : next + 1;
+        return task;
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Benchmark
+    public int hashCodeFlat() {
+        return this.nextTask().hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeTreeCached() {
+        return root.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeTreeAfterSubtaskChange() {
+        leaf.putProperty(TaskProperties.MORE_INFO, change++);
+        return root.hashCode();
+    }
+
+    /**
+     * Looks up the root of the tree right after one of its subtasks has been modified: the lookup
+     * rehashes the tree, and misses the task, which was stored under its previous hash code.
+     */
+    @Benchmark
+    public boolean containsTaskAfterSubtaskChange() {
+        leaf.putProperty(TaskProperties.MORE_INFO, change++);
+        return matrix.containsTask(root);
+    }
+
+    @Benchmark
+    public boolean containsTaskWithIdentityAfterSubtaskChange() {
+        leaf.putProperty(TaskProperties.MORE_INFO, change++);
+        return matrixWithIdentity.containsTask(rootWithIdentity);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return this.nextTask().compareTo(this.nextTask());
+    }
+
+    /**
+     * Sorts {@value #TASKS} tasks.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Task> sort() {
+        List<Task> sortedTasks = new ArrayList<>(tasks);
+        Collections.sort(sortedTasks);
+        return sortedTasks;
+    }
+}
@@ -0,0 +1,100 @@
+package com.eisenhower.bench;
+
+import com.eisenhower.matrix.EisenhowerMatrixSet;
+import com.eisenhower.matrix.TextIndex;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares searching the names and additional information of tasks with {@link String#contains},
+ * with looking them up in a {@link TextIndex}, as a search box would do on each keystroke.
+ * The keystroke benchmarks look up the prefixes of a word of the given {@code prefixLength}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TextIndexBenchmark {
+
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+    private static final int TASKS = 50_000;
+    private static final int VOCABULARY = 5_000;
+    private static final int WORDS_PER_TASK = 8;
+
+    @Param({"1", "2", "3"})
+    public int prefixLength;
+
+    private EisenhowerMatrixSet<Task> matrix;
+    private TextIndex index;
+    private String word;
+    private String prefix;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        String[] vocabulary = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            vocabulary[i] = randomWord(random);
+        }
+        matrix = new EisenhowerMatrixSet<>();
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task(vocabulary[random.nextInt(VOCABULARY)] + " " + i, date.plusDays(i % 365), true);
+            StringBuilder info = new StringBuilder();
+            for (int w = 0; w < WORDS_PER_TASK; w++) {
+                info.append(vocabulary[random.nextInt(VOCABULARY)]).append(' ');
+            }
+            task.putProperty(TaskProperties.MORE_INFO, info.toString());
+            matrix.addTask(task, QUADRANTS[i & 3]);
+        }
+        index = new TextIndex(matrix);
+        word = vocabulary[42];
+        prefix = word.substring(0, prefixLength);
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Benchmark
+    public List<Task> keywordScan() {
+        List<Task> found = new ArrayList<>();
+        for (Quadrant quadrant : QUADRANTS) {
+            for (Task task : matrix.getTasks(quadrant)) {
+                if (((String) task.getProperty(TaskProperties.TASK_NAME)).contains(word)
+                        || ((String) task.getProperty(TaskProperties.MORE_INFO)).contains(word)) {
+                    found.add(task);
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Object keywordSearch() {
+        return index.search(word);
+    }
+
+    @Benchmark
+    public Object keystrokeSearchPrefix() {
+        return index.searchPrefix(prefix);
+    }
+
+    @Benchmark
+    public Object keystrokeCompleteTenWords() {
+        return index.complete(prefix, 10);
+    }
+
+    private static String randomWord(Random random) {
+        char[] letters = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
@@ -0,0 +1,778 @@
+package com.eisenhower.io;
+
+import static com.eisenhower.io.SnapshotFormat.*;
+import com.eisenhower.matrix.EisenhowerMatrix;
+import com.eisenhower.matrix.EisenhowerMatrixList;
+import com.eisenhower.matrix.EisenhowerMatrixSet;
+import com.eisenhower.util.EQuadrantsSorting;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A read-only matrix over an indexed snapshot file (see {@link MatrixWriter#MatrixWriter(java.nio.channels.WritableByteChannel, boolean)}),
+ * mapped in memory rather than read.
+ * <p>
+ * Opening a snapshot only reads its header and the start of its index, so it takes about the
+ * same time whatever the number of tasks: the tasks stay in the file, and are decoded from the
+ * mapped bytes each time they are accessed. The quadrants are served from the index, which holds
+ * the tasks of each quadrant in order and sorted by their natural ordering, and a hash table of
+ * the tasks telling the quadrants holding each of them. Thus:
+ * </p>
+ * <ul>
+ *     <li>{@link #getTasks(Quadrant)} returns a view decoding each task as it is read;
+ *     <li>{@link #containsTask(Task)}, {@link #getQuadrant(Task)} and {@link #getQuadrants(Task)}
+ *         decode the few tasks having the same hash code only;
+ *     <li>{@link #getTasksSorted(Quadrant)} doesn't sort, {@link #rankOf(Task, Quadrant)} and
+ *         {@link #getTasksBetween(Quadrant, Task, Task)} read the date and time of {@code O(log n)}
+ *         tasks to locate the range, without decoding them, and
+ *         {@link #streamAllTasksSorted(EQuadrantsSorting)} decodes the tasks as they are streamed.
+ * </ul>
+ *
+ * <p>Tasks are decoded as plain {@link Task}s, {@link Task#deepEquals(Task) deeply equal} to the
+ * ones written but without their identity, if any, and a new instance is returned on each access:
+ * modifying it doesn't modify the snapshot. Tasks are looked up by deep equality too. Since byte arrays are equal
+ * by identity only, a task having a {@code byte[]} property is never found by {@link #containsTask(Task)}. Methods modifying the matrix
+ * throw an {@link UnsupportedOperationException}, while {@link #clearQuadrant(Quadrant)} and
+ * {@link #clearAllTasks()} return a modifiable copy on the heap. If the snapshot is corrupted,
+ * accessing a task throws an {@link UncheckedIOException}.</p>
+ *
+ * <p>The file must not be modified while mapped, and is unmapped once the matrix is garbage
+ * collected. The matrix is thread-safe.</p>
+ *
+ * <p>Example:</p>
+ * <pre>{@code
+ * try (MatrixWriter writer = new MatrixWriter(FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING), true)) {
+ *     writer.writeMatrix(matrix);
+ * }
+ * EisenhowerMatrix<Task> replica = MappedEisenhowerMatrix.open(path);
+ * List<Task> page = replica.getTasksSorted(Quadrant.DO_IT_NOW, 0, 20);
+ * }</pre>
+ */
+public final class MappedEisenhowerMatrix implements EisenhowerMatrix<Task> {
+
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+
+    // Bytes of a slot of the hash table: hash code, identifier + 1, quadrants mask
+    private static final int SLOT_BYTES = 3 * Integer.BYTES;
+
+    private final ByteBuffer bytes;
+    private final boolean list;
+
+    // Offsets of the definitions, as an array of integers in the file
+    private final int definitionsOffset;
+    private final int definitionsCount;
+    private final List<String> customKeys;
+
+    // Identifiers of the tasks of each quadrant, and their positions in sorted order (-1 if not sorted)
+    private final int[] entriesOffsets = new int[QUADRANTS.length];
+    private final int[] entriesCounts = new int[QUADRANTS.length];
+    private final int[] sortedOffsets = new int[QUADRANTS.length];
+
+    private final int tableOffset;
+    private final int tableCapacity;
+
+    private final Collection<Task>[] quadrantTasks;
+
+    /**
+     * Maps an indexed snapshot file, and reads its index.
+     *
+     * @param path the snapshot file.
+     * @return a read-only matrix of the tasks of the snapshot.
+     * @throws IOException          if an I/O error occurs, the file doesn't hold an indexed snapshot,
+     *                              or it is larger than 2 GiB.
+     * @throws NullPointerException if {@code path} is {@code null}.
+     */
+    public static MappedEisenhowerMatrix open(Path path) throws IOException {
+        Objects.requireNonNull(path, "Path cannot be null.");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshots larger than 2 GiB cannot be mapped.");
+            }
+            // The mapping stays valid once the channel is closed
+            return new MappedEisenhowerMatrix(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private MappedEisenhowerMatrix(ByteBuffer bytes) throws IOException {
+        this.bytes = bytes;
+        int size = bytes.limit();
+        if (size < Integer.BYTES + 1 || bytes.getInt(0) != MAGIC) {
+            throw new StreamCorruptedException("Not a matrix snapshot.");
+        }
+        if (bytes.get(Integer.BYTES) != VERSION) {
+            throw new StreamCorruptedException("Unsupported snapshot version: " + bytes.get(Integer.BYTES));
+        }
+        if (size < Integer.BYTES + 1 + 2 * Integer.BYTES || bytes.getInt(size - Integer.BYTES) != INDEX_MAGIC) {
+            throw new IOException("The snapshot has no index: write it with new MatrixWriter(channel, true).");
+        }
+
+        // Reads the index, skipping the arrays
+        ByteBuffer index = bytes.duplicate();
+        TaskDecoder decoder = new TaskDecoder(index, new ArrayList<>(), null);
+        int indexOffset = bytes.getInt(size - 2 * Integer.BYTES);
+        if (indexOffset < Integer.BYTES + 1 || indexOffset >= size - 2 * Integer.BYTES) {
+            throw new StreamCorruptedException("Invalid index offset: " + indexOffset);
+        }
+        index.position(indexOffset);
+        this.list = (decoder.readByte() & INDEX_LIST) != 0;
+        this.definitionsCount = decoder.readInt();
+        this.definitionsOffset = index.position();
+        this.skip(index, definitionsCount, Integer.BYTES);
+
+        int customKeysCount = decoder.readInt();
+        if (customKeysCount < 0) {
+            throw new StreamCorruptedException("Invalid number of custom keys: " + customKeysCount);
+        }
+        List<String> keys = new ArrayList<>(Math.min(customKeysCount, 1024));
+        for (int i = 0; i < customKeysCount; i++) {
+            keys.add(decoder.readString());
+        }
+        this.customKeys = List.copyOf(keys);
+
+        this.quadrantTasks = new Collection[QUADRANTS.length];
+        for (Quadrant quadrant : QUADRANTS) {
+            int q = quadrant.ordinal();
+            entriesCounts[q] = decoder.readInt();
+            entriesOffsets[q] = index.position();
+            this.skip(index, entriesCounts[q], Integer.BYTES);
+            if (decoder.readByte() != 0) {
+                sortedOffsets[q] = index.position();
+                this.skip(index, entriesCounts[q], Integer.BYTES);
+            } else {
+                sortedOffsets[q] = -1;
+            }
+            quadrantTasks[q] = list ? new QuadrantList(q) : new QuadrantSet(q);
+        }
+
+        this.tableCapacity = decoder.readInt();
+        if (Integer.bitCount(tableCapacity) != 1) {
+            throw new StreamCorruptedException("Invalid hash table capacity: " + tableCapacity);
+        }
+        this.tableOffset = index.position();
+        this.skip(index, tableCapacity, SLOT_BYTES);
+        if (index.position() != size - 2 * Integer.BYTES) {
+            throw new StreamCorruptedException("Invalid index size.");
+        }
+    }
+
+    /**
+     * Moves the position of the index past an array, checking that it fits in the snapshot.
+     */
+    private void skip(ByteBuffer index, long count, int elementBytes) throws StreamCorruptedException {
+        long position = index.position() + count * elementBytes;
+        if (count < 0 || position > bytes.limit() - 2 * Integer.BYTES) {
+            throw new StreamCorruptedException("Invalid index.");
+        }
+        index.position((int) position);
+    }
+
+    /**
+     * Spreads the bits of a hash code, as the index is built and probed. Hash codes of tasks are
+     * sums of the hash codes of their properties, and would cluster with linear probing otherwise.
+     *
+     * @param hash the hash code of a task.
+     * @return the hash code to be masked by the capacity of the hash table.
+     */
+    static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // ---- Decoding --------------------------------------------------------- //
+
+    /**
+     * Decodes a task, resolving its subtasks through the given tasks already decoded, so that a
+     * subtask shared by several tasks is decoded once.
+     */
+    private Task task(int id, Map<Integer, Task> decoded) {
+        Task task = decoded.get(id);
+        if (task != null) {
+            return task;
+        }
+        try {
+            task = new TaskDecoder(this.definition(id), customKeys, subtaskId -> this.task(subtaskId, decoded)).readDefinition();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        decoded.put(id, task);
+        return task;
+    }
+
+    /**
+     * Returns the bytes of the snapshot, positioned at the definition of a task.
+     */
+    private ByteBuffer definition(int id) throws StreamCorruptedException {
+        if (id < 0 || id >= definitionsCount) {
+            throw new StreamCorruptedException("Invalid task reference: " + (id + 1));
+        }
+        int offset = bytes.getInt(definitionsOffset + id * Integer.BYTES);
+        if (offset < 0 || offset >= definitionsOffset) {
+            throw new StreamCorruptedException("Invalid definition offset: " + offset);
+        }
+        return bytes.duplicate().position(offset);
+    }
+
+    private Task task(int id) {
+        return this.task(id, new HashMap<>());
+    }
+
+    private int entryId(int q, int position) {
+        return bytes.getInt(entriesOffsets[q] + position * Integer.BYTES);
+    }
+
+    private int sortedEntryId(int q, int rank) {
+        return this.entryId(q, bytes.getInt(sortedOffsets[q] + rank * Integer.BYTES));
+    }
+
+    /**
+     * Looks up a task in the hash table.
+     *
+     * @return the mask of the quadrants holding tasks equal to the given one (by ordinal).
+     */
+    private int quadrantsMask(Task task) {
+        int hash = task.deepHashCode();
+        int mask = 0;
+        int slot = spread(hash) & (tableCapacity - 1);
+        for (int probes = 0; probes < tableCapacity; probes++, slot = (slot + 1) & (tableCapacity - 1)) {
+            int offset = tableOffset + slot * SLOT_BYTES;
+            int id = bytes.getInt(offset + Integer.BYTES) - 1;
+            if (id < 0) {
+                return mask;
+            }
+            int slotMask = bytes.getInt(offset + 2 * Integer.BYTES);
+            // A task equal to others in another quadrant adds no quadrant
+            if (bytes.getInt(offset) == hash && (mask | slotMask) != mask && this.task(id).deepEquals(task)) {
+                mask |= slotMask;
+            }
+        }
+        // The writer always leaves empty slots
+        throw new UncheckedIOException(new StreamCorruptedException("The hash table has no empty slot."));
+    }
+
+    /**
+     * Returns the number of tasks of a sorted quadrant lower than the given one.
+     * The tasks are compared through the date and time read from their definitions, as
+     * {@link Task#compareTo(Task)} does, and only decoded when they hold unexpected values.
+     */
+    private int countLower(int q, Task task) {
+        LocalDate date = (LocalDate) task.getProperty(TaskProperties.DATE);
+        LocalTime time = (LocalTime) task.getProperty(TaskProperties.TIME);
+        long epochDay = (date != null) ? date.toEpochDay() : Long.MAX_VALUE;
+        long nanoOfDay = (time != null) ? time.toNanoOfDay() : 0L;
+
+        long[] sortKey = new long[2];
+        int low = 0;
+        int high = entriesCounts[q];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int id = this.sortedEntryId(q, middle);
+            int comparison;
+            try {
+                if (new TaskDecoder(this.definition(id), customKeys, null).readSortKey(sortKey)) {
+                    comparison = (sortKey[0] != epochDay) ? Long.compare(sortKey[0], epochDay) : Long.compare(sortKey[1], nanoOfDay);
+                } else {
+                    comparison = this.task(id).compareTo(task);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private List<Task> sortedTasks(int q, int from, int to) {
+        Map<Integer, Task> decoded = new HashMap<>();
+        List<Task> sortedTasks = new ArrayList<>(to - from);
+        for (int rank = from; rank < to; rank++) {
+            sortedTasks.add(this.task(this.sortedEntryId(q, rank), decoded));
+        }
+        return sortedTasks;
+    }
+
+    private static int ordinal(Quadrant quadrant) {
+        return Objects.requireNonNull(quadrant, "Quadrant cannot be null.").ordinal();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("The matrix is read-only.");
+    }
+
+    // ---- Views ------------------------------------------------------------ //
+
+    @Override
+    public Map<Quadrant, Collection<Task>> toMap() {
+        Map<Quadrant, Collection<Task>> map = new EnumMap<>(Quadrant.class);
+        for (Quadrant quadrant : QUADRANTS) {
+            map.put(quadrant, quadrantTasks[quadrant.ordinal()]);
+        }
+        return map;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<Task>[][] toMatrix() {
+        Collection<Task>[][] matrix = new Collection[2][2];
+        for (Quadrant quadrant : QUADRANTS) {
+            int row = quadrant.isUrgent() ? 0 : 1;
+            int col = quadrant.isImportant() ? 0 : 1;
+            matrix[row][col] = quadrantTasks[quadrant.ordinal()];
+        }
+        return matrix;
+    }
+
+    /**
+     * Returns the type of the quadrants of the matrix which was written.
+     *
+     * @return {@code List.class} or {@code Set.class}.
+     */
+    @Override
+    public Class<?> getImplementingCollectionType() {
+        return list ? List.class : Set.class;
+    }
+
+    /**
+     * Returns an unmodifiable view of the tasks of the specified quadrant, in the order they were
+     * written, decoding each task as it is read.
+     *
+     * @param quadrant the quadrant from which to retrieve the tasks.
+     * @return a read-only list or set of the tasks in the quadrant.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    @Override
+    public Collection<Task> getTasks(Quadrant quadrant) {
+        return quadrantTasks[ordinal(quadrant)];
+    }
+
+    @Override
+    public Collection<Task> getTasks(boolean urgent, boolean important) {
+        return this.getTasks(Quadrant.getQuadrant(urgent, important));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The tasks are read in sorted order from the index, without sorting.
+     * </p>
+     */
+    @Override
+    public List<Task> getTasksSorted(Quadrant quadrant) {
+        int q = ordinal(quadrant);
+        if (sortedOffsets[q] < 0) {
+            List<Task> sortedTasks = new ArrayList<>(quadrantTasks[q]);
+            sortedTasks.sort(null);
+            return sortedTasks;
+        }
+        return this.sortedTasks(q, 0, entriesCounts[q]);
+    }
+
+    @Override
+    public List<Task> getTasksSorted(boolean urgent, boolean important) {
+        return this.getTasksSorted(Quadrant.getQuadrant(urgent, important));
+    }
+
+    @Override
+    public List<Task> getTasksSorted(Quadrant quadrant, Comparator<Task> comparator) {
+        Objects.requireNonNull(comparator, "Comparator cannot be null.");
+        List<Task> sortedTasks = new ArrayList<>(quadrantTasks[ordinal(quadrant)]);
+        sortedTasks.sort(comparator);
+        return sortedTasks;
+    }
+
+    @Override
+    public List<Task> getTasksSorted(boolean urgent, boolean important, Comparator<Task> comparator) {
+        return this.getTasksSorted(Quadrant.getQuadrant(urgent, important), comparator);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the tasks of the page are decoded.
+     * </p>
+     */
+    @Override
+    public List<Task> getTasksSorted(Quadrant quadrant, int offset, int limit) {
+        int q = ordinal(quadrant);
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative.");
+        }
+        if (sortedOffsets[q] < 0) {
+            return EisenhowerMatrix.super.getTasksSorted(quadrant, offset, limit);
+        }
+        int from = Math.min(offset, entriesCounts[q]);
+        return this.sortedTasks(q, from, from + Math.min(limit, entriesCounts[q] - from));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The rank is found by binary search, decoding {@code O(log n)} tasks plus the tasks comparing
+     * equal to the given one.
+     * </p>
+     */
+    @Override
+    public int rankOf(Task task, Quadrant quadrant) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        int q = ordinal(quadrant);
+        if ((this.quadrantsMask(task) & (1 << q)) == 0) {
+            return -1;
+        }
+        if (sortedOffsets[q] < 0) {
+            return EisenhowerMatrix.super.rankOf(task, quadrant);
+        }
+        // Ties are contiguous in sorted order: scans them from the first one
+        for (int rank = this.countLower(q, task); rank < entriesCounts[q]; rank++) {
+            Task current = this.task(this.sortedEntryId(q, rank));
+            if (task.compareTo(current) != 0) {
+                break;
+            }
+            if (current.deepEquals(task)) {
+                return rank;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The range is found by binary search, decoding {@code O(log n)} tasks plus the tasks returned.
+     * </p>
+     */
+    @Override
+    public List<Task> getTasksBetween(Quadrant quadrant, Task from, Task to) {
+        int q = ordinal(quadrant);
+        Objects.requireNonNull(from, "Lower bound cannot be null.");
+        Objects.requireNonNull(to, "Upper bound cannot be null.");
+        if (from.compareTo(to) > 0) {
+            throw new IllegalArgumentException("Lower bound cannot be greater than upper bound.");
+        }
+        if (sortedOffsets[q] < 0) {
+            return EisenhowerMatrix.super.getTasksBetween(quadrant, from, to);
+        }
+        return this.sortedTasks(q, this.countLower(q, from), this.countLower(q, to));
+    }
+
+    @Override
+    public Set<Task> getAllTasks() {
+        Map<Integer, Task> decoded = new HashMap<>();
+        Set<Task> allTasks = new HashSet<>();
+        for (int q = 0; q < QUADRANTS.length; q++) {
+            for (int position = 0; position < entriesCounts[q]; position++) {
+                allTasks.add(this.task(this.entryId(q, position), decoded));
+            }
+        }
+        return allTasks;
+    }
+
+    @Override
+    public List<Task> getAllTasksSorted(EQuadrantsSorting quadrantsOrdering) {
+        List<Task> allTasks = new ArrayList<>();
+        for (Quadrant quadrant : Quadrant.quadrantsSorted(quadrantsOrdering)) {
+            allTasks.addAll(this.getTasksSorted(quadrant));
+        }
+        return allTasks;
+    }
+
+    @Override
+    public List<Task> getAllTasksSorted(Comparator<Task> tasksComparator, EQuadrantsSorting quadrantsOrdering) {
+        Objects.requireNonNull(tasksComparator, "Comparator cannot be null.");
+        List<Task> allTasks = new ArrayList<>();
+        for (Quadrant quadrant : Quadrant.quadrantsSorted(quadrantsOrdering)) {
+            allTasks.addAll(this.getTasksSorted(quadrant, tasksComparator));
+        }
+        return allTasks;
+    }
+
+    @Override
+    public List<Task> getAllTasksSorted(Map<Quadrant, Comparator<Task>> comparators, EQuadrantsSorting quadrantsOrdering) {
+        Objects.requireNonNull(comparators, "Quadrant comparators map cannot be null.");
+        List<Task> allTasks = new ArrayList<>();
+        for (Quadrant quadrant : Quadrant.quadrantsSorted(quadrantsOrdering)) {
+            Comparator<Task> comparator = comparators.get(quadrant);
+            if (comparator == null) {
+                throw new UnsupportedOperationException("Comparator missing for quadrant: " + quadrant);
+            }
+            allTasks.addAll(this.getTasksSorted(quadrant, comparator));
+        }
+        return allTasks;
+    }
+
+    /**
+     * Streams all tasks from all quadrants, sorted by their natural ordering within each quadrant.
+     * Tasks are read in sorted order from the index and decoded as the stream is consumed.
+     *
+     * @param quadrantsOrdering the order in which quadrants are streamed.
+     * @return an ordered stream of all tasks in the matrix.
+     * @throws NullPointerException if {@code quadrantsOrdering} is {@code null}.
+     */
+    @Override
+    public Stream<Task> streamAllTasksSorted(EQuadrantsSorting quadrantsOrdering) {
+        return Arrays.stream(Quadrant.quadrantsSorted(quadrantsOrdering)).flatMap(quadrant -> {
+            int q = quadrant.ordinal();
+            if (sortedOffsets[q] < 0) {
+                return this.getTasksSorted(quadrant).stream();
+            }
+            return IntStream.range(0, entriesCounts[q]).mapToObj(rank -> this.task(this.sortedEntryId(q, rank)));
+        });
+    }
+
+    @Override
+    public Quadrant getQuadrant(Task task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        int mask = this.quadrantsMask(task);
+        return mask != 0 ? QUADRANTS[Integer.numberOfTrailingZeros(mask)] : null;
+    }
+
+    @Override
+    public Set<Quadrant> getQuadrants(Task task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        int mask = this.quadrantsMask(task);
+        Set<Quadrant> quadrantsWithTask = EnumSet.noneOf(Quadrant.class);
+        for (Quadrant quadrant : QUADRANTS) {
+            if ((mask & (1 << quadrant.ordinal())) != 0) {
+                quadrantsWithTask.add(quadrant);
+            }
+        }
+        return quadrantsWithTask;
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public boolean containsTask(Task task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        return this.quadrantsMask(task) != 0;
+    }
+
+    @Override
+    public boolean containsTask(Task task, Quadrant quadrant) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        return (this.quadrantsMask(task) & (1 << ordinal(quadrant))) != 0;
+    }
+
+    @Override
+    public boolean containsTask(Task task, boolean urgent, boolean important) {
+        return this.containsTask(task, Quadrant.getQuadrant(urgent, important));
+    }
+
+    // ---- Copies ----------------------------------------------------------- //
+
+    /**
+     * Copies the tasks of this matrix to a new matrix on the heap, except the ones of the specified quadrant.
+     *
+     * @param quadrant the quadrant to be cleared.
+     * @return a modifiable copy of this matrix, of the same collection type, with the specified quadrant cleared.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    @Override
+    public EisenhowerMatrix<Task> clearQuadrant(Quadrant quadrant) {
+        int cleared = ordinal(quadrant);
+        EisenhowerMatrix<Task> copy = list ? new EisenhowerMatrixList<>() : new EisenhowerMatrixSet<>();
+        // A task held by several quadrants is copied as a single instance
+        Map<Integer, Task> decoded = new HashMap<>();
+        for (int q = 0; q < QUADRANTS.length; q++) {
+            if (q == cleared) {
+                continue;
+            }
+            List<Task> tasks = new ArrayList<>(entriesCounts[q]);
+            for (int position = 0; position < entriesCounts[q]; position++) {
+                tasks.add(this.task(this.entryId(q, position), decoded));
+            }
+            copy.addAllTasks(QUADRANTS[q], tasks);
+        }
+        return copy;
+    }
+
+    @Override
+    public EisenhowerMatrix<Task> clearQuadrant(boolean urgent, boolean important) {
+        return this.clearQuadrant(Quadrant.getQuadrant(urgent, important));
+    }
+
+    /**
+     * Creates an empty matrix on the heap.
+     *
+     * @return a new empty matrix, of the same collection type as this one.
+     */
+    @Override
+    public EisenhowerMatrix<Task> clearAllTasks() {
+        return list ? new EisenhowerMatrixList<>() : new EisenhowerMatrixSet<>();
+    }
+
+    // ---- Unsupported ------------------------------------------------------ //
+
+    /**
+     * Always throws an {@link UnsupportedOperationException}, since the matrix is read-only.
+     */
+    @Override
+    public boolean addTask(Task task, Quadrant quadrant) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addTask(Task task, boolean urgent, boolean important) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addAllTasks(Quadrant quadrant, Collection<? extends Task> tasks) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addAllTasks(boolean urgent, boolean important, Collection<? extends Task> tasks) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addAllTasks(Map<Quadrant, Collection<? extends Task>> eisenhowerMap) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addTaskIfAbsentInQuadrant(Task task, Quadrant quadrant) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addTaskIfAbsentInQuadrant(Task task, boolean urgent, boolean important) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addTaskIfAbsentInMatrix(Task task, Quadrant quadrant) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addTaskIfAbsentInMatrix(Task task, boolean urgent, boolean important) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeTask(Task task, Quadrant quadrant) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeTask(Task task, boolean urgent, boolean important) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeTaskOccurrences(Task task, Quadrant quadrant) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeTaskOccurrences(Task task, boolean urgent, boolean important) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeTaskOccurrences(Task task) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean moveTask(Task task, Quadrant from, Quadrant to) {
+        throw readOnly();
+    }
+
+    @Override
+    public int reclassify(Quadrant from, Quadrant to, Predicate<? super Task> filter) {
+        throw readOnly();
+    }
+
+    // ---- Quadrant views --------------------------------------------------- //
+
+    /**
+     * The tasks of a quadrant of a matrix of lists, decoded by position.
+     */
+    private final class QuadrantList extends AbstractList<Task> implements RandomAccess {
+
+        private final int q;
+
+        QuadrantList(int q) {
+            this.q = q;
+        }
+
+        @Override
+        public Task get(int index) {
+            Objects.checkIndex(index, entriesCounts[q]);
+            return MappedEisenhowerMatrix.this.task(MappedEisenhowerMatrix.this.entryId(q, index));
+        }
+
+        @Override
+        public int size() {
+            return entriesCounts[q];
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Task task && (MappedEisenhowerMatrix.this.quadrantsMask(task) & (1 << q)) != 0;
+        }
+    }
+
+    /**
+     * The tasks of a quadrant of a matrix of sets.
+     */
+    private final class QuadrantSet extends AbstractSet<Task> {
+
+        private final int q;
+
+        QuadrantSet(int q) {
+            this.q = q;
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return new Iterator<>() {
+                private int position;
+
+                @Override
+                public boolean hasNext() {
+                    return position < entriesCounts[q];
+                }
+
+                @Override
+                public Task next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return MappedEisenhowerMatrix.this.task(MappedEisenhowerMatrix.this.entryId(q, position++));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return entriesCounts[q];
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Task task && (MappedEisenhowerMatrix.this.quadrantsMask(task) & (1 << q)) != 0;
+        }
+    }
+}
@@ -0,0 +1,803 @@
+package com.eisenhower.io;
+
+import static com.eisenhower.io.SnapshotFormat.*;
+import static java.nio.file.StandardOpenOption.*;
+import com.eisenhower.matrix.AbstractEisenhowerMatrix;
+import com.eisenhower.matrix.AbstractTaskIndex;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * A write-ahead log of the changes made to a matrix of {@link Task}s, which makes them durable and
+ * restores them after a crash.
+ * <p>
+ * When opened on a directory, the journal first recovers the matrix: it reads the last checkpoint
+ * (a snapshot written by a {@link MatrixWriter}) into the given empty matrix, then replays the log
+ * of the changes made since then, dropping the last record if a crash has torn it. Afterwards, it
+ * appends to the log every change made to the matrix, before the change is made:
+ * </p>
+ * <ul>
+ *     <li>tasks added to or removed from a quadrant, by any means (including
+ *         {@link com.eisenhower.matrix.EisenhowerMatrixList#setTask setTask} and quadrant clears),
+ *         along with their position in the quadrant when it is a list;
+ *     <li>properties put or removed on the tasks in the matrix.
+ * </ul>
+ *
+ * <p>A change which cannot be logged, because a property value has an unsupported type or because of
+ * an I/O error, is rejected: the call making it throws an {@link IllegalArgumentException} or an
+ * {@link UncheckedIOException}, and leaves the matrix unchanged. Once an I/O error has occurred,
+ * every change is rejected. A change logged but then rejected by another index is undone by the
+ * opposite record.</p>
+ *
+ * <p>Records are buffered in memory, and made durable (written and forced to the disk) in batches:
+ * either right away for each change, or every {@code commitDelay} by a background thread (group
+ * commit), which forces all the records appended since the last batch with a single {@code fsync}.
+ * In both cases, a change is durable once the call which made it returns: with a commit delay, the
+ * call waits for the batch of its record to be forced, so that a change is never acknowledged
+ * before it is on the disk. {@link #commit()} makes all the changes so far durable.</p>
+ *
+ * <p>To keep recovery short, {@link #commit()} compacts the log into a new checkpoint whenever it has
+ * grown larger than the last checkpoint (and than 1 MiB): recovery then reads at most twice the size
+ * of the matrix. Checkpoints can also be taken explicitly with {@link #checkpoint()}.</p>
+ *
+ * <p>Changes made to the subtasks of the tasks in the matrix are not logged, and are only made
+ * durable by the next checkpoint. Like the matrix, the journal is not thread-safe: it must be used
+ * from the thread modifying the matrix, and {@link #commit()} must not be called while a change
+ * is in progress (such as from a property listener).</p>
+ *
+ * <p>Example:</p>
+ * <pre>{@code
+ * EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+ * try (MatrixJournal journal = new MatrixJournal(directory, matrix, Duration.ofMillis(10))) {
+ *     matrix.addTask(task, Quadrant.DO_IT_NOW);
+ *     task.putProperty(TaskProperties.LOCATION, "Office");
+ *     journal.commit();
+ * }
+ * }</pre>
+ */
+public final class MatrixJournal extends AbstractTaskIndex implements Closeable {
+
+    private static final String CHECKPOINT_PREFIX = "checkpoint-";
+    private static final String CHECKPOINT_SUFFIX = ".emx";
+    private static final String LOG_PREFIX = "journal-";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private static final int HEADER_SIZE = Integer.BYTES + 1;
+    private static final int FRAME_SIZE = 2 * Integer.BYTES;
+
+    // Size under which the log is never compacted
+    private static final long MIN_COMPACTION_SIZE = 1 << 20;
+
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+
+    private final Path directory;
+    private final AbstractEisenhowerMatrix<Task> matrix;
+    private final ScheduledExecutorService committer;
+
+    // Guards the pending records and the log, shared with the committer thread
+    private final Object lock = new Object();
+    private final PendingRecords pending = new PendingRecords();
+
+    // Number of records appended, and of records made durable, which the appenders wait for
+    private long appended;
+    private long durable;
+
+    private TaskEncoder encoder;
+    private FileChannel log;
+    private long generation;
+    private long logSize;
+    private long checkpointSize;
+
+    // Last property change logged before being made, to log the actual value if it turns out different
+    private Task loggedTask;
+    private String loggedKey;
+    private Object loggedValue;
+    private boolean loggedRemoval;
+
+    private IOException failure;
+    private boolean closed;
+
+    /**
+     * Opens a journal which makes each change durable before returning, and recovers the matrix
+     * from the given directory.
+     *
+     * @param directory the directory of the journal, created if needed.
+     * @param matrix    the matrix to be recovered and logged, which must be empty.
+     * @throws IOException              if an I/O error occurs, or the journal is corrupted.
+     * @throws IllegalArgumentException if {@code matrix} is not empty.
+     * @throws NullPointerException     if any argument is {@code null}.
+     */
+    public MatrixJournal(Path directory, AbstractEisenhowerMatrix<Task> matrix) throws IOException {
+        this(directory, matrix, Duration.ZERO);
+    }
+
+    /**
+     * Opens a journal which makes the changes durable in batches, and recovers the matrix from the
+     * given directory.
+     *
+     * @param directory   the directory of the journal, created if needed.
+     * @param matrix      the matrix to be recovered and logged, which must be empty.
+     * @param commitDelay the delay between two batches, or {@link Duration#ZERO} to make each change
+     *                    durable before returning.
+     * @throws IOException              if an I/O error occurs, or the journal is corrupted.
+     * @throws IllegalArgumentException if {@code matrix} is not empty, or {@code commitDelay} is negative.
+     * @throws NullPointerException     if any argument is {@code null}.
+     */
+    public MatrixJournal(Path directory, AbstractEisenhowerMatrix<Task> matrix, Duration commitDelay) throws IOException {
+        super(matrix);
+        this.directory = Objects.requireNonNull(directory, "Directory cannot be null.");
+        this.matrix = matrix;
+        Objects.requireNonNull(commitDelay, "Commit delay cannot be null.");
+        if (commitDelay.isNegative()) {
+            throw new IllegalArgumentException("Commit delay cannot be negative.");
+        }
+        for (Quadrant quadrant : QUADRANTS) {
+            if (!matrix.getTasks(quadrant).isEmpty()) {
+                throw new IllegalArgumentException("Matrix must be empty.");
+            }
+        }
+
+        Files.createDirectories(directory);
+        try {
+            this.recover();
+            this.register();
+        } catch (IOException | RuntimeException e) {
+            if (log != null) {
+                try {
+                    log.close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+
+        if (commitDelay.isZero()) {
+            this.committer = null;
+        } else {
+            this.committer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "matrix-journal-committer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long nanos = commitDelay.toNanos();
+            committer.scheduleWithFixedDelay(this::flushQuietly, nanos, nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Makes all the changes logged so far durable, and compacts the log into a new checkpoint if it
+     * has grown larger than the last one.
+     *
+     * @throws IOException              if an I/O error occurs, now or in a previous batch.
+     * @throws IllegalArgumentException if a checkpoint is needed, and a property value has an
+     *                                  unsupported type.
+     */
+    public void commit() throws IOException {
+        synchronized (lock) {
+            this.checkOpen();
+            this.flush();
+            if (logSize <= Math.max(MIN_COMPACTION_SIZE, checkpointSize)) {
+                return;
+            }
+        }
+        this.checkpoint();
+    }
+
+    /**
+     * Writes the whole matrix to a new checkpoint, and starts a new log after it.
+     * The previous checkpoint and log are deleted.
+     *
+     * @throws IOException              if an I/O error occurs.
+     * @throws IllegalArgumentException if a property value has an unsupported type.
+     */
+    public void checkpoint() throws IOException {
+        synchronized (lock) {
+            this.checkOpen();
+            this.flush();
+            long next = generation + 1;
+            Path temporary = directory.resolve(CHECKPOINT_PREFIX + next + TEMPORARY_SUFFIX);
+            TaskEncoder nextEncoder;
+            try (FileChannel channel = FileChannel.open(temporary, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                MatrixWriter writer = new MatrixWriter(channel);
+                writer.writeMatrix(matrix);
+                nextEncoder = writer.finish();
+                channel.force(true);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temporary);
+                throw e;
+            }
+            Path checkpoint = this.checkpointPath(next);
+            Files.move(temporary, checkpoint, StandardCopyOption.ATOMIC_MOVE);
+            this.syncDirectory();
+
+            // From now on, recovery starts from the new checkpoint
+            FileChannel nextLog = this.openLog(next);
+            log.close();
+            log = nextLog;
+            logSize = HEADER_SIZE;
+            checkpointSize = Files.size(checkpoint);
+            Files.deleteIfExists(this.checkpointPath(generation));
+            Files.deleteIfExists(this.logPath(generation));
+            generation = next;
+            nextEncoder.setChannel(pending);
+            encoder = nextEncoder;
+        }
+    }
+
+    /**
+     * Makes all the changes logged so far durable, stops logging the matrix and closes the log.
+     * Closing a journal already closed has no effect.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        if (committer != null) {
+            committer.shutdown();
+        }
+        this.unregister();
+        synchronized (lock) {
+            try {
+                this.flush();
+            } finally {
+                log.close();
+            }
+        }
+    }
+
+    // ---- Logging ---------------------------------------------------------- //
+
+    @Override
+    protected void occurrenceAdding(Task task, Quadrant quadrant, int index) {
+        this.checkEncodable(task);
+        this.appendOccurrence(ADD, task, quadrant, index);
+    }
+
+    @Override
+    protected void occurrenceRemoving(Task task, Quadrant quadrant, int index) {
+        this.checkEncodable(task);
+        this.appendOccurrence(REMOVE, task, quadrant, index);
+    }
+
+    @Override
+    protected void occurrenceRejected(Task task, Quadrant quadrant, int index, boolean addition) {
+        try {
+            this.appendOccurrence(addition ? REMOVE : ADD, task, quadrant, index);
+        } catch (UncheckedIOException e) {
+            // The journal has failed, and rejects every change from now on
+        }
+        if (addition && !this.isIndexed(task)) {
+            synchronized (lock) {
+                encoder.forget(task);
+            }
+        }
+    }
+
+    @Override
+    protected void propertyChanging(Task task, String key, Object oldValue, Object newValue) {
+        this.checkEncodable(task);
+        TaskEncoder.checkValue(newValue);
+        this.appendProperty(task, key, newValue, newValue == null);
+        loggedTask = task;
+        loggedKey = key;
+        loggedValue = newValue;
+        loggedRemoval = (newValue == null);
+    }
+
+    @Override
+    protected void propertyChanged(Task task, String key, Object oldValue, Object newValue) {
+        boolean logged = (loggedTask == task) && key.equals(loggedKey);
+        loggedTask = null;
+        // A property put to null has been logged as removed, and a rejected change as made
+        Object value = task.getProperty(key);
+        boolean removed = !task.getProperties().containsKey(key);
+        if (logged && loggedRemoval == removed && loggedValue == value) {
+            return;
+        }
+        try {
+            this.appendProperty(task, key, value, removed);
+        } catch (UncheckedIOException e) {
+            // The journal has failed, and rejects every change from now on
+        }
+    }
+
+    @Override
+    protected void link(Task task) {
+    }
+
+    @Override
+    protected void unlink(Task task) {
+        // Written again in full if it comes back, with the properties it will have then
+        synchronized (lock) {
+            encoder.forget(task);
+        }
+    }
+
+    @Override
+    protected void unlinkAll() {
+    }
+
+    /**
+     * Checks that a task can be logged, before writing anything.
+     *
+     * @param task the task to be logged.
+     * @throws IllegalArgumentException if a property value of the task has an unsupported type.
+     */
+    private void checkEncodable(Task task) {
+        synchronized (lock) {
+            encoder.checkEncodable(task);
+        }
+    }
+
+    private void appendOccurrence(int operation, Task task, Quadrant quadrant, int index) {
+        this.append(() -> {
+            encoder.writeByte(operation);
+            encoder.writeByte(quadrant.ordinal());
+            encoder.writeVarLong(TaskEncoder.zigzag(index));
+            encoder.writeReference(task);
+        });
+    }
+
+    private void appendProperty(Task task, String key, Object value, boolean removal) {
+        this.append(() -> {
+            encoder.writeByte(removal ? REMOVE_PROPERTY : PUT_PROPERTY);
+            encoder.writeReference(task);
+            encoder.writeKey(key);
+            if (!removal) {
+                encoder.writeValue(value);
+            }
+        });
+    }
+
+    /**
+     * Appends a record to the pending ones, and makes it durable right away if there is no committer,
+     * or waits for the committer to make it durable otherwise.
+     *
+     * @param payload writes the payload of the record through the encoder.
+     * @throws UncheckedIOException if the journal has failed, the record cannot be made durable, or
+     *                              the thread is interrupted while waiting for it.
+     */
+    private void append(Payload payload) {
+        synchronized (lock) {
+            try {
+                if (failure != null) {
+                    throw new IOException("The journal has failed.", failure);
+                }
+                pending.beginRecord();
+                payload.write();
+                encoder.drain();
+                pending.endRecord();
+                long record = ++appended;
+                if (committer == null) {
+                    this.flush();
+                } else {
+                    this.awaitDurable(record);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Waits for the committer to force the batch holding the given record.
+     * The lock is released while waiting, so that the committer can take it.
+     *
+     * @param record the number of the record.
+     * @throws IOException if the batch cannot be made durable, or the thread is interrupted.
+     */
+    private void awaitDurable(long record) throws IOException {
+        while (durable < record) {
+            if (failure != null) {
+                throw new IOException("The journal has failed.", failure);
+            }
+            try {
+                lock.wait();
+            } catch (InterruptedException e) {
+                // The record stays pending, and is made durable by the next batch
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the commit.");
+            }
+        }
+    }
+
+    /**
+     * Writes the pending records to the log, and forces them to the disk.
+     * Once it fails, the journal keeps failing: the state of the log on the disk is unknown.
+     *
+     * @throws IOException if an I/O error occurs, now or in a previous batch.
+     */
+    private void flush() throws IOException {
+        if (failure != null) {
+            throw new IOException("The journal has failed.", failure);
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        long batch = appended;
+        try {
+            ByteBuffer bytes = pending.drain();
+            logSize += bytes.remaining();
+            while (bytes.hasRemaining()) {
+                log.write(bytes);
+            }
+            log.force(false);
+            durable = batch;
+        } catch (IOException e) {
+            failure = e;
+            throw e;
+        } finally {
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Called by the committer thread.
+     */
+    private void flushQuietly() {
+        synchronized (lock) {
+            if (closed || failure != null) {
+                return;
+            }
+            try {
+                this.flush();
+            } catch (IOException e) {
+                // Reported by the next commit
+            }
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("The journal is closed.");
+        }
+    }
+
+    // ---- Recovery --------------------------------------------------------- //
+
+    /**
+     * Reads the last checkpoint and replays the log into the matrix, then opens the log for appending.
+     *
+     * @throws IOException if an I/O error occurs, or the journal is corrupted.
+     */
+    private void recover() throws IOException {
+        generation = this.lastGeneration();
+        Path checkpoint = this.checkpointPath(generation);
+        TaskDecoder decoder;
+        if (Files.exists(checkpoint)) {
+            try (MatrixReader reader = new MatrixReader(FileChannel.open(checkpoint, READ))) {
+                reader.forEachRemaining((quadrant, task) -> matrix.getTasks(quadrant).add(task));
+                decoder = reader.decoder();
+            }
+            checkpointSize = Files.size(checkpoint);
+        } else {
+            decoder = new TaskDecoder(null);
+        }
+
+        Path logPath = this.logPath(generation);
+        if (Files.exists(logPath)) {
+            log = FileChannel.open(logPath, READ, WRITE);
+            logSize = this.replay(decoder);
+            if (logSize == 0) {
+                log.close();
+                log = this.openLog(generation);
+                logSize = HEADER_SIZE;
+            }
+        } else {
+            log = this.openLog(generation);
+            logSize = HEADER_SIZE;
+        }
+        log.position(logSize);
+
+        encoder = new TaskEncoder(pending);
+        encoder.adopt(decoder);
+        this.deleteOtherGenerations();
+    }
+
+    /**
+     * Replays the records of the log, up to the first one torn or corrupted, where the log is truncated.
+     *
+     * @param decoder the decoder which has read the checkpoint.
+     * @return the size of the valid part of the log, or {@code 0} if even its header is torn.
+     * @throws IOException if an I/O error occurs, or a valid record cannot be replayed.
+     */
+    private long replay(TaskDecoder decoder) throws IOException {
+        long size = log.size();
+        if (size < HEADER_SIZE) {
+            return 0;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        this.readFully(header, 0);
+        if (header.getInt(0) != JOURNAL_MAGIC) {
+            throw new StreamCorruptedException("Not a matrix journal.");
+        }
+        if (header.get(Integer.BYTES) != JOURNAL_VERSION) {
+            throw new StreamCorruptedException("Unsupported journal version: " + header.get(Integer.BYTES));
+        }
+
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_SIZE);
+        CRC32C crc = new CRC32C();
+        long position = HEADER_SIZE;
+        while (position + FRAME_SIZE <= size) {
+            frame.clear();
+            this.readFully(frame, position);
+            int length = frame.getInt(0);
+            if (length < 0 || length > size - position - FRAME_SIZE) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            this.readFully(payload, position + FRAME_SIZE);
+            crc.reset();
+            crc.update(payload.array(), 0, length);
+            if ((int) crc.getValue() != frame.getInt(Integer.BYTES)) {
+                break;
+            }
+            payload.flip();
+            decoder.setInput(payload);
+            this.apply(decoder);
+            decoder.checkFullyRead();
+            position += FRAME_SIZE + length;
+        }
+        if (position < size) {
+            log.truncate(position);
+            log.force(false);
+        }
+        return position;
+    }
+
+    /**
+     * Applies a record of the log to the matrix.
+     *
+     * @param decoder the decoder positioned on the payload of the record.
+     * @throws IOException if the record is corrupted.
+     */
+    private void apply(TaskDecoder decoder) throws IOException {
+        int operation = decoder.readByte();
+        switch (operation) {
+            case ADD, REMOVE -> {
+                int ordinal = decoder.readByte() & 0xFF;
+                if (ordinal >= QUADRANTS.length) {
+                    throw new StreamCorruptedException("Invalid quadrant: " + ordinal);
+                }
+                Collection<Task> tasks = matrix.getTasks(QUADRANTS[ordinal]);
+                long index = TaskDecoder.unzigzag(decoder.readVarLong());
+                Task task = decoder.readReference();
+                if (index < 0) {
+                    if (operation == ADD) {
+                        tasks.add(task);
+                    } else {
+                        tasks.remove(task);
+                    }
+                } else if (!(tasks instanceof List<Task> list) || index > list.size()
+                        || (operation == REMOVE && (index == list.size() || list.get((int) index) != task))) {
+                    throw new StreamCorruptedException("The journal does not match the matrix.");
+                } else if (operation == ADD) {
+                    list.add((int) index, task);
+                } else {
+                    list.remove((int) index);
+                }
+            }
+            case PUT_PROPERTY -> {
+                Task task = decoder.readReference();
+                String key = decoder.readKey();
+                task.putProperty(key, decoder.readValue());
+            }
+            case REMOVE_PROPERTY -> {
+                Task task = decoder.readReference();
+                task.removeProperty(decoder.readKey());
+            }
+            default -> throw new StreamCorruptedException("Invalid journal operation: " + operation);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = log.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of journal.");
+            }
+            position += read;
+        }
+    }
+
+    // ---- Files ------------------------------------------------------------ //
+
+    private Path checkpointPath(long generation) {
+        return directory.resolve(CHECKPOINT_PREFIX + generation + CHECKPOINT_SUFFIX);
+    }
+
+    private Path logPath(long generation) {
+        return directory.resolve(LOG_PREFIX + generation + LOG_SUFFIX);
+    }
+
+    /**
+     * Creates an empty log (with its header only) for the given generation.
+     *
+     * @param generation the generation of the log.
+     * @return the channel of the log, positioned after its header.
+     * @throws IOException if an I/O error occurs.
+     */
+    private FileChannel openLog(long generation) throws IOException {
+        FileChannel channel = FileChannel.open(this.logPath(generation), CREATE, READ, WRITE, TRUNCATE_EXISTING);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(JOURNAL_MAGIC).put(JOURNAL_VERSION).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            channel.force(true);
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Finds the generation of the last checkpoint, or {@code 0} if there is none.
+     *
+     * @return the last generation.
+     * @throws IOException if an I/O error occurs.
+     */
+    private long lastGeneration() throws IOException {
+        long last = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                last = Math.max(last, generationOf(file, CHECKPOINT_PREFIX, CHECKPOINT_SUFFIX));
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Deletes the checkpoints and logs of the other generations, and the checkpoints left unfinished.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    private void deleteOtherGenerations() throws IOException {
+        List<Path> obsolete = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                long checkpoint = generationOf(file, CHECKPOINT_PREFIX, CHECKPOINT_SUFFIX);
+                long logGeneration = generationOf(file, LOG_PREFIX, LOG_SUFFIX);
+                if ((checkpoint >= 0 && checkpoint != generation)
+                        || (logGeneration >= 0 && logGeneration != generation)
+                        || generationOf(file, CHECKPOINT_PREFIX, TEMPORARY_SUFFIX) >= 0) {
+                    obsolete.add(file);
+                }
+            }
+        }
+        for (Path file : obsolete) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Parses the generation out of the name of a file of the journal.
+     *
+     * @return the generation, or {@code -1} if the file doesn't have the given prefix and suffix.
+     */
+    private static long generationOf(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(prefix) || !name.endsWith(suffix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Makes the renaming of a checkpoint durable, where the platform supports it.
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened on some platforms
+        }
+    }
+
+    // ---- Pending records -------------------------------------------------- //
+
+    /**
+     * Writes the payload of a record.
+     */
+    @FunctionalInterface
+    private interface Payload {
+
+        void write() throws IOException;
+    }
+
+    /**
+     * The records not written to the log yet, framed as they are appended.
+     * The encoder drains into it as into a channel.
+     */
+    private static final class PendingRecords implements WritableByteChannel {
+
+        private ByteBuffer bytes = ByteBuffer.allocate(1 << 12);
+        private final CRC32C crc = new CRC32C();
+        private int recordStart;
+
+        void beginRecord() {
+            recordStart = bytes.position();
+            this.ensureCapacity(FRAME_SIZE);
+            bytes.position(recordStart + FRAME_SIZE);
+        }
+
+        void endRecord() {
+            int payloadStart = recordStart + FRAME_SIZE;
+            int length = bytes.position() - payloadStart;
+            crc.reset();
+            crc.update(bytes.array(), payloadStart, length);
+            bytes.putInt(recordStart, length);
+            bytes.putInt(recordStart + Integer.BYTES, (int) crc.getValue());
+        }
+
+        boolean isEmpty() {
+            return bytes.position() == 0;
+        }
+
+        /**
+         * Returns the pending records, and forgets them.
+         *
+         * @return the bytes of the records, valid until the next record.
+         */
+        ByteBuffer drain() {
+            ByteBuffer records = ByteBuffer.wrap(bytes.array(), 0, bytes.position());
+            bytes.clear();
+            return records;
+        }
+
+        @Override
+        public int write(ByteBuffer source) {
+            int length = source.remaining();
+            this.ensureCapacity(length);
+            bytes.put(source);
+            return length;
+        }
+
+        private void ensureCapacity(int length) {
+            if (bytes.remaining() < length) {
+                int capacity = Math.max(bytes.capacity() * 2, bytes.position() + length);
+                bytes = ByteBuffer.allocate(capacity).put(bytes.flip());
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
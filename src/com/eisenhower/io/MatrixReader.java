@@ -0,0 +1,116 @@
+package com.eisenhower.io;
+
+import static com.eisenhower.io.SnapshotFormat.*;
+import com.eisenhower.matrix.EisenhowerMatrix;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads back from a channel the tasks written by a {@link MatrixWriter}.
+ * <p>
+ * Tasks are read as instances of {@link Task}, with the same properties, atomicity and subtasks
+ * as when they were written. A task written once for several quadrants or parents is read as a
+ * single instance. Bytes are read from the channel into a buffer as they are decoded, so that
+ * tasks are streamed to the caller without holding the whole snapshot in memory.
+ * </p>
+ *
+ * <p>Example:</p>
+ * <pre>{@code
+ * EisenhowerMatrix<Task> matrix = new EisenhowerMatrixSet<>();
+ * try (MatrixReader reader = new MatrixReader(FileChannel.open(path, READ))) {
+ *     reader.readInto(matrix);
+ * }
+ * }</pre>
+ */
+public final class MatrixReader implements Closeable {
+
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+
+    private final ReadableByteChannel channel;
+    private final TaskDecoder decoder;
+
+    private boolean ended;
+
+    /**
+     * Creates a reader, and reads the header of the snapshot.
+     *
+     * @param channel the channel to read from, which is closed along with the reader.
+     * @throws IOException          if an I/O error occurs, or the channel doesn't hold a snapshot.
+     * @throws NullPointerException if {@code channel} is {@code null}.
+     */
+    public MatrixReader(ReadableByteChannel channel) throws IOException {
+        this.channel = Objects.requireNonNull(channel, "Channel cannot be null.");
+        this.decoder = new TaskDecoder(channel);
+        if (decoder.readInt() != MAGIC) {
+            throw new StreamCorruptedException("Not a matrix snapshot.");
+        }
+        byte version = decoder.readByte();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported snapshot version: " + version);
+        }
+    }
+
+    /**
+     * Reads all the remaining tasks, and adds each of them to its quadrant of the given matrix.
+     *
+     * @param matrix the matrix receiving the tasks.
+     * @return the number of tasks read.
+     * @throws IOException          if an I/O error occurs, or the snapshot is corrupted.
+     * @throws NullPointerException if {@code matrix} is {@code null}.
+     */
+    public int readInto(EisenhowerMatrix<Task> matrix) throws IOException {
+        Objects.requireNonNull(matrix, "Matrix cannot be null.");
+        int[] count = new int[1];
+        this.forEachRemaining((quadrant, task) -> {
+            matrix.addTask(task, quadrant);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * Reads all the remaining tasks, passing each of them to the given action along with its quadrant.
+     *
+     * @param action the action to be performed on each task.
+     * @throws IOException          if an I/O error occurs, or the snapshot is corrupted.
+     * @throws NullPointerException if {@code action} is {@code null}.
+     */
+    public void forEachRemaining(BiConsumer<? super Quadrant, ? super Task> action) throws IOException {
+        Objects.requireNonNull(action, "Action cannot be null.");
+        while (!ended) {
+            int marker = decoder.readByte() & 0xFF;
+            if (marker == END) {
+                ended = true;
+            } else if (marker < QUADRANTS.length) {
+                action.accept(QUADRANTS[marker], decoder.readReference());
+            } else {
+                throw new StreamCorruptedException("Invalid quadrant: " + marker);
+            }
+        }
+    }
+
+    /**
+     * Closes the channel.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Returns the decoder, which can go on resolving references to the tasks read.
+     *
+     * @return the decoder of this reader.
+     */
+    TaskDecoder decoder() {
+        return decoder;
+    }
+}
@@ -0,0 +1,277 @@
+package com.eisenhower.io;
+
+import static com.eisenhower.io.SnapshotFormat.*;
+import com.eisenhower.matrix.EisenhowerMatrix;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.time.*;
+import java.util.*;
+
+/**
+ * Writes the tasks of a matrix to a channel, in a compact binary format (see {@link MatrixReader}
+ * to read them back, or {@link MappedEisenhowerMatrix} to map an indexed snapshot).
+ * <p>
+ * Tasks are encoded along with their quadrant, their properties and their subtasks. Each task is
+ * written once, even if it appears in several quadrants or as subtask of several tasks: later
+ * occurrences refer to the first one. Property values can be {@link String}s, {@link LocalDate}s,
+ * {@link LocalTime}s, {@link LocalDateTime}s, {@link Integer}s, {@link Long}s, {@link Boolean}s,
+ * {@link Double}s, {@code byte[]}s or {@code null}.
+ * </p>
+ *
+ * <p>Bytes are encoded into a buffer, which is written to the channel whenever full, so that
+ * matrices of any size are written with constant memory (besides the identifiers of the tasks
+ * already written). Subtasks are written recursively: very deep trees of subtasks may exhaust
+ * the stack.</p>
+ *
+ * <p>Example:</p>
+ * <pre>{@code
+ * try (MatrixWriter writer = new MatrixWriter(FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING))) {
+ *     writer.writeMatrix(matrix);
+ * }
+ * }</pre>
+ */
+public final class MatrixWriter implements Closeable {
+
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+
+    private final WritableByteChannel channel;
+    private final TaskEncoder encoder;
+
+    // Identifiers of the tasks of each quadrant, in order (null unless indexed)
+    private final int[][] entries;
+    private final int[] entriesCount;
+    private boolean list = true;
+
+    private boolean closed;
+
+    /**
+     * Creates a writer, and writes the header of the snapshot.
+     *
+     * @param channel the channel to write to, which is closed along with the writer.
+     * @throws NullPointerException if {@code channel} is {@code null}.
+     */
+    public MatrixWriter(WritableByteChannel channel) {
+        this(channel, false);
+    }
+
+    /**
+     * Creates a writer, and writes the header of the snapshot.
+     * <p>
+     * An indexed snapshot ends with an index of its tasks, which lets {@link MappedEisenhowerMatrix}
+     * read them in place. The index is built as tasks are written, and written on {@link #close()}.
+     * It takes 8 bytes per task of each quadrant, plus 16 to 28 bytes per distinct task, and the
+     * snapshot must be smaller than 2 GiB.
+     * </p>
+     *
+     * @param channel the channel to write to, which is closed along with the writer.
+     * @param indexed {@code true} to end the snapshot with an index.
+     * @throws NullPointerException if {@code channel} is {@code null}.
+     */
+    public MatrixWriter(WritableByteChannel channel, boolean indexed) {
+        this.channel = Objects.requireNonNull(channel, "Channel cannot be null.");
+        this.encoder = new TaskEncoder(channel);
+        encoder.writeHeader(MAGIC, VERSION);
+        if (indexed) {
+            encoder.recordDefinitions();
+            this.entries = new int[QUADRANTS.length][16];
+            this.entriesCount = new int[QUADRANTS.length];
+        } else {
+            this.entries = null;
+            this.entriesCount = null;
+        }
+    }
+
+    /**
+     * Writes all the tasks of a matrix, quadrant by quadrant.
+     *
+     * @param matrix the matrix to be written.
+     * @throws IOException              if an I/O error occurs.
+     * @throws IllegalArgumentException if a property value has an unsupported type.
+     * @throws NullPointerException     if {@code matrix} is {@code null}.
+     */
+    public void writeMatrix(EisenhowerMatrix<Task> matrix) throws IOException {
+        Objects.requireNonNull(matrix, "Matrix cannot be null.");
+        list = !Set.class.isAssignableFrom(matrix.getImplementingCollectionType());
+        for (Quadrant quadrant : Quadrant.values()) {
+            for (Task task : matrix.getTasks(quadrant)) {
+                this.writeTask(task, quadrant);
+            }
+        }
+    }
+
+    /**
+     * Writes a task of the given quadrant.
+     *
+     * @param task     the task to be written.
+     * @param quadrant the quadrant of the task.
+     * @throws IOException              if an I/O error occurs.
+     * @throws IllegalArgumentException if a property value has an unsupported type.
+     * @throws NullPointerException     if {@code task} or {@code quadrant} is {@code null}.
+     */
+    public void writeTask(Task task, Quadrant quadrant) throws IOException {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        this.checkOpen();
+        encoder.writeByte(quadrant.ordinal());
+        encoder.writeReference(task);
+        if (entries != null) {
+            int index = quadrant.ordinal();
+            if (entriesCount[index] == entries[index].length) {
+                entries[index] = Arrays.copyOf(entries[index], entriesCount[index] * 2);
+            }
+            entries[index][entriesCount[index]++] = encoder.idOf(task);
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the channel.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    public void flush() throws IOException {
+        this.checkOpen();
+        encoder.drain();
+    }
+
+    /**
+     * Ends the snapshot (writing its index, if any), writes the buffered bytes and closes the channel.
+     * Closing a writer already closed has no effect.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            this.finish();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Ends the snapshot and writes the buffered bytes, leaving the channel open.
+     *
+     * @return the encoder, which can go on writing references to the tasks written.
+     * @throws IOException if an I/O error occurs.
+     */
+    TaskEncoder finish() throws IOException {
+        this.checkOpen();
+        closed = true;
+        encoder.writeByte(END);
+        if (entries != null) {
+            this.writeIndex();
+        }
+        encoder.drain();
+        return encoder;
+    }
+
+    // ---- Index ------------------------------------------------------------ //
+
+    private void writeIndex() throws IOException {
+        long indexOffset = encoder.position();
+        if (indexOffset > Integer.MAX_VALUE) {
+            throw new IOException("Snapshots larger than 2 GiB cannot be indexed.");
+        }
+        Task[] tasks = encoder.tasksById();
+        long[] offsets = encoder.definitionOffsets();
+        encoder.writeByte(list ? INDEX_LIST : 0);
+        encoder.writeInt(tasks.length);
+        for (int id = 0; id < tasks.length; id++) {
+            encoder.writeInt((int) offsets[id]);
+        }
+        List<String> customKeys = encoder.customKeys();
+        encoder.writeInt(customKeys.size());
+        for (String key : customKeys) {
+            encoder.writeString(key);
+        }
+
+        int[] quadrantMasks = new int[tasks.length];
+        for (Quadrant quadrant : QUADRANTS) {
+            int[] ids = entries[quadrant.ordinal()];
+            int count = entriesCount[quadrant.ordinal()];
+            encoder.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                encoder.writeInt(ids[i]);
+                quadrantMasks[ids[i]] |= 1 << quadrant.ordinal();
+            }
+            int[] sortedPositions = sortedPositions(tasks, ids, count);
+            encoder.writeByte(sortedPositions != null ? 1 : 0);
+            if (sortedPositions != null) {
+                for (int position : sortedPositions) {
+                    encoder.writeInt(position);
+                }
+            }
+        }
+        this.writeHashTable(tasks, quadrantMasks);
+
+        encoder.writeInt((int) indexOffset);
+        encoder.writeInt(INDEX_MAGIC);
+        if (encoder.position() > Integer.MAX_VALUE) {
+            throw new IOException("Snapshots larger than 2 GiB cannot be indexed.");
+        }
+    }
+
+    /**
+     * Sorts the entries of a quadrant by the natural ordering of their tasks (entries comparing
+     * equal are kept in order).
+     *
+     * @return the positions of the entries in sorted order, or {@code null} if the tasks cannot be compared.
+     */
+    private static int[] sortedPositions(Task[] tasks, int[] ids, int count) {
+        Integer[] positions = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = i;
+        }
+        try {
+            Arrays.sort(positions, (a, b) -> tasks[ids[a]].compareTo(tasks[ids[b]]));
+        } catch (RuntimeException e) {
+            // Such as tasks whose date or time is not a LocalDate or LocalTime
+            return null;
+        }
+        int[] sorted = new int[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = positions[i];
+        }
+        return sorted;
+    }
+
+    private void writeHashTable(Task[] tasks, int[] quadrantMasks) throws IOException {
+        int held = 0;
+        for (int mask : quadrantMasks) {
+            if (mask != 0) {
+                held++;
+            }
+        }
+        int capacity = Integer.highestOneBit(Math.max(1, held) * 2 - 1) << 1;
+        int[] slots = new int[capacity * 3];
+        for (int id = 0; id < tasks.length; id++) {
+            if (quadrantMasks[id] == 0) {
+                continue;
+            }
+            int hash = tasks[id].deepHashCode();
+            int slot = MappedEisenhowerMatrix.spread(hash) & (capacity - 1);
+            while (slots[slot * 3 + 1] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            slots[slot * 3] = hash;
+            slots[slot * 3 + 1] = id + 1;
+            slots[slot * 3 + 2] = quadrantMasks[id];
+        }
+        encoder.writeInt(capacity);
+        for (int value : slots) {
+            encoder.writeInt(value);
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("The writer is closed.");
+        }
+    }
+}
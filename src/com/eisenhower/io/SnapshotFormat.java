@@ -0,0 +1,110 @@
+package com.eisenhower.io;
+
+import com.eisenhower.util.TaskProperties;
+import java.util.*;
+
+/**
+ * Constants of the binary snapshot format, shared by {@link MatrixWriter} and {@link MatrixReader},
+ * and of the journal format of {@link MatrixJournal}.
+ * <p>
+ * A snapshot starts with a header (the 4 bytes {@code "EMX1"} and a version byte), followed by
+ * any number of entries, and ends with the {@link #END} byte. Each entry is the ordinal of a
+ * {@link com.eisenhower.util.Quadrant} (one byte) followed by a task reference.
+ * </p>
+ *
+ * <p>Integers are written as variable-length quantities (7 bits per byte, least significant first),
+ * with signed values zigzag-encoded. Strings are written as their UTF-8 length and bytes.</p>
+ *
+ * <p>A task reference is either {@code 0}, followed by the definition of a task not written yet,
+ * or the identifier of a task already written plus one. Identifiers are assigned in order of
+ * definition, starting from 0, so that a task held by several quadrants or parents is written once.
+ * A definition is made of:</p>
+ * <ul>
+ *     <li>a flags byte ({@link #ATOMIC});
+ *     <li>the number of properties, then each property as a key code and a typed value;
+ *     <li>the number of subtasks, then each subtask as a task reference.
+ * </ul>
+ *
+ * <p>Key codes below {@link #NEW_KEY} stand for the keys of {@link #WELL_KNOWN_KEYS}. {@link #NEW_KEY}
+ * is followed by a custom key, which is then referred to by the code {@code NEW_KEY + 1 + n},
+ * where {@code n} counts the custom keys defined before it.</p>
+ *
+ * <p>Values start with a type tag, followed by: nothing for {@link #NULL}, {@link #FALSE} and
+ * {@link #TRUE}; a string for {@link #STRING}; the epoch day for {@link #LOCAL_DATE}; the
+ * nano-of-day for {@link #LOCAL_TIME}; both for {@link #LOCAL_DATE_TIME}; the number for
+ * {@link #INTEGER} and {@link #LONG}; its 8 IEEE 754 bytes for {@link #DOUBLE}; the length and the
+ * bytes for {@link #BYTES}.</p>
+ *
+ * <p>An indexed snapshot (see {@link MappedEisenhowerMatrix}) is followed, past its {@link #END}
+ * byte, by an index made of 4-byte integers, so that tasks can be read at random:</p>
+ * <ul>
+ *     <li>a flags byte ({@link #INDEX_LIST} if the quadrants are lists);
+ *     <li>the number of definitions, then the offset of each definition (past its {@code 0} reference);
+ *     <li>the number of custom keys, then each custom key as a string;
+ *     <li>for each quadrant: the number of entries, the identifier of the task of each entry, and
+ *         either {@code 0} or {@code 1} followed by the positions of the entries sorted by the natural
+ *         ordering of their tasks;
+ *     <li>the capacity of a hash table of the tasks held by the quadrants, then each slot as the
+ *         hash code of a task, its identifier plus one ({@code 0} for empty slots) and the bit mask of
+ *         the quadrants holding it (by ordinal), with linear probing;
+ *     <li>the offset of the index, and {@link #INDEX_MAGIC}.
+ * </ul>
+ *
+ * <p>A journal starts with a header (the 4 bytes {@code "EMJ1"} and a version byte), followed by
+ * records. Each record is framed by the length of its payload and the CRC-32C of its payload
+ * (two 4-byte integers), so that a record torn by a crash is detected. The payload starts with
+ * an operation code:</p>
+ * <ul>
+ *     <li>{@link #ADD}: a quadrant, a zigzag-encoded position (-1 for sets) and a task reference;
+ *     <li>{@link #REMOVE}: a quadrant, a zigzag-encoded position (-1 for sets) and a task reference;
+ *     <li>{@link #PUT_PROPERTY}: a task reference, a key code and a typed value;
+ *     <li>{@link #REMOVE_PROPERTY}: a task reference and a key code.
+ * </ul>
+ * <p>Task references and key codes of the journal continue those of the checkpoint it follows.</p>
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x454D5831;
+    static final byte VERSION = 1;
+
+    static final int END = 0xFF;
+
+    static final int ATOMIC = 1;
+
+    // Keys encoded as their index: this order must never change
+    static final List<String> WELL_KNOWN_KEYS = List.of(
+            TaskProperties.TASK_NAME, TaskProperties.MORE_INFO, TaskProperties.DATE, TaskProperties.TIME,
+            TaskProperties.LOCATION, TaskProperties.PRIORITY, TaskProperties.IMAGE);
+    static final int NEW_KEY = WELL_KNOWN_KEYS.size();
+
+    // Value tags
+    static final int NULL = 0;
+    static final int STRING = 1;
+    static final int LOCAL_DATE = 2;
+    static final int LOCAL_TIME = 3;
+    static final int LOCAL_DATE_TIME = 4;
+    static final int INTEGER = 5;
+    static final int LONG = 6;
+    static final int FALSE = 7;
+    static final int TRUE = 8;
+    static final int DOUBLE = 9;
+    static final int BYTES = 10;
+
+    static final int INDEX_MAGIC = 0x454D5849;
+    static final int INDEX_LIST = 1;
+
+    static final int JOURNAL_MAGIC = 0x454D4A31;
+    static final byte JOURNAL_VERSION = 1;
+
+    // Journal operations
+    static final int ADD = 1;
+    static final int REMOVE = 2;
+    static final int PUT_PROPERTY = 3;
+    static final int REMOVE_PROPERTY = 4;
+
+    // Size of the buffers between the channels and the encoders
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private SnapshotFormat() {
+    }
+}
@@ -0,0 +1,333 @@
+package com.eisenhower.io;
+
+import static com.eisenhower.io.SnapshotFormat.*;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Decodes tasks written by a {@link TaskEncoder}, from a buffer refilled from a channel.
+ * <p>
+ * It remembers the tasks and the custom keys already read, so as to resolve the references to them:
+ * the same decoder can thus read a snapshot and then the records of a {@link MatrixJournal}
+ * continuing the same stream of identifiers.
+ * </p>
+ *
+ * <p>A decoder can also read a single definition at any offset of an indexed snapshot (see
+ * {@link MappedEisenhowerMatrix}): then, the custom keys are known in advance, and the references
+ * to other tasks are resolved through their identifier.</p>
+ */
+final class TaskDecoder {
+
+    private static final int DATE_CODE = WELL_KNOWN_KEYS.indexOf(TaskProperties.DATE);
+    private static final int TIME_CODE = WELL_KNOWN_KEYS.indexOf(TaskProperties.TIME);
+
+    private ReadableByteChannel channel;
+    private ByteBuffer buffer;
+
+    // Tasks already read, by identifier
+    private final List<Task> tasks = new ArrayList<>();
+
+    // Custom keys already read, by code minus NEW_KEY + 1
+    private final List<String> customKeys;
+
+    // Resolves the references to tasks defined elsewhere, when reading at random offsets (null otherwise)
+    private final IntFunction<Task> resolver;
+
+    /**
+     * Creates a decoder reading from the given channel.
+     *
+     * @param channel the channel providing the encoded bytes.
+     */
+    TaskDecoder(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.limit(0);
+        this.customKeys = new ArrayList<>();
+        this.resolver = null;
+    }
+
+    /**
+     * Creates a decoder reading definitions at random offsets of the given bytes.
+     * The tasks it reads are not remembered.
+     *
+     * @param bytes      the bytes to be decoded, from their position to their limit.
+     * @param customKeys all the custom keys of the stream, by code minus {@code NEW_KEY + 1}.
+     * @param resolver   returns the task having the given identifier.
+     */
+    TaskDecoder(ByteBuffer bytes, List<String> customKeys, IntFunction<Task> resolver) {
+        this.buffer = bytes;
+        this.customKeys = customKeys;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Makes the decoder read from the given bytes only, instead of its channel.
+     *
+     * @param bytes the bytes to be decoded, from their position to their limit.
+     */
+    void setInput(ByteBuffer bytes) {
+        this.channel = null;
+        this.buffer = bytes;
+    }
+
+    /**
+     * Checks that all the input has been decoded.
+     *
+     * @throws StreamCorruptedException if some bytes are left.
+     */
+    void checkFullyRead() throws StreamCorruptedException {
+        if (buffer.hasRemaining()) {
+            throw new StreamCorruptedException("Unexpected trailing bytes: " + buffer.remaining());
+        }
+    }
+
+    List<Task> tasks() {
+        return tasks;
+    }
+
+    List<String> customKeys() {
+        return customKeys;
+    }
+
+    // ---- Decoding --------------------------------------------------------- //
+
+    Task readReference() throws IOException {
+        int reference = this.readVarInt();
+        if (reference == 0) {
+            return this.readDefinition();
+        }
+        if (resolver != null) {
+            return resolver.apply(reference - 1);
+        }
+        if (reference > tasks.size()) {
+            throw new StreamCorruptedException("Invalid task reference: " + reference);
+        }
+        return tasks.get(reference - 1);
+    }
+
+    Task readDefinition() throws IOException {
+        int flags = this.readByte();
+        int propertiesCount = this.readVarInt();
+        Map<String, Object> properties = new HashMap<>(Math.max(4, propertiesCount * 2));
+        for (int i = 0; i < propertiesCount; i++) {
+            String key = this.readKey();
+            properties.put(key, this.readValue());
+        }
+        Task task = Task.fromProperties(properties, (flags & ATOMIC) != 0);
+        if (resolver == null) {
+            tasks.add(task);
+        }
+
+        int subtasksCount = this.readVarInt();
+        for (int i = 0; i < subtasksCount; i++) {
+            task.addSubtask(this.readReference());
+        }
+        return task;
+    }
+
+    /**
+     * Reads the date and time of a definition, which {@link Task#compareTo(Task) order} the task,
+     * skipping its other properties without decoding them. Its subtasks are not read.
+     *
+     * @param sortKey receives the epoch day of the date ({@link Long#MAX_VALUE} without date) and
+     *                the nano-of-day of the time ({@code 0} without time).
+     * @return {@code true} if the sort key has been read, {@code false} if the date or the time
+     *         has a value of another type, and the task must be decoded to be compared.
+     * @throws IOException if the definition is corrupted.
+     */
+    boolean readSortKey(long[] sortKey) throws IOException {
+        sortKey[0] = Long.MAX_VALUE;
+        sortKey[1] = 0;
+        this.readByte();
+        int propertiesCount = this.readVarInt();
+        for (int i = 0; i < propertiesCount; i++) {
+            int code = this.readVarInt();
+            if (code == NEW_KEY) {
+                this.skip(this.readVarInt());
+            }
+            int tag = this.readByte();
+            if (code == DATE_CODE && tag == LOCAL_DATE) {
+                sortKey[0] = unzigzag(this.readVarLong());
+            } else if (code == TIME_CODE && tag == LOCAL_TIME) {
+                sortKey[1] = this.readVarLong();
+            } else if ((code == DATE_CODE || code == TIME_CODE) && tag != NULL) {
+                return false;
+            } else {
+                this.skipValue(tag);
+            }
+        }
+        return true;
+    }
+
+    private void skipValue(int tag) throws IOException {
+        switch (tag) {
+            case NULL, FALSE, TRUE -> {
+            }
+            case STRING, BYTES -> this.skip(this.readVarInt());
+            case LOCAL_DATE, LOCAL_TIME, INTEGER, LONG -> this.readVarLong();
+            case LOCAL_DATE_TIME -> {
+                this.readVarLong();
+                this.readVarLong();
+            }
+            case DOUBLE -> this.skip(Double.BYTES);
+            default -> throw new StreamCorruptedException("Invalid value type: " + tag);
+        }
+    }
+
+    String readKey() throws IOException {
+        int code = this.readVarInt();
+        if (code < NEW_KEY) {
+            return WELL_KNOWN_KEYS.get(code);
+        }
+        if (code == NEW_KEY) {
+            String key = this.readString();
+            if (resolver == null) {
+                customKeys.add(key);
+            }
+            return key;
+        }
+        int index = code - NEW_KEY - 1;
+        if (index >= customKeys.size()) {
+            throw new StreamCorruptedException("Invalid key code: " + code);
+        }
+        return customKeys.get(index);
+    }
+
+    Object readValue() throws IOException {
+        int tag = this.readByte();
+        return switch (tag) {
+            case NULL -> null;
+            case STRING -> this.readString();
+            case LOCAL_DATE -> LocalDate.ofEpochDay(unzigzag(this.readVarLong()));
+            case LOCAL_TIME -> LocalTime.ofNanoOfDay(this.readVarLong());
+            case LOCAL_DATE_TIME -> LocalDateTime.of(
+                    LocalDate.ofEpochDay(unzigzag(this.readVarLong())), LocalTime.ofNanoOfDay(this.readVarLong()));
+            case INTEGER -> (int) unzigzag(this.readVarLong());
+            case LONG -> unzigzag(this.readVarLong());
+            case FALSE -> Boolean.FALSE;
+            case TRUE -> Boolean.TRUE;
+            case DOUBLE -> {
+                this.ensureRemaining(Double.BYTES);
+                yield buffer.getDouble();
+            }
+            case BYTES -> this.readBytes();
+            default -> throw new StreamCorruptedException("Invalid value type: " + tag);
+        };
+    }
+
+    String readString() throws IOException {
+        int length = this.readVarInt();
+        if (length <= buffer.capacity() && buffer.hasArray()) {
+            // Decodes straight from the buffer
+            this.ensureRemaining(length);
+            String string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return string;
+        }
+        return new String(this.readBytes(length), StandardCharsets.UTF_8);
+    }
+
+    byte[] readBytes() throws IOException {
+        return this.readBytes(this.readVarInt());
+    }
+
+    private byte[] readBytes(int length) throws IOException {
+        if (length < 0) {
+            throw new StreamCorruptedException("Invalid length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            this.ensureRemaining(1);
+            int chunk = Math.min(buffer.remaining(), length - offset);
+            buffer.get(bytes, offset, chunk);
+            offset += chunk;
+        }
+        return bytes;
+    }
+
+    private void skip(int length) throws IOException {
+        if (length < 0) {
+            throw new StreamCorruptedException("Invalid length: " + length);
+        }
+        while (length > 0) {
+            this.ensureRemaining(1);
+            int chunk = Math.min(buffer.remaining(), length);
+            buffer.position(buffer.position() + chunk);
+            length -= chunk;
+        }
+    }
+
+    int readInt() throws IOException {
+        this.ensureRemaining(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    int readVarInt() throws IOException {
+        long value = this.readVarLong();
+        if ((value >>> 32) != 0) {
+            throw new StreamCorruptedException("Invalid integer: " + value);
+        }
+        return (int) value;
+    }
+
+    long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = this.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Invalid variable-length integer.");
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // ---- Buffering -------------------------------------------------------- //
+
+    byte readByte() throws IOException {
+        if (!buffer.hasRemaining()) {
+            this.ensureRemaining(1);
+        }
+        return buffer.get();
+    }
+
+    /**
+     * Reads from the channel until the buffer holds at least the given number of bytes.
+     *
+     * @param bytes the number of bytes needed, at most the capacity of the buffer.
+     * @throws EOFException if the input ends before.
+     * @throws IOException  if an I/O error occurs.
+     */
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        if (channel == null) {
+            throw new EOFException("Unexpected end of input.");
+        }
+        buffer.compact();
+        try {
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Unexpected end of snapshot.");
+                }
+            }
+        } finally {
+            buffer.flip();
+        }
+    }
+}
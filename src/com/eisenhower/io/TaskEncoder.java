@@ -0,0 +1,358 @@
+package com.eisenhower.io;
+
+import static com.eisenhower.io.SnapshotFormat.*;
+import com.eisenhower.util.Task;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.util.*;
+
+/**
+ * Encodes tasks in the format described by {@link SnapshotFormat}, through a buffer drained to a channel.
+ * <p>
+ * It remembers the tasks and the custom keys already written, so that later occurrences are written
+ * as references: the same encoder can thus be used by a {@link MatrixWriter} and then by a
+ * {@link MatrixJournal} continuing the same stream of identifiers.
+ * </p>
+ */
+final class TaskEncoder {
+
+    private WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private long drained;
+
+    // Identifiers of the tasks already written, by task instance
+    private final Map<Task, Integer> taskIds = new IdentityHashMap<>();
+    private int nextId;
+
+    // Offsets of the definitions, by identifier (null unless recorded)
+    private long[] definitionOffsets;
+
+    // Codes of the custom keys already written, and the keys in order of definition
+    private final Map<String, Integer> keyCodes = new HashMap<>();
+    private final List<String> customKeys = new ArrayList<>();
+
+    /**
+     * Creates an encoder writing to the given channel.
+     *
+     * @param channel the channel receiving the encoded bytes.
+     */
+    TaskEncoder(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Redirects the next bytes to another channel. The buffered bytes must have been drained before.
+     *
+     * @param channel the channel receiving the encoded bytes from now on.
+     */
+    void setChannel(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Takes over the identifiers and the custom keys of a decoder, so as to write references to the
+     * tasks it has read.
+     *
+     * @param decoder a decoder which has read a stream continued by this encoder.
+     */
+    void adopt(TaskDecoder decoder) {
+        List<Task> tasks = decoder.tasks();
+        for (int id = 0; id < tasks.size(); id++) {
+            taskIds.put(tasks.get(id), id);
+        }
+        nextId = tasks.size();
+        List<String> customKeys = decoder.customKeys();
+        for (int i = 0; i < customKeys.size(); i++) {
+            keyCodes.put(customKeys.get(i), NEW_KEY + 1 + i);
+        }
+        this.customKeys.addAll(customKeys);
+    }
+
+    /**
+     * Makes the encoder record the offset of each task definition written from now on,
+     * so that an index of the stream can be built.
+     */
+    void recordDefinitions() {
+        definitionOffsets = new long[16];
+    }
+
+    /**
+     * Returns the number of bytes encoded so far, including the buffered ones.
+     *
+     * @return the offset of the next byte in the stream.
+     */
+    long position() {
+        return drained + buffer.position();
+    }
+
+    /**
+     * Returns the offset of the definition of each task, by identifier.
+     *
+     * @return the offsets of the definitions (past the last identifier, the array is padded).
+     */
+    long[] definitionOffsets() {
+        return definitionOffsets;
+    }
+
+    /**
+     * Returns the tasks written so far, by identifier.
+     *
+     * @return an array of the tasks written.
+     */
+    Task[] tasksById() {
+        Task[] tasks = new Task[nextId];
+        for (Map.Entry<Task, Integer> entry : taskIds.entrySet()) {
+            tasks[entry.getValue()] = entry.getKey();
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the custom keys written so far, in order of definition.
+     *
+     * @return the custom keys, by code minus {@code NEW_KEY + 1}.
+     */
+    List<String> customKeys() {
+        return customKeys;
+    }
+
+    /**
+     * Returns the identifier of a task already written.
+     *
+     * @param task a task already written.
+     * @return the identifier of the task.
+     */
+    int idOf(Task task) {
+        return taskIds.get(task);
+    }
+
+    /**
+     * Forgets a task already written, so that it is written again in full the next time.
+     * Its identifier is not reused.
+     *
+     * @param task the task to be forgotten.
+     */
+    void forget(Task task) {
+        taskIds.remove(task);
+    }
+
+    // ---- Validation ------------------------------------------------------- //
+
+    /**
+     * Checks that a task, and its subtasks not written yet, can be encoded.
+     *
+     * @param task the task to be checked.
+     * @throws IllegalArgumentException if a property value has an unsupported type.
+     */
+    void checkEncodable(Task task) {
+        if (taskIds.containsKey(task)) {
+            return;
+        }
+        if (task.subtasksCount() == 0) {
+            for (Object value : task.getProperties().values()) {
+                checkValue(value);
+            }
+            return;
+        }
+        Deque<Task> pending = new ArrayDeque<>();
+        Set<Task> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        pending.push(task);
+        while (!pending.isEmpty()) {
+            Task current = pending.pop();
+            if (taskIds.containsKey(current) || !visited.add(current)) {
+                continue;
+            }
+            for (Object value : current.getProperties().values()) {
+                checkValue(value);
+            }
+            if (current.subtasksCount() > 0) {
+                for (Task subtask : current.getSubtasks()) {
+                    pending.push(subtask);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that a property value can be encoded.
+     *
+     * @param value the value to be checked.
+     * @throws IllegalArgumentException if the value has an unsupported type.
+     */
+    static void checkValue(Object value) {
+        if (value != null && !(value instanceof String) && !(value instanceof LocalDate)
+                && !(value instanceof LocalTime) && !(value instanceof LocalDateTime)
+                && !(value instanceof Integer) && !(value instanceof Long) && !(value instanceof Boolean)
+                && !(value instanceof Double) && !(value instanceof byte[])) {
+            throw new IllegalArgumentException("Unsupported property value type: " + value.getClass().getName());
+        }
+    }
+
+    // ---- Encoding --------------------------------------------------------- //
+
+    /**
+     * Writes the header of a stream, as its first bytes.
+     *
+     * @param magic   the 4 bytes identifying the format.
+     * @param version the version of the format.
+     */
+    void writeHeader(int magic, byte version) {
+        buffer.putInt(magic);
+        buffer.put(version);
+    }
+
+    void writeReference(Task task) throws IOException {
+        Integer knownId = taskIds.get(task);
+        if (knownId != null) {
+            this.writeVarInt(knownId + 1);
+            return;
+        }
+        int id = nextId++;
+        taskIds.put(task, id);
+        this.writeVarInt(0);
+        if (definitionOffsets != null) {
+            if (id == definitionOffsets.length) {
+                definitionOffsets = Arrays.copyOf(definitionOffsets, id * 2);
+            }
+            definitionOffsets[id] = this.position();
+        }
+
+        this.writeByte(task.isAtomic() ? ATOMIC : 0);
+        Map<String, Object> properties = task.getProperties();
+        this.writeVarInt(properties.size());
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            this.writeKey(property.getKey());
+            this.writeValue(property.getValue());
+        }
+        int subtasksCount = task.subtasksCount();
+        this.writeVarInt(subtasksCount);
+        if (subtasksCount > 0) {
+            for (Task subtask : task.getSubtasks()) {
+                this.writeReference(subtask);
+            }
+        }
+    }
+
+    void writeKey(String key) throws IOException {
+        int wellKnown = WELL_KNOWN_KEYS.indexOf(key);
+        if (wellKnown >= 0) {
+            this.writeVarInt(wellKnown);
+            return;
+        }
+        Integer code = keyCodes.get(key);
+        if (code != null) {
+            this.writeVarInt(code);
+            return;
+        }
+        keyCodes.put(key, NEW_KEY + 1 + keyCodes.size());
+        customKeys.add(key);
+        this.writeVarInt(NEW_KEY);
+        this.writeString(key);
+    }
+
+    void writeValue(Object value) throws IOException {
+        this.ensureRemaining(1 + 2 * Long.BYTES + 4);
+        if (value == null) {
+            buffer.put((byte) NULL);
+        } else if (value instanceof String string) {
+            buffer.put((byte) STRING);
+            this.writeString(string);
+        } else if (value instanceof LocalDate date) {
+            buffer.put((byte) LOCAL_DATE);
+            this.writeVarLong(zigzag(date.toEpochDay()));
+        } else if (value instanceof LocalTime time) {
+            buffer.put((byte) LOCAL_TIME);
+            this.writeVarLong(time.toNanoOfDay());
+        } else if (value instanceof LocalDateTime dateTime) {
+            buffer.put((byte) LOCAL_DATE_TIME);
+            this.writeVarLong(zigzag(dateTime.toLocalDate().toEpochDay()));
+            this.writeVarLong(dateTime.toLocalTime().toNanoOfDay());
+        } else if (value instanceof Integer number) {
+            buffer.put((byte) INTEGER);
+            this.writeVarLong(zigzag(number));
+        } else if (value instanceof Long number) {
+            buffer.put((byte) LONG);
+            this.writeVarLong(zigzag(number));
+        } else if (value instanceof Boolean bool) {
+            buffer.put((byte) (bool ? TRUE : FALSE));
+        } else if (value instanceof Double number) {
+            buffer.put((byte) DOUBLE);
+            buffer.putDouble(number);
+        } else if (value instanceof byte[] bytes) {
+            buffer.put((byte) BYTES);
+            this.writeBytes(bytes);
+        } else {
+            throw new IllegalArgumentException("Unsupported property value type: " + value.getClass().getName());
+        }
+    }
+
+    void writeString(String string) throws IOException {
+        this.writeBytes(string.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void writeBytes(byte[] bytes) throws IOException {
+        this.writeVarInt(bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                this.drain();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    void writeByte(int value) throws IOException {
+        this.ensureRemaining(1);
+        buffer.put((byte) value);
+    }
+
+
+    void writeInt(int value) throws IOException {
+        this.ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void writeVarInt(int value) throws IOException {
+        this.writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    void writeVarLong(long value) throws IOException {
+        this.ensureRemaining(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    // ---- Buffering -------------------------------------------------------- //
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            this.drain();
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the channel.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    void drain() throws IOException {
+        drained += buffer.position();
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -1,9 +1,12 @@
 package com.eisenhower.matrix;
 
 import com.eisenhower.util.EQuadrantsSorting;
-import static com.eisenhower.util.EQuadrantsSorting.*;
 import com.eisenhower.util.Quadrant;
 import java.util.*;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Abstract implementation of the {@link EisenhowerMatrix} interface.
@@ -18,7 +21,17 @@ import java.util.*;
  */
 public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implements EisenhowerMatrix<T>, Cloneable {
     
-    private final Map<Quadrant, Collection<T>> quadrantTaskMap = new HashMap<>();
+    // Cached copy of Quadrant.values(), which would otherwise allocate a new array on each call
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+    
+    // Tasks of each quadrant along with their membership index, indexed by Quadrant#ordinal()
+    private QuadrantStore<T>[] quadrantStores = newStoresArray();
+    
+    // Live views over each quadrant returned by getTasks(Quadrant), indexed by Quadrant#ordinal()
+    private Collection<T>[] quadrantTasks = newQuadrantsArray();
+    
+    // Secondary indexes notified of every task added or removed (null if none)
+    private List<QuadrantObserver<T>> observers;
     
     /**
      * Constructs an instance of {@link AbstractEisenhowerMatrix} and initializes the matrix.
@@ -43,21 +56,112 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
      *
      * <p><b>Note:</b> All quadrants must use the same type of {@link Collection} implementation to ensure
      * consistency in operations and performance.</p>
+     * 
+     * <p>The given collection is owned by the matrix from now on: it must not be modified directly,
+     * but only through the view returned by {@link #getTasks(Quadrant)}, which keeps the matrix 
+     * indexes up to date.</p>
      *
      * @param quadrant the quadrant to associate with the tasks.
      * @param tasks    the collection of tasks to associate with the quadrant.
      * @return the previous collection of tasks associated with the quadrant, or {@code null} if none existed.
      * @throws NullPointerException if {@code quadrant} or {@code tasks} is {@code null}.
+     * @throws IllegalArgumentException if {@code tasks} is neither a {@link List} nor a {@link Set}.
      */
     protected final Collection<T> put(Quadrant quadrant, Collection<T> tasks) {
         Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
         Objects.requireNonNull(tasks, "Tasks collection cannot be null.");
-        return quadrantTaskMap.put(quadrant, tasks);
+        if (!(tasks instanceof List) && !(tasks instanceof Set)) {
+            throw new IllegalArgumentException("Tasks collection must be either a List or a Set.");
+        }
+        
+        int index = quadrant.ordinal();
+        QuadrantStore<T> previous = quadrantStores[index];
+        List<T> removedTasks = (observers == null || previous == null) ? List.of() : new ArrayList<>(previous.tasks());
+        IntUnaryOperator removedIndexes = (previous != null && previous.tasks() instanceof List) ? i -> 0 : i -> -1;
+        List<T> addedTasks = (observers == null) ? List.of() : new ArrayList<>(tasks);
+        IntUnaryOperator addedIndexes = (tasks instanceof List) ? i -> i : i -> -1;
+        this.tasksChanging(quadrant, removedTasks, removedIndexes, false);
+        try {
+            this.tasksChanging(quadrant, addedTasks, addedIndexes, true);
+        } catch (RuntimeException | Error e) {
+            this.tasksRejected(quadrant, removedTasks, removedIndexes, false, removedTasks.size());
+            throw e;
+        }
+
+        quadrantStores[index] = new QuadrantStore<>(tasks);
+        quadrantTasks[index] = this.newQuadrantView(quadrant, tasks);
+        this.notifyRemoved(quadrant, removedTasks, removedIndexes);
+        for (int i = 0; i < addedTasks.size(); i++) {
+            this.taskAdded(quadrant, addedTasks.get(i), addedIndexes.applyAsInt(i));
+        }
+        if (previous == null) {
+            return null;
+        }
+        previous.release();
+        return previous.tasks();
+    }
+    
+    /**
+     * Creates a new {@link Collection} for a quadrant, containing the given tasks.
+     * It is used when a quadrant shared with a derived matrix (see {@link #clearQuadrant(Quadrant)})
+     * has to be copied before being modified, or replaced with an empty one.
+     * <p>
+     * Concrete subclasses should override this method, to return the same type of collection 
+     * they associate with quadrants in {@link #initializeMatrix()}. By default, it returns an 
+     * {@link ArrayList} for lists and a {@link LinkedHashSet} for sets.
+     * </p>
+     * 
+     * @param tasks the tasks to be contained in the new collection (possibly none).
+     * @param list  {@code true} if the matrix stores quadrants in lists, {@code false} for sets.
+     * @return a new collection containing the given tasks.
+     */
+    protected Collection<T> newQuadrantCollection(Collection<? extends T> tasks, boolean list) {
+        return list ? new ArrayList<>(tasks) : new LinkedHashSet<>(tasks);
+    }
+    
+    /**
+     * Creates the live view over a quadrant, which is returned by {@link #getTasks(Quadrant)}.
+     * 
+     * @param quadrant the quadrant to be viewed.
+     * @param tasks    the collection of tasks of the quadrant.
+     * @return a {@link List} view if {@code tasks} is a list, a {@link Set} view otherwise.
+     */
+    private Collection<T> newQuadrantView(Quadrant quadrant, Collection<T> tasks) {
+        if (!(tasks instanceof List)) {
+            return new QuadrantSet<>(this, quadrant);
+        }
+        return (tasks instanceof RandomAccess) ? new RandomAccessQuadrantList<>(this, quadrant) : new QuadrantList<>(this, quadrant);
+    }
+    
+    /**
+     * Creates an empty array able to hold one {@link QuadrantStore} for each quadrant.
+     * 
+     * @param <T> the type of task stored in the matrix.
+     * @return an array with a slot for each {@link Quadrant}, indexed by {@link Quadrant#ordinal()}.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> QuadrantStore<T>[] newStoresArray() {
+        return (QuadrantStore<T>[]) new QuadrantStore[QUADRANTS.length];
+    }
+    
+    /**
+     * Creates an empty array able to hold one {@link Collection} of tasks for each quadrant.
+     * 
+     * @param <T> the type of task stored in the matrix.
+     * @return an array with a slot for each {@link Quadrant}, indexed by {@link Quadrant#ordinal()}.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Collection<T>[] newQuadrantsArray() {
+        return (Collection<T>[]) new Collection[QUADRANTS.length];
     }
     
     @Override
     public final Map<Quadrant, Collection<T>> toMap() {
-        return new HashMap<>(quadrantTaskMap);
+        Map<Quadrant, Collection<T>> map = new EnumMap<>(Quadrant.class);
+        for (Quadrant quadrant : QUADRANTS) {
+            map.put(quadrant, quadrantTasks[quadrant.ordinal()]);
+        }
+        return map;
     }
     
     @Override
@@ -68,7 +172,7 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
         for (Quadrant quadrant : Quadrant.values()) {
             int row = quadrant.isUrgent() ? 0 : 1;
             int col = quadrant.isImportant() ? 0 : 1;
-            matrix[row][col] = this.getTasks(quadrant);
+            matrix[row][col] = quadrantTasks[quadrant.ordinal()];
         }
         return matrix;
     }
@@ -82,12 +186,12 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
             return false;
         }
         final AbstractEisenhowerMatrix<?> other = (AbstractEisenhowerMatrix<?>) obj;
-        return Objects.equals(this.quadrantTaskMap, other.quadrantTaskMap);
+        return Arrays.equals(this.quadrantTasks, other.quadrantTasks);
     }
     
     @Override
     public final int hashCode() {
-        return Objects.hash(quadrantTaskMap);
+        return Arrays.hashCode(quadrantTasks);
     }
     
     // -------------------------------------------------------------------------
@@ -168,7 +272,7 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
         }
         
         boolean modified = false;
-        for (Quadrant quadrant : quadrantTaskMap.keySet()) {
+        for (Quadrant quadrant : QUADRANTS) {
             Collection<? extends T> tasksToAdd = eisenhowerMap.get(quadrant);
             Objects.requireNonNull(tasksToAdd, "Quadrant " + quadrant + " is missing in the provided map.");
             Collection<T> tasksInQuadrant = this.getTasks(quadrant);
@@ -184,7 +288,7 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
     @Override
     public final Collection<T> getTasks(Quadrant quadrant) {
         Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
-        return quadrantTaskMap.get(quadrant);
+        return quadrantTasks[quadrant.ordinal()];
     }
     
     @Override
@@ -196,9 +300,7 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
     @Override
     public final List<T> getTasksSorted(Quadrant quadrant) {
         Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
-        List<T> sortedTasks = new ArrayList<>(this.getTasks(quadrant));
-        Collections.sort(sortedTasks);
-        return sortedTasks;
+        return this.store(quadrant).sortedTasks().toList();
     }
     
     @Override
@@ -211,7 +313,7 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
     public final List<T> getTasksSorted(Quadrant quadrant, Comparator<T> comparator) {
         Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
         Objects.requireNonNull(comparator, "Comparator cannot be null.");
-        List<T> sortedTasks = new ArrayList<>(this.getTasks(quadrant));
+        List<T> sortedTasks = new ArrayList<>(this.store(quadrant).tasks());
         sortedTasks.sort(comparator);
         return sortedTasks;
     }
@@ -221,12 +323,56 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
         Quadrant quadrant = Quadrant.getQuadrant(urgent, important);
         return this.getTasksSorted(quadrant, comparator);
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The page is read from the sorted index of the quadrant in {@code O(log n + limit)}.
+     * </p>
+     */
+    @Override
+    public final List<T> getTasksSorted(Quadrant quadrant, int offset, int limit) {
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative.");
+        }
+        return this.store(quadrant).sortedTasks().toList(offset, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The rank is computed from the sorted index of the quadrant in {@code O(log n)},
+     * plus the number of tasks comparing equal to the given one.
+     * </p>
+     */
+    @Override
+    public final int rankOf(T task, Quadrant quadrant) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        QuadrantStore<T> store = this.store(quadrant);
+        return store.contains(task) ? store.sortedTasks().rankOf(task) : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The range is read from the sorted index of the quadrant in {@code O(log n + k)}, 
+     * where {@code k} is the number of tasks returned.
+     * </p>
+     */
+    @Override
+    public final List<T> getTasksBetween(Quadrant quadrant, T from, T to) {
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        SortedTasks.checkRange(from, to);
+        return this.store(quadrant).sortedTasks().toList(from, to);
+    }
     
     @Override
     public final Set<T> getAllTasks() {
         Set<T> allTasks = new HashSet<>();
-        for (Collection<T> tasksInQuadrant : quadrantTaskMap.values()) {
-            allTasks.addAll(tasksInQuadrant);
+        for (QuadrantStore<T> store : quadrantStores) {
+            allTasks.addAll(store.tasks());
         }
         return allTasks;
     }
@@ -253,7 +399,7 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
     @Override
     public final List<T> getAllTasksSorted(Map<Quadrant, Comparator<T>> comparators, EQuadrantsSorting quadrantsOrdering) {
         Objects.requireNonNull(comparators, "Quadrant comparators map cannot be null.");
-        if (comparators.size() != Quadrant.values().length) {
+        if (comparators.size() != QUADRANTS.length) {
             throw new UnsupportedOperationException("Comparator(s) missing for 1 or more Eisenhower quadrants.");
         }
         
@@ -268,12 +414,28 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
         return allTasksList;
     }
     
+    /**
+     * Streams all tasks from all quadrants, sorted by their natural ordering within each quadrant.
+     * Tasks are read from the sorted index of each quadrant as the stream is consumed, 
+     * so the first tasks are streamed without sorting any quadrant.
+     *
+     * @param quadrantsOrdering the order in which quadrants are streamed.
+     * @return an ordered stream of all tasks in the matrix.
+     * @throws NullPointerException if {@code quadrantsOrdering} is {@code null}.
+     */
+    @Override
+    public final Stream<T> streamAllTasksSorted(EQuadrantsSorting quadrantsOrdering) {
+        return Arrays.stream(Quadrant.quadrantsSorted(quadrantsOrdering))
+                .flatMap(quadrant -> StreamSupport.stream(this.store(quadrant).sortedTasks().spliterator(), false));
+    }
+    
     @Override
     public final Quadrant getQuadrant(T task) {
         Objects.requireNonNull(task, "Task cannot be null.");
         
-        for (Quadrant quadrant : Quadrant.quadrantsSorted(IMPORTANCE_OVER_URGENCY)) {
-            if (this.getTasks(quadrant).contains(task)) {
+        // Ordinal order matches IMPORTANCE_OVER_URGENCY, without allocating a new array
+        for (Quadrant quadrant : QUADRANTS) {
+            if (quadrantStores[quadrant.ordinal()].contains(task)) {
                 return quadrant;
             }
         }
@@ -284,9 +446,9 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
     public final Set<Quadrant> getQuadrants(T task) {
         Objects.requireNonNull(task, "Task cannot be null.");
         
-        Set<Quadrant> quadrantsWithTask = new HashSet<>();
-        for (Quadrant quadrant : Quadrant.quadrantsSorted(IMPORTANCE_OVER_URGENCY)) {
-            if (this.getTasks(quadrant).contains(task)) {
+        Set<Quadrant> quadrantsWithTask = EnumSet.noneOf(Quadrant.class);
+        for (Quadrant quadrant : QUADRANTS) {
+            if (quadrantStores[quadrant.ordinal()].contains(task)) {
                 quadrantsWithTask.add(quadrant);
             }
         }
@@ -298,16 +460,20 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
     @Override
     public final boolean containsTask(T task) {
         Objects.requireNonNull(task, "Task cannot be null.");
-        return quadrantTaskMap.values().stream()
-                .anyMatch(tasks -> tasks.contains(task));
+        for (QuadrantStore<T> store : quadrantStores) {
+            if (store.contains(task)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public final boolean containsTask(T task, Quadrant quadrant) {
         Objects.requireNonNull(task, "Task cannot be null.");
         Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
-        Collection<T> tasksInQuadrant = this.getTasks(quadrant);
-        return (tasksInQuadrant != null) && (tasksInQuadrant.contains(task));
+        QuadrantStore<T> store = this.store(quadrant);
+        return (store != null) && (store.contains(task));
     }
     
     @Override
@@ -349,6 +515,9 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
         Objects.requireNonNull(task, "Task cannot be null.");
         Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
 
+        if (!this.store(quadrant).contains(task)) {
+            return false;
+        }
         Collection<T> tasksInQuadrant = this.getTasks(quadrant);
         return tasksInQuadrant.removeIf(t -> t.equals(task));
     }
@@ -364,7 +533,7 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
         Objects.requireNonNull(task, "Task cannot be null.");
         boolean removed = true;
         
-        for (Quadrant quadrant : Quadrant.values()) {
+        for (Quadrant quadrant : QUADRANTS) {
             if (!this.removeTaskOccurrences(task, quadrant)) {
                 removed = false;
             }
@@ -374,15 +543,85 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
     
     // -------------------------------------------------------------------------
     
+    /**
+     * Moves the first occurrence of a task from a quadrant to another one.
+     * The task is looked up once in each quadrant, and the indexes of both are updated in place.
+     *
+     * @param task the task to be moved.
+     * @param from the quadrant currently holding the task.
+     * @param to   the quadrant where the task should be moved.
+     * @return {@code true} if the task was in {@code from} (and now is in {@code to}), {@code false} otherwise.
+     * @throws NullPointerException if task, from or to is {@code null}.
+     */
+    @Override
+    public final boolean moveTask(T task, Quadrant from, Quadrant to) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        Objects.requireNonNull(from, "Source quadrant cannot be null.");
+        Objects.requireNonNull(to, "Target quadrant cannot be null.");
+        
+        if (!this.store(from).contains(task)) {
+            return false;
+        }
+        if (from != to) {
+            // The views update the indexes, bypassing matrix-wide checks made by subclasses on add
+            this.getTasks(from).remove(task);
+            this.getTasks(to).add(task);
+        }
+        return true;
+    }
+    
+    /**
+     * Moves all tasks satisfying a predicate from a quadrant to another one.
+     * The source quadrant is scanned once, and the indexes of both quadrants are updated in place.
+     *
+     * @param from   the quadrant whose tasks are to be reclassified.
+     * @param to     the quadrant where matching tasks should be moved.
+     * @param filter a predicate which returns {@code true} for the tasks to be moved.
+     * @return the number of tasks moved.
+     * @throws NullPointerException if from, to or filter is {@code null}.
+     */
+    @Override
+    public final int reclassify(Quadrant from, Quadrant to, Predicate<? super T> filter) {
+        Objects.requireNonNull(from, "Source quadrant cannot be null.");
+        Objects.requireNonNull(to, "Target quadrant cannot be null.");
+        Objects.requireNonNull(filter, "Filter cannot be null.");
+        
+        if (from == to) {
+            return 0;
+        }
+        List<T> movedTasks = new ArrayList<>();
+        this.getTasks(from).removeIf(task -> {
+            if (filter.test(task)) {
+                movedTasks.add(task);
+                return true;
+            }
+            return false;
+        });
+        this.getTasks(to).addAll(movedTasks);
+        return movedTasks.size();
+    }
+    
+    // -------------------------------------------------------------------------
+    
+    /**
+     * Creates a copy of this matrix, and clears all tasks from the specified quadrant of the copy.
+     * <p>
+     * This matrix is left untouched. The copy is derived in constant time, since it shares 
+     * the other quadrants with this matrix: a shared quadrant is copied only when either 
+     * matrix modifies it for the first time.
+     * </p>
+     *
+     * @param quadrant the quadrant to be cleared.
+     * @return a copy of this Eisenhower Matrix with the specified quadrant cleared.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public final EisenhowerMatrix<T> clearQuadrant(Quadrant quadrant) {
         Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
         
-        EisenhowerMatrix modified = (EisenhowerMatrix) this.clone();
-        Collection<T> tasksInQuadrant = modified.getTasks(quadrant);
-        if (tasksInQuadrant != null) {
-            tasksInQuadrant.clear();
-        }
+        AbstractEisenhowerMatrix<T> modified = (AbstractEisenhowerMatrix<T>) this.clone();
+        modified.replaceWithEmpty(quadrant);
         return modified;
     }
     
@@ -392,9 +631,16 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
         return this.clearQuadrant(quadrant);
     }
     
+    /**
+     * Creates a copy of this matrix without any task, in constant time.
+     * This matrix is left untouched.
+     * 
+     * @return an empty copy of this Eisenhower Matrix.
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public EisenhowerMatrix<T> clearAllTasks() {
-        AbstractEisenhowerMatrix modified = (AbstractEisenhowerMatrix) this.clone();
+        AbstractEisenhowerMatrix<T> modified = (AbstractEisenhowerMatrix<T>) this.clone();
         modified.initializeMatrix();
         return modified;
     }
@@ -405,13 +651,321 @@ public abstract class AbstractEisenhowerMatrix<T extends Comparable<T>> implemen
     protected Object clone() {
         try {
             AbstractEisenhowerMatrix matrixClone = (AbstractEisenhowerMatrix) super.clone();
-            matrixClone.quadrantTaskMap.clear();
-            matrixClone.quadrantTaskMap.putAll(this.quadrantTaskMap);
+            // Quadrants are shared with the clone, and copied on their first modification
+            matrixClone.quadrantStores = this.quadrantStores.clone();
+            for (QuadrantStore store : matrixClone.quadrantStores) {
+                store.share();
+            }
+            matrixClone.quadrantTasks = newQuadrantsArray();
+            // Secondary indexes keep following this matrix only
+            matrixClone.observers = null;
+            for (Quadrant quadrant : QUADRANTS) {
+                Collection tasks = matrixClone.quadrantStores[quadrant.ordinal()].tasks();
+                matrixClone.quadrantTasks[quadrant.ordinal()] = matrixClone.newQuadrantView(quadrant, tasks);
+            }
             return matrixClone;
         } catch (ClassCastException | CloneNotSupportedException ex) {
             return null;
         }
     }
     
+    // ---- Internal indexes, kept up to date by the quadrant views --------- //
+    
+    /**
+     * Returns the store holding the tasks of the given quadrant, along with their index.
+     * 
+     * @param quadrant the quadrant of the store.
+     * @return the store of the given quadrant.
+     */
+    final QuadrantStore<T> store(Quadrant quadrant) {
+        return quadrantStores[quadrant.ordinal()];
+    }
+    
+    /**
+     * Returns the store of the given quadrant, ready to be modified.
+     * If the store is shared with other matrices, it is first replaced with a private copy.
+     * 
+     * @param quadrant the quadrant of the store.
+     * @return the store of the given quadrant, owned by this matrix only.
+     */
+    final QuadrantStore<T> writableStore(Quadrant quadrant) {
+        int index = quadrant.ordinal();
+        QuadrantStore<T> store = quadrantStores[index];
+        if (store.isShared()) {
+            Collection<T> tasksCopy = this.newQuadrantCollection(store.tasks(), store.tasks() instanceof List);
+            store.release();
+            store = store.copy(tasksCopy);
+            quadrantStores[index] = store;
+        }
+        return store;
+    }
+    
+    /**
+     * Removes all tasks from the given quadrant. 
+     * A store shared with other matrices is replaced with an empty one, instead of being copied.
+     * 
+     * @param quadrant the quadrant to be cleared.
+     */
+    final void clearStore(Quadrant quadrant) {
+        QuadrantStore<T> store = this.store(quadrant);
+        List<T> removedTasks = (observers == null) ? List.of() : new ArrayList<>(store.tasks());
+        // The tasks of a list are removed from its head, one after the other
+        IntUnaryOperator removedIndexes = (store.tasks() instanceof List) ? i -> 0 : i -> -1;
+        this.tasksChanging(quadrant, removedTasks, removedIndexes, false);
+        if (store.isShared()) {
+            this.replaceWithEmpty(quadrant);
+        } else {
+            store.tasks().clear();
+            store.indexCleared();
+        }
+        this.notifyRemoved(quadrant, removedTasks, removedIndexes);
+    }
+    
+    /**
+     * Replaces the store of the given quadrant with an empty one, releasing the previous store.
+     * 
+     * @param quadrant the quadrant to be replaced.
+     */
+    private void replaceWithEmpty(Quadrant quadrant) {
+        int index = quadrant.ordinal();
+        QuadrantStore<T> store = quadrantStores[index];
+        Collection<T> emptyTasks = this.newQuadrantCollection(List.of(), store.tasks() instanceof List);
+        store.release();
+        quadrantStores[index] = new QuadrantStore<>(emptyTasks);
+    }
+    
+    /**
+     * Called by the quadrant views just before a task is added to a quadrant, once it has been indexed
+     * by its store. An observer may reject the addition by throwing an exception, which is rethrown.
+     * 
+     * @param quadrant the quadrant which the task is about to be added to.
+     * @param task     the task about to be added.
+     * @param index    the position the task will have in the quadrant, or {@code -1} if the quadrant is a set.
+     */
+    final void taskAdding(Quadrant quadrant, T task, int index) {
+        this.taskChanging(quadrant, task, index, true);
+    }
+    
+    /**
+     * Called by the quadrant views just before a task is removed from a quadrant.
+     * An observer may reject the removal by throwing an exception, which is rethrown.
+     * 
+     * @param quadrant the quadrant which the task is about to be removed from.
+     * @param task     the task about to be removed.
+     * @param index    the position of the task in the quadrant, or {@code -1} if the quadrant is a set.
+     */
+    final void taskRemoving(Quadrant quadrant, Object task, int index) {
+        this.taskChanging(quadrant, task, index, false);
+    }
+    
+    /**
+     * Called by the quadrant views just before a task of a list is replaced with another one.
+     * An observer may reject the replacement by throwing an exception, which is rethrown.
+     * 
+     * @param quadrant the quadrant whose task is about to be replaced.
+     * @param previous the task about to be replaced.
+     * @param task     the task about to replace it.
+     * @param index    the position of the task in the quadrant.
+     */
+    final void taskReplacing(Quadrant quadrant, T previous, T task, int index) {
+        this.taskRemoving(quadrant, previous, index);
+        try {
+            this.taskAdding(quadrant, task, index);
+        } catch (RuntimeException | Error e) {
+            this.changeRejected(quadrant, previous, index, false, observers.size());
+            throw e;
+        }
+    }
+    
+    /**
+     * Called by the quadrant views just before several tasks are removed from a quadrant at once.
+     * If an observer rejects the removal of a task, the removals of the tasks before it are rejected
+     * too, and the exception is rethrown.
+     * 
+     * @param quadrant the quadrant which the tasks are about to be removed from.
+     * @param tasks    the tasks about to be removed.
+     * @param indexes  the position of each task, as if they were removed one after the other
+     *                 ({@code -1} if the quadrant is a set).
+     */
+    final void tasksRemoving(Quadrant quadrant, List<?> tasks, IntUnaryOperator indexes) {
+        this.tasksChanging(quadrant, tasks, indexes, false);
+    }
+    
+    /**
+     * Called by the quadrant views when a change notified as upcoming has not been made after all,
+     * such as the addition of a task to a set already holding it.
+     * 
+     * @param quadrant the quadrant which was about to change.
+     * @param task     the task which was about to be added or removed.
+     * @param index    the position notified with the upcoming change.
+     * @param addition {@code true} if the task was about to be added, {@code false} if it was about to be removed.
+     */
+    final void taskRejected(Quadrant quadrant, Object task, int index, boolean addition) {
+        if (observers != null) {
+            this.changeRejected(quadrant, task, index, addition, observers.size());
+        }
+    }
+    
+    /**
+     * Called by the quadrant views after a task has been added to a quadrant, and indexed by its store
+     * (see {@link QuadrantStore#addIndexed(Comparable, java.util.function.BooleanSupplier)}).
+     * 
+     * @param quadrant the quadrant which the task has been added to.
+     * @param task     the added task.
+     * @param index    the position of the task in the quadrant, or {@code -1} if the quadrant is a set.
+     */
+    final void taskAdded(Quadrant quadrant, T task, int index) {
+        if (observers != null) {
+            for (QuadrantObserver<T> observer : observers) {
+                observer.taskAdded(quadrant, task, index);
+            }
+        }
+    }
+    
+    /**
+     * Called by the quadrant views after a task has been removed from a quadrant.
+     * 
+     * @param quadrant the quadrant which the task has been removed from.
+     * @param task     the removed task.
+     * @param index    the position the task had in the quadrant, or {@code -1} if the quadrant is a set.
+     */
+    final void taskRemoved(Quadrant quadrant, Object task, int index) {
+        this.store(quadrant).indexRemoved(task);
+        if (observers != null) {
+            for (QuadrantObserver<T> observer : observers) {
+                observer.taskRemoved(quadrant, task, index);
+            }
+        }
+    }
+    
+    /**
+     * Notifies the observers that all the given tasks have been removed from a quadrant, which
+     * has been cleared or replaced.
+     * 
+     * @param quadrant the quadrant which has been cleared.
+     * @param tasks    the tasks which were in the quadrant.
+     * @param indexes  the position of each task, as if they were removed one after the other.
+     */
+    private void notifyRemoved(Quadrant quadrant, List<T> tasks, IntUnaryOperator indexes) {
+        if (observers == null) {
+            return;
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            for (QuadrantObserver<T> observer : observers) {
+                observer.taskRemoved(quadrant, tasks.get(i), indexes.applyAsInt(i));
+            }
+        }
+    }
+    
+    /**
+     * Notifies the observers that a task is about to be added to or removed from a quadrant.
+     * If an observer rejects the change, the observers notified before it are notified that
+     * the change has been rejected, and the exception is rethrown.
+     * 
+     * @param quadrant the quadrant about to change.
+     * @param task     the task about to be added or removed.
+     * @param index    the position of the task in the quadrant, or {@code -1} if the quadrant is a set.
+     * @param addition {@code true} if the task is about to be added, {@code false} if it is about to be removed.
+     */
+    @SuppressWarnings("unchecked")
+    private void taskChanging(Quadrant quadrant, Object task, int index, boolean addition) {
+        if (observers == null) {
+            return;
+        }
+        int notified = 0;
+        try {
+            for (; notified < observers.size(); notified++) {
+                if (addition) {
+                    observers.get(notified).taskAdding(quadrant, (T) task, index);
+                } else {
+                    observers.get(notified).taskRemoving(quadrant, task, index);
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            this.changeRejected(quadrant, task, index, addition, notified);
+            throw e;
+        }
+    }
+    
+    /**
+     * Notifies the observers that several tasks are about to be added to or removed from a quadrant,
+     * one after the other. If the change of a task is rejected, the changes of the tasks before it are
+     * rejected too, and the exception is rethrown.
+     * 
+     * @param quadrant the quadrant about to change.
+     * @param tasks    the tasks about to be added or removed.
+     * @param indexes  the position of each task, as if they were changed one after the other.
+     * @param addition {@code true} if the tasks are about to be added, {@code false} if they are about to be removed.
+     */
+    private void tasksChanging(Quadrant quadrant, List<?> tasks, IntUnaryOperator indexes, boolean addition) {
+        int notified = 0;
+        try {
+            for (; notified < tasks.size(); notified++) {
+                this.taskChanging(quadrant, tasks.get(notified), indexes.applyAsInt(notified), addition);
+            }
+        } catch (RuntimeException | Error e) {
+            this.tasksRejected(quadrant, tasks, indexes, addition, notified);
+            throw e;
+        }
+    }
+    
+    /**
+     * Notifies all the observers that the changes of the first tasks of a list have been rejected,
+     * in the reverse order of their notification.
+     * 
+     * @param quadrant the quadrant which was about to change.
+     * @param tasks    the tasks which were about to be added or removed.
+     * @param indexes  the position of each task, as notified with the upcoming changes.
+     * @param addition {@code true} if the tasks were about to be added, {@code false} if they were about to be removed.
+     * @param count    the number of tasks whose change has been notified.
+     */
+    private void tasksRejected(Quadrant quadrant, List<?> tasks, IntUnaryOperator indexes, boolean addition, int count) {
+        if (observers == null) {
+            return;
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            this.changeRejected(quadrant, tasks.get(i), indexes.applyAsInt(i), addition, observers.size());
+        }
+    }
+    
+    /**
+     * Notifies the first observers that an upcoming change has been rejected, in the reverse order
+     * of their notification.
+     * 
+     * @param quadrant the quadrant which was about to change.
+     * @param task     the task which was about to be added or removed.
+     * @param index    the position notified with the upcoming change.
+     * @param addition {@code true} if the task was about to be added, {@code false} if it was about to be removed.
+     * @param count    the number of observers notified of the upcoming change.
+     */
+    private void changeRejected(Quadrant quadrant, Object task, int index, boolean addition, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            observers.get(i).changeRejected(quadrant, task, index, addition);
+        }
+    }
+    
+    /**
+     * Registers an observer, to be notified of every task added to or removed from this matrix.
+     * The observer is not notified of the tasks already in the matrix.
+     * 
+     * @param observer the observer to be registered.
+     */
+    final void addObserver(QuadrantObserver<T> observer) {
+        if (observers == null) {
+            observers = new ArrayList<>(1);
+        }
+        observers.add(observer);
+    }
+    
+    /**
+     * Unregisters an observer.
+     * 
+     * @param observer the observer to be unregistered.
+     */
+    final void removeObserver(QuadrantObserver<T> observer) {
+        if (observers != null && observers.remove(observer) && observers.isEmpty()) {
+            observers = null;
+        }
+    }
     
 }
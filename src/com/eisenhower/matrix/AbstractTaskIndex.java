@@ -0,0 +1,365 @@
+package com.eisenhower.matrix;
+
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskPropertyListener;
+import java.util.*;
+
+/**
+ * Skeleton of a secondary index over the tasks of a matrix, kept up to date as tasks are added to
+ * or removed from the matrix, and as their properties change.
+ * <p>
+ * It tracks the occurrences of each task instance in each quadrant: concrete indexes are notified
+ * when a task enters the matrix ({@link #link(Task)}), leaves it ({@link #unlink(Task)}), or has
+ * one of its properties changed while in the matrix ({@link #propertyChanged(Task, String, Object, Object)}).
+ * Indexes interested in each single occurrence, such as a log of the changes made to the matrix, can
+ * also override {@link #occurrenceAdded(Task, Quadrant, int)} and {@link #occurrenceRemoved(Task, Quadrant, int)}.
+ * </p>
+ *
+ * <p>Indexes which must act before a change, such as a write-ahead log, can override
+ * {@link #occurrenceAdding(Task, Quadrant, int)}, {@link #occurrenceRemoving(Task, Quadrant, int)} and
+ * {@link #propertyChanging(Task, String, Object, Object)}, and reject the change by throwing an exception.
+ * A change may still be rejected by another index afterwards: it is then reported through
+ * {@link #occurrenceRejected(Task, Quadrant, int, boolean)}, or as a property change to the
+ * previous value.</p>
+ *
+ * <p>Concrete indexes must call {@link #register()} at the end of their constructor.</p>
+ */
+public abstract class AbstractTaskIndex {
+
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+
+    private final AbstractEisenhowerMatrix<Task> matrix;
+
+    // Occurrences of each task in the matrix, by task instance and Quadrant#ordinal()
+    private final Map<Task, int[]> occurrences = new IdentityHashMap<>();
+
+    private final Updater updater = new Updater();
+    private boolean registered;
+
+    /**
+     * Creates an index over the tasks of the given matrix.
+     *
+     * @param matrix the matrix whose tasks are indexed.
+     * @throws NullPointerException if {@code matrix} is {@code null}.
+     */
+    protected AbstractTaskIndex(AbstractEisenhowerMatrix<Task> matrix) {
+        this.matrix = Objects.requireNonNull(matrix, "Matrix cannot be null.");
+    }
+
+    /**
+     * Indexes the tasks already in the matrix, and registers this index on the matrix.
+     * The tasks already in the matrix are {@link #link(Task) linked}, but not reported
+     * as {@link #occurrenceAdded(Task, Quadrant, int) added occurrences}.
+     */
+    protected final void register() {
+        for (Quadrant quadrant : QUADRANTS) {
+            for (Task task : matrix.getTasks(quadrant)) {
+                this.added(quadrant, task, -1, false);
+            }
+        }
+        matrix.addObserver(updater);
+        registered = true;
+    }
+
+    /**
+     * Unregisters this index from the matrix, and releases the tasks it holds.
+     * The index cannot be used anymore afterwards.
+     */
+    public void unregister() {
+        if (!registered) {
+            return;
+        }
+        matrix.removeObserver(updater);
+        for (Task task : occurrences.keySet()) {
+            task.removePropertyListener(updater);
+        }
+        occurrences.clear();
+        this.unlinkAll();
+        registered = false;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Called when a task enters the matrix, that is on its first occurrence in any quadrant.
+     *
+     * @param task the task to be indexed.
+     */
+    protected abstract void link(Task task);
+
+    /**
+     * Called when a task leaves the matrix, that is when its last occurrence is removed.
+     *
+     * @param task the task to be removed from the index.
+     */
+    protected abstract void unlink(Task task);
+
+    /**
+     * Called when the index is unregistered, to release all the indexed tasks.
+     */
+    protected abstract void unlinkAll();
+
+    /**
+     * Called after a property of a task in the matrix has changed.
+     *
+     * @param task     the task whose property changed.
+     * @param key      the key of the property.
+     * @param oldValue the previous value of the property, or {@code null} if it was not set.
+     * @param newValue the current value of the property, or {@code null} if it has been removed.
+     */
+    protected abstract void propertyChanged(Task task, String key, Object oldValue, Object newValue);
+
+    /**
+     * Called after an occurrence of a task has been added to a quadrant (after {@link #link(Task)}
+     * on the first one). By default, it does nothing.
+     *
+     * @param task     the added task.
+     * @param quadrant the quadrant which the task has been added to.
+     * @param index    the position of the task in the quadrant, or {@code -1} if the quadrant is a set.
+     */
+    protected void occurrenceAdded(Task task, Quadrant quadrant, int index) {
+    }
+
+    /**
+     * Called after an occurrence of a task has been removed from a quadrant (before {@link #unlink(Task)}
+     * on the last one). By default, it does nothing.
+     *
+     * @param task     the removed task, as it was indexed.
+     * @param quadrant the quadrant which the task has been removed from.
+     * @param index    the position the task had in the quadrant, or {@code -1} if the quadrant is a set.
+     */
+    protected void occurrenceRemoved(Task task, Quadrant quadrant, int index) {
+    }
+
+    /**
+     * Called before an occurrence of a task is added to a quadrant. An index may reject the addition
+     * by throwing an exception, which is rethrown to the caller: the quadrant is then left unchanged.
+     * By default, it does nothing.
+     *
+     * @param task     the task about to be added.
+     * @param quadrant the quadrant which the task is about to be added to.
+     * @param index    the position the task will have in the quadrant, or {@code -1} if the quadrant is a set.
+     */
+    protected void occurrenceAdding(Task task, Quadrant quadrant, int index) {
+    }
+
+    /**
+     * Called before an occurrence of an indexed task is removed from a quadrant. An index may reject
+     * the removal by throwing an exception, which is rethrown to the caller: the quadrant is then left
+     * unchanged. By default, it does nothing.
+     *
+     * @param task     the task about to be removed, as it was indexed.
+     * @param quadrant the quadrant which the task is about to be removed from.
+     * @param index    the position of the task in the quadrant, or {@code -1} if the quadrant is a set.
+     */
+    protected void occurrenceRemoving(Task task, Quadrant quadrant, int index) {
+    }
+
+    /**
+     * Called when an addition or a removal this index has been notified of (see
+     * {@link #occurrenceAdding(Task, Quadrant, int)} and {@link #occurrenceRemoving(Task, Quadrant, int)})
+     * has been rejected: the quadrant is left unchanged. By default, it does nothing.
+     *
+     * @param task     the task which was about to be added or removed.
+     * @param quadrant the quadrant which was about to change.
+     * @param index    the position notified with the upcoming change.
+     * @param addition {@code true} if the task was about to be added, {@code false} if it was about to be removed.
+     */
+    protected void occurrenceRejected(Task task, Quadrant quadrant, int index, boolean addition) {
+    }
+
+    /**
+     * Called before a property of a task in the matrix changes. An index may reject the change by
+     * throwing an exception, which is rethrown to the caller: the property is then left unchanged.
+     * By default, it does nothing.
+     *
+     * @param task     the task whose property is about to change.
+     * @param key      the key of the property.
+     * @param oldValue the current value of the property, or {@code null} if it is not set.
+     * @param newValue the value about to be set, or {@code null} if the property is about to be removed.
+     * @see TaskPropertyListener#propertyChanging(Task, String, Object, Object)
+     */
+    protected void propertyChanging(Task task, String key, Object oldValue, Object newValue) {
+    }
+
+    /**
+     * Returns the indexed tasks which may be equal to the given one. Equal tasks have equal properties,
+     * so concrete indexes can narrow them down to the tasks indexed under the same values.
+     * By default, it returns all the indexed tasks, which makes every removal through another instance
+     * than the indexed one a linear scan.
+     *
+     * @param task the task to be matched.
+     * @return the indexed tasks possibly equal to the given one (possibly {@code null}).
+     */
+    protected Collection<Task> candidatesEqualTo(Task task) {
+        return occurrences.keySet();
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Checks if a task is in the given quadrant.
+     *
+     * @param task     an indexed task.
+     * @param quadrant the quadrant, or {@code null} for any quadrant.
+     * @return {@code true} if the task is in the quadrant.
+     */
+    protected final boolean isIn(Task task, Quadrant quadrant) {
+        return quadrant == null || occurrences.get(task)[quadrant.ordinal()] > 0;
+    }
+
+    /**
+     * Adds the given tasks which are in the given quadrant to a set.
+     *
+     * @param tasks    the tasks to be filtered (possibly {@code null}).
+     * @param quadrant the quadrant of the tasks, or {@code null} for any quadrant.
+     * @param result   the set receiving the tasks.
+     */
+    protected final void collect(Collection<Task> tasks, Quadrant quadrant, Set<Task> result) {
+        if (tasks == null) {
+            return;
+        }
+        for (Task task : tasks) {
+            if (this.isIn(task, quadrant)) {
+                result.add(task);
+            }
+        }
+    }
+
+    /**
+     * Checks if a task is in the matrix, that is if it is indexed.
+     *
+     * @param task a task.
+     * @return {@code true} if the task is in any quadrant.
+     */
+    protected final boolean isIndexed(Task task) {
+        return occurrences.containsKey(task);
+    }
+
+    /**
+     * Checks that this index has not been unregistered.
+     *
+     * @throws IllegalStateException if the index has been unregistered.
+     */
+    protected final void checkRegistered() {
+        if (!registered) {
+            throw new IllegalStateException("The index has been unregistered.");
+        }
+    }
+
+    // ---- Index maintenance ------------------------------------------------ //
+
+    private void added(Quadrant quadrant, Task task, int index, boolean notify) {
+        int[] counts = occurrences.get(task);
+        if (counts == null) {
+            counts = new int[QUADRANTS.length];
+            occurrences.put(task, counts);
+            task.addPropertyListener(updater);
+            this.link(task);
+        }
+        counts[quadrant.ordinal()]++;
+        if (notify) {
+            this.occurrenceAdded(task, quadrant, index);
+        }
+    }
+
+    private void removed(Quadrant quadrant, Object removedTask, int index) {
+        Task task = this.findIndexed(quadrant, removedTask);
+        if (task == null) {
+            return;
+        }
+        int[] counts = occurrences.get(task);
+        counts[quadrant.ordinal()]--;
+        this.occurrenceRemoved(task, quadrant, index);
+        for (int count : counts) {
+            if (count > 0) {
+                return;
+            }
+        }
+        occurrences.remove(task);
+        task.removePropertyListener(updater);
+        this.unlink(task);
+    }
+
+    /**
+     * Finds the indexed instance of a task removed from a quadrant.
+     * A set may report the removal of a task through another instance equal to it:
+     * in that case, it is looked up among the {@link #candidatesEqualTo(Task) candidates},
+     * each of them being compared to the task with {@link Task#equals(Object)}, in time linear
+     * in their number and in the size of the tasks (properties and subtasks).
+     *
+     * @param quadrant    the quadrant which the task has been removed from.
+     * @param removedTask the removed task, or a task equal to it.
+     * @return the indexed task, or {@code null} if not found.
+     */
+    private Task findIndexed(Quadrant quadrant, Object removedTask) {
+        if (!(removedTask instanceof Task task)) {
+            return null;
+        }
+        int[] counts = occurrences.get(task);
+        if (counts != null && counts[quadrant.ordinal()] > 0) {
+            return task;
+        }
+        Collection<Task> candidates = this.candidatesEqualTo(task);
+        if (candidates != null) {
+            for (Task candidate : candidates) {
+                if (candidate.equals(task) && this.isIn(candidate, quadrant)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Receives the notifications from the matrix and from the indexed tasks.
+     */
+    private final class Updater implements QuadrantObserver<Task>, TaskPropertyListener {
+
+        @Override
+        public void taskAdded(Quadrant quadrant, Task task, int index) {
+            AbstractTaskIndex.this.added(quadrant, task, index, true);
+        }
+
+        @Override
+        public void taskRemoved(Quadrant quadrant, Object task, int index) {
+            AbstractTaskIndex.this.removed(quadrant, task, index);
+        }
+
+        @Override
+        public void taskAdding(Quadrant quadrant, Task task, int index) {
+            AbstractTaskIndex.this.occurrenceAdding(task, quadrant, index);
+        }
+
+        @Override
+        public void taskRemoving(Quadrant quadrant, Object task, int index) {
+            Task indexed = AbstractTaskIndex.this.findIndexed(quadrant, task);
+            if (indexed != null) {
+                AbstractTaskIndex.this.occurrenceRemoving(indexed, quadrant, index);
+            }
+        }
+
+        @Override
+        public void changeRejected(Quadrant quadrant, Object task, int index, boolean addition) {
+            Task rejected = addition ? (Task) task : AbstractTaskIndex.this.findIndexed(quadrant, task);
+            if (rejected != null) {
+                AbstractTaskIndex.this.occurrenceRejected(rejected, quadrant, index, addition);
+            }
+        }
+
+        @Override
+        public void propertyChanging(Task task, String key, Object oldValue, Object newValue) {
+            if (occurrences.containsKey(task)) {
+                AbstractTaskIndex.this.propertyChanging(task, key, oldValue, newValue);
+            }
+        }
+
+        @Override
+        public void propertyChanged(Task task, String key, Object oldValue, Object newValue) {
+            if (occurrences.containsKey(task)) {
+                AbstractTaskIndex.this.propertyChanged(task, key, oldValue, newValue);
+            }
+        }
+    }
+}
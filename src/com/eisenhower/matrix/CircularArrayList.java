@@ -0,0 +1,225 @@
+package com.eisenhower.matrix;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * A {@link List} backed by a growable circular array.
+ * <p>
+ * Positional access is performed in constant time, like an {@link ArrayList}. Unlike it,
+ * both appending and removing from the front are (amortized) constant time too, since the
+ * array wraps around instead of shifting all elements. Insertions and removals in the middle
+ * only shift the elements on the shorter side of the given index.
+ * </p>
+ *
+ * @param <E> the type of elements in this list.
+ */
+final class CircularArrayList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private Object[] elements;
+    private int head;
+    private int size;
+
+    /**
+     * Constructs an empty list with the default initial capacity.
+     */
+    CircularArrayList() {
+        this.elements = new Object[DEFAULT_CAPACITY];
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Converts a logical index of the list to its position in the backing array.
+     *
+     * @param index the logical index, from {@code 0} to {@code elements.length - 1}.
+     * @return the position in the backing array.
+     */
+    private int position(int index) {
+        int position = head + index;
+        return (position >= elements.length) ? position - elements.length : position;
+    }
+
+    /**
+     * Grows the backing array, if needed, to hold at least the given number of elements.
+     *
+     * @param minCapacity the minimum required capacity.
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= elements.length) {
+            return;
+        }
+        int newCapacity = Math.max(minCapacity, elements.length + (elements.length >> 1) + 1);
+        elements = this.copyElements(new Object[newCapacity]);
+        head = 0;
+    }
+
+    /**
+     * Copies all elements, in list order, at the beginning of the given array.
+     *
+     * @param destination the array to copy elements to.
+     * @return the given array.
+     */
+    private Object[] copyElements(Object[] destination) {
+        int firstChunk = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, destination, 0, firstChunk);
+        System.arraycopy(elements, 0, destination, firstChunk, size - firstChunk);
+        return destination;
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) elements[this.position(index)];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        Objects.checkIndex(index, size);
+        int position = this.position(index);
+        E previous = (E) elements[position];
+        elements[position] = element;
+        return previous;
+    }
+
+    @Override
+    public boolean add(E element) {
+        this.ensureCapacity(size + 1);
+        elements[this.position(size)] = element;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        Objects.checkIndex(index, size + 1);
+        this.ensureCapacity(size + 1);
+
+        if (index < (size >> 1)) {
+            // Shift the leading elements one step backwards
+            head = (head == 0) ? elements.length - 1 : head - 1;
+            for (int i = 0; i < index; i++) {
+                elements[this.position(i)] = elements[this.position(i + 1)];
+            }
+        } else {
+            // Shift the trailing elements one step forward
+            for (int i = size; i > index; i--) {
+                elements[this.position(i)] = elements[this.position(i - 1)];
+            }
+        }
+        elements[this.position(index)] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        Objects.checkIndex(index, size);
+        E removed = (E) elements[this.position(index)];
+
+        if (index < (size >> 1)) {
+            // Shift the leading elements one step forward
+            for (int i = index; i > 0; i--) {
+                elements[this.position(i)] = elements[this.position(i - 1)];
+            }
+            elements[head] = null;
+            head = (head == elements.length - 1) ? 0 : head + 1;
+        } else {
+            // Shift the trailing elements one step backwards
+            for (int i = index; i < size - 1; i++) {
+                elements[this.position(i)] = elements[this.position(i + 1)];
+            }
+            elements[this.position(size - 1)] = null;
+        }
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        int removedCount = toIndex - fromIndex;
+        if (removedCount <= 0) {
+            return;
+        }
+        for (int i = fromIndex; i < size - removedCount; i++) {
+            elements[this.position(i)] = elements[this.position(i + removedCount)];
+        }
+        for (int i = size - removedCount; i < size; i++) {
+            elements[this.position(i)] = null;
+        }
+        size -= removedCount;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter, "Filter cannot be null.");
+        // Tests all elements first, so that the list is left untouched if the filter throws
+        BitSet removed = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (filter.test((E) elements[this.position(i)])) {
+                removed.set(i);
+            }
+        }
+        if (removed.isEmpty()) {
+            return false;
+        }
+        
+        // Compacts the kept elements in a single pass, instead of removing them one by one
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!removed.get(i)) {
+                elements[this.position(kept++)] = elements[this.position(i)];
+            }
+        }
+        for (int i = kept; i < size; i++) {
+            elements[this.position(i)] = null;
+        }
+        size = kept;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            elements[this.position(i)] = null;
+        }
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return this.copyElements(new Object[size]);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        if (a.length < size) {
+            a = (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size);
+        }
+        this.copyElements(a);
+        if (a.length > size) {
+            a[size] = null;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,1071 @@
+package com.eisenhower.matrix;
+
+import com.eisenhower.util.EQuadrantsSorting;
+import com.eisenhower.util.Quadrant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A thread-safe Eisenhower matrix, where each quadrant contains a {@link Set} of tasks.
+ * <p>
+ * Like {@link EisenhowerMatrixSet}, it does not allow duplicated tasks: each task belongs
+ * to one quadrant at most. Unlike it, every operation may be called concurrently by
+ * multiple threads, and each one takes effect atomically (it is linearizable).
+ * </p>
+ *
+ * <p>Instead of a single lock for the whole matrix, each quadrant is guarded by its own
+ * read-write lock, so that threads working on different quadrants don't wait for each other,
+ * and threads reading the same quadrant proceed in parallel. The quadrant of each task is
+ * also recorded in a concurrent map, which answers {@link #containsTask(Comparable)} and
+ * {@link #getQuadrant(Comparable)} without taking any lock. Operations involving more than
+ * one quadrant (such as {@link #getAllTasks()} or {@link #addAllTasks(Map)}) take the locks
+ * they need in {@link Quadrant#ordinal()} order, so they cannot deadlock each other.</p>
+ *
+ * <p>As {@link EisenhowerMatrixList} does, it keeps track of the {@link com.eisenhower.util.Task tasks} it holds:
+ * a task modified while in the matrix can still be found and removed, and is merged into 
+ * another task of the matrix it becomes equal to. Matrices derived by {@link #clearQuadrant(Quadrant)}
+ * share the tasks of this one, until either is modified.</p>
+ *
+ * <p>Collections returned by this matrix are snapshots, not live views:
+ * {@link #getTasks(Quadrant)} and {@link #toMap()} return unmodifiable copies of the
+ * quadrants, taken atomically. Tasks must be added and removed through the methods of the matrix.</p>
+ *
+ * @param <T> Any class representing a task to be added to the Eisenhower matrix.
+ * @see EisenhowerMatrixSet
+ */
+public class ConcurrentEisenhowerMatrix<T extends Comparable<T>> implements EisenhowerMatrix<T> {
+
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+
+    // Mask of the ordinals of all quadrants
+    private static final int ALL_QUADRANTS = (1 << QUADRANTS.length) - 1;
+
+    // Tasks of this matrix, shared with the matrices derived from it until either is modified
+    private volatile Snapshot<T> snapshot;
+
+    /**
+     * Constructs an empty thread-safe Eisenhower matrix.
+     */
+    public ConcurrentEisenhowerMatrix() {
+        this.snapshot = new Snapshot<>();
+    }
+
+    /**
+     * Constructs a matrix holding the tasks of the given snapshot.
+     *
+     * @param snapshot the tasks of the matrix.
+     */
+    private ConcurrentEisenhowerMatrix(Snapshot<T> snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Creates an empty array able to hold one {@link QuadrantStore} for each quadrant.
+     *
+     * @param <T> the type of task stored in the matrix.
+     * @return an array with a slot for each {@link Quadrant}, indexed by {@link Quadrant#ordinal()}.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> QuadrantStore<T>[] newStoresArray() {
+        return (QuadrantStore<T>[]) new QuadrantStore[QUADRANTS.length];
+    }
+
+    private static int mask(Quadrant quadrant) {
+        return 1 << quadrant.ordinal();
+    }
+
+    // ---- Locking ------------------------------------------------------- //
+
+    /**
+     * Read-locks some quadrants of the current snapshot of this matrix, in ordinal order.
+     *
+     * @param quadrants the mask of the ordinals of the quadrants to be read.
+     * @return the read-locked snapshot, which stays the snapshot of this matrix until it is unlocked.
+     */
+    private Snapshot<T> readLock(int quadrants) {
+        while (true) {
+            Snapshot<T> current = snapshot;
+            current.readLock(quadrants);
+            // Replacing the snapshot requires its write locks
+            if (current == snapshot) {
+                return current;
+            }
+            current.readUnlock(quadrants);
+        }
+    }
+
+    /**
+     * Write-locks some quadrants of the snapshot of this matrix, in ordinal order, first replacing 
+     * the snapshot with a copy of its own if it is shared.
+     *
+     * @param quadrants the mask of the ordinals of the quadrants to be modified.
+     * @return the write-locked snapshot, which stays the unshared snapshot of this matrix until it is unlocked.
+     */
+    private Snapshot<T> writeLock(int quadrants) {
+        while (true) {
+            Snapshot<T> current = this.ownSnapshot();
+            current.writeLock(quadrants);
+            // Deriving a matrix from the snapshot requires its read locks
+            if (current == snapshot && !current.isShared()) {
+                return current;
+            }
+            current.writeUnlock(quadrants);
+        }
+    }
+
+    /**
+     * Returns the snapshot of this matrix, after replacing it with a copy of its own if it is shared.
+     * Copying takes linear time, but only happens on the first modification following a derivation.
+     *
+     * @return the snapshot of this matrix, which may have been shared again meanwhile.
+     */
+    private Snapshot<T> ownSnapshot() {
+        Snapshot<T> current = snapshot;
+        if (!current.isShared()) {
+            return current;
+        }
+        // Keeps the snapshot from being modified, derived or replaced by other threads meanwhile
+        current.writeLock(ALL_QUADRANTS);
+        try {
+            if (current == snapshot && current.isShared()) {
+                snapshot = current.copy();
+                current.owners.decrementAndGet();
+            }
+        } finally {
+            current.writeUnlock(ALL_QUADRANTS);
+        }
+        return snapshot;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns a snapshot of the matrix as a map, where the keys are quadrants and
+     * the values are unmodifiable sets of tasks.
+     *
+     * @return a map of quadrants to sets of tasks, taken atomically.
+     */
+    @Override
+    public Map<Quadrant, Collection<T>> toMap() {
+        Map<Quadrant, Collection<T>> map = new EnumMap<>(Quadrant.class);
+        Snapshot<T> current = this.readLock(ALL_QUADRANTS);
+        try {
+            for (Quadrant quadrant : QUADRANTS) {
+                map.put(quadrant, Collections.unmodifiableSet(new HashSet<>(current.store(quadrant).tasks())));
+            }
+        } finally {
+            current.readUnlock(ALL_QUADRANTS);
+        }
+        return map;
+    }
+
+    /**
+     * Returns a snapshot of the matrix as a 2x2 array, where each element is an
+     * unmodifiable set of tasks corresponding to a specific quadrant.
+     *
+     * @return a 2x2 array of sets of tasks, taken atomically.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<T>[][] toMatrix() {
+        Map<Quadrant, Collection<T>> map = this.toMap();
+        Collection<T>[][] matrix = new Collection[2][2];
+        for (Quadrant quadrant : QUADRANTS) {
+            int row = quadrant.isUrgent() ? 0 : 1;
+            int col = quadrant.isImportant() ? 0 : 1;
+            matrix[row][col] = map.get(quadrant);
+        }
+        return matrix;
+    }
+
+    /**
+     * Retrieves the type of collection used to store tasks within the 4 quadrants,
+     * which is {@link Set}.
+     *
+     * @return {@link Set} class type.
+     */
+    @Override
+    public final Class<?> getImplementingCollectionType() {
+        return Set.class;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Adds a task to the specified quadrant, if not already present in the matrix.
+     *
+     * @param task     the task to be added.
+     * @param quadrant the quadrant in which to add the task.
+     * @return {@code true} if the task was added, {@code false} otherwise.
+     * @throws NullPointerException if task or quadrant is {@code null}.
+     */
+    @Override
+    public final boolean addTask(T task, Quadrant quadrant) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+
+        if (snapshot.quadrantOf(task) != null) {
+            return false;
+        }
+        Snapshot<T> current = this.writeLock(mask(quadrant));
+        try {
+            return this.addLocked(current, task, quadrant);
+        } finally {
+            current.writeUnlock(mask(quadrant));
+        }
+    }
+
+    /**
+     * Adds a task to the specified quadrant, if not already present in the matrix.
+     * The caller must hold the write lock of the quadrant.
+     *
+     * @param current  the snapshot of this matrix, write-locked by the caller.
+     * @param task     the task to be added.
+     * @param quadrant the quadrant in which to add the task.
+     * @return {@code true} if the task was added, {@code false} otherwise.
+     */
+    private boolean addLocked(Snapshot<T> current, T task, Quadrant quadrant) {
+        if (current.taskQuadrants.putIfAbsent(task, quadrant) != null) {
+            return false;
+        }
+        QuadrantStore<T> store = current.store(quadrant);
+        try {
+            store.addIndexed(task, () -> store.tasks().add(task));
+        } catch (RuntimeException | Error e) {
+            current.taskQuadrants.remove(task, quadrant);
+            throw e;
+        }
+        return true;
+    }
+
+    @Override
+    public final boolean addTask(T task, boolean urgent, boolean important) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        Quadrant quadrant = Quadrant.getQuadrant(urgent, important);
+        return this.addTask(task, quadrant);
+    }
+
+    /**
+     * Adds all the given tasks to the specified quadrant, atomically.
+     * Tasks already present in the matrix are skipped.
+     *
+     * @param quadrant the quadrant in which to add the tasks.
+     * @param tasks    the tasks to be added.
+     * @return {@code true} if at least one task was added, {@code false} otherwise.
+     * @throws NullPointerException if quadrant, tasks or any of the tasks is {@code null}.
+     */
+    @Override
+    public final boolean addAllTasks(Quadrant quadrant, Collection<? extends T> tasks) {
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        Objects.requireNonNull(tasks, "Tasks collection cannot be null.");
+
+        List<T> tasksToAdd = List.copyOf(tasks);
+        boolean modified = false;
+        Snapshot<T> current = this.writeLock(mask(quadrant));
+        try {
+            for (T task : tasksToAdd) {
+                if (this.addLocked(current, task, quadrant)) {
+                    modified = true;
+                }
+            }
+        } finally {
+            current.writeUnlock(mask(quadrant));
+        }
+        return modified;
+    }
+
+    @Override
+    public final boolean addAllTasks(boolean urgent, boolean important, Collection<? extends T> tasks) {
+        Objects.requireNonNull(tasks, "Tasks collection cannot be null.");
+        Quadrant quadrant = Quadrant.getQuadrant(urgent, important);
+        return this.addAllTasks(quadrant, tasks);
+    }
+
+    /**
+     * Adds the tasks of each quadrant in the given map, atomically.
+     * Tasks already present in the matrix are skipped.
+     *
+     * @param eisenhowerMap a map from every quadrant to the tasks to be added to it.
+     * @return {@code true} if at least one task was added, {@code false} otherwise.
+     * @throws NullPointerException if the map, any of its collections or tasks is {@code null},
+     *                              or if a quadrant is missing from the map.
+     */
+    @Override
+    public final boolean addAllTasks(Map<Quadrant, Collection<? extends T>> eisenhowerMap) {
+        Objects.requireNonNull(eisenhowerMap, "Eisenhower quadrants' map cannot be null.");
+        if (eisenhowerMap.isEmpty()) {
+            return false;
+        }
+
+        // Validates the whole map before locking, so that it is either added entirely or not at all
+        Map<Quadrant, List<T>> tasksToAdd = new EnumMap<>(Quadrant.class);
+        for (Quadrant quadrant : QUADRANTS) {
+            Collection<? extends T> tasks = eisenhowerMap.get(quadrant);
+            Objects.requireNonNull(tasks, "Quadrant " + quadrant + " is missing in the provided map.");
+            tasksToAdd.put(quadrant, List.copyOf(tasks));
+        }
+
+        boolean modified = false;
+        Snapshot<T> current = this.writeLock(ALL_QUADRANTS);
+        try {
+            for (Quadrant quadrant : QUADRANTS) {
+                for (T task : tasksToAdd.get(quadrant)) {
+                    if (this.addLocked(current, task, quadrant)) {
+                        modified = true;
+                    }
+                }
+            }
+        } finally {
+            current.writeUnlock(ALL_QUADRANTS);
+        }
+        return modified;
+    }
+
+    /**
+     * Adds a task to the specified quadrant, if not already present in it.
+     * Since tasks are unique in this matrix, a task present in another quadrant is not added.
+     *
+     * @param task     the task to be added.
+     * @param quadrant the quadrant in which to add the task.
+     * @throws NullPointerException if task or quadrant is {@code null}.
+     */
+    @Override
+    public final void addTaskIfAbsentInQuadrant(T task, Quadrant quadrant) {
+        this.addTask(task, quadrant);
+    }
+
+    @Override
+    public final void addTaskIfAbsentInQuadrant(T task, boolean urgent, boolean important) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        Quadrant quadrant = Quadrant.getQuadrant(urgent, important);
+        this.addTaskIfAbsentInQuadrant(task, quadrant);
+    }
+
+    @Override
+    public final void addTaskIfAbsentInMatrix(T task, Quadrant quadrant) {
+        this.addTask(task, quadrant);
+    }
+
+    @Override
+    public final void addTaskIfAbsentInMatrix(T task, boolean urgent, boolean important) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        Quadrant quadrant = Quadrant.getQuadrant(urgent, important);
+        this.addTaskIfAbsentInMatrix(task, quadrant);
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns a snapshot of the tasks in the specified quadrant.
+     *
+     * @param quadrant the quadrant whose tasks are to be retrieved.
+     * @return an unmodifiable set of the tasks in the quadrant, taken atomically.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    @Override
+    public final Collection<T> getTasks(Quadrant quadrant) {
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        Snapshot<T> current = this.readLock(mask(quadrant));
+        try {
+            return Collections.unmodifiableSet(new HashSet<>(current.store(quadrant).tasks()));
+        } finally {
+            current.readUnlock(mask(quadrant));
+        }
+    }
+
+    @Override
+    public final Collection<T> getTasks(boolean urgent, boolean important) {
+        Quadrant quadrant = Quadrant.getQuadrant(urgent, important);
+        return this.getTasks(quadrant);
+    }
+
+    @Override
+    public final List<T> getTasksSorted(Quadrant quadrant) {
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        Snapshot<T> current = this.readLock(mask(quadrant));
+        try {
+            return current.store(quadrant).sortedTasks().toList();
+        } finally {
+            current.readUnlock(mask(quadrant));
+        }
+    }
+
+    @Override
+    public final List<T> getTasksSorted(boolean urgent, boolean important) {
+        Quadrant quadrant = Quadrant.getQuadrant(urgent, important);
+        return this.getTasksSorted(quadrant);
+    }
+
+    @Override
+    public final List<T> getTasksSorted(Quadrant quadrant, Comparator<T> comparator) {
+        Objects.requireNonNull(comparator, "Comparator cannot be null.");
+        List<T> sortedTasks = new ArrayList<>(this.getTasks(quadrant));
+        sortedTasks.sort(comparator);
+        return sortedTasks;
+    }
+
+    @Override
+    public final List<T> getTasksSorted(boolean urgent, boolean important, Comparator<T> comparator) {
+        Quadrant quadrant = Quadrant.getQuadrant(urgent, important);
+        return this.getTasksSorted(quadrant, comparator);
+    }
+
+    @Override
+    public final List<T> getTasksSorted(Quadrant quadrant, int offset, int limit) {
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative.");
+        }
+        Snapshot<T> current = this.readLock(mask(quadrant));
+        try {
+            return current.store(quadrant).sortedTasks().toList(offset, limit);
+        } finally {
+            current.readUnlock(mask(quadrant));
+        }
+    }
+
+    @Override
+    public final int rankOf(T task, Quadrant quadrant) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        Snapshot<T> current = this.readLock(mask(quadrant));
+        try {
+            QuadrantStore<T> store = current.store(quadrant);
+            return store.contains(task) ? store.sortedTasks().rankOf(task) : -1;
+        } finally {
+            current.readUnlock(mask(quadrant));
+        }
+    }
+
+    @Override
+    public final List<T> getTasksBetween(Quadrant quadrant, T from, T to) {
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        SortedTasks.checkRange(from, to);
+        Snapshot<T> current = this.readLock(mask(quadrant));
+        try {
+            return current.store(quadrant).sortedTasks().toList(from, to);
+        } finally {
+            current.readUnlock(mask(quadrant));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The tasks of all quadrants are read atomically.
+     * </p>
+     */
+    @Override
+    public final List<T> getAllTasksBetween(T from, T to) {
+        SortedTasks.checkRange(from, to);
+        List<T> tasksBetween = new ArrayList<>();
+        Snapshot<T> current = this.readLock(ALL_QUADRANTS);
+        try {
+            for (Quadrant quadrant : Quadrant.values()) {
+                tasksBetween.addAll(current.store(quadrant).sortedTasks().toList(from, to));
+            }
+        } finally {
+            current.readUnlock(ALL_QUADRANTS);
+        }
+        // Sorting the 4 already sorted runs is linear
+        tasksBetween.sort(null);
+        return tasksBetween;
+    }
+
+    /**
+     * Returns a snapshot of all the tasks in the matrix, taken atomically.
+     *
+     * @return a new set of all the tasks in the matrix.
+     */
+    @Override
+    public final Set<T> getAllTasks() {
+        Set<T> allTasks = new HashSet<>();
+        Snapshot<T> current = this.readLock(ALL_QUADRANTS);
+        try {
+            for (Quadrant quadrant : QUADRANTS) {
+                allTasks.addAll(current.store(quadrant).tasks());
+            }
+        } finally {
+            current.readUnlock(ALL_QUADRANTS);
+        }
+        return allTasks;
+    }
+
+    @Override
+    public final List<T> getAllTasksSorted(EQuadrantsSorting quadrantsOrdering) {
+        List<T> allTasksList = new ArrayList<>();
+        Snapshot<T> current = this.readLock(ALL_QUADRANTS);
+        try {
+            for (Quadrant quadrant : Quadrant.quadrantsSorted(quadrantsOrdering)) {
+                for (T task : current.store(quadrant).sortedTasks()) {
+                    allTasksList.add(task);
+                }
+            }
+        } finally {
+            current.readUnlock(ALL_QUADRANTS);
+        }
+        return allTasksList;
+    }
+
+    @Override
+    public final List<T> getAllTasksSorted(Comparator<T> taskComparator, EQuadrantsSorting quadrantsOrdering) {
+        Objects.requireNonNull(taskComparator, "Comparator cannot be null.");
+        Map<Quadrant, Collection<T>> snapshot = this.toMap();
+
+        List<T> allTasksList = new ArrayList<>();
+        for (Quadrant quadrant : Quadrant.quadrantsSorted(quadrantsOrdering)) {
+            List<T> sortedTasks = new ArrayList<>(snapshot.get(quadrant));
+            sortedTasks.sort(taskComparator);
+            allTasksList.addAll(sortedTasks);
+        }
+        return allTasksList;
+    }
+
+    @Override
+    public final List<T> getAllTasksSorted(Map<Quadrant, Comparator<T>> comparators, EQuadrantsSorting quadrantsOrdering) {
+        Objects.requireNonNull(comparators, "Quadrant comparators map cannot be null.");
+        if (comparators.size() != QUADRANTS.length) {
+            throw new UnsupportedOperationException("Comparator(s) missing for 1 or more Eisenhower quadrants.");
+        }
+        Map<Quadrant, Collection<T>> snapshot = this.toMap();
+
+        List<T> allTasksList = new ArrayList<>();
+        for (Quadrant quadrant : Quadrant.quadrantsSorted(quadrantsOrdering)) {
+            Comparator<T> comparator = comparators.get(quadrant);
+            if (comparator == null) {
+                throw new UnsupportedOperationException("Comparator missing for quadrant: " + quadrant);
+            }
+            List<T> sortedTasks = new ArrayList<>(snapshot.get(quadrant));
+            sortedTasks.sort(comparator);
+            allTasksList.addAll(sortedTasks);
+        }
+        return allTasksList;
+    }
+
+    /**
+     * Streams all tasks from all quadrants, sorted by their natural ordering within each quadrant.
+     * The stream is built on a snapshot of the matrix, taken atomically in linear time 
+     * from the sorted indexes, so it doesn't see later modifications.
+     *
+     * @param quadrantsOrdering the order in which quadrants are streamed.
+     * @return an ordered stream of all tasks in the matrix.
+     * @throws NullPointerException if {@code quadrantsOrdering} is {@code null}.
+     */
+    @Override
+    public final Stream<T> streamAllTasksSorted(EQuadrantsSorting quadrantsOrdering) {
+        return this.getAllTasksSorted(quadrantsOrdering).stream();
+    }
+
+    /**
+     * Streams all tasks from all quadrants, sorting them lazily with the given comparator.
+     * The stream is built on a snapshot of the matrix, taken atomically, so it doesn't see later modifications.
+     *
+     * @param tasksComparator   the comparator used to sort tasks within each quadrant.
+     * @param quadrantsOrdering the order in which quadrants are streamed.
+     * @return an ordered stream of all tasks in the matrix.
+     * @throws NullPointerException if {@code tasksComparator} or {@code quadrantsOrdering} is {@code null}.
+     */
+    @Override
+    public final Stream<T> streamAllTasksSorted(Comparator<T> tasksComparator, EQuadrantsSorting quadrantsOrdering) {
+        Objects.requireNonNull(tasksComparator, "Comparator cannot be null.");
+        Map<Quadrant, Collection<T>> snapshot = this.toMap();
+        return Arrays.stream(Quadrant.quadrantsSorted(quadrantsOrdering))
+                .flatMap(quadrant -> LazySortedIterator.stream(snapshot.get(quadrant), tasksComparator));
+    }
+
+    /**
+     * Streams all tasks from all quadrants, sorting them lazily with the comparator of each quadrant.
+     * The stream is built on a snapshot of the matrix, taken atomically, so it doesn't see later modifications.
+     *
+     * @param comparators       a map of quadrants to their respective comparators.
+     * @param quadrantsOrdering the order in which quadrants are streamed.
+     * @return an ordered stream of all tasks in the matrix.
+     * @throws UnsupportedOperationException if the map doesn't contain comparators for all four quadrants.
+     * @throws NullPointerException if {@code comparators} or {@code quadrantsOrdering} is {@code null}.
+     */
+    @Override
+    public final Stream<T> streamAllTasksSorted(Map<Quadrant, Comparator<T>> comparators, EQuadrantsSorting quadrantsOrdering) {
+        Objects.requireNonNull(comparators, "Quadrant comparators map cannot be null.");
+        Quadrant[] quadrants = Quadrant.quadrantsSorted(quadrantsOrdering);
+        for (Quadrant quadrant : quadrants) {
+            if (comparators.get(quadrant) == null) {
+                throw new UnsupportedOperationException("Comparator missing for quadrant: " + quadrant);
+            }
+        }
+        Map<Quadrant, Collection<T>> snapshot = this.toMap();
+        return Arrays.stream(quadrants)
+                .flatMap(quadrant -> LazySortedIterator.stream(snapshot.get(quadrant), comparators.get(quadrant)));
+    }
+
+    @Override
+    public final Quadrant getQuadrant(T task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        return snapshot.quadrantOf(task);
+    }
+
+    @Override
+    public final Set<Quadrant> getQuadrants(T task) {
+        Quadrant quadrant = this.getQuadrant(task);
+        return (quadrant != null) ? EnumSet.of(quadrant) : EnumSet.noneOf(Quadrant.class);
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public final boolean containsTask(T task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        return snapshot.quadrantOf(task) != null;
+    }
+
+    @Override
+    public final boolean containsTask(T task, Quadrant quadrant) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        return snapshot.quadrantOf(task) == quadrant;
+    }
+
+    @Override
+    public final boolean containsTask(T task, boolean urgent, boolean important) {
+        Quadrant quadrant = Quadrant.getQuadrant(urgent, important);
+        return this.containsTask(task, quadrant);
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public final boolean removeTask(T task, Quadrant quadrant) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+
+        if (snapshot.quadrantOf(task) != quadrant) {
+            return false;
+        }
+        Snapshot<T> current = this.writeLock(mask(quadrant));
+        try {
+            return this.removeLocked(current, task, quadrant);
+        } finally {
+            current.writeUnlock(mask(quadrant));
+        }
+    }
+
+    /**
+     * Removes a task from the specified quadrant, if present in it.
+     * The caller must hold the write lock of the quadrant.
+     *
+     * @param current  the snapshot of this matrix, write-locked by the caller.
+     * @param task     the task to be removed.
+     * @param quadrant the quadrant from which to remove the task.
+     * @return {@code true} if the task was removed, {@code false} otherwise.
+     */
+    private boolean removeLocked(Snapshot<T> current, T task, Quadrant quadrant) {
+        if (!current.taskQuadrants.remove(task, quadrant)) {
+            return false;
+        }
+        QuadrantStore<T> store = current.store(quadrant);
+        store.tasks().remove(task);
+        store.indexRemoved(task);
+        return true;
+    }
+
+    @Override
+    public final boolean removeTask(T task, boolean urgent, boolean important) {
+        Quadrant quadrant = Quadrant.getQuadrant(urgent, important);
+        return this.removeTask(task, quadrant);
+    }
+
+    /**
+     * Removes a task from the specified quadrant.
+     * Since tasks are unique in this matrix, it is the same as {@link #removeTask(Comparable, Quadrant)}.
+     *
+     * @param task     the task to be removed.
+     * @param quadrant the quadrant from which to remove the task.
+     * @return {@code true} if the task was removed, {@code false} otherwise.
+     * @throws NullPointerException if task or quadrant is {@code null}.
+     */
+    @Override
+    public final boolean removeTaskOccurrences(T task, Quadrant quadrant) {
+        return this.removeTask(task, quadrant);
+    }
+
+    @Override
+    public final boolean removeTaskOccurrences(T task, boolean urgent, boolean important) {
+        Quadrant quadrant = Quadrant.getQuadrant(urgent, important);
+        return this.removeTaskOccurrences(task, quadrant);
+    }
+
+    /**
+     * Removes a task from the matrix, whichever quadrant it belongs to.
+     *
+     * @param task the task to be removed.
+     * @return {@code true} if the task was removed, {@code false} if it was not in the matrix.
+     * @throws NullPointerException if {@code task} is {@code null}.
+     */
+    @Override
+    public final boolean removeTaskOccurrences(T task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+
+        // Retries if the task is moved to another quadrant before its lock is taken
+        Quadrant quadrant;
+        while ((quadrant = snapshot.quadrantOf(task)) != null) {
+            Snapshot<T> current = this.writeLock(mask(quadrant));
+            try {
+                if (this.removeLocked(current, task, quadrant)) {
+                    return true;
+                }
+            } finally {
+                current.writeUnlock(mask(quadrant));
+            }
+        }
+        return false;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Moves a task from a quadrant to another one, atomically.
+     * The caller must hold the write locks of both quadrants.
+     *
+     * @param current the snapshot of this matrix, write-locked by the caller.
+     * @param task    the task to be moved.
+     * @param from    the quadrant currently holding the task.
+     * @param to      the quadrant where the task should be moved.
+     * @return {@code true} if the task was in {@code from}, {@code false} otherwise.
+     */
+    private boolean moveLocked(Snapshot<T> current, T task, Quadrant from, Quadrant to) {
+        if (!current.taskQuadrants.replace(task, from, to)) {
+            return false;
+        }
+        QuadrantStore<T> source = current.store(from);
+        source.tasks().remove(task);
+        source.indexRemoved(task);
+        QuadrantStore<T> target = current.store(to);
+        try {
+            target.addIndexed(task, () -> target.tasks().add(task));
+        } catch (RuntimeException | Error e) {
+            // Puts the task back where it was
+            source.addIndexed(task, () -> source.tasks().add(task));
+            current.taskQuadrants.replace(task, to, from);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Moves a task from a quadrant to another one, atomically.
+     * Other threads see the task either in {@code from} or in {@code to}, but never in both or neither.
+     *
+     * @param task the task to be moved.
+     * @param from the quadrant currently holding the task.
+     * @param to   the quadrant where the task should be moved.
+     * @return {@code true} if the task was in {@code from} (and now is in {@code to}), {@code false} otherwise.
+     * @throws NullPointerException if task, from or to is {@code null}.
+     */
+    @Override
+    public final boolean moveTask(T task, Quadrant from, Quadrant to) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        Objects.requireNonNull(from, "Source quadrant cannot be null.");
+        Objects.requireNonNull(to, "Target quadrant cannot be null.");
+
+        if (snapshot.quadrantOf(task) != from) {
+            return false;
+        }
+        if (from == to) {
+            return true;
+        }
+        Snapshot<T> current = this.writeLock(mask(from) | mask(to));
+        try {
+            return this.moveLocked(current, task, from, to);
+        } finally {
+            current.writeUnlock(mask(from) | mask(to));
+        }
+    }
+
+    /**
+     * Moves all tasks satisfying a predicate from a quadrant to another one, atomically.
+     *
+     * @param from   the quadrant whose tasks are to be reclassified.
+     * @param to     the quadrant where matching tasks should be moved.
+     * @param filter a predicate which returns {@code true} for the tasks to be moved.
+     * @return the number of tasks moved.
+     * @throws NullPointerException if from, to or filter is {@code null}.
+     */
+    @Override
+    public final int reclassify(Quadrant from, Quadrant to, Predicate<? super T> filter) {
+        Objects.requireNonNull(from, "Source quadrant cannot be null.");
+        Objects.requireNonNull(to, "Target quadrant cannot be null.");
+        Objects.requireNonNull(filter, "Filter cannot be null.");
+
+        if (from == to) {
+            return 0;
+        }
+        Snapshot<T> current = this.writeLock(mask(from) | mask(to));
+        try {
+            List<T> movedTasks = new ArrayList<>();
+            for (T task : current.store(from).tasks()) {
+                if (filter.test(task)) {
+                    movedTasks.add(task);
+                }
+            }
+            for (T task : movedTasks) {
+                this.moveLocked(current, task, from, to);
+            }
+            return movedTasks.size();
+        } finally {
+            current.writeUnlock(mask(from) | mask(to));
+        }
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Creates a copy of this matrix, and clears all tasks from the specified quadrant of the copy.
+     * <p>
+     * This matrix is left untouched. The copy is derived in constant time, since it shares 
+     * the snapshot of this matrix: the snapshot is copied only when either matrix modifies it 
+     * for the first time.
+     * </p>
+     *
+     * @param quadrant the quadrant to be cleared.
+     * @return a thread-safe copy of this Eisenhower Matrix with the specified quadrant cleared.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    @Override
+    public final EisenhowerMatrix<T> clearQuadrant(Quadrant quadrant) {
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        // Keeps other threads from modifying the snapshot while it becomes shared
+        Snapshot<T> current = this.readLock(ALL_QUADRANTS);
+        try {
+            return new ConcurrentEisenhowerMatrix<>(new Snapshot<>(current, quadrant));
+        } finally {
+            current.readUnlock(ALL_QUADRANTS);
+        }
+    }
+
+    @Override
+    public final EisenhowerMatrix<T> clearQuadrant(boolean urgent, boolean important) {
+        Quadrant quadrant = Quadrant.getQuadrant(urgent, important);
+        return this.clearQuadrant(quadrant);
+    }
+
+    /**
+     * Creates an empty thread-safe matrix. This matrix is left untouched.
+     *
+     * @return an empty Eisenhower Matrix.
+     */
+    @Override
+    public EisenhowerMatrix<T> clearAllTasks() {
+        return new ConcurrentEisenhowerMatrix<>();
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * The tasks of a matrix, with the locks guarding them.
+     * <p>
+     * A snapshot is shared by a matrix and the matrices derived from it by 
+     * {@link ConcurrentEisenhowerMatrix#clearQuadrant(Quadrant)}: they share its stores, locks 
+     * and map, except for the cleared quadrant, replaced by an empty store and hidden from the map. 
+     * A shared snapshot is never modified, apart from its tasks being re-keyed when they change, 
+     * which applies to all the matrices holding them: a matrix first replaces it with its own copy.
+     * </p>
+     *
+     * @param <T> the type of task stored in the matrix.
+     */
+    private static final class Snapshot<T extends Comparable<T>> {
+
+        // Tasks and sorted index of each quadrant, indexed by ordinal
+        final QuadrantStore<T>[] stores;
+
+        // Lock guarding each quadrant store, indexed by ordinal
+        final ReentrantReadWriteLock[] locks;
+
+        // Quadrant holding each task, updated while holding the write lock of that quadrant
+        final ConcurrentHashMap<T, Quadrant> taskQuadrants;
+
+        // Number of matrices sharing the stores, locks and map
+        final AtomicInteger owners;
+
+        // Mask of the ordinals of the quadrants cleared since the stores were shared
+        final int clearedQuadrants;
+
+        /**
+         * Creates an empty snapshot.
+         */
+        Snapshot() {
+            this.stores = newStoresArray();
+            this.locks = new ReentrantReadWriteLock[QUADRANTS.length];
+            this.taskQuadrants = new ConcurrentHashMap<>();
+            this.owners = new AtomicInteger(1);
+            this.clearedQuadrants = 0;
+            for (Quadrant quadrant : QUADRANTS) {
+                locks[quadrant.ordinal()] = new ReentrantReadWriteLock();
+                stores[quadrant.ordinal()] = this.newStore(new HashSet<>(), quadrant);
+            }
+        }
+
+        /**
+         * Creates a snapshot sharing the tasks of the given one, except for a cleared quadrant.
+         * The given snapshot must be read-locked by the caller.
+         *
+         * @param other           the snapshot to be shared.
+         * @param clearedQuadrant the quadrant to be left empty.
+         */
+        Snapshot(Snapshot<T> other, Quadrant clearedQuadrant) {
+            this.stores = other.stores.clone();
+            this.locks = other.locks;
+            this.taskQuadrants = other.taskQuadrants;
+            this.owners = other.owners;
+            this.clearedQuadrants = other.clearedQuadrants | mask(clearedQuadrant);
+            owners.incrementAndGet();
+            stores[clearedQuadrant.ordinal()] = this.newStore(new HashSet<>(), clearedQuadrant);
+        }
+
+        /**
+         * Creates a store for a quadrant, whose sorted index is built upfront.
+         * Otherwise, the index would be built lazily by the first sorted read, under a read lock.
+         * The store takes the write lock of the quadrant to re-key its tasks when they change.
+         *
+         * @param tasks    the set of tasks of the quadrant.
+         * @param quadrant the quadrant of the tasks.
+         * @return a new store of the given tasks.
+         */
+        private QuadrantStore<T> newStore(Set<T> tasks, Quadrant quadrant) {
+            QuadrantStore<T> store = new QuadrantStore<>(tasks, this.writeLockOf(quadrant), new QuadrantKeys<>(taskQuadrants, quadrant));
+            store.sortedTasks();
+            return store;
+        }
+
+        /**
+         * Creates a copy of this snapshot, which is neither shared nor has cleared quadrants.
+         * The snapshot must be locked by the caller.
+         *
+         * @return a new snapshot holding the same tasks.
+         */
+        Snapshot<T> copy() {
+            Snapshot<T> copy = new Snapshot<>();
+            for (Quadrant quadrant : QUADRANTS) {
+                QuadrantStore<T> store = this.store(quadrant);
+                for (T task : store.tasks()) {
+                    copy.taskQuadrants.put(task, quadrant);
+                }
+                copy.stores[quadrant.ordinal()] = store.copy(new HashSet<>(store.tasks()), copy.writeLockOf(quadrant),
+                        new QuadrantKeys<>(copy.taskQuadrants, quadrant));
+            }
+            return copy;
+        }
+
+        /**
+         * Checks if this snapshot must be copied before being modified, since it is shared 
+         * with another matrix or has cleared quadrants, whose tasks are still in the map.
+         *
+         * @return {@code true} if the snapshot is shared, {@code false} otherwise.
+         */
+        boolean isShared() {
+            return clearedQuadrants != 0 || owners.get() > 1;
+        }
+
+        QuadrantStore<T> store(Quadrant quadrant) {
+            return stores[quadrant.ordinal()];
+        }
+
+        /**
+         * Returns the quadrant holding a task, without taking any lock.
+         *
+         * @param task the task to look for.
+         * @return the quadrant of the task, or {@code null} if it is not in this snapshot.
+         */
+        Quadrant quadrantOf(Object task) {
+            Quadrant quadrant = taskQuadrants.get(task);
+            return (quadrant != null && (clearedQuadrants & mask(quadrant)) != 0) ? null : quadrant;
+        }
+
+        private Lock writeLockOf(Quadrant quadrant) {
+            return locks[quadrant.ordinal()].writeLock();
+        }
+
+        /**
+         * Read-locks some quadrants, in ordinal order.
+         *
+         * @param quadrants the mask of the ordinals of the quadrants.
+         */
+        void readLock(int quadrants) {
+            for (int i = 0; i < QUADRANTS.length; i++) {
+                if ((quadrants & (1 << i)) != 0) {
+                    locks[i].readLock().lock();
+                }
+            }
+        }
+
+        /**
+         * Releases the read locks of some quadrants, in reverse ordinal order.
+         *
+         * @param quadrants the mask of the ordinals of the quadrants.
+         */
+        void readUnlock(int quadrants) {
+            for (int i = QUADRANTS.length - 1; i >= 0; i--) {
+                if ((quadrants & (1 << i)) != 0) {
+                    locks[i].readLock().unlock();
+                }
+            }
+        }
+
+        /**
+         * Write-locks some quadrants, in ordinal order.
+         *
+         * @param quadrants the mask of the ordinals of the quadrants.
+         */
+        void writeLock(int quadrants) {
+            for (int i = 0; i < QUADRANTS.length; i++) {
+                if ((quadrants & (1 << i)) != 0) {
+                    locks[i].writeLock().lock();
+                }
+            }
+        }
+
+        /**
+         * Releases the write locks of some quadrants, in reverse ordinal order.
+         *
+         * @param quadrants the mask of the ordinals of the quadrants.
+         */
+        void writeUnlock(int quadrants) {
+            for (int i = QUADRANTS.length - 1; i >= 0; i--) {
+                if ((quadrants & (1 << i)) != 0) {
+                    locks[i].writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * The entries of a quadrant in the map of a snapshot, re-keyed by the store of the quadrant 
+     * when one of its tasks changes.
+     *
+     * @param <T> the type of task stored in the matrix.
+     */
+    private static final class QuadrantKeys<T> implements QuadrantStore.KeyIndex<T> {
+
+        private final ConcurrentHashMap<T, Quadrant> taskQuadrants;
+        private final Quadrant quadrant;
+
+        QuadrantKeys(ConcurrentHashMap<T, Quadrant> taskQuadrants, Quadrant quadrant) {
+            this.taskQuadrants = taskQuadrants;
+            this.quadrant = quadrant;
+        }
+
+        @Override
+        public void remove(T task) {
+            taskQuadrants.remove(task, quadrant);
+        }
+
+        @Override
+        public boolean add(T task) {
+            // A task now equal to another one of the matrix is merged into it
+            return taskQuadrants.putIfAbsent(task, quadrant) == null;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.eisenhower.matrix;
+
+import java.util.LinkedList;
+
+/**
+ * An enum representing the data structure used by an {@link EisenhowerMatrixList} 
+ * to store the {@link java.util.List} of tasks of each quadrant.
+ * 
+ * @see EisenhowerMatrixList#EisenhowerMatrixList(EListStorage)
+ */
+public enum EListStorage {
+    
+    /**
+     * Stores tasks in a doubly-linked {@link LinkedList}. 
+     * Positional access ({@code getTask}, {@code setTask}, {@code sublist}) is linear in the 
+     * size of the quadrant. This is the default storage.
+     */
+    LINKED,
+    
+    /**
+     * Stores tasks in a growable circular array.
+     * Positional access is performed in constant time, as well as appending tasks and 
+     * removing them from the front, with a lower memory overhead per task.
+     */
+    ARRAY;
+}
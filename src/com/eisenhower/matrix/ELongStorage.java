@@ -0,0 +1,26 @@
+package com.eisenhower.matrix;
+
+/**
+ * An enum representing the data structure used by a {@link LongEisenhowerMatrix}
+ * to store the identifiers of each quadrant.
+ *
+ * @see LongEisenhowerMatrix#LongEisenhowerMatrix(ELongStorage)
+ */
+public enum ELongStorage {
+
+    /**
+     * Stores identifiers in an open-addressing hash table. Adding, removing and looking up an
+     * identifier take constant time whatever the identifiers are, and sorted reads are served by
+     * a sorted copy, made again after each modification of the quadrant. This is the default storage.
+     */
+    HASH,
+
+    /**
+     * Stores identifiers in a compressed {@link LongBitmap}, sorted by construction. Close identifiers
+     * (such as the sequential IDs of {@link com.eisenhower.util.Task#withIdentity() tasks with an identity})
+     * take from 1 bit to 2 bytes each, and the quadrants of different matrices can be combined
+     * (union, intersection, difference) a container at a time. Scattered identifiers, each in a
+     * container of its own, make it slower than {@link #HASH}.
+     */
+    BITMAP;
+}
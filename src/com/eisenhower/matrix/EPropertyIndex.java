@@ -0,0 +1,23 @@
+package com.eisenhower.matrix;
+
+/**
+ * An enum representing the data structure used by a {@link PropertyIndex}
+ * to map property values to tasks.
+ *
+ * @see PropertyIndex#PropertyIndex(AbstractEisenhowerMatrix, String, EPropertyIndex)
+ */
+public enum EPropertyIndex {
+
+    /**
+     * Maps values to tasks in a hash table.
+     * It only supports equality lookups, which are performed in constant time.
+     */
+    HASH,
+
+    /**
+     * Maps values to tasks in a balanced search tree, ordered by the natural ordering of values.
+     * It supports both equality and range lookups, in logarithmic time. Values which are not
+     * {@link Comparable} are not indexed, and values of different classes are ordered by class name.
+     */
+    SORTED;
+}
@@ -2,8 +2,11 @@ package com.eisenhower.matrix;
 
 import com.eisenhower.util.EQuadrantsSorting;
 import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
 import static com.eisenhower.util.Quadrant.ELIMINATE_IT;
 import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Represents an Eisenhower Matrix, a productivity tool that helps organize tasks based on their 
@@ -214,6 +217,96 @@ public interface EisenhowerMatrix<T extends Comparable<T>> {
      */
     List<T> getTasksSorted(boolean urgent, boolean important, Comparator<T> comparator);
 
+    /**
+     * Retrieves a page of the tasks from the specified quadrant, sorted using their natural ordering.
+     * It returns the same tasks as {@code getTasksSorted(quadrant).subList(offset, offset + limit)},
+     * clamped to the size of the quadrant, without sorting the whole quadrant when possible.
+     *
+     * @param quadrant the quadrant from which to retrieve the tasks.
+     * @param offset   the rank of the first task to be retrieved.
+     * @param limit    the maximum number of tasks to be retrieved.
+     * @return a list of at most {@code limit} sorted tasks, empty if {@code offset} is past the last task.
+     * @throws NullPointerException     if {@code quadrant} is {@code null}.
+     * @throws IllegalArgumentException if {@code offset} or {@code limit} is negative.
+     * @see #getTasksSorted(Quadrant)
+     */
+    default List<T> getTasksSorted(Quadrant quadrant, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative.");
+        }
+        List<T> sortedTasks = this.getTasksSorted(quadrant);
+        int from = Math.min(offset, sortedTasks.size());
+        int to = from + Math.min(limit, sortedTasks.size() - from);
+        return new ArrayList<>(sortedTasks.subList(from, to));
+    }
+
+    /**
+     * Returns the rank of a task in the specified quadrant, that is the number of tasks
+     * before its first occurrence when the quadrant is sorted using their natural ordering.
+     *
+     * @param task     the task to be looked up.
+     * @param quadrant the quadrant where the task is looked up.
+     * @return the rank of the task, or {@code -1} if the quadrant does not contain it.
+     * @throws NullPointerException if {@code task} or {@code quadrant} is {@code null}.
+     * @see #getTasksSorted(Quadrant)
+     */
+    default int rankOf(T task, Quadrant quadrant) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        return this.getTasksSorted(quadrant).indexOf(task);
+    }
+
+    /**
+     * Retrieves the tasks from the specified quadrant within a range of their natural ordering,
+     * sorted using their natural ordering.
+     * <p>
+     * For {@link Task}s, which are ordered by date and time, the tasks due in a period are more 
+     * simply retrieved by {@link TaskPeriods#getTasksDue(EisenhowerMatrix, Quadrant, java.time.LocalDate, java.time.LocalDate)}.
+     * </p>
+     *
+     * @param quadrant the quadrant from which to retrieve the tasks.
+     * @param from     the lower bound of the range, inclusive.
+     * @param to       the upper bound of the range, exclusive.
+     * @return a list of the sorted tasks not lower than {@code from} and lower than {@code to}.
+     * @throws NullPointerException     if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code from} is greater than {@code to}.
+     */
+    default List<T> getTasksBetween(Quadrant quadrant, T from, T to) {
+        SortedTasks.checkRange(from, to);
+        List<T> tasksBetween = new ArrayList<>();
+        for (T task : this.getTasksSorted(quadrant)) {
+            if (task.compareTo(to) >= 0) {
+                break;
+            }
+            if (task.compareTo(from) >= 0) {
+                tasksBetween.add(task);
+            }
+        }
+        return tasksBetween;
+    }
+
+    /**
+     * Retrieves the tasks from all quadrants within a range of their natural ordering, 
+     * sorted using their natural ordering regardless of their quadrant. 
+     * Tasks comparing equal are ordered by quadrant, as in {@link Quadrant#values()}.
+     *
+     * @param from the lower bound of the range, inclusive.
+     * @param to   the upper bound of the range, exclusive.
+     * @return a list of the sorted tasks not lower than {@code from} and lower than {@code to}.
+     * @throws NullPointerException     if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code from} is greater than {@code to}.
+     * @see #getTasksBetween(Quadrant, Comparable, Comparable)
+     */
+    default List<T> getAllTasksBetween(T from, T to) {
+        SortedTasks.checkRange(from, to);
+        List<T> tasksBetween = new ArrayList<>();
+        for (Quadrant quadrant : Quadrant.values()) {
+            tasksBetween.addAll(this.getTasksBetween(quadrant, from, to));
+        }
+        // Sorting the 4 already sorted runs is linear
+        tasksBetween.sort(null);
+        return tasksBetween;
+    }
+
     /**
      * Retrieves all tasks from all quadrants.
      *
@@ -280,6 +373,64 @@ public interface EisenhowerMatrix<T extends Comparable<T>> {
      */
     List<T> getAllTasksSorted(Map<Quadrant, Comparator<T>> comparators, EQuadrantsSorting quadrantsOrdering);
 
+    /**
+     * Streams all tasks from all quadrants, in the same order as {@link #getAllTasksSorted(EQuadrantsSorting)}.
+     * <p>
+     * Unlike it, tasks are sorted lazily, one quadrant at a time, as the stream is consumed: 
+     * reading only the first {@code k} tasks (e.g. with {@link Stream#limit(long)}) costs about 
+     * {@code O(n + k log n)} instead of a full sort of every quadrant.
+     * The matrix must not be modified while the stream is being consumed.
+     * </p>
+     *
+     * @param quadrantsOrdering the order in which quadrants are streamed.
+     * @return an ordered stream of all tasks in the matrix.
+     * @throws NullPointerException if {@code quadrantsOrdering} is {@code null}.
+     */
+    default Stream<T> streamAllTasksSorted(EQuadrantsSorting quadrantsOrdering) {
+        return this.streamAllTasksSorted(Comparator.naturalOrder(), quadrantsOrdering);
+    }
+
+    /**
+     * Streams all tasks from all quadrants, in the same order as 
+     * {@link #getAllTasksSorted(Comparator, EQuadrantsSorting)}, sorting them lazily.
+     * The matrix must not be modified while the stream is being consumed.
+     *
+     * @param tasksComparator   the comparator used to sort tasks within each quadrant.
+     * @param quadrantsOrdering the order in which quadrants are streamed.
+     * @return an ordered stream of all tasks in the matrix.
+     * @throws NullPointerException if {@code tasksComparator} or {@code quadrantsOrdering} is {@code null}.
+     * @see #streamAllTasksSorted(EQuadrantsSorting)
+     */
+    default Stream<T> streamAllTasksSorted(Comparator<T> tasksComparator, EQuadrantsSorting quadrantsOrdering) {
+        Objects.requireNonNull(tasksComparator, "Comparator cannot be null.");
+        return Arrays.stream(Quadrant.quadrantsSorted(quadrantsOrdering))
+                .flatMap(quadrant -> LazySortedIterator.stream(this.getTasks(quadrant), tasksComparator));
+    }
+
+    /**
+     * Streams all tasks from all quadrants, in the same order as 
+     * {@link #getAllTasksSorted(Map, EQuadrantsSorting)}, sorting them lazily.
+     * The matrix must not be modified while the stream is being consumed.
+     *
+     * @param comparators       a map of quadrants to their respective comparators.
+     * @param quadrantsOrdering the order in which quadrants are streamed.
+     * @return an ordered stream of all tasks in the matrix.
+     * @throws UnsupportedOperationException if the map doesn't contain comparators for all four quadrants.
+     * @throws NullPointerException if {@code comparators} or {@code quadrantsOrdering} is {@code null}.
+     * @see #streamAllTasksSorted(EQuadrantsSorting)
+     */
+    default Stream<T> streamAllTasksSorted(Map<Quadrant, Comparator<T>> comparators, EQuadrantsSorting quadrantsOrdering) {
+        Objects.requireNonNull(comparators, "Quadrant comparators map cannot be null.");
+        Quadrant[] quadrants = Quadrant.quadrantsSorted(quadrantsOrdering);
+        for (Quadrant quadrant : quadrants) {
+            if (comparators.get(quadrant) == null) {
+                throw new UnsupportedOperationException("Comparator missing for quadrant: " + quadrant);
+            }
+        }
+        return Arrays.stream(quadrants)
+                .flatMap(quadrant -> LazySortedIterator.stream(this.getTasks(quadrant), comparators.get(quadrant)));
+    }
+
     /**
      * Retrieves the quadrant where the given task is located.
      * More specifically, the first quadrant found according to the order specified by:
@@ -403,7 +554,67 @@ public interface EisenhowerMatrix<T extends Comparable<T>> {
     // -------------------------------------------------------------------------
 
     /**
-     * Clears all tasks from the specified quadrant.
+     * Moves the first occurrence of a task from a quadrant to another one, 
+     * for instance when its urgency or importance changes.
+     * 
+     * <p>The default implementation removes the task and adds it back, 
+     * while implementations may move it with a single lookup.</p>
+     *
+     * @param task the task to be moved.
+     * @param from the quadrant currently holding the task.
+     * @param to   the quadrant where the task should be moved.
+     * @return {@code true} if the task was in {@code from} (and now is in {@code to}), {@code false} otherwise.
+     * @throws NullPointerException if task, from or to is {@code null}.
+     */
+    default boolean moveTask(T task, Quadrant from, Quadrant to) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        Objects.requireNonNull(from, "Source quadrant cannot be null.");
+        Objects.requireNonNull(to, "Target quadrant cannot be null.");
+        
+        if (from == to) {
+            return this.containsTask(task, from);
+        }
+        if (!this.removeTask(task, from)) {
+            return false;
+        }
+        this.getTasks(to).add(task);
+        return true;
+    }
+
+    /**
+     * Moves all tasks satisfying a predicate from a quadrant to another one, in a single pass.
+     * 
+     * <p>The default implementation removes and adds back tasks one at a time, 
+     * while implementations may move them in bulk.</p>
+     *
+     * @param from   the quadrant whose tasks are to be reclassified.
+     * @param to     the quadrant where matching tasks should be moved.
+     * @param filter a predicate which returns {@code true} for the tasks to be moved.
+     * @return the number of tasks moved.
+     * @throws NullPointerException if from, to or filter is {@code null}.
+     */
+    default int reclassify(Quadrant from, Quadrant to, Predicate<? super T> filter) {
+        Objects.requireNonNull(from, "Source quadrant cannot be null.");
+        Objects.requireNonNull(to, "Target quadrant cannot be null.");
+        Objects.requireNonNull(filter, "Filter cannot be null.");
+        
+        if (from == to) {
+            return 0;
+        }
+        int moved = 0;
+        for (T task : new ArrayList<>(this.getTasks(from))) {
+            if (filter.test(task) && this.moveTask(task, from, to)) {
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Clears all tasks from the specified quadrant, in a copy of this matrix.
+     * This matrix is left untouched.
      *
      * @param quadrant the quadrant to be cleared.
      * @return a copy of this Eisenhower Matrix with the specified quadrant cleared.
@@ -434,7 +645,10 @@ public interface EisenhowerMatrix<T extends Comparable<T>> {
     }
 
     /**
-     * Clears all tasks from the entire matrix, effectively resetting it.
+     * Clears all tasks from the entire matrix, in a copy of this matrix.
+     * This matrix is left untouched.
+     * 
+     * @return an empty copy of this Eisenhower Matrix.
      */
     EisenhowerMatrix<T> clearAllTasks();
 }
@@ -13,16 +13,83 @@ import java.util.*;
  */
 public class EisenhowerMatrixList<T extends Comparable<T>> extends AbstractEisenhowerMatrix<T> implements EisenhowerMatrix<T> {
 
+    // Data structure used for each quadrant (null while the superclass constructor runs)
+    private EListStorage storage;
+    
+    /**
+     * Constructs an empty matrix, storing each quadrant in a {@link LinkedList}.
+     * 
+     * @see EListStorage#LINKED
+     */
+    public EisenhowerMatrixList() {
+        this(EListStorage.LINKED);
+    }
+    
+    /**
+     * Constructs an empty matrix, storing each quadrant in the specified data structure.
+     * <p>
+     * Prefer {@link EListStorage#ARRAY} when tasks are mostly accessed by index 
+     * (e.g. through {@link #getTask(Quadrant, int)} or {@link #sublist(Quadrant, int, int)}).
+     * </p>
+     * 
+     * @param storage the data structure used to store tasks in each quadrant.
+     * @throws NullPointerException if {@code storage} is {@code null}.
+     */
+    public EisenhowerMatrixList(EListStorage storage) {
+        super();
+        this.storage = Objects.requireNonNull(storage, "Storage cannot be null.");
+        if (storage != EListStorage.LINKED) {
+            // The superclass constructor could only set up the default storage
+            this.initializeMatrix();
+        }
+    }
+
     /**
      * Initializes the matrix by setting up each quadrant with an empty {@link List}.
      * This method is called during the construction of the matrix.
      */
     @Override
     protected void initializeMatrix() {
-        super.put(Quadrant.DO_IT_NOW, new LinkedList<>());
-        super.put(Quadrant.DELEGATE_OR_OPTIMIZE_IT, new LinkedList<>());
-        super.put(Quadrant.SCHEDULE_IT, new LinkedList<>());
-        super.put(Quadrant.ELIMINATE_IT, new LinkedList<>());
+        super.put(Quadrant.DO_IT_NOW, this.newQuadrantList());
+        super.put(Quadrant.DELEGATE_OR_OPTIMIZE_IT, this.newQuadrantList());
+        super.put(Quadrant.SCHEDULE_IT, this.newQuadrantList());
+        super.put(Quadrant.ELIMINATE_IT, this.newQuadrantList());
+    }
+    
+    /**
+     * Creates an empty {@link List} for a quadrant, according to the storage of this matrix.
+     * 
+     * @return an empty list of tasks.
+     */
+    private List<T> newQuadrantList() {
+        if (storage == EListStorage.ARRAY) {
+            return new CircularArrayList<>();
+        }
+        return new LinkedList<>();
+    }
+    
+    /**
+     * Creates a {@link List} for a quadrant containing the given tasks, 
+     * according to the storage of this matrix.
+     * 
+     * @param tasks the tasks to be contained in the new list (possibly none).
+     * @param list  always {@code true}, as this matrix stores quadrants in lists.
+     * @return a new list of tasks.
+     */
+    @Override
+    protected Collection<T> newQuadrantCollection(Collection<? extends T> tasks, boolean list) {
+        List<T> quadrantList = this.newQuadrantList();
+        quadrantList.addAll(tasks);
+        return quadrantList;
+    }
+    
+    /**
+     * Retrieves the data structure used to store tasks in each quadrant.
+     * 
+     * @return the storage of this matrix.
+     */
+    public final EListStorage getStorage() {
+        return storage;
     }
 
     /**
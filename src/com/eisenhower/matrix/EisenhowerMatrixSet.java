@@ -26,6 +26,18 @@ public class EisenhowerMatrixSet<T extends Comparable<T>> extends AbstractEisenh
         super.put(Quadrant.SCHEDULE_IT, new HashSet<>());
         super.put(Quadrant.ELIMINATE_IT, new HashSet<>());
     }
+    
+    /**
+     * Creates a {@link HashSet} for a quadrant, containing the given tasks.
+     * 
+     * @param tasks the tasks to be contained in the new set (possibly none).
+     * @param list  always {@code false}, as this matrix stores quadrants in sets.
+     * @return a new set of tasks.
+     */
+    @Override
+    protected Collection<T> newQuadrantCollection(Collection<? extends T> tasks, boolean list) {
+        return new HashSet<>(tasks);
+    }
 
     /**
      * Retrieves the type of collection used to store tasks within the 4 quadrants, 
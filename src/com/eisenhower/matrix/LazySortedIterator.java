@@ -0,0 +1,134 @@
+package com.eisenhower.matrix;
+
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over a collection of tasks in sorted order, sorting them only as far as they are read.
+ * <p>
+ * On the first access, tasks are copied into an array and arranged in a binary heap, in linear time.
+ * Then, each task read costs {@code O(log n)}, so reading the first {@code k} tasks out of {@code n}
+ * costs {@code O(n + k log n)}, instead of the {@code O(n log n)} of a full sort. Tasks comparing
+ * equal to each other are returned in the order of the collection, as a stable sort would do.
+ * </p>
+ *
+ * @param <T> the type of task to be iterated.
+ */
+final class LazySortedIterator<T> implements Iterator<T> {
+
+    private final Collection<? extends T> source;
+    private final Comparator<? super T> comparator;
+
+    // Tasks in the order of the source collection, and heap of their indexes (built on first access)
+    private T[] tasks;
+    private int[] heap;
+    private int size;
+
+    /**
+     * Creates an iterator over the given tasks.
+     *
+     * @param source     the tasks to be iterated, which must not change until the iteration starts.
+     * @param comparator the order of iteration.
+     */
+    LazySortedIterator(Collection<? extends T> source, Comparator<? super T> comparator) {
+        this.source = source;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Creates a sequential stream over the given tasks, sorting them lazily.
+     * The tasks are only read when the stream starts being consumed.
+     *
+     * @param <T>        the type of task to be streamed.
+     * @param source     the tasks to be streamed.
+     * @param comparator the order of the stream.
+     * @return an ordered stream of the tasks.
+     */
+    static <T> Stream<T> stream(Collection<? extends T> source, Comparator<? super T> comparator) {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(
+                new LazySortedIterator<>(source, comparator), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public boolean hasNext() {
+        this.ensureHeap();
+        return size > 0;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int first = heap[0];
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            this.siftDown(0);
+        }
+        T task = tasks[first];
+        tasks[first] = null;
+        return task;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Copies the tasks and arranges them in a heap, if not done yet.
+     */
+    @SuppressWarnings("unchecked")
+    private void ensureHeap() {
+        if (heap != null) {
+            return;
+        }
+        tasks = (T[]) source.toArray();
+        size = tasks.length;
+        heap = new int[size];
+        for (int i = 0; i < size; i++) {
+            heap[i] = i;
+        }
+        // Bottom-up construction takes linear time
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            this.siftDown(i);
+        }
+    }
+
+    /**
+     * Moves down the element at the given position of the heap, until the heap property holds.
+     *
+     * @param position the position of the element in the heap.
+     */
+    private void siftDown(int position) {
+        int element = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && this.less(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!this.less(heap[child], element)) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = element;
+    }
+
+    /**
+     * Compares two tasks by their indexes, breaking ties by position in the source collection.
+     *
+     * @param first  the index of a task.
+     * @param second the index of another task.
+     * @return {@code true} if the first task comes before the second one.
+     */
+    private boolean less(int first, int second) {
+        int comparison = comparator.compare(tasks[first], tasks[second]);
+        return (comparison != 0) ? comparison < 0 : first < second;
+    }
+}
@@ -0,0 +1,962 @@
+package com.eisenhower.matrix;
+
+import java.util.*;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * A compressed set of {@code long}s, in the style of Roaring bitmaps, such as the identifiers
+ * of the tasks of a quadrant.
+ * <p>
+ * Values are split by their high 48 bits into containers of up to 65536 values, kept sorted by
+ * their high bits. A container stores the low 16 bits of its values either in a sorted array,
+ * while it holds up to 4096 of them (2 bytes per value), or in a bitmap of 65536 bits (8 KiB)
+ * beyond. Dense ranges of values, such as the {@link com.eisenhower.util.Task#getId() IDs} of
+ * tasks, take therefore from 1 bit to 2 bytes per value, and set operations are performed
+ * container by container: a whole word of 64 values at a time between bitmaps, and by merging
+ * between arrays.
+ * </p>
+ *
+ * <p>Values are iterated in ascending numeric order. The set operations ({@link #or(LongBitmap)},
+ * {@link #and(LongBitmap)}, {@link #andNot(LongBitmap)}) modify this bitmap, while their static
+ * counterparts return a new one. This class is not thread-safe.</p>
+ *
+ * <p>Example, the tasks urgent in two matrices:</p>
+ * <pre>{@code
+ * LongBitmap urgentInA = a.getTasksBitmap(Quadrant.DO_IT_NOW);
+ * urgentInA.or(a.getTasksBitmap(Quadrant.DELEGATE_OR_OPTIMIZE_IT));
+ * LongBitmap urgentInB = b.getTasksBitmap(Quadrant.DO_IT_NOW);
+ * urgentInB.or(b.getTasksBitmap(Quadrant.DELEGATE_OR_OPTIMIZE_IT));
+ * LongBitmap urgentInBoth = LongBitmap.and(urgentInA, urgentInB);
+ * }</pre>
+ */
+public final class LongBitmap implements LongIdSet {
+
+    // Largest cardinality of an array container: a bitmap container would take less space beyond
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = (1 << 16) / Long.SIZE;
+
+    // High 48 bits of the values of each container, in ascending order
+    private long[] keys;
+    private Container[] containers;
+    private int containersCount;
+
+    private int size;
+
+    /**
+     * Constructs an empty bitmap.
+     */
+    public LongBitmap() {
+        this.keys = new long[4];
+        this.containers = new Container[4];
+    }
+
+    /**
+     * Constructs a copy of the given bitmap.
+     *
+     * @param other the bitmap to be copied.
+     * @throws NullPointerException if {@code other} is {@code null}.
+     */
+    public LongBitmap(LongBitmap other) {
+        Objects.requireNonNull(other, "Bitmap cannot be null.");
+        this.keys = Arrays.copyOf(other.keys, Math.max(4, other.containersCount));
+        this.containers = new Container[keys.length];
+        for (int i = 0; i < other.containersCount; i++) {
+            containers[i] = other.containers[i].copy();
+        }
+        this.containersCount = other.containersCount;
+        this.size = other.size;
+    }
+
+    /**
+     * Creates a bitmap holding the given values.
+     *
+     * @param values the values to be held, in any order and possibly repeated.
+     * @return a new bitmap.
+     * @throws NullPointerException if {@code values} is {@code null}.
+     */
+    public static LongBitmap of(long... values) {
+        Objects.requireNonNull(values, "Values cannot be null.");
+        LongBitmap bitmap = new LongBitmap();
+        for (long value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns the number of values in this bitmap.
+     *
+     * @return the number of values.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if this bitmap holds no value.
+     *
+     * @return {@code true} if the bitmap is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks if this bitmap holds a value.
+     *
+     * @param value the value to look for.
+     * @return {@code true} if the value is present, {@code false} otherwise.
+     */
+    @Override
+    public boolean contains(long value) {
+        int index = this.indexOf(key(value));
+        return index >= 0 && containers[index].contains(low(value));
+    }
+
+    /**
+     * Adds a value to this bitmap.
+     *
+     * @param value the value to be added.
+     * @return {@code true} if the value was added, {@code false} if it was already present.
+     */
+    @Override
+    public boolean add(long value) {
+        long key = key(value);
+        int index = this.indexOf(key);
+        if (index < 0) {
+            this.insertContainer(-index - 1, key, new ArrayContainer(low(value)));
+            size++;
+            return true;
+        }
+        Container container = containers[index];
+        int cardinality = container.cardinality();
+        containers[index] = container.add(low(value));
+        if (containers[index].cardinality() == cardinality) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes a value from this bitmap.
+     *
+     * @param value the value to be removed.
+     * @return {@code true} if the value was removed, {@code false} if it was not present.
+     */
+    @Override
+    public boolean remove(long value) {
+        int index = this.indexOf(key(value));
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        int cardinality = container.cardinality();
+        container = container.remove(low(value));
+        if (container.cardinality() == cardinality) {
+            return false;
+        }
+        size--;
+        if (container.cardinality() == 0) {
+            this.removeContainer(index);
+        } else {
+            containers[index] = container;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of values of this bitmap lower than the given one.
+     *
+     * @param value the value to be ranked, whether present or not.
+     * @return the number of values lower than {@code value}.
+     */
+    public int rank(long value) {
+        long key = key(value);
+        int rank = 0;
+        for (int i = 0; i < containersCount && keys[i] <= key; i++) {
+            rank += (keys[i] < key) ? containers[i].cardinality() : containers[i].rank(low(value));
+        }
+        return rank;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Performs an action on each value, in ascending order.
+     * The bitmap must not be modified by the action.
+     *
+     * @param action the action to be performed on each value.
+     * @throws NullPointerException if {@code action} is {@code null}.
+     */
+    @Override
+    public void forEach(LongConsumer action) {
+        Objects.requireNonNull(action, "Action cannot be null.");
+        for (int i = 0; i < containersCount; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /**
+     * Returns the values of this bitmap, in ascending order.
+     *
+     * @return a new array of the values.
+     */
+    @Override
+    public long[] toArray() {
+        return this.toArray(0, size);
+    }
+
+    /**
+     * Returns a range of the values of this bitmap, in ascending order.
+     * Containers before the range are skipped without being read.
+     *
+     * @param offset the rank of the first value to be returned.
+     * @param limit  the maximum number of values to be returned.
+     * @return a new array of at most {@code limit} values, empty if {@code offset} is past the last one.
+     * @throws IllegalArgumentException if {@code offset} or {@code limit} is negative.
+     */
+    public long[] toArray(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative.");
+        }
+        int from = Math.min(offset, size);
+        long[] values = new long[Math.min(limit, size - from)];
+        int copied = 0;
+        for (int i = 0; i < containersCount && copied < values.length; i++) {
+            int cardinality = containers[i].cardinality();
+            if (from >= cardinality) {
+                from -= cardinality;
+                continue;
+            }
+            int count = Math.min(cardinality - from, values.length - copied);
+            containers[i].copyTo(keys[i] << 16, from, values, copied, count);
+            copied += count;
+            from = 0;
+        }
+        return values;
+    }
+
+    /**
+     * Streams the values of this bitmap, in ascending order.
+     * The bitmap must not be modified while the stream is being consumed.
+     *
+     * @return an ordered stream of the values.
+     */
+    public LongStream stream() {
+        return IntStream.range(0, containersCount)
+                .mapToObj(i -> containers[i].stream(keys[i] << 16))
+                .flatMapToLong(values -> values);
+    }
+
+    /**
+     * Returns a copy of this bitmap.
+     *
+     * @return a new bitmap holding the same values.
+     */
+    @Override
+    public LongBitmap copy() {
+        return new LongBitmap(this);
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Adds the values of another bitmap to this one.
+     *
+     * @param other the bitmap whose values are added.
+     * @throws NullPointerException if {@code other} is {@code null}.
+     */
+    public void or(LongBitmap other) {
+        Objects.requireNonNull(other, "Bitmap cannot be null.");
+        long[] newKeys = new long[Math.max(4, containersCount + other.containersCount)];
+        Container[] newContainers = new Container[newKeys.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < containersCount || j < other.containersCount) {
+            if (j == other.containersCount || (i < containersCount && keys[i] < other.keys[j])) {
+                newKeys[count] = keys[i];
+                newContainers[count++] = containers[i++];
+            } else if (i == containersCount || other.keys[j] < keys[i]) {
+                newKeys[count] = other.keys[j];
+                newContainers[count++] = other.containers[j++].copy();
+            } else {
+                newKeys[count] = keys[i];
+                newContainers[count++] = containers[i++].or(other.containers[j++]);
+            }
+        }
+        this.keys = newKeys;
+        this.containers = newContainers;
+        this.containersCount = count;
+        this.recountSize();
+    }
+
+    /**
+     * Removes the values of this bitmap which are not in another one.
+     *
+     * @param other the bitmap whose values are retained.
+     * @throws NullPointerException if {@code other} is {@code null}.
+     */
+    public void and(LongBitmap other) {
+        Objects.requireNonNull(other, "Bitmap cannot be null.");
+        int count = 0;
+        for (int i = 0; i < containersCount; i++) {
+            int index = other.indexOf(keys[i]);
+            if (index >= 0) {
+                count = this.keep(count, keys[i], containers[i].and(other.containers[index]));
+            }
+        }
+        this.truncate(count);
+    }
+
+    /**
+     * Removes the values of another bitmap from this one.
+     *
+     * @param other the bitmap whose values are removed.
+     * @throws NullPointerException if {@code other} is {@code null}.
+     */
+    public void andNot(LongBitmap other) {
+        Objects.requireNonNull(other, "Bitmap cannot be null.");
+        int count = 0;
+        for (int i = 0; i < containersCount; i++) {
+            int index = other.indexOf(keys[i]);
+            Container container = (index >= 0) ? containers[i].andNot(other.containers[index]) : containers[i];
+            count = this.keep(count, keys[i], container);
+        }
+        this.truncate(count);
+    }
+
+    /**
+     * Checks if this bitmap and another one have at least a value in common.
+     *
+     * @param other the other bitmap.
+     * @return {@code true} if the bitmaps intersect, {@code false} otherwise.
+     * @throws NullPointerException if {@code other} is {@code null}.
+     */
+    public boolean intersects(LongBitmap other) {
+        Objects.requireNonNull(other, "Bitmap cannot be null.");
+        for (int i = 0; i < containersCount; i++) {
+            int index = other.indexOf(keys[i]);
+            if (index >= 0 && containers[i].intersects(other.containers[index])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the union of two bitmaps.
+     *
+     * @param first  the first bitmap.
+     * @param second the second bitmap.
+     * @return a new bitmap holding the values of either bitmap.
+     * @throws NullPointerException if a bitmap is {@code null}.
+     */
+    public static LongBitmap or(LongBitmap first, LongBitmap second) {
+        LongBitmap union = new LongBitmap(first);
+        union.or(second);
+        return union;
+    }
+
+    /**
+     * Returns the intersection of two bitmaps.
+     *
+     * @param first  the first bitmap.
+     * @param second the second bitmap.
+     * @return a new bitmap holding the values of both bitmaps.
+     * @throws NullPointerException if a bitmap is {@code null}.
+     */
+    public static LongBitmap and(LongBitmap first, LongBitmap second) {
+        Objects.requireNonNull(first, "Bitmap cannot be null.");
+        Objects.requireNonNull(second, "Bitmap cannot be null.");
+        // Only copies the containers whose high bits are in both bitmaps
+        LongBitmap intersection = new LongBitmap();
+        for (int i = 0; i < first.containersCount; i++) {
+            int index = second.indexOf(first.keys[i]);
+            if (index >= 0) {
+                Container container = first.containers[i].copy().and(second.containers[index]);
+                if (container.cardinality() > 0) {
+                    intersection.insertContainer(intersection.containersCount, first.keys[i], container);
+                    intersection.size += container.cardinality();
+                }
+            }
+        }
+        return intersection;
+    }
+
+    /**
+     * Returns the difference of two bitmaps.
+     *
+     * @param first  the bitmap whose values are retained.
+     * @param second the bitmap whose values are removed.
+     * @return a new bitmap holding the values of the first bitmap which are not in the second one.
+     * @throws NullPointerException if a bitmap is {@code null}.
+     */
+    public static LongBitmap andNot(LongBitmap first, LongBitmap second) {
+        LongBitmap difference = new LongBitmap(first);
+        difference.andNot(second);
+        return difference;
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LongBitmap)) {
+            return false;
+        }
+        LongBitmap other = (LongBitmap) obj;
+        if (size != other.size || containersCount != other.containersCount) {
+            return false;
+        }
+        for (int i = 0; i < containersCount; i++) {
+            // Both bitmaps hold the same values in the same kind of container, by cardinality
+            if (keys[i] != other.keys[i] || !containers[i].equals(other.containers[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < containersCount; i++) {
+            hash = 31 * (31 * hash + Long.hashCode(keys[i])) + containers[i].hashCode();
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.toArray());
+    }
+
+    // -------------------------------------------------------------------------
+
+    private static long key(long value) {
+        return value >> 16;
+    }
+
+    private static int low(long value) {
+        return (int) value & 0xFFFF;
+    }
+
+    private int indexOf(long key) {
+        return Arrays.binarySearch(keys, 0, containersCount, key);
+    }
+
+    private void insertContainer(int index, long key, Container container) {
+        if (containersCount == keys.length) {
+            keys = Arrays.copyOf(keys, containersCount * 2);
+            containers = Arrays.copyOf(containers, containersCount * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, containersCount - index);
+        System.arraycopy(containers, index, containers, index + 1, containersCount - index);
+        keys[index] = key;
+        containers[index] = container;
+        containersCount++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, containersCount - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, containersCount - index - 1);
+        containers[--containersCount] = null;
+    }
+
+    /**
+     * Stores a container resulting from a set operation at the given position, unless it is empty.
+     *
+     * @return the number of containers kept so far.
+     */
+    private int keep(int count, long key, Container container) {
+        if (container.cardinality() == 0) {
+            return count;
+        }
+        keys[count] = key;
+        containers[count] = container;
+        return count + 1;
+    }
+
+    private void truncate(int count) {
+        Arrays.fill(containers, count, containersCount, null);
+        containersCount = count;
+        this.recountSize();
+    }
+
+    private void recountSize() {
+        size = 0;
+        for (int i = 0; i < containersCount; i++) {
+            size += containers[i].cardinality();
+        }
+    }
+
+    // ---------------------------------------------------------------------- //
+    //  Containers                                                            //
+    // ---------------------------------------------------------------------- //
+
+    /**
+     * The low 16 bits of the values sharing the same high bits.
+     * <p>
+     * Operations modifying a container return the container holding the result: either the same
+     * one, or a new one of the other kind when the cardinality crosses {@link #ARRAY_MAX}. An array
+     * container never holds more than {@code ARRAY_MAX} values, and a bitmap container always does.
+     * The argument of a set operation is never modified.
+     * </p>
+     */
+    private abstract static class Container {
+
+        abstract int cardinality();
+
+        abstract boolean contains(int low);
+
+        abstract Container add(int low);
+
+        abstract Container remove(int low);
+
+        /**
+         * Returns the number of values lower than the given one.
+         */
+        abstract int rank(int low);
+
+        abstract void forEach(long high, LongConsumer action);
+
+        /**
+         * Copies {@code count} values, starting from the one of rank {@code from}.
+         */
+        abstract void copyTo(long high, int from, long[] values, int offset, int count);
+
+        abstract LongStream stream(long high);
+
+        abstract Container copy();
+
+        abstract Container or(Container other);
+
+        abstract Container and(Container other);
+
+        abstract Container andNot(Container other);
+
+        abstract boolean intersects(Container other);
+    }
+
+    /**
+     * A container storing its values in a sorted array.
+     */
+    private static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer(int low) {
+            this.values = new char[4];
+            this.values[0] = (char) low;
+            this.cardinality = 1;
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int low) {
+            return Arrays.binarySearch(values, 0, cardinality, (char) low) >= 0;
+        }
+
+        @Override
+        Container add(int low) {
+            int index = Arrays.binarySearch(values, 0, cardinality, (char) low);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return this.toBitmap().add(low);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = (char) low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(int low) {
+            int index = Arrays.binarySearch(values, 0, cardinality, (char) low);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        int rank(int low) {
+            int index = Arrays.binarySearch(values, 0, cardinality, (char) low);
+            return (index >= 0) ? index : -index - 1;
+        }
+
+        @Override
+        void forEach(long high, LongConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        void copyTo(long high, int from, long[] destination, int offset, int count) {
+            for (int i = 0; i < count; i++) {
+                destination[offset + i] = high | values[from + i];
+            }
+        }
+
+        @Override
+        LongStream stream(long high) {
+            return IntStream.range(0, cardinality).mapToLong(i -> high | values[i]);
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(1, cardinality)), cardinality);
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.set(values[i]);
+            }
+            return bitmap;
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return ((BitmapContainer) other).copy().or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] merged = new char[cardinality + array.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < array.cardinality) {
+                char value = values[i];
+                char otherValue = array.values[j];
+                if (value <= otherValue) {
+                    merged[count++] = value;
+                    i++;
+                    if (value == otherValue) {
+                        j++;
+                    }
+                } else {
+                    merged[count++] = otherValue;
+                    j++;
+                }
+            }
+            while (i < cardinality) {
+                merged[count++] = values[i++];
+            }
+            while (j < array.cardinality) {
+                merged[count++] = array.values[j++];
+            }
+            ArrayContainer union = new ArrayContainer(merged, count);
+            return (count > ARRAY_MAX) ? union.toBitmap() : union;
+        }
+
+        @Override
+        Container and(Container other) {
+            return this.retain(other, true);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            return this.retain(other, false);
+        }
+
+        /**
+         * Keeps the values which are in the other container, or the ones which are not.
+         * Values of another array container are walked along with the ones of this, in order.
+         */
+        private Container retain(Container other, boolean present) {
+            int count = 0;
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                int j = 0;
+                for (int i = 0; i < cardinality; i++) {
+                    char value = values[i];
+                    while (j < array.cardinality && array.values[j] < value) {
+                        j++;
+                    }
+                    if ((j < array.cardinality && array.values[j] == value) == present) {
+                        values[count++] = value;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i]) == present) {
+                        values[count++] = values[i];
+                    }
+                }
+            }
+            cardinality = count;
+            return this;
+        }
+
+        @Override
+        boolean intersects(Container other) {
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] == array.values[j]) {
+                        return true;
+                    }
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else {
+                        j++;
+                    }
+                }
+                return false;
+            }
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ArrayContainer)) {
+                return false;
+            }
+            ArrayContainer other = (ArrayContainer) obj;
+            return Arrays.equals(values, 0, cardinality, other.values, 0, other.cardinality);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 1;
+            for (int i = 0; i < cardinality; i++) {
+                hash = 31 * hash + values[i];
+            }
+            return hash;
+        }
+    }
+
+    /**
+     * A container storing its values in a bitmap of 65536 bits.
+     */
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer() {
+            this.words = new long[BITMAP_WORDS];
+        }
+
+        private BitmapContainer(BitmapContainer other) {
+            this.words = other.words.clone();
+            this.cardinality = other.cardinality;
+        }
+
+        void set(int low) {
+            words[low >>> 6] |= 1L << low;
+            cardinality++;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        Container add(int low) {
+            if (!this.contains(low)) {
+                this.set(low);
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(int low) {
+            if (!this.contains(low)) {
+                return this;
+            }
+            words[low >>> 6] &= ~(1L << low);
+            cardinality--;
+            return this.shrink();
+        }
+
+        @Override
+        int rank(int low) {
+            int rank = 0;
+            for (int w = 0; w < low >>> 6; w++) {
+                rank += Long.bitCount(words[w]);
+            }
+            return rank + Long.bitCount(words[low >>> 6] & ((1L << low) - 1));
+        }
+
+        @Override
+        void forEach(long high, LongConsumer action) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                for (long word = words[w]; word != 0; word &= word - 1) {
+                    action.accept(high | (w << 6) | Long.numberOfTrailingZeros(word));
+                }
+            }
+        }
+
+        @Override
+        void copyTo(long high, int from, long[] destination, int offset, int count) {
+            int skipped = 0;
+            int copied = 0;
+            for (int w = 0; w < BITMAP_WORDS && copied < count; w++) {
+                long word = words[w];
+                int bits = Long.bitCount(word);
+                // Skips whole words before the first value to be copied
+                if (skipped + bits <= from) {
+                    skipped += bits;
+                    continue;
+                }
+                for (; word != 0 && copied < count; word &= word - 1) {
+                    if (skipped < from) {
+                        skipped++;
+                    } else {
+                        destination[offset + copied++] = high | (w << 6) | Long.numberOfTrailingZeros(word);
+                    }
+                }
+            }
+        }
+
+        @Override
+        LongStream stream(long high) {
+            LongStream.Builder builder = LongStream.builder();
+            this.forEach(high, builder);
+            return builder.build();
+        }
+
+        @Override
+        BitmapContainer copy() {
+            return new BitmapContainer(this);
+        }
+
+        /**
+         * Returns an array container holding the same values, if they are few enough, or this.
+         */
+        private Container shrink() {
+            if (cardinality > ARRAY_MAX) {
+                return this;
+            }
+            char[] values = new char[Math.max(1, cardinality)];
+            int count = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                for (long word = words[w]; word != 0; word &= word - 1) {
+                    values[count++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+
+        private void recount() {
+            cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.cardinality; i++) {
+                    this.add(array.values[i]);
+                }
+                return this;
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] |= otherWords[w];
+            }
+            this.recount();
+            return this;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.copy().and(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] &= otherWords[w];
+            }
+            this.recount();
+            return this.shrink();
+        }
+
+        @Override
+        Container andNot(Container other) {
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.cardinality; i++) {
+                    words[array.values[i] >>> 6] &= ~(1L << array.values[i]);
+                }
+            } else {
+                long[] otherWords = ((BitmapContainer) other).words;
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    words[w] &= ~otherWords[w];
+                }
+            }
+            this.recount();
+            return this.shrink();
+        }
+
+        @Override
+        boolean intersects(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.intersects(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                if ((words[w] & otherWords[w]) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return (obj instanceof BitmapContainer) && Arrays.equals(words, ((BitmapContainer) obj).words);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(words);
+        }
+    }
+}
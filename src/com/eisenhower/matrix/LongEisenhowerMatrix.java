@@ -0,0 +1,460 @@
+package com.eisenhower.matrix;
+
+import com.eisenhower.util.EQuadrantsSorting;
+import com.eisenhower.util.Quadrant;
+import java.util.*;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * An Eisenhower matrix of task identifiers, stored as primitive {@code long}s.
+ * <p>
+ * It is meant for services which only track which tasks are in which quadrant, and would pay
+ * for boxed tasks and for {@link com.eisenhower.util.Task#equals(Object) Task.equals} otherwise.
+ * By default, each quadrant is an open-addressing hash set of {@code long}s, so that adding, removing
+ * and looking up an identifier take constant time without allocating; quadrants can also be stored
+ * as compressed {@link LongBitmap}s (see {@link ELongStorage}). Like {@link EisenhowerMatrixSet},
+ * it doesn't allow duplicated identifiers in the matrix: each identifier belongs to one quadrant at most.
+ * </p>
+ *
+ * <p>Identifiers are sorted by their numeric value. With hash sets, the sorted identifiers of each
+ * quadrant are cached until the quadrant is modified, so that sorted iteration and paging don't sort
+ * again; bitmaps are sorted by construction. {@link #getTasksBitmap(Quadrant)} and
+ * {@link #getAllTasksBitmap()} return the identifiers as bitmaps, to be combined with the ones of
+ * other matrices. This class doesn't implement {@link EisenhowerMatrix}, whose tasks are objects,
+ * but follows its method names. It is not thread-safe.</p>
+ *
+ * <p>Example:</p>
+ * <pre>{@code
+ * LongEisenhowerMatrix matrix = new LongEisenhowerMatrix();
+ * matrix.addTask(42L, Quadrant.DO_IT_NOW);
+ * matrix.forEachTaskSorted(Quadrant.DO_IT_NOW, id -> ...);
+ * }</pre>
+ */
+public final class LongEisenhowerMatrix {
+
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+
+    private final ELongStorage storage;
+
+    private final LongIdSet[] quadrantIds;
+
+    // Identifiers of each quadrant in ascending order (null until needed, and after each modification)
+    private final long[][] sortedIds;
+
+    /**
+     * Constructs an empty matrix of identifiers, storing each quadrant in a hash set.
+     *
+     * @see ELongStorage#HASH
+     */
+    public LongEisenhowerMatrix() {
+        this(ELongStorage.HASH);
+    }
+
+    /**
+     * Constructs an empty matrix of identifiers, storing each quadrant in the specified data structure.
+     * <p>
+     * Prefer {@link ELongStorage#BITMAP} for close identifiers, such as the IDs of
+     * {@link com.eisenhower.util.Task#withIdentity() tasks with an identity}, when quadrants are
+     * combined with the ones of other matrices.
+     * </p>
+     *
+     * @param storage the data structure used to store identifiers in each quadrant.
+     * @throws NullPointerException if {@code storage} is {@code null}.
+     */
+    public LongEisenhowerMatrix(ELongStorage storage) {
+        this.storage = Objects.requireNonNull(storage, "Storage cannot be null.");
+        this.quadrantIds = new LongIdSet[QUADRANTS.length];
+        this.sortedIds = new long[QUADRANTS.length][];
+        for (Quadrant quadrant : QUADRANTS) {
+            quadrantIds[quadrant.ordinal()] = (storage == ELongStorage.BITMAP) ? new LongBitmap() : new LongHashSet();
+        }
+    }
+
+    /**
+     * Constructs a copy of the given matrix, where one quadrant may be left empty.
+     *
+     * @param other         the matrix to be copied.
+     * @param emptyQuadrant the quadrant to be left empty, or {@code null} to copy all of them.
+     */
+    private LongEisenhowerMatrix(LongEisenhowerMatrix other, Quadrant emptyQuadrant) {
+        this(other.storage);
+        for (Quadrant quadrant : QUADRANTS) {
+            if (quadrant != emptyQuadrant) {
+                quadrantIds[quadrant.ordinal()] = other.quadrantIds[quadrant.ordinal()].copy();
+                sortedIds[quadrant.ordinal()] = other.sortedIds[quadrant.ordinal()];
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Adds an identifier to a quadrant, unless the matrix already contains it.
+     *
+     * @param id       the identifier to be added.
+     * @param quadrant the quadrant where the identifier is added.
+     * @return {@code true} if the identifier was added, {@code false} if the matrix already contains it.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    public boolean addTask(long id, Quadrant quadrant) {
+        int q = ordinal(quadrant);
+        if (this.containsTask(id)) {
+            return false;
+        }
+        quadrantIds[q].add(id);
+        sortedIds[q] = null;
+        return true;
+    }
+
+    /**
+     * Adds an identifier to the quadrant with the given urgency and importance,
+     * unless the matrix already contains it.
+     *
+     * @param id        the identifier to be added.
+     * @param urgent    {@code true} if the task is urgent.
+     * @param important {@code true} if the task is important.
+     * @return {@code true} if the identifier was added, {@code false} if the matrix already contains it.
+     */
+    public boolean addTask(long id, boolean urgent, boolean important) {
+        return this.addTask(id, Quadrant.getQuadrant(urgent, important));
+    }
+
+    /**
+     * Checks if an identifier is present in any quadrant.
+     *
+     * @param id the identifier to check.
+     * @return {@code true} if the identifier is present, {@code false} otherwise.
+     */
+    public boolean containsTask(long id) {
+        return this.getQuadrant(id) != null;
+    }
+
+    /**
+     * Checks if an identifier is present in the specified quadrant.
+     *
+     * @param id       the identifier to check.
+     * @param quadrant the quadrant to check.
+     * @return {@code true} if the identifier is present in the quadrant, {@code false} otherwise.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    public boolean containsTask(long id, Quadrant quadrant) {
+        return quadrantIds[ordinal(quadrant)].contains(id);
+    }
+
+    /**
+     * Retrieves the quadrant holding an identifier.
+     *
+     * @param id the identifier to look up.
+     * @return the quadrant containing the identifier, or {@code null} if not found.
+     */
+    public Quadrant getQuadrant(long id) {
+        for (Quadrant quadrant : QUADRANTS) {
+            if (quadrantIds[quadrant.ordinal()].contains(id)) {
+                return quadrant;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes an identifier from the matrix.
+     *
+     * @param id the identifier to be removed.
+     * @return {@code true} if the identifier was removed, {@code false} if the matrix didn't contain it.
+     */
+    public boolean removeTask(long id) {
+        for (Quadrant quadrant : QUADRANTS) {
+            if (quadrantIds[quadrant.ordinal()].remove(id)) {
+                sortedIds[quadrant.ordinal()] = null;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes an identifier from the specified quadrant.
+     *
+     * @param id       the identifier to be removed.
+     * @param quadrant the quadrant from which to remove the identifier.
+     * @return {@code true} if the identifier was removed, {@code false} if the quadrant didn't contain it.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    public boolean removeTask(long id, Quadrant quadrant) {
+        int q = ordinal(quadrant);
+        if (!quadrantIds[q].remove(id)) {
+            return false;
+        }
+        sortedIds[q] = null;
+        return true;
+    }
+
+    /**
+     * Moves an identifier from a quadrant to another one.
+     *
+     * @param id   the identifier to be moved.
+     * @param from the quadrant currently holding the identifier.
+     * @param to   the quadrant where the identifier should be moved.
+     * @return {@code true} if the identifier is in {@code to} after the call,
+     *         {@code false} if {@code from} didn't contain it.
+     * @throws NullPointerException if {@code from} or {@code to} is {@code null}.
+     */
+    public boolean moveTask(long id, Quadrant from, Quadrant to) {
+        Objects.requireNonNull(from, "Source quadrant cannot be null.");
+        Objects.requireNonNull(to, "Target quadrant cannot be null.");
+        if (from == to) {
+            return this.containsTask(id, from);
+        }
+        if (!this.removeTask(id, from)) {
+            return false;
+        }
+        quadrantIds[to.ordinal()].add(id);
+        sortedIds[to.ordinal()] = null;
+        return true;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns the number of identifiers in the matrix.
+     *
+     * @return the number of identifiers in all quadrants.
+     */
+    public int size() {
+        int size = 0;
+        for (LongIdSet ids : quadrantIds) {
+            size += ids.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of identifiers in a quadrant.
+     *
+     * @param quadrant the quadrant.
+     * @return the number of identifiers in the quadrant.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    public int size(Quadrant quadrant) {
+        return quadrantIds[ordinal(quadrant)].size();
+    }
+
+    /**
+     * Retrieves the data structure used to store identifiers in each quadrant.
+     *
+     * @return the storage of this matrix.
+     */
+    public ELongStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Retrieves the identifiers of a quadrant, in no particular order.
+     *
+     * @param quadrant the quadrant from which to retrieve the identifiers.
+     * @return a new array of the identifiers in the quadrant.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    public long[] getTasks(Quadrant quadrant) {
+        return quadrantIds[ordinal(quadrant)].toArray();
+    }
+
+    /**
+     * Performs an action on each identifier of a quadrant, in no particular order.
+     * The matrix must not be modified by the action.
+     *
+     * @param quadrant the quadrant whose identifiers are visited.
+     * @param action   the action to be performed on each identifier.
+     * @throws NullPointerException if {@code quadrant} or {@code action} is {@code null}.
+     */
+    public void forEachTask(Quadrant quadrant, LongConsumer action) {
+        Objects.requireNonNull(action, "Action cannot be null.");
+        quadrantIds[ordinal(quadrant)].forEach(action);
+    }
+
+    /**
+     * Retrieves the identifiers of a quadrant, in ascending order.
+     *
+     * @param quadrant the quadrant from which to retrieve the identifiers.
+     * @return a new array of the sorted identifiers in the quadrant.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    public long[] getTasksSorted(Quadrant quadrant) {
+        int q = ordinal(quadrant);
+        LongBitmap bitmap = this.bitmap(q);
+        return (bitmap != null) ? bitmap.toArray() : this.sortedIds(q).clone();
+    }
+
+    /**
+     * Retrieves a page of the identifiers of a quadrant, in ascending order.
+     *
+     * @param quadrant the quadrant from which to retrieve the identifiers.
+     * @param offset   the rank of the first identifier to be retrieved.
+     * @param limit    the maximum number of identifiers to be retrieved.
+     * @return a new array of at most {@code limit} sorted identifiers, empty if {@code offset} is past the last one.
+     * @throws NullPointerException     if {@code quadrant} is {@code null}.
+     * @throws IllegalArgumentException if {@code offset} or {@code limit} is negative.
+     */
+    public long[] getTasksSorted(Quadrant quadrant, int offset, int limit) {
+        int q = ordinal(quadrant);
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative.");
+        }
+        LongBitmap bitmap = this.bitmap(q);
+        if (bitmap != null) {
+            return bitmap.toArray(offset, limit);
+        }
+        long[] sorted = this.sortedIds(q);
+        int from = Math.min(offset, sorted.length);
+        return Arrays.copyOfRange(sorted, from, from + Math.min(limit, sorted.length - from));
+    }
+
+    /**
+     * Returns the rank of an identifier in a quadrant, that is the number of identifiers lower than it.
+     *
+     * @param id       the identifier to be looked up.
+     * @param quadrant the quadrant where the identifier is looked up.
+     * @return the rank of the identifier, or {@code -1} if the quadrant does not contain it.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    public int rankOf(long id, Quadrant quadrant) {
+        int q = ordinal(quadrant);
+        if (!quadrantIds[q].contains(id)) {
+            return -1;
+        }
+        LongBitmap bitmap = this.bitmap(q);
+        return (bitmap != null) ? bitmap.rank(id) : Arrays.binarySearch(this.sortedIds(q), id);
+    }
+
+    /**
+     * Performs an action on each identifier of a quadrant, in ascending order.
+     * The matrix must not be modified by the action.
+     *
+     * @param quadrant the quadrant whose identifiers are visited.
+     * @param action   the action to be performed on each identifier.
+     * @throws NullPointerException if {@code quadrant} or {@code action} is {@code null}.
+     */
+    public void forEachTaskSorted(Quadrant quadrant, LongConsumer action) {
+        Objects.requireNonNull(action, "Action cannot be null.");
+        int q = ordinal(quadrant);
+        LongBitmap bitmap = this.bitmap(q);
+        if (bitmap != null) {
+            bitmap.forEach(action);
+            return;
+        }
+        for (long id : this.sortedIds(q)) {
+            action.accept(id);
+        }
+    }
+
+    /**
+     * Streams the identifiers of all quadrants, in ascending order within each quadrant.
+     * The matrix must not be modified while the stream is being consumed.
+     *
+     * @param quadrantsOrdering the order in which quadrants are streamed.
+     * @return an ordered stream of all identifiers in the matrix.
+     * @throws NullPointerException if {@code quadrantsOrdering} is {@code null}.
+     */
+    public LongStream streamAllTasksSorted(EQuadrantsSorting quadrantsOrdering) {
+        return Arrays.stream(Quadrant.quadrantsSorted(quadrantsOrdering))
+                .flatMapToLong(quadrant -> {
+                    LongBitmap bitmap = this.bitmap(quadrant.ordinal());
+                    return (bitmap != null) ? bitmap.stream() : Arrays.stream(this.sortedIds(quadrant.ordinal()));
+                });
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Retrieves the identifiers of a quadrant as a bitmap, to be combined with other bitmaps
+     * (e.g. the same quadrant of other matrices).
+     *
+     * @param quadrant the quadrant from which to retrieve the identifiers.
+     * @return a new bitmap of the identifiers in the quadrant, which can be freely modified.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    public LongBitmap getTasksBitmap(Quadrant quadrant) {
+        int q = ordinal(quadrant);
+        LongBitmap bitmap = this.bitmap(q);
+        if (bitmap != null) {
+            return bitmap.copy();
+        }
+        LongBitmap copy = new LongBitmap();
+        quadrantIds[q].forEach(copy::add);
+        return copy;
+    }
+
+    /**
+     * Retrieves the identifiers of all quadrants as a bitmap, the union of the ones of each quadrant.
+     *
+     * @return a new bitmap of all the identifiers in the matrix, which can be freely modified.
+     */
+    public LongBitmap getAllTasksBitmap() {
+        LongBitmap union = new LongBitmap();
+        for (Quadrant quadrant : QUADRANTS) {
+            LongBitmap bitmap = this.bitmap(quadrant.ordinal());
+            union.or((bitmap != null) ? bitmap : this.getTasksBitmap(quadrant));
+        }
+        return union;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Creates a copy of this matrix, without the identifiers of the specified quadrant.
+     * This matrix is left untouched.
+     *
+     * @param quadrant the quadrant to be cleared.
+     * @return a copy of this matrix with the specified quadrant cleared.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    public LongEisenhowerMatrix clearQuadrant(Quadrant quadrant) {
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        return new LongEisenhowerMatrix(this, quadrant);
+    }
+
+    /**
+     * Creates a matrix without any identifier. This matrix is left untouched.
+     *
+     * @return a new empty matrix.
+     */
+    public LongEisenhowerMatrix clearAllTasks() {
+        return new LongEisenhowerMatrix(storage);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        for (Quadrant quadrant : QUADRANTS) {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(quadrant).append('=').append(quadrantIds[quadrant.ordinal()]);
+        }
+        return builder.append('}').toString();
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns the bitmap of a quadrant, or {@code null} if quadrants are stored in hash sets.
+     */
+    private LongBitmap bitmap(int q) {
+        return (storage == ELongStorage.BITMAP) ? (LongBitmap) quadrantIds[q] : null;
+    }
+
+    private long[] sortedIds(int q) {
+        long[] sorted = sortedIds[q];
+        if (sorted == null) {
+            sorted = quadrantIds[q].toArray();
+            Arrays.sort(sorted);
+            sortedIds[q] = sorted;
+        }
+        return sorted;
+    }
+
+    private static int ordinal(Quadrant quadrant) {
+        return Objects.requireNonNull(quadrant, "Quadrant cannot be null.").ordinal();
+    }
+}
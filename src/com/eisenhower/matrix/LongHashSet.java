@@ -0,0 +1,173 @@
+package com.eisenhower.matrix;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of {@code long}s, stored in an open-addressing hash table with linear probing,
+ * without boxing them.
+ * <p>
+ * Keys are stored in a single array, at most half full: {@code 0} marks the empty slots,
+ * and is tracked apart when it is a key. Removals shift the following keys of the probe sequence
+ * back, so that no tombstone is left and lookups stay short.
+ * </p>
+ */
+final class LongHashSet implements LongIdSet {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int mask = INITIAL_CAPACITY - 1;
+
+    // Number of keys in the table, and whether 0 is a key too
+    private int tableSize;
+    private boolean containsZero;
+
+    LongHashSet() {
+    }
+
+    LongHashSet(LongHashSet other) {
+        this.keys = other.keys.clone();
+        this.mask = other.mask;
+        this.tableSize = other.tableSize;
+        this.containsZero = other.containsZero;
+    }
+
+    @Override
+    public int size() {
+        return tableSize + (containsZero ? 1 : 0);
+    }
+
+    @Override
+    public boolean contains(long key) {
+        if (key == 0) {
+            return containsZero;
+        }
+        for (int slot = slot(key); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean add(long key) {
+        if (key == 0) {
+            boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+        int slot = slot(key);
+        for (; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return false;
+            }
+        }
+        keys[slot] = key;
+        if (++tableSize * 2 > keys.length) {
+            this.rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(long key) {
+        if (key == 0) {
+            boolean removed = containsZero;
+            containsZero = false;
+            return removed;
+        }
+        for (int slot = slot(key); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                this.shiftBack(slot);
+                tableSize--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        if (containsZero) {
+            action.accept(0L);
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    @Override
+    public long[] toArray() {
+        long[] array = new long[this.size()];
+        int i = 0;
+        if (containsZero) {
+            array[i++] = 0L;
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                array[i++] = key;
+            }
+        }
+        return array;
+    }
+
+    @Override
+    public LongIdSet copy() {
+        return new LongHashSet(this);
+    }
+
+    // -------------------------------------------------------------------------
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Empties a slot, moving back the keys which could not be stored at their slot because of it.
+     */
+    private void shiftBack(int freed) {
+        int slot = freed;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == 0) {
+                break;
+            }
+            int ideal = slot(key);
+            // Moves the key back unless its ideal slot lies after the freed one, cyclically
+            boolean movable = (slot > freed) ? (ideal <= freed || ideal > slot) : (ideal <= freed && ideal > slot);
+            if (movable) {
+                keys[freed] = key;
+                freed = slot;
+            }
+        }
+        keys[freed] = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        keys = new long[capacity];
+        mask = capacity - 1;
+        for (long key : oldKeys) {
+            if (key != 0) {
+                int slot = slot(key);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        long[] array = this.toArray();
+        Arrays.sort(array);
+        return Arrays.toString(array);
+    }
+}
@@ -0,0 +1,34 @@
+package com.eisenhower.matrix;
+
+import java.util.function.LongConsumer;
+
+/**
+ * A set of {@code long} identifiers, as stored in each quadrant of a {@link LongEisenhowerMatrix}.
+ *
+ * @see ELongStorage
+ */
+interface LongIdSet {
+
+    int size();
+
+    boolean contains(long id);
+
+    boolean add(long id);
+
+    boolean remove(long id);
+
+    /**
+     * Performs an action on each identifier, in the order of the implementation.
+     */
+    void forEach(LongConsumer action);
+
+    /**
+     * Returns the identifiers in a new array, in the order of the implementation.
+     */
+    long[] toArray();
+
+    /**
+     * Returns a copy of this set, not sharing any state with it.
+     */
+    LongIdSet copy();
+}
@@ -0,0 +1,266 @@
+package com.eisenhower.matrix;
+
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import java.util.*;
+
+/**
+ * A secondary index over the values of a property (such as {@link com.eisenhower.util.TaskProperties#LOCATION}
+ * or any custom key), for the tasks of a matrix.
+ * <p>
+ * Once created, the index is registered on the matrix and follows every task added to or removed
+ * from it, as well as every change to the indexed property of the tasks it holds. Looking up the
+ * tasks having a given value then costs {@code O(1)} (or {@code O(log n)} for a
+ * {@link EPropertyIndex#SORTED sorted} index) plus the number of tasks found, instead of
+ * scanning all quadrants.
+ * </p>
+ *
+ * <p>A sorted index orders the values of the same class by their natural ordering, and the values
+ * of different classes by the name of their class: a key may hold values of several types, which
+ * are never compared to each other, and a range lookup only matches the values of the class of its
+ * bounds.</p>
+ *
+ * <p>When a set quadrant reports the removal of a task through another instance equal to it, the
+ * indexed instance is looked up among the tasks having the same value, or among all the indexed
+ * tasks (a linear scan comparing whole tasks) if the task has no indexable value.</p>
+ *
+ * <p>Tasks without the property are not indexed. A matrix derived from the indexed one (such as
+ * those returned by {@link AbstractEisenhowerMatrix#clearQuadrant(Quadrant)}) is not indexed.
+ * Like the matrix itself, the index is not thread-safe.</p>
+ *
+ * <p>Example:</p>
+ * <pre>{@code
+ * PropertyIndex locations = new PropertyIndex(matrix, TaskProperties.LOCATION, EPropertyIndex.HASH);
+ * Set<Task> atOffice = locations.getTasks("Office", Quadrant.DO_IT_NOW);
+ * }</pre>
+ */
+public final class PropertyIndex extends AbstractTaskIndex {
+
+    // Order of the values of a sorted index: by class name first, so that values of different classes are never compared
+    private static final Comparator<Object> VALUE_ORDER = PropertyIndex::compareValues;
+
+    private final String key;
+    private final EPropertyIndex type;
+
+    // Indexed tasks by value of the property (ordered by value if the index is sorted)
+    private final Map<Object, Set<Task>> tasksByValue;
+
+    /**
+     * Creates an index over the given property, and registers it on the matrix.
+     * The tasks already in the matrix are indexed right away.
+     *
+     * @param matrix the matrix whose tasks are indexed.
+     * @param key    the key of the indexed property.
+     * @param type   the type of index.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws ClassCastException   if the index is sorted and a value of the property cannot be
+     *                              compared to another value of the same class.
+     */
+    public PropertyIndex(AbstractEisenhowerMatrix<Task> matrix, String key, EPropertyIndex type) {
+        super(matrix);
+        this.key = Objects.requireNonNull(key, "Key cannot be null.");
+        this.type = Objects.requireNonNull(type, "Index type cannot be null.");
+        this.tasksByValue = (type == EPropertyIndex.SORTED) ? new TreeMap<>(VALUE_ORDER) : new HashMap<>();
+        this.register();
+    }
+
+    /**
+     * Returns the key of the indexed property.
+     *
+     * @return the key of the property.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the type of this index.
+     *
+     * @return the type of index.
+     */
+    public EPropertyIndex getType() {
+        return type;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Retrieves the tasks of the matrix whose property is equal to the given value.
+     *
+     * @param value the value of the property.
+     * @return a new set of the tasks having the given value.
+     * @throws NullPointerException  if {@code value} is {@code null}.
+     * @throws IllegalStateException if the index has been unregistered.
+     */
+    public Set<Task> getTasks(Object value) {
+        return this.findTasks(value, null);
+    }
+
+    /**
+     * Retrieves the tasks of a quadrant whose property is equal to the given value.
+     *
+     * @param value    the value of the property.
+     * @param quadrant the quadrant of the tasks.
+     * @return a new set of the tasks of the quadrant having the given value.
+     * @throws NullPointerException  if {@code value} or {@code quadrant} is {@code null}.
+     * @throws IllegalStateException if the index has been unregistered.
+     */
+    public Set<Task> getTasks(Object value, Quadrant quadrant) {
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        return this.findTasks(value, quadrant);
+    }
+
+    /**
+     * Retrieves the tasks of the matrix whose property is within a range of values,
+     * ordered by value. Only the values of the class of the bounds are matched.
+     *
+     * @param from the lower bound of the range, inclusive.
+     * @param to   the upper bound of the range, exclusive.
+     * @return a new set of the tasks having a value in the range.
+     * @throws NullPointerException          if {@code from} or {@code to} is {@code null}.
+     * @throws IllegalArgumentException      if {@code from} is greater than {@code to}.
+     * @throws ClassCastException            if the bounds are not {@link Comparable}, or not of the same class.
+     * @throws UnsupportedOperationException if the index is not {@link EPropertyIndex#SORTED sorted}.
+     * @throws IllegalStateException         if the index has been unregistered.
+     */
+    public Set<Task> getTasksBetween(Object from, Object to) {
+        return this.findTasksBetween(from, to, null);
+    }
+
+    /**
+     * Retrieves the tasks of a quadrant whose property is within a range of values,
+     * ordered by value. Only the values of the class of the bounds are matched.
+     *
+     * @param from     the lower bound of the range, inclusive.
+     * @param to       the upper bound of the range, exclusive.
+     * @param quadrant the quadrant of the tasks.
+     * @return a new set of the tasks of the quadrant having a value in the range.
+     * @throws NullPointerException          if {@code from}, {@code to} or {@code quadrant} is {@code null}.
+     * @throws IllegalArgumentException      if {@code from} is greater than {@code to}.
+     * @throws ClassCastException            if the bounds are not {@link Comparable}, or not of the same class.
+     * @throws UnsupportedOperationException if the index is not {@link EPropertyIndex#SORTED sorted}.
+     * @throws IllegalStateException         if the index has been unregistered.
+     */
+    public Set<Task> getTasksBetween(Object from, Object to, Quadrant quadrant) {
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        return this.findTasksBetween(from, to, quadrant);
+    }
+
+    // ---- Lookups ---------------------------------------------------------- //
+
+    /**
+     * Retrieves the tasks having the given value.
+     *
+     * @param value    the value of the property.
+     * @param quadrant the quadrant of the tasks, or {@code null} for any quadrant.
+     * @return a new set of the tasks found.
+     */
+    private Set<Task> findTasks(Object value, Quadrant quadrant) {
+        Objects.requireNonNull(value, "Value cannot be null.");
+        this.checkRegistered();
+        Set<Task> tasks = new LinkedHashSet<>();
+        if (this.isIndexable(value)) {
+            this.collect(tasksByValue.get(value), quadrant, tasks);
+        }
+        return tasks;
+    }
+
+    /**
+     * Retrieves the tasks having a value within a range.
+     *
+     * @param from     the lower bound of the range, inclusive.
+     * @param to       the upper bound of the range, exclusive.
+     * @param quadrant the quadrant of the tasks, or {@code null} for any quadrant.
+     * @return a new set of the tasks found, ordered by value.
+     */
+    private Set<Task> findTasksBetween(Object from, Object to, Quadrant quadrant) {
+        Objects.requireNonNull(from, "Lower bound cannot be null.");
+        Objects.requireNonNull(to, "Upper bound cannot be null.");
+        if (type != EPropertyIndex.SORTED) {
+            throw new UnsupportedOperationException("Range lookups require a sorted index.");
+        }
+        if (!(from instanceof Comparable) || from.getClass() != to.getClass()) {
+            throw new ClassCastException("Bounds must be comparable values of the same class.");
+        }
+        this.checkRegistered();
+        NavigableMap<Object, Set<Task>> sortedTasks = (NavigableMap<Object, Set<Task>>) tasksByValue;
+        Set<Task> tasks = new LinkedHashSet<>();
+        for (Set<Task> valueTasks : sortedTasks.subMap(from, true, to, false).values()) {
+            this.collect(valueTasks, quadrant, tasks);
+        }
+        return tasks;
+    }
+
+    // ---- Index maintenance ------------------------------------------------ //
+
+    @Override
+    protected void link(Task task) {
+        this.link(task, task.getProperty(key));
+    }
+
+    @Override
+    protected void unlink(Task task) {
+        this.unlink(task, task.getProperty(key));
+    }
+
+    @Override
+    protected void unlinkAll() {
+        tasksByValue.clear();
+    }
+
+    @Override
+    protected void propertyChanged(Task task, String changedKey, Object oldValue, Object newValue) {
+        if (key.equals(changedKey)) {
+            this.unlink(task, oldValue);
+            this.link(task, newValue);
+        }
+    }
+
+    @Override
+    protected Collection<Task> candidatesEqualTo(Task task) {
+        Object value = task.getProperty(key);
+        return this.isIndexable(value) ? tasksByValue.get(value) : super.candidatesEqualTo(task);
+    }
+
+    private void link(Task task, Object value) {
+        if (this.isIndexable(value)) {
+            tasksByValue.computeIfAbsent(value, v -> Collections.newSetFromMap(new IdentityHashMap<>())).add(task);
+        }
+    }
+
+    private void unlink(Task task, Object value) {
+        if (!this.isIndexable(value)) {
+            return;
+        }
+        Set<Task> tasks = tasksByValue.get(value);
+        if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
+            tasksByValue.remove(value);
+        }
+    }
+
+    private boolean isIndexable(Object value) {
+        return (value != null) && (type != EPropertyIndex.SORTED || value instanceof Comparable);
+    }
+
+    /**
+     * Compares two values of a sorted index: by the name of their class if their classes differ,
+     * and by their natural ordering otherwise.
+     *
+     * @param value1 the first value, {@link Comparable}.
+     * @param value2 the second value, {@link Comparable}.
+     * @return a negative integer, zero, or a positive integer as the first value is less than,
+     * equal to, or greater than the second.
+     */
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Object value1, Object value2) {
+        Class<?> class1 = value1.getClass();
+        Class<?> class2 = value2.getClass();
+        if (class1 != class2) {
+            int byClass = class1.getName().compareTo(class2.getName());
+            if (byClass != 0) {
+                return byClass;
+            }
+        }
+        return ((Comparable<Object>) value1).compareTo(value2);
+    }
+}
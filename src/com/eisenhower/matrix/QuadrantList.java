@@ -0,0 +1,349 @@
+package com.eisenhower.matrix;
+
+import com.eisenhower.util.Quadrant;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * A live {@link List} view over the tasks of a quadrant, as returned by
+ * {@link AbstractEisenhowerMatrix#getTasks(Quadrant)}.
+ * <p>
+ * Every modification made through this view (including its iterators and sublists)
+ * is reported to the owning matrix, so that its indexes are kept up to date.
+ * </p>
+ *
+ * @param <T> the type of task stored in the quadrant.
+ */
+class QuadrantList<T extends Comparable<T>> extends AbstractList<T> {
+
+    private final AbstractEisenhowerMatrix<T> matrix;
+    private final Quadrant quadrant;
+
+    /**
+     * Creates a view over the given quadrant of a matrix.
+     *
+     * @param matrix   the matrix owning the quadrant.
+     * @param quadrant the quadrant to be viewed.
+     */
+    QuadrantList(AbstractEisenhowerMatrix<T> matrix, Quadrant quadrant) {
+        this.matrix = matrix;
+        this.quadrant = quadrant;
+    }
+
+    /**
+     * Returns the list of tasks currently backing this view.
+     *
+     * @return the underlying list of tasks.
+     */
+    private List<T> tasks() {
+        return (List<T>) matrix.store(quadrant).tasks();
+    }
+
+    /**
+     * Returns the list of tasks backing this view, ready to be modified.
+     *
+     * @return the underlying list of tasks, owned by this matrix only.
+     */
+    private List<T> writableTasks() {
+        return (List<T>) matrix.writableStore(quadrant).tasks();
+    }
+
+    /**
+     * Returns the store backing this view, ready to be modified.
+     *
+     * @return the store of the quadrant, owned by this matrix only.
+     */
+    private QuadrantStore<T> writableStore() {
+        return matrix.writableStore(quadrant);
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public int size() {
+        return this.tasks().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.tasks().isEmpty();
+    }
+
+    @Override
+    public T get(int index) {
+        return this.tasks().get(index);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return matrix.store(quadrant).contains(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return this.contains(o) ? this.tasks().indexOf(o) : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return this.contains(o) ? this.tasks().lastIndexOf(o) : -1;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return this.tasks().toArray();
+    }
+
+    @Override
+    public <E> E[] toArray(E[] a) {
+        return this.tasks().toArray(a);
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public boolean add(T task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        QuadrantStore<T> store = this.writableStore();
+        List<T> tasks = (List<T>) store.tasks();
+        store.addIndexed(task, () -> {
+            matrix.taskAdding(quadrant, task, tasks.size());
+            return tasks.add(task);
+        });
+        modCount++;
+        matrix.taskAdded(quadrant, task, tasks.size() - 1);
+        return true;
+    }
+
+    @Override
+    public void add(int index, T task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        QuadrantStore<T> store = this.writableStore();
+        List<T> tasks = (List<T>) store.tasks();
+        Objects.checkIndex(index, tasks.size() + 1);
+        store.addIndexed(task, () -> {
+            matrix.taskAdding(quadrant, task, index);
+            tasks.add(index, task);
+            return true;
+        });
+        modCount++;
+        matrix.taskAdded(quadrant, task, index);
+    }
+
+    @Override
+    public T set(int index, T task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        QuadrantStore<T> store = this.writableStore();
+        List<T> tasks = (List<T>) store.tasks();
+        T previous = tasks.get(index);
+        store.addIndexed(task, () -> {
+            matrix.taskReplacing(quadrant, previous, task, index);
+            tasks.set(index, task);
+            return true;
+        });
+        matrix.taskRemoved(quadrant, previous, index);
+        matrix.taskAdded(quadrant, task, index);
+        return previous;
+    }
+
+    @Override
+    public T remove(int index) {
+        List<T> tasks = this.writableTasks();
+        matrix.taskRemoving(quadrant, tasks.get(index), index);
+        T removed = tasks.remove(index);
+        modCount++;
+        matrix.taskRemoved(quadrant, removed, index);
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!this.contains(o)) {
+            return false;
+        }
+        Iterator<T> iterator = this.iterator();
+        while (iterator.hasNext()) {
+            if (Objects.equals(o, iterator.next())) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter, "Filter cannot be null.");
+        List<T> removedTasks = new ArrayList<>();
+        // Positions of the removed tasks, as if they were removed one after the other
+        List<Integer> removedIndexes = new ArrayList<>();
+        BitSet removed = new BitSet();
+        int position = 0;
+        for (T task : this.tasks()) {
+            if (filter.test(task)) {
+                removed.set(position);
+                removedIndexes.add(position - removedTasks.size());
+                removedTasks.add(task);
+            }
+            position++;
+        }
+        if (removedTasks.isEmpty()) {
+            return false;
+        }
+        matrix.tasksRemoving(quadrant, removedTasks, removedIndexes::get);
+        int[] tested = new int[1];
+        this.writableTasks().removeIf(task -> removed.get(tested[0]++));
+        modCount++;
+        for (int i = 0; i < removedTasks.size(); i++) {
+            matrix.taskRemoved(quadrant, removedTasks.get(i), removedIndexes.get(i));
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        matrix.clearStore(quadrant);
+        modCount++;
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Iterator<T> iterator() {
+        return this.listIterator(0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int index) {
+        return new TrackingListIterator(index);
+    }
+
+    /**
+     * Iterator over the underlying list, which reports modifications to the matrix.
+     * <p>
+     * If the list is shared with other matrices, the iterator reads it in place, and 
+     * moves to a private copy (at the same position) on its first modification.
+     * </p>
+     */
+    private final class TrackingListIterator implements ListIterator<T> {
+
+        private QuadrantStore<T> store;
+        private ListIterator<T> iterator;
+        private T lastReturned;
+        private boolean hasLast;
+        private boolean lastWasNext;
+
+        TrackingListIterator(int index) {
+            this.store = matrix.store(quadrant);
+            this.iterator = ((List<T>) store.tasks()).listIterator(index);
+        }
+
+        /**
+         * Makes sure that the iterated list is owned by this matrix only, before modifying it.
+         * 
+         * @throws ConcurrentModificationException if the quadrant has been replaced by other means.
+         */
+        private void ensureWritable() {
+            if (matrix.store(quadrant) != store) {
+                throw new ConcurrentModificationException();
+            }
+            if (!store.isShared()) {
+                return;
+            }
+            int cursor = iterator.nextIndex();
+            store = matrix.writableStore(quadrant);
+            List<T> tasks = (List<T>) store.tasks();
+            if (!hasLast) {
+                iterator = tasks.listIterator(cursor);
+            } else if (lastWasNext) {
+                iterator = tasks.listIterator(cursor - 1);
+                iterator.next();
+            } else {
+                iterator = tasks.listIterator(cursor + 1);
+                iterator.previous();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            lastReturned = iterator.next();
+            hasLast = true;
+            lastWasNext = true;
+            return lastReturned;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return iterator.hasPrevious();
+        }
+
+        @Override
+        public T previous() {
+            lastReturned = iterator.previous();
+            hasLast = true;
+            lastWasNext = false;
+            return lastReturned;
+        }
+
+        @Override
+        public int nextIndex() {
+            return iterator.nextIndex();
+        }
+
+        @Override
+        public int previousIndex() {
+            return iterator.previousIndex();
+        }
+
+        @Override
+        public void remove() {
+            if (!hasLast) {
+                throw new IllegalStateException();
+            }
+            this.ensureWritable();
+            int index = lastWasNext ? iterator.nextIndex() - 1 : iterator.nextIndex();
+            matrix.taskRemoving(quadrant, lastReturned, index);
+            iterator.remove();
+            hasLast = false;
+            modCount++;
+            matrix.taskRemoved(quadrant, lastReturned, iterator.nextIndex());
+        }
+
+        @Override
+        public void set(T task) {
+            Objects.requireNonNull(task, "Task cannot be null.");
+            if (!hasLast) {
+                throw new IllegalStateException();
+            }
+            this.ensureWritable();
+            int index = lastWasNext ? iterator.nextIndex() - 1 : iterator.nextIndex();
+            store.addIndexed(task, () -> {
+                matrix.taskReplacing(quadrant, lastReturned, task, index);
+                iterator.set(task);
+                return true;
+            });
+            matrix.taskRemoved(quadrant, lastReturned, index);
+            matrix.taskAdded(quadrant, task, index);
+            lastReturned = task;
+        }
+
+        @Override
+        public void add(T task) {
+            Objects.requireNonNull(task, "Task cannot be null.");
+            this.ensureWritable();
+            store.addIndexed(task, () -> {
+                matrix.taskAdding(quadrant, task, iterator.nextIndex());
+                iterator.add(task);
+                return true;
+            });
+            hasLast = false;
+            modCount++;
+            matrix.taskAdded(quadrant, task, iterator.nextIndex() - 1);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.eisenhower.matrix;
+
+import com.eisenhower.util.Quadrant;
+
+/**
+ * Observes the tasks added to and removed from the quadrants of an {@link AbstractEisenhowerMatrix},
+ * so as to maintain a secondary index over them.
+ * <p>
+ * Observers are notified once per occurrence, just before the task is added or removed, once the
+ * change is known to be possible, and again after it. An observer may reject an upcoming change by
+ * throwing an exception, which is rethrown to the caller: the quadrant is then left unchanged, and
+ * the observers already notified of the upcoming change are notified that it has been rejected.
+ * </p>
+ *
+ * <p>For quadrants backed by a {@link java.util.List}, each notification carries the position of the
+ * task, so that replaying the notifications in order on an equal list yields the same list.</p>
+ *
+ * @param <T> the type of task stored in the matrix.
+ * @see AbstractEisenhowerMatrix#addObserver(QuadrantObserver)
+ */
+interface QuadrantObserver<T> {
+
+    /**
+     * Called when a task has been added to a quadrant.
+     *
+     * @param quadrant the quadrant which the task has been added to.
+     * @param task     the added task.
+     * @param index    the position of the task in the quadrant, or {@code -1} if the quadrant is a set.
+     */
+    void taskAdded(Quadrant quadrant, T task, int index);
+
+    /**
+     * Called when a task has been removed from a quadrant.
+     *
+     * @param quadrant the quadrant which the task has been removed from.
+     * @param task     the removed task, or a task equal to it.
+     * @param index    the position the task had in the quadrant, or {@code -1} if the quadrant is a set.
+     */
+    void taskRemoved(Quadrant quadrant, Object task, int index);
+
+    /**
+     * Called when a task is about to be added to a quadrant. By default, it does nothing.
+     *
+     * @param quadrant the quadrant which the task is about to be added to.
+     * @param task     the task about to be added.
+     * @param index    the position the task will have in the quadrant, or {@code -1} if the quadrant is a set.
+     */
+    default void taskAdding(Quadrant quadrant, T task, int index) {
+    }
+
+    /**
+     * Called when a task is about to be removed from a quadrant. By default, it does nothing.
+     *
+     * @param quadrant the quadrant which the task is about to be removed from.
+     * @param task     the task about to be removed, or a task equal to it.
+     * @param index    the position of the task in the quadrant, or {@code -1} if the quadrant is a set.
+     */
+    default void taskRemoving(Quadrant quadrant, Object task, int index) {
+    }
+
+    /**
+     * Called when an upcoming change this observer has been notified of has been rejected by another
+     * observer: the quadrant is left unchanged. When several changes are rejected at once, they are
+     * reported in the reverse order of their notification. By default, it does nothing.
+     *
+     * @param quadrant the quadrant which was about to change.
+     * @param task     the task which was about to be added or removed.
+     * @param index    the position notified with the upcoming change.
+     * @param addition {@code true} if the task was about to be added, {@code false} if it was about to be removed.
+     */
+    default void changeRejected(Quadrant quadrant, Object task, int index, boolean addition) {
+    }
+}
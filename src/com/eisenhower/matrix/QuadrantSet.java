@@ -0,0 +1,200 @@
+package com.eisenhower.matrix;
+
+import com.eisenhower.util.Quadrant;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * A live {@link Set} view over the tasks of a quadrant, as returned by
+ * {@link AbstractEisenhowerMatrix#getTasks(Quadrant)}.
+ * <p>
+ * Every modification made through this view (including its iterators)
+ * is reported to the owning matrix, so that its indexes are kept up to date.
+ * </p>
+ *
+ * @param <T> the type of task stored in the quadrant.
+ */
+class QuadrantSet<T extends Comparable<T>> extends AbstractSet<T> {
+
+    private final AbstractEisenhowerMatrix<T> matrix;
+    private final Quadrant quadrant;
+
+    /**
+     * Creates a view over the given quadrant of a matrix.
+     *
+     * @param matrix   the matrix owning the quadrant.
+     * @param quadrant the quadrant to be viewed.
+     */
+    QuadrantSet(AbstractEisenhowerMatrix<T> matrix, Quadrant quadrant) {
+        this.matrix = matrix;
+        this.quadrant = quadrant;
+    }
+
+    /**
+     * Returns the collection of tasks currently backing this view.
+     *
+     * @return the underlying collection of tasks.
+     */
+    private Collection<T> tasks() {
+        return matrix.store(quadrant).tasks();
+    }
+
+    /**
+     * Returns the collection of tasks backing this view, ready to be modified.
+     *
+     * @return the underlying collection of tasks, owned by this matrix only.
+     */
+    private Collection<T> writableTasks() {
+        return matrix.writableStore(quadrant).tasks();
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public int size() {
+        return this.tasks().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.tasks().isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return matrix.store(quadrant).contains(o);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return this.tasks().toArray();
+    }
+
+    @Override
+    public <E> E[] toArray(E[] a) {
+        return this.tasks().toArray(a);
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public boolean add(T task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        if (this.contains(task)) {
+            return false;
+        }
+        QuadrantStore<T> store = matrix.writableStore(quadrant);
+        boolean added = store.addIndexed(task, () -> {
+            matrix.taskAdding(quadrant, task, -1);
+            if (!store.tasks().add(task)) {
+                matrix.taskRejected(quadrant, task, -1, true);
+                return false;
+            }
+            return true;
+        });
+        if (!added) {
+            return false;
+        }
+        matrix.taskAdded(quadrant, task, -1);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!this.contains(o)) {
+            return false;
+        }
+        Collection<T> tasks = this.writableTasks();
+        matrix.taskRemoving(quadrant, o, -1);
+        if (!tasks.remove(o)) {
+            matrix.taskRejected(quadrant, o, -1, false);
+            return false;
+        }
+        matrix.taskRemoved(quadrant, o, -1);
+        return true;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter, "Filter cannot be null.");
+        List<T> removedTasks = new ArrayList<>();
+        for (T task : this.tasks()) {
+            if (filter.test(task)) {
+                removedTasks.add(task);
+            }
+        }
+        if (removedTasks.isEmpty()) {
+            return false;
+        }
+        matrix.tasksRemoving(quadrant, removedTasks, i -> -1);
+        Set<T> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        removed.addAll(removedTasks);
+        this.writableTasks().removeIf(removed::contains);
+        for (T task : removedTasks) {
+            matrix.taskRemoved(quadrant, task, -1);
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        matrix.clearStore(quadrant);
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Iterator<T> iterator() {
+        return new TrackingIterator();
+    }
+
+    /**
+     * Iterator over the underlying collection, which reports removals to the matrix.
+     * <p>
+     * If the collection is shared with other matrices, the iterator keeps reading it,
+     * while removals are applied to a private copy made on the first one.
+     * </p>
+     */
+    private final class TrackingIterator implements Iterator<T> {
+
+        private QuadrantStore<T> store = matrix.store(quadrant);
+        private final Iterator<T> iterator = store.tasks().iterator();
+        private boolean detached;
+        private boolean hasLast;
+        private T lastReturned;
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            lastReturned = iterator.next();
+            hasLast = true;
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (!hasLast) {
+                throw new IllegalStateException();
+            }
+            if (matrix.store(quadrant) != store) {
+                throw new ConcurrentModificationException();
+            }
+            if (!detached && store.isShared()) {
+                store = matrix.writableStore(quadrant);
+                detached = true;
+            }
+            matrix.taskRemoving(quadrant, lastReturned, -1);
+            if (detached) {
+                store.tasks().remove(lastReturned);
+            } else {
+                iterator.remove();
+            }
+            hasLast = false;
+            matrix.taskRemoved(quadrant, lastReturned, -1);
+        }
+    }
+}
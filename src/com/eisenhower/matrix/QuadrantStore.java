@@ -0,0 +1,601 @@
+package com.eisenhower.matrix;
+
+import static com.eisenhower.util.TaskProperties.DATE;
+import static com.eisenhower.util.TaskProperties.TIME;
+
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskPropertyListener;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Holds the tasks of a single quadrant, together with the index used to answer
+ * membership queries in constant time.
+ * <p>
+ * A {@link Set} already answers {@code contains} by hashing, so it is used as its own index.
+ * A {@link List} is paired with a map counting the occurrences of each task, since it
+ * allows duplicates and would otherwise be scanned linearly.
+ * </p>
+ * 
+ * <p>The first time tasks are requested in sorted order, a {@link SortedTasks} index is built
+ * and then maintained on every update, so that later sorted reads don't sort again.</p>
+ *
+ * <p>The store doesn't observe its collection: whoever mutates {@link #tasks()} is
+ * responsible for adding tasks through {@link #addIndexed(Comparable, BooleanSupplier)},
+ * and for calling {@link #indexRemoved(Object)} or {@link #indexCleared()} accordingly.
+ * It does observe the {@link Task tasks} it holds though, since their hash code changes with
+ * their properties and subtasks, and their ordering with their date and time: a task is
+ * taken out of the affected indexes just before it changes, and put back just after
+ * (see {@link TaskTracker}).</p>
+ * 
+ * <p>A set store may also keep an index of its owner in line with the changes of its tasks
+ * (see {@link KeyIndex}): the changing tasks are then taken out of the set too, and put back
+ * just after, so that they can still be found and removed.</p>
+ * 
+ * <p>A store may be shared by several matrices derived from each other (see 
+ * {@link AbstractEisenhowerMatrix#clearQuadrant(com.eisenhower.util.Quadrant)}). 
+ * A shared store must not be modified: each matrix first replaces it with its own 
+ * {@link #copy(Collection) copy}, on its first modification of the quadrant.</p>
+ *
+ * @param <T> the type of task stored in the quadrant.
+ */
+final class QuadrantStore<T extends Comparable<T>> {
+
+    // Collection of tasks, as provided by the concrete matrix implementation
+    private final Collection<T> tasks;
+
+    // Number of occurrences of each task (null if the collection is a set)
+    private final Map<T, Integer> occurrences;
+    
+    // Tasks sorted by natural ordering (null until they are first requested)
+    private SortedTasks<T> sortedTasks;
+    
+    // Number of matrices sharing this store
+    private int owners = 1;
+    
+    // Listener re-keying the changing tasks (null until a task needs to be tracked)
+    private TaskTracker tracker;
+    
+    // Lock taken to update the indexes when a task changes (null if the store is not shared between threads)
+    private final Lock lock;
+    
+    // Index of the owner re-keyed along with the set when a task changes (null if the set is not re-keyed)
+    private final KeyIndex<T> keyIndex;
+
+    /**
+     * Creates a store for the given collection, indexing the tasks it already contains.
+     *
+     * @param tasks the collection of tasks of the quadrant.
+     */
+    QuadrantStore(Collection<T> tasks) {
+        this(tasks, null);
+    }
+
+    /**
+     * Creates a store for the given collection, indexing the tasks it already contains.
+     * The store is guarded by the given lock, which the owner holds while accessing it:
+     * it is also taken to update the indexes when a task held by the store changes.
+     *
+     * @param tasks the collection of tasks of the quadrant.
+     * @param lock  the lock guarding the store, or {@code null} if it is not shared between threads.
+     */
+    QuadrantStore(Collection<T> tasks, Lock lock) {
+        this(tasks, lock, null);
+    }
+
+    /**
+     * Creates a store for the given collection, indexing the tasks it already contains.
+     * The store is guarded by the given lock, and keeps the given index of its owner 
+     * in line with the collection, which must then be a set, when a task held by the store changes.
+     *
+     * @param tasks    the collection of tasks of the quadrant.
+     * @param lock     the lock guarding the store, or {@code null} if it is not shared between threads.
+     * @param keyIndex the index of the owner keyed by the tasks of the set, or {@code null} if there is none.
+     */
+    QuadrantStore(Collection<T> tasks, Lock lock, KeyIndex<T> keyIndex) {
+        this.tasks = tasks;
+        this.lock = lock;
+        this.keyIndex = keyIndex;
+        if (tasks instanceof Set) {
+            this.occurrences = null;
+            for (T task : tasks) {
+                if (this.isTrackedForEquality(task)) {
+                    this.track((Task) task);
+                }
+            }
+        } else {
+            this.occurrences = new HashMap<>();
+            for (T task : tasks) {
+                this.indexAdded(task);
+            }
+        }
+    }
+    
+    /**
+     * Creates a copy of the given store, using the given collection which must 
+     * already contain the same tasks.
+     *
+     * @param other    the store to be copied.
+     * @param tasks    the copy of the collection of tasks.
+     * @param lock     the lock guarding the copy, or {@code null} if it is not shared between threads.
+     * @param keyIndex the index of the owner of the copy, or {@code null} if the set is not re-keyed.
+     */
+    private QuadrantStore(QuadrantStore<T> other, Collection<T> tasks, Lock lock, KeyIndex<T> keyIndex) {
+        this.tasks = tasks;
+        this.lock = lock;
+        this.keyIndex = keyIndex;
+        this.occurrences = (other.occurrences != null) ? new HashMap<>(other.occurrences) : null;
+        this.sortedTasks = (other.sortedTasks != null) ? new SortedTasks<>(other.sortedTasks) : null;
+        if (other.tracker != null) {
+            this.tracker = new TaskTracker(this);
+            other.tracker.instances.forEach(this.tracker::track);
+        }
+    }
+    
+    /**
+     * Creates a copy of this store, along with its indexes.
+     *
+     * @param tasksCopy a new collection containing the same tasks as this store.
+     * @return a new store, not shared with any matrix.
+     */
+    QuadrantStore<T> copy(Collection<T> tasksCopy) {
+        return new QuadrantStore<>(this, tasksCopy, null, null);
+    }
+    
+    /**
+     * Creates a copy of this set store, along with its indexes, guarded by the given lock 
+     * and keeping the given index of its owner in line with the set.
+     *
+     * @param tasksCopy a new set containing the same tasks as this store.
+     * @param lock      the lock guarding the copy.
+     * @param keyIndex  the index of the owner of the copy, which must already contain the same tasks.
+     * @return a new store, not shared with any matrix.
+     * @see #QuadrantStore(Collection, Lock, KeyIndex)
+     */
+    QuadrantStore<T> copy(Collection<T> tasksCopy, Lock lock, KeyIndex<T> keyIndex) {
+        return new QuadrantStore<>(this, tasksCopy, lock, keyIndex);
+    }
+    
+    // -------------------------------------------------------------------------
+    
+    /**
+     * Records that one more matrix is sharing this store.
+     */
+    void share() {
+        owners++;
+    }
+    
+    /**
+     * Records that one matrix has stopped using this store.
+     */
+    void release() {
+        owners--;
+        if (owners == 0 && tracker != null) {
+            tracker.untrackAll();
+        }
+    }
+    
+    /**
+     * Checks if this store is shared by more than one matrix, and must therefore be copied 
+     * before being modified.
+     *
+     * @return {@code true} if the store is shared, {@code false} otherwise.
+     */
+    boolean isShared() {
+        return owners > 1;
+    }
+
+    /**
+     * Returns the collection of tasks of this quadrant.
+     *
+     * @return the underlying collection of tasks.
+     */
+    Collection<T> tasks() {
+        return tasks;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Checks if the given task is present in this quadrant.
+     *
+     * @param task the task to look for.
+     * @return {@code true} if the task is present, {@code false} otherwise.
+     */
+    boolean contains(Object task) {
+        return (occurrences != null) ? occurrences.containsKey(task) : tasks.contains(task);
+    }
+
+    /**
+     * Counts how many times the given task is present in this quadrant.
+     *
+     * @param task the task to look for.
+     * @return the number of occurrences of the task, {@code 0} if absent.
+     */
+    int occurrencesOf(Object task) {
+        if (occurrences == null) {
+            return tasks.contains(task) ? 1 : 0;
+        }
+        return occurrences.getOrDefault(task, 0);
+    }
+    
+    /**
+     * Returns the tasks of this quadrant sorted by their natural ordering.
+     * The sorted index is built on the first call, and kept up to date afterwards.
+     *
+     * @return the sorted index of tasks.
+     */
+    SortedTasks<T> sortedTasks() {
+        if (sortedTasks == null) {
+            sortedTasks = new SortedTasks<>(tasks);
+            // Tasks are now tracked for the changes of their ordering too
+            for (T task : tasks) {
+                if (task instanceof Task && !this.isTrackedForEquality(task)) {
+                    this.track((Task) task);
+                }
+            }
+        }
+        return sortedTasks;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Adds a task to the collection through the given action, and to the indexes.
+     * <p>
+     * The task is indexed first, so that a task which cannot be indexed (for instance, because it 
+     * cannot be compared with the others) leaves the collection unchanged. If the action fails, 
+     * or reports that the task has not been added, the indexes are rolled back.
+     * </p>
+     *
+     * @param task     the task to be added.
+     * @param addition the action adding the task to the collection, returning {@code false} if it was not added.
+     * @return {@code true} if the task has been added, {@code false} otherwise.
+     */
+    boolean addIndexed(T task, BooleanSupplier addition) {
+        this.indexAdded(task);
+        boolean added = false;
+        try {
+            added = addition.getAsBoolean();
+        } finally {
+            if (!added) {
+                this.indexRemoved(task);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Records that a task has been added to the collection.
+     * The indexes are left unchanged if the task cannot be indexed.
+     *
+     * @param task the added task.
+     */
+    private void indexAdded(T task) {
+        // The sorted index is the only one comparing tasks, which may fail
+        if (sortedTasks != null) {
+            sortedTasks.add(task);
+        }
+        if (occurrences != null) {
+            occurrences.merge(task, 1, Integer::sum);
+        }
+        if (task instanceof Task && (this.isTrackedForEquality(task) || sortedTasks != null)) {
+            this.track((Task) task);
+        }
+    }
+
+    /**
+     * Records that a task has been removed from the collection.
+     *
+     * @param task the removed task.
+     */
+    @SuppressWarnings("unchecked")
+    void indexRemoved(Object task) {
+        if (occurrences != null) {
+            occurrences.computeIfPresent((T) task, (t, count) -> (count == 1) ? null : count - 1);
+        }
+        if (sortedTasks != null) {
+            sortedTasks.remove(task);
+        }
+        if (tracker != null && task instanceof Task) {
+            tracker.untrack((Task) task);
+        }
+    }
+
+    /**
+     * Records that all tasks have been removed from the collection.
+     */
+    void indexCleared() {
+        if (occurrences != null) {
+            occurrences.clear();
+        }
+        if (sortedTasks != null) {
+            sortedTasks.clear();
+        }
+        if (tracker != null) {
+            tracker.untrackAll();
+        }
+    }
+    
+    // -------------------------------------------------------------------------
+    
+    /**
+     * Checks if the given task must be tracked to keep the occurrences, or the re-keyed set, 
+     * up to date when it changes. They depend on the equality of tasks, which doesn't change 
+     * for tasks with an identity.
+     * Once the sorted index has been built, all tasks are tracked, since their ordering may change.
+     *
+     * @param task the task held by this store.
+     * @return {@code true} if the changes of the task must be tracked for its equality, {@code false} otherwise.
+     */
+    private boolean isTrackedForEquality(T task) {
+        return this.isKeyedByEquality() && (task instanceof Task) && !((Task) task).hasIdentity();
+    }
+    
+    /**
+     * Checks if this store holds an index keyed by the equality of its tasks, which must be 
+     * updated when they change: the occurrences, or the set and the index of its owner.
+     *
+     * @return {@code true} if this store is keyed by the equality of its tasks, {@code false} otherwise.
+     */
+    private boolean isKeyedByEquality() {
+        return (occurrences != null) || (keyIndex != null);
+    }
+    
+    private void track(Task task) {
+        if (tracker == null) {
+            tracker = new TaskTracker(this);
+        }
+        tracker.track(task, 1);
+    }
+    
+    /**
+     * Checks if a change of the given task affects the indexes of this store.
+     *
+     * @param task   the task about to change, or which changed.
+     * @param resort {@code true} if the change affects the ordering of the task.
+     * @return {@code true} if the task must be taken out of the indexes during the change.
+     */
+    private boolean isAffected(Task task, boolean resort) {
+        return (this.isKeyedByEquality() && !task.hasIdentity()) || (resort && sortedTasks != null);
+    }
+    
+    /**
+     * Takes the given task out of the indexes, before it changes.
+     *
+     * @param task   the task about to change.
+     * @param count  the number of occurrences of this instance of the task.
+     * @param resort {@code true} if the change affects the ordering of the task.
+     */
+    @SuppressWarnings("unchecked")
+    private void detach(Task task, int count, boolean resort) {
+        if (resort && sortedTasks != null) {
+            for (int i = 0; i < count; i++) {
+                sortedTasks.removeInstance((T) (Object) task);
+            }
+        }
+        if (!this.isKeyedByEquality() || task.hasIdentity()) {
+            return;
+        }
+        if (occurrences == null) {
+            // Taken out while it still has its former hash code
+            tasks.remove(task);
+            keyIndex.remove((T) (Object) task);
+            return;
+        }
+        Integer total = occurrences.remove(task);
+        if (total != null && total > count) {
+            // Other instances, equal to the changing one, stay in the index
+            for (Task other : tracker.instances.keySet()) {
+                if (other != task && other.equals(task)) {
+                    occurrences.put((T) (Object) other, total - count);
+                    break;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Puts the given task back into the indexes, after it has changed.
+     *
+     * @param task   the task which changed.
+     * @param count  the number of occurrences of this instance of the task.
+     * @param resort {@code true} if the change affected the ordering of the task.
+     */
+    @SuppressWarnings("unchecked")
+    private void reattach(Task task, int count, boolean resort) {
+        if (keyIndex != null && !task.hasIdentity()) {
+            if (!keyIndex.add((T) (Object) task)) {
+                // Now equal to a task of the owner: it is merged into it
+                if (!resort && sortedTasks != null) {
+                    sortedTasks.removeInstance((T) (Object) task);
+                }
+                tracker.untrack(task);
+                return;
+            }
+            tasks.add((T) (Object) task);
+        }
+        if (occurrences != null && !task.hasIdentity()) {
+            occurrences.merge((T) (Object) task, count, Integer::sum);
+        }
+        if (resort && sortedTasks != null) {
+            for (int i = 0; i < count; i++) {
+                sortedTasks.add((T) (Object) task);
+            }
+        }
+    }
+    
+    /**
+     * An index of the owner of a set store, keyed by the tasks of the set: for instance, the quadrant 
+     * of each task of a matrix. When a task held by the store changes, the store takes it out of 
+     * this index along with the set, and puts it back afterwards, while holding its lock.
+     *
+     * @param <T> the type of task stored in the quadrant.
+     */
+    interface KeyIndex<T> {
+
+        /**
+         * Removes a task about to change, while it still has its former hash code.
+         *
+         * @param task the task about to change.
+         */
+        void remove(T task);
+
+        /**
+         * Adds back a task which has changed, unless the owner already holds a task equal to it: 
+         * the changed task is then dropped from the store.
+         *
+         * @param task the task which changed.
+         * @return {@code true} if the task has been added back, {@code false} if it is dropped.
+         */
+        boolean add(T task);
+    }
+    
+    /**
+     * Listens to the tasks held by a store, to take them out of its indexes before they change 
+     * and put them back afterwards.
+     * <p>
+     * If the store is guarded by a lock, the tracker takes it while updating the indexes, so 
+     * that other threads see the task either before or after the change, or not at all while 
+     * it changes.
+     * </p>
+     * <p>
+     * Tasks keep a strong reference to their listeners, so the tracker only keeps a weak 
+     * reference to its store. Trackers whose store has been garbage collected are unregistered 
+     * from their tasks the next time a tracker is created, or when one of their tasks changes.
+     * </p>
+     */
+    private static final class TaskTracker extends WeakReference<QuadrantStore<?>> implements TaskPropertyListener {
+        
+        // Trackers whose store has been garbage collected
+        private static final ReferenceQueue<QuadrantStore<?>> COLLECTED = new ReferenceQueue<>();
+        
+        // Number of occurrences of each task instance held by the store
+        private final IdentityHashMap<Task, Integer> instances = new IdentityHashMap<>();
+        
+        // Occurrences taken out of the indexes, for the instances being changed
+        private final IdentityHashMap<Task, Integer> detached = new IdentityHashMap<>();
+        
+        TaskTracker(QuadrantStore<?> store) {
+            super(store, COLLECTED);
+            TaskTracker collected;
+            while ((collected = (TaskTracker) COLLECTED.poll()) != null) {
+                collected.untrackAll();
+            }
+        }
+        
+        /**
+         * Records new occurrences of a task instance, registering on it if it was not tracked yet.
+         * 
+         * @param task  the task added to the store.
+         * @param count the number of added occurrences.
+         */
+        void track(Task task, int count) {
+            if (instances.merge(task, count, Integer::sum) == count) {
+                task.addPropertyListener(this);
+            }
+        }
+        
+        /**
+         * Records that an occurrence of a task instance has been removed, unregistering 
+         * from it if it was the last one.
+         * 
+         * @param task the task removed from the store.
+         */
+        void untrack(Task task) {
+            Integer count = instances.get(task);
+            if (count == null) {
+                return;
+            }
+            if (count == 1) {
+                instances.remove(task);
+                task.removePropertyListener(this);
+            } else {
+                instances.put(task, count - 1);
+            }
+            // An occurrence removed while the task changes is not put back afterwards
+            detached.computeIfPresent(task, (t, detachedCount) -> (detachedCount == 1) ? null : detachedCount - 1);
+        }
+        
+        /**
+         * Unregisters from all the tracked tasks.
+         */
+        void untrackAll() {
+            for (Task task : instances.keySet()) {
+                task.removePropertyListener(this);
+            }
+            instances.clear();
+            detached.clear();
+        }
+        
+        // ---- Notifications ------------------------------------------------ //
+        
+        @Override
+        public void propertyChanging(Task task, String key, Object oldValue, Object newValue) {
+            this.changing(task, isSortKey(key));
+        }
+        
+        @Override
+        public void propertyChanged(Task task, String key, Object oldValue, Object newValue) {
+            this.changed(task, isSortKey(key));
+        }
+        
+        @Override
+        public void subtasksChanging(Task task) {
+            this.changing(task, false);
+        }
+        
+        @Override
+        public void subtasksChanged(Task task) {
+            this.changed(task, false);
+        }
+        
+        private static boolean isSortKey(String key) {
+            return DATE.equals(key) || TIME.equals(key);
+        }
+        
+        private void changing(Task task, boolean resort) {
+            QuadrantStore<?> store = this.get();
+            if (store == null) {
+                task.removePropertyListener(this);
+                return;
+            }
+            if (store.lock != null) {
+                store.lock.lock();
+            }
+            try {
+                Integer count = instances.get(task);
+                if (count != null && store.isAffected(task, resort) && detached.putIfAbsent(task, count) == null) {
+                    store.detach(task, count, resort);
+                }
+            } finally {
+                if (store.lock != null) {
+                    store.lock.unlock();
+                }
+            }
+        }
+        
+        private void changed(Task task, boolean resort) {
+            QuadrantStore<?> store = this.get();
+            if (store == null) {
+                return;
+            }
+            if (store.lock != null) {
+                store.lock.lock();
+            }
+            try {
+                Integer count = detached.remove(task);
+                if (count != null) {
+                    store.reattach(task, count, resort);
+                }
+            } finally {
+                if (store.lock != null) {
+                    store.lock.unlock();
+                }
+            }
+        }
+    }
+}
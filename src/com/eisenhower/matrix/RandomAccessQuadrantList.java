@@ -0,0 +1,23 @@
+package com.eisenhower.matrix;
+
+import com.eisenhower.util.Quadrant;
+import java.util.RandomAccess;
+
+/**
+ * A {@link QuadrantList} over a list supporting fast positional access, 
+ * such as the one used by {@link EListStorage#ARRAY}.
+ *
+ * @param <T> the type of task stored in the quadrant.
+ */
+final class RandomAccessQuadrantList<T extends Comparable<T>> extends QuadrantList<T> implements RandomAccess {
+
+    /**
+     * Creates a view over the given quadrant of a matrix.
+     *
+     * @param matrix   the matrix owning the quadrant.
+     * @param quadrant the quadrant to be viewed.
+     */
+    RandomAccessQuadrantList(AbstractEisenhowerMatrix<T> matrix, Quadrant quadrant) {
+        super(matrix, quadrant);
+    }
+}
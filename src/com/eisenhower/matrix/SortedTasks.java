@@ -0,0 +1,464 @@
+package com.eisenhower.matrix;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * The tasks of a quadrant, kept sorted according to their natural ordering
+ * while tasks are added and removed.
+ * <p>
+ * Tasks are stored in an order-statistic tree: a balanced search tree (a treap), where each node
+ * also records the size of its subtree. Each update costs {@code O(log n)}, iterating in sorted order
+ * costs {@code O(n)}, and the task at a given rank (or the rank of a given task) is found in
+ * {@code O(log n)}, so that a page of sorted tasks is read in {@code O(log n + limit)}.
+ * Tasks comparing equal to each other are kept in insertion order, and duplicated
+ * tasks are kept as many times as they have been added.
+ * </p>
+ *
+ * <p>Tasks must not change their natural ordering while they are held by this index,
+ * otherwise they may not be found when removed: a task about to change must be taken out
+ * with {@link #removeInstance(Comparable)}, and added again once it has changed.</p>
+ *
+ * @param <T> the type of task stored in the quadrant.
+ */
+final class SortedTasks<T extends Comparable<T>> implements Iterable<T> {
+
+    private Node<T> root;
+
+    // State of the generator of node priorities, which keep the tree balanced on average
+    private int seed = 0x2545F491;
+
+    /**
+     * Creates an index holding the given tasks.
+     *
+     * @param initialTasks the tasks to be indexed.
+     */
+    SortedTasks(Collection<T> initialTasks) {
+        for (T task : initialTasks) {
+            this.add(task);
+        }
+    }
+
+    /**
+     * Creates a copy of the given index, in linear time.
+     *
+     * @param other the index to be copied.
+     */
+    SortedTasks(SortedTasks<T> other) {
+        this.root = copy(other.root);
+        this.seed = other.seed;
+    }
+
+    /**
+     * Returns the number of tasks in this index, counting duplicates.
+     *
+     * @return the number of tasks.
+     */
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * Adds a task to this index, after any task comparing equal to it.
+     *
+     * @param task the task to be added.
+     */
+    void add(T task) {
+        root = insert(root, new Node<>(task, this.nextPriority()));
+    }
+
+    /**
+     * Removes one occurrence of a task from this index.
+     *
+     * @param task the task to be removed.
+     * @return {@code true} if the task was found and removed, {@code false} otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    boolean remove(Object task) {
+        return this.removeFirst((T) task, task::equals);
+    }
+
+    /**
+     * Removes one occurrence of the given instance of a task from this index, ignoring the other
+     * tasks equal to it. The task must not have changed its natural ordering since it was added.
+     *
+     * @param task the task instance to be removed.
+     * @return {@code true} if the instance was found and removed, {@code false} otherwise.
+     */
+    boolean removeInstance(T task) {
+        return this.removeFirst(task, current -> current == task);
+    }
+
+    /**
+     * Removes the first task comparing equal to the given key, and matching the given predicate.
+     *
+     * @param key     the task to compare with.
+     * @param matches the predicate identifying the task to be removed among the ties.
+     * @return {@code true} if a task was found and removed, {@code false} otherwise.
+     */
+    private boolean removeFirst(T key, Predicate<Object> matches) {
+        // Isolates the tasks comparing equal to the given one, and looks for a matching one among them
+        Node<T>[] lowerAndRest = split(root, key, false);
+        Node<T>[] tiesAndHigher = split(lowerAndRest[1], key, true);
+        Node<T> ties = tiesAndHigher[0];
+        int index = indexOfMatching(ties, matches);
+        if (index >= 0) {
+            Node<T>[] before = splitAt(ties, index);
+            Node<T>[] after = splitAt(before[1], 1);
+            ties = merge(before[0], after[1]);
+        }
+        root = merge(merge(lowerAndRest[0], ties), tiesAndHigher[1]);
+        return index >= 0;
+    }
+
+    /**
+     * Removes all tasks from this index.
+     */
+    void clear() {
+        root = null;
+    }
+
+    /**
+     * Copies the tasks of this index into a new list, in sorted order.
+     *
+     * @return a new list of sorted tasks.
+     */
+    List<T> toList() {
+        return this.toList(0, this.size());
+    }
+
+    /**
+     * Copies a range of the tasks of this index into a new list, in sorted order.
+     *
+     * @param offset the rank of the first task to be copied.
+     * @param limit  the maximum number of tasks to be copied.
+     * @return a new list of at most {@code limit} sorted tasks, empty if {@code offset} is past the last task.
+     */
+    List<T> toList(int offset, int limit) {
+        int count = Math.max(0, Math.min(limit, this.size() - offset));
+        List<T> sortedTasks = new ArrayList<>(count);
+        Iterator<T> iterator = new TreeIterator<>(root, offset);
+        for (int i = 0; i < count; i++) {
+            sortedTasks.add(iterator.next());
+        }
+        return sortedTasks;
+    }
+
+    /**
+     * Checks the bounds of a range of tasks, as given to {@link #toList(Comparable, Comparable)}.
+     *
+     * @param <T>  the type of task.
+     * @param from the lower bound of the range.
+     * @param to   the upper bound of the range.
+     * @throws NullPointerException     if any bound is {@code null}.
+     * @throws IllegalArgumentException if {@code from} is greater than {@code to}.
+     */
+    static <T extends Comparable<T>> void checkRange(T from, T to) {
+        Objects.requireNonNull(from, "Lower bound cannot be null.");
+        Objects.requireNonNull(to, "Upper bound cannot be null.");
+        if (from.compareTo(to) > 0) {
+            throw new IllegalArgumentException("Lower bound cannot be greater than upper bound.");
+        }
+    }
+
+    /**
+     * Copies the tasks of this index within a range into a new list, in sorted order.
+     *
+     * @param from the lower bound of the range, inclusive.
+     * @param to   the upper bound of the range, exclusive.
+     * @return a new list of the sorted tasks not lower than {@code from} and lower than {@code to}.
+     */
+    List<T> toList(T from, T to) {
+        int first = countLower(root, from);
+        int last = countLower(root, to);
+        return this.toList(first, last - first);
+    }
+
+    /**
+     * Returns the rank of the first occurrence of a task, that is the number of tasks before it in sorted order.
+     *
+     * @param task the task to be looked up.
+     * @return the rank of the task, or {@code -1} if it is not in this index.
+     */
+    @SuppressWarnings("unchecked")
+    int rankOf(Object task) {
+        T key = (T) task;
+        int rank = countLower(root, key);
+        // Ties are contiguous in sorted order: scans them from the first one
+        Iterator<T> iterator = new TreeIterator<>(root, rank);
+        while (iterator.hasNext()) {
+            T current = iterator.next();
+            if (key.compareTo(current) != 0) {
+                break;
+            }
+            if (current.equals(task)) {
+                return rank;
+            }
+            rank++;
+        }
+        return -1;
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Iterator<T> iterator() {
+        return new TreeIterator<>(root, 0);
+    }
+
+    // ---- Treap operations ---------------------------------------------- //
+
+    private int nextPriority() {
+        // Xorshift generator
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private static int size(Node<?> node) {
+        return (node != null) ? node.size : 0;
+    }
+
+    /**
+     * Inserts a node in a tree, after any task comparing equal to its own.
+     *
+     * @param node    the root of the tree.
+     * @param newNode the node to be inserted.
+     * @return the root of the tree after insertion.
+     */
+    private static <T extends Comparable<T>> Node<T> insert(Node<T> node, Node<T> newNode) {
+        if (node == null) {
+            return newNode;
+        }
+        if (newNode.task.compareTo(node.task) < 0) {
+            node.left = insert(node.left, newNode);
+            if (node.left.priority > node.priority) {
+                return rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, newNode);
+            if (node.right.priority > node.priority) {
+                return rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static <T> Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static <T> Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    /**
+     * Counts the tasks lower than the given key, in a subtree.
+     *
+     * @param node the root of the subtree.
+     * @param key  the task to compare with.
+     * @return the number of tasks in the subtree lower than {@code key}.
+     */
+    private static <T extends Comparable<T>> int countLower(Node<T> node, T key) {
+        int lower = 0;
+        while (node != null) {
+            if (key.compareTo(node.task) > 0) {
+                lower += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return lower;
+    }
+
+    /**
+     * Splits a tree by key.
+     *
+     * @param node       the root of the tree.
+     * @param key        the task to compare with.
+     * @param tiesToLeft whether tasks comparing equal to {@code key} go to the left part.
+     * @return the left part (tasks lower than the key, and ties if requested) and the right part.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> Node<T>[] split(Node<T> node, T key, boolean tiesToLeft) {
+        Node<T>[] parts = (Node<T>[]) new Node[2];
+        if (node == null) {
+            return parts;
+        }
+        int comparison = node.task.compareTo(key);
+        if (comparison < 0 || (comparison == 0 && tiesToLeft)) {
+            Node<T>[] rightParts = split(node.right, key, tiesToLeft);
+            node.right = rightParts[0];
+            node.update();
+            parts[0] = node;
+            parts[1] = rightParts[1];
+        } else {
+            Node<T>[] leftParts = split(node.left, key, tiesToLeft);
+            node.left = leftParts[1];
+            node.update();
+            parts[0] = leftParts[0];
+            parts[1] = node;
+        }
+        return parts;
+    }
+
+    /**
+     * Splits a tree by rank.
+     *
+     * @param node  the root of the tree.
+     * @param count the number of tasks going to the left part.
+     * @return the left part (the first {@code count} tasks) and the right part.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] splitAt(Node<T> node, int count) {
+        Node<T>[] parts = (Node<T>[]) new Node[2];
+        if (node == null) {
+            return parts;
+        }
+        int leftSize = size(node.left);
+        if (count <= leftSize) {
+            Node<T>[] leftParts = splitAt(node.left, count);
+            node.left = leftParts[1];
+            node.update();
+            parts[0] = leftParts[0];
+            parts[1] = node;
+        } else {
+            Node<T>[] rightParts = splitAt(node.right, count - leftSize - 1);
+            node.right = rightParts[0];
+            node.update();
+            parts[0] = node;
+            parts[1] = rightParts[1];
+        }
+        return parts;
+    }
+
+    /**
+     * Merges two trees, where all tasks of the left one come before those of the right one.
+     *
+     * @param left  the root of the left tree.
+     * @param right the root of the right tree.
+     * @return the root of the merged tree.
+     */
+    private static <T> Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    /**
+     * Finds the first task matching the given predicate, in a tree.
+     *
+     * @param node    the root of the tree.
+     * @param matches the predicate identifying the task to be found.
+     * @return the rank of the task in the tree, or {@code -1} if not found.
+     */
+    private static <T> int indexOfMatching(Node<T> node, Predicate<Object> matches) {
+        int index = 0;
+        for (Iterator<T> iterator = new TreeIterator<>(node, 0); iterator.hasNext(); index++) {
+            if (matches.test(iterator.next())) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static <T> Node<T> copy(Node<T> node) {
+        if (node == null) {
+            return null;
+        }
+        Node<T> copy = new Node<>(node.task, node.priority);
+        copy.left = copy(node.left);
+        copy.right = copy(node.right);
+        copy.size = node.size;
+        return copy;
+    }
+
+    /**
+     * A node of the tree, holding a single task.
+     */
+    private static final class Node<T> {
+
+        private final T task;
+        private final int priority;
+        private int size = 1;
+        private Node<T> left;
+        private Node<T> right;
+
+        Node(T task, int priority) {
+            this.task = task;
+            this.priority = priority;
+        }
+
+        void update() {
+            size = size(left) + size(right) + 1;
+        }
+    }
+
+    /**
+     * Iterates over a tree in order, starting from a given rank.
+     * It keeps the path to the next node, so starting costs {@code O(log n)} and each step
+     * costs {@code O(1)} on average.
+     */
+    private static final class TreeIterator<T> implements Iterator<T> {
+
+        private final Deque<Node<T>> path = new ArrayDeque<>();
+
+        TreeIterator(Node<T> root, int rank) {
+            Node<T> node = root;
+            while (node != null) {
+                int leftSize = size(node.left);
+                if (rank < leftSize) {
+                    path.push(node);
+                    node = node.left;
+                } else if (rank > leftSize) {
+                    rank -= leftSize + 1;
+                    node = node.right;
+                } else {
+                    path.push(node);
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<T> node = path.pop();
+            for (Node<T> child = node.right; child != null; child = child.left) {
+                path.push(child);
+            }
+            return node.task;
+        }
+    }
+}
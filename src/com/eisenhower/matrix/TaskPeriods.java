@@ -0,0 +1,104 @@
+package com.eisenhower.matrix;
+
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Retrieves the {@link Task}s of a matrix due in a period of time.
+ * <p>
+ * Tasks are ordered by date and time, so the tasks due in a period are the tasks between
+ * two bounds of their natural ordering: the periods are turned into bounds due at their start
+ * and end, and read with {@link EisenhowerMatrix#getTasksBetween(Quadrant, Comparable, Comparable)}.
+ * For instance, {@code getTasksDue(matrix, SCHEDULE_IT, monday, saturday)} returns the tasks
+ * due from Monday to Friday.
+ * </p>
+ */
+public final class TaskPeriods {
+
+    private TaskPeriods() {
+    }
+
+    /**
+     * Retrieves the tasks from the specified quadrant due in a period of days, sorted using
+     * their natural ordering.
+     *
+     * @param matrix   the matrix holding the tasks.
+     * @param quadrant the quadrant from which to retrieve the tasks.
+     * @param from     the first day of the period, inclusive.
+     * @param to       the day following the period, exclusive.
+     * @return a list of the sorted tasks due from {@code from} until the day before {@code to}.
+     * @throws NullPointerException     if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code from} is after {@code to}.
+     */
+    public static List<Task> getTasksDue(EisenhowerMatrix<Task> matrix, Quadrant quadrant, LocalDate from, LocalDate to) {
+        Objects.requireNonNull(from, "Lower bound cannot be null.");
+        Objects.requireNonNull(to, "Upper bound cannot be null.");
+        return getTasksDue(matrix, quadrant, from.atStartOfDay(), to.atStartOfDay());
+    }
+
+    /**
+     * Retrieves the tasks from the specified quadrant due in a period of time, sorted using
+     * their natural ordering. Tasks without a time are due at midnight.
+     *
+     * @param matrix   the matrix holding the tasks.
+     * @param quadrant the quadrant from which to retrieve the tasks.
+     * @param from     the start of the period, inclusive.
+     * @param to       the end of the period, exclusive.
+     * @return a list of the sorted tasks due from {@code from} and before {@code to}.
+     * @throws NullPointerException     if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code from} is after {@code to}.
+     */
+    public static List<Task> getTasksDue(EisenhowerMatrix<Task> matrix, Quadrant quadrant, LocalDateTime from, LocalDateTime to) {
+        Objects.requireNonNull(matrix, "Matrix cannot be null.");
+        return matrix.getTasksBetween(quadrant, dueAt(from), dueAt(to));
+    }
+
+    /**
+     * Retrieves the tasks from all quadrants due in a period of days, sorted using their
+     * natural ordering regardless of their quadrant.
+     *
+     * @param matrix the matrix holding the tasks.
+     * @param from   the first day of the period, inclusive.
+     * @param to     the day following the period, exclusive.
+     * @return a list of the sorted tasks due from {@code from} until the day before {@code to}.
+     * @throws NullPointerException     if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code from} is after {@code to}.
+     */
+    public static List<Task> getAllTasksDue(EisenhowerMatrix<Task> matrix, LocalDate from, LocalDate to) {
+        Objects.requireNonNull(from, "Lower bound cannot be null.");
+        Objects.requireNonNull(to, "Upper bound cannot be null.");
+        return getAllTasksDue(matrix, from.atStartOfDay(), to.atStartOfDay());
+    }
+
+    /**
+     * Retrieves the tasks from all quadrants due in a period of time, sorted using their
+     * natural ordering regardless of their quadrant. Tasks without a time are due at midnight.
+     *
+     * @param matrix the matrix holding the tasks.
+     * @param from   the start of the period, inclusive.
+     * @param to     the end of the period, exclusive.
+     * @return a list of the sorted tasks due from {@code from} and before {@code to}.
+     * @throws NullPointerException     if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code from} is after {@code to}.
+     */
+    public static List<Task> getAllTasksDue(EisenhowerMatrix<Task> matrix, LocalDateTime from, LocalDateTime to) {
+        Objects.requireNonNull(matrix, "Matrix cannot be null.");
+        return matrix.getAllTasksBetween(dueAt(from), dueAt(to));
+    }
+
+    /**
+     * Creates a bound for the tasks due at the given date and time, comparing equal to them.
+     *
+     * @param dateTime the date and time of the bound.
+     * @return a task due at the given date and time.
+     * @throws NullPointerException if {@code dateTime} is {@code null}.
+     */
+    private static Task dueAt(LocalDateTime dateTime) {
+        Objects.requireNonNull(dateTime, "Bound cannot be null.");
+        return new Task("", dateTime.toLocalDate(), dateTime.toLocalTime());
+    }
+}
@@ -0,0 +1,449 @@
+package com.eisenhower.matrix;
+
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.util.*;
+
+/**
+ * A full-text index over the textual properties of the tasks of a matrix, by default
+ * {@link TaskProperties#TASK_NAME} and {@link TaskProperties#MORE_INFO}.
+ * <p>
+ * Texts are split into words (maximal runs of letters and digits, in lower case). An inverted index
+ * maps each word to the tasks containing it, so that a keyword search costs as much as the tasks
+ * found, rather than a scan of every task. Words are also kept in a prefix trie, which finds the
+ * words starting with a prefix in time proportional to the prefix and to the words found,
+ * for autocompletion and search as you type.
+ * </p>
+ *
+ * <p>Like {@link PropertyIndex}, the index is registered on the matrix and kept up to date as tasks
+ * are added, removed or moved, and as their indexed properties change. Values which are not
+ * {@link CharSequence}s are not indexed. The index is not thread-safe.</p>
+ *
+ * <p>Example:</p>
+ * <pre>{@code
+ * TextIndex text = new TextIndex(matrix);
+ * Set<Task> found = text.search("quarterly report", Quadrant.SCHEDULE_IT);
+ * Set<Task> typing = text.searchPrefix("quarterly rep");
+ * List<String> suggestions = text.complete("rep", 10);
+ * }</pre>
+ */
+public final class TextIndex extends AbstractTaskIndex {
+
+    private final Set<String> keys;
+
+    // Tasks containing each word
+    private final Map<String, Set<Task>> postings = new HashMap<>();
+
+    // Distinct words of each indexed task, by task instance
+    private final Map<Task, Set<String>> taskWords = new IdentityHashMap<>();
+
+    // Words having at least one posting
+    private final WordTrie words = new WordTrie();
+
+    /**
+     * Creates an index over the name and the additional information of tasks, and registers it
+     * on the matrix. The tasks already in the matrix are indexed right away.
+     *
+     * @param matrix the matrix whose tasks are indexed.
+     * @throws NullPointerException if {@code matrix} is {@code null}.
+     */
+    public TextIndex(AbstractEisenhowerMatrix<Task> matrix) {
+        this(matrix, TaskProperties.TASK_NAME, TaskProperties.MORE_INFO);
+    }
+
+    /**
+     * Creates an index over the given properties of tasks, and registers it on the matrix.
+     * The tasks already in the matrix are indexed right away.
+     *
+     * @param matrix the matrix whose tasks are indexed.
+     * @param keys   the keys of the indexed properties.
+     * @throws NullPointerException     if {@code matrix} or any key is {@code null}.
+     * @throws IllegalArgumentException if no key is given.
+     */
+    public TextIndex(AbstractEisenhowerMatrix<Task> matrix, String... keys) {
+        super(matrix);
+        if (keys.length == 0) {
+            throw new IllegalArgumentException("At least one property must be indexed.");
+        }
+        this.keys = Set.copyOf(Arrays.asList(keys));
+        this.register();
+    }
+
+    /**
+     * Returns the keys of the indexed properties.
+     *
+     * @return an unmodifiable set of keys.
+     */
+    public Set<String> getKeys() {
+        return keys;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Retrieves the tasks of the matrix containing all the words of the given text.
+     *
+     * @param text the words to be searched.
+     * @return a new set of the tasks containing every word, empty if the text has no words.
+     * @throws NullPointerException  if {@code text} is {@code null}.
+     * @throws IllegalStateException if the index has been unregistered.
+     */
+    public Set<Task> search(String text) {
+        return this.findTasks(text, false, null);
+    }
+
+    /**
+     * Retrieves the tasks of a quadrant containing all the words of the given text.
+     *
+     * @param text     the words to be searched.
+     * @param quadrant the quadrant of the tasks.
+     * @return a new set of the tasks containing every word, empty if the text has no words.
+     * @throws NullPointerException  if {@code text} or {@code quadrant} is {@code null}.
+     * @throws IllegalStateException if the index has been unregistered.
+     */
+    public Set<Task> search(String text, Quadrant quadrant) {
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        return this.findTasks(text, false, quadrant);
+    }
+
+    /**
+     * Retrieves the tasks of the matrix matching a text being typed: the last word of the text
+     * is matched as a prefix of a word, and the other ones as whole words.
+     *
+     * @param text the words to be searched.
+     * @return a new set of the tasks matching every word, empty if the text has no words.
+     * @throws NullPointerException  if {@code text} is {@code null}.
+     * @throws IllegalStateException if the index has been unregistered.
+     */
+    public Set<Task> searchPrefix(String text) {
+        return this.findTasks(text, true, null);
+    }
+
+    /**
+     * Retrieves the tasks of a quadrant matching a text being typed: the last word of the text
+     * is matched as a prefix of a word, and the other ones as whole words.
+     *
+     * @param text     the words to be searched.
+     * @param quadrant the quadrant of the tasks.
+     * @return a new set of the tasks matching every word, empty if the text has no words.
+     * @throws NullPointerException  if {@code text} or {@code quadrant} is {@code null}.
+     * @throws IllegalStateException if the index has been unregistered.
+     */
+    public Set<Task> searchPrefix(String text, Quadrant quadrant) {
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        return this.findTasks(text, true, quadrant);
+    }
+
+    /**
+     * Returns the indexed words starting with the given prefix, in alphabetical order.
+     *
+     * @param prefix the beginning of the words (case-insensitive).
+     * @param limit  the maximum number of words to be returned.
+     * @return a new list of at most {@code limit} words.
+     * @throws NullPointerException     if {@code prefix} is {@code null}.
+     * @throws IllegalArgumentException if {@code limit} is negative.
+     * @throws IllegalStateException    if the index has been unregistered.
+     */
+    public List<String> complete(String prefix, int limit) {
+        Objects.requireNonNull(prefix, "Prefix cannot be null.");
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative.");
+        }
+        this.checkRegistered();
+        List<String> completions = new ArrayList<>();
+        words.collect(prefix.toLowerCase(Locale.ROOT), limit, completions);
+        return completions;
+    }
+
+    // ---- Lookups ---------------------------------------------------------- //
+
+    /**
+     * Retrieves the tasks matching all the words of a text.
+     *
+     * @param text       the words to be searched.
+     * @param lastPrefix whether the last word is matched as a prefix.
+     * @param quadrant   the quadrant of the tasks, or {@code null} for any quadrant.
+     * @return a new set of the tasks found.
+     */
+    private Set<Task> findTasks(String text, boolean lastPrefix, Quadrant quadrant) {
+        Objects.requireNonNull(text, "Text cannot be null.");
+        this.checkRegistered();
+        List<String> queryWords = tokenize(text);
+        Set<Task> found = new LinkedHashSet<>();
+        if (queryWords.isEmpty()) {
+            return found;
+        }
+
+        // Tasks must contain every whole word: intersects their postings, starting from the smallest
+        Set<String> wholeWords = new HashSet<>(lastPrefix ? queryWords.subList(0, queryWords.size() - 1) : queryWords);
+        List<Set<Task>> required = new ArrayList<>(wholeWords.size());
+        for (String word : wholeWords) {
+            Set<Task> tasks = postings.get(word);
+            if (tasks == null) {
+                return found;
+            }
+            required.add(tasks);
+        }
+        required.sort(Comparator.comparingInt(Set::size));
+
+        if (!lastPrefix) {
+            this.collectAll(required.get(0), required, 1, quadrant, found);
+            return found;
+        }
+        List<String> completions = new ArrayList<>();
+        words.collect(queryWords.get(queryWords.size() - 1), Integer.MAX_VALUE, completions);
+        for (String completion : completions) {
+            this.collectAll(postings.get(completion), required, 0, quadrant, found);
+        }
+        return found;
+    }
+
+    /**
+     * Adds the given tasks which are in all the required sets, and in the given quadrant, to a set.
+     *
+     * @param tasks    the candidate tasks.
+     * @param required the sets which tasks must belong to.
+     * @param from     the index of the first set to be checked.
+     * @param quadrant the quadrant of the tasks, or {@code null} for any quadrant.
+     * @param result   the set receiving the tasks.
+     */
+    private void collectAll(Set<Task> tasks, List<Set<Task>> required, int from, Quadrant quadrant, Set<Task> result) {
+        candidates:
+        for (Task task : tasks) {
+            for (int i = from; i < required.size(); i++) {
+                if (!required.get(i).contains(task)) {
+                    continue candidates;
+                }
+            }
+            if (this.isIn(task, quadrant)) {
+                result.add(task);
+            }
+        }
+    }
+
+    /**
+     * Splits a text into words: maximal runs of letters and digits, in lower case.
+     *
+     * @param text the text to be split.
+     * @return a new list of the words, in order of appearance.
+     */
+    static List<String> tokenize(CharSequence text) {
+        List<String> tokens = new ArrayList<>();
+        String lowerCase = text.toString().toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i < lowerCase.length(); ) {
+            int codePoint = lowerCase.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start >= 0) {
+            tokens.add(lowerCase.substring(start));
+        }
+        return tokens;
+    }
+
+    // ---- Index maintenance ------------------------------------------------ //
+
+    @Override
+    protected void link(Task task) {
+        Set<String> wordsOfTask = this.wordsOf(task);
+        taskWords.put(task, wordsOfTask);
+        for (String word : wordsOfTask) {
+            this.addPosting(word, task);
+        }
+    }
+
+    @Override
+    protected void unlink(Task task) {
+        for (String word : taskWords.remove(task)) {
+            this.removePosting(word, task);
+        }
+    }
+
+    @Override
+    protected void unlinkAll() {
+        postings.clear();
+        taskWords.clear();
+        words.clear();
+    }
+
+    @Override
+    protected void propertyChanged(Task task, String key, Object oldValue, Object newValue) {
+        if (!keys.contains(key)) {
+            return;
+        }
+        Set<String> oldWords = taskWords.get(task);
+        Set<String> newWords = this.wordsOf(task);
+        taskWords.put(task, newWords);
+        for (String word : oldWords) {
+            if (!newWords.contains(word)) {
+                this.removePosting(word, task);
+            }
+        }
+        for (String word : newWords) {
+            if (!oldWords.contains(word)) {
+                this.addPosting(word, task);
+            }
+        }
+    }
+
+    @Override
+    protected Collection<Task> candidatesEqualTo(Task task) {
+        Iterator<String> wordsOfTask = this.wordsOf(task).iterator();
+        return wordsOfTask.hasNext() ? postings.get(wordsOfTask.next()) : super.candidatesEqualTo(task);
+    }
+
+    private Set<String> wordsOf(Task task) {
+        Set<String> wordsOfTask = new HashSet<>();
+        for (String key : keys) {
+            if (task.getProperty(key) instanceof CharSequence text) {
+                wordsOfTask.addAll(tokenize(text));
+            }
+        }
+        return wordsOfTask;
+    }
+
+    private void addPosting(String word, Task task) {
+        Set<Task> tasks = postings.get(word);
+        if (tasks == null) {
+            tasks = Collections.newSetFromMap(new IdentityHashMap<>());
+            postings.put(word, tasks);
+            words.add(word);
+        }
+        tasks.add(task);
+    }
+
+    private void removePosting(String word, Task task) {
+        Set<Task> tasks = postings.get(word);
+        if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
+            postings.remove(word);
+            words.remove(word);
+        }
+    }
+
+    // ---- Prefix trie ------------------------------------------------------ //
+
+    /**
+     * A trie of words, whose nodes keep their children sorted by character, so that words
+     * are visited in alphabetical order.
+     */
+    private static final class WordTrie {
+
+        private Node root = new Node();
+
+        void add(String word) {
+            Node node = root;
+            node.words++;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.childOrNew(word.charAt(i));
+                node.words++;
+            }
+            node.terminal = true;
+        }
+
+        void remove(String word) {
+            Node node = root;
+            node.words--;
+            for (int i = 0; i < word.length(); i++) {
+                Node child = node.child(word.charAt(i));
+                if (--child.words == 0) {
+                    // The rest of the path only leads to this word
+                    node.removeChild(word.charAt(i));
+                    return;
+                }
+                node = child;
+            }
+            node.terminal = false;
+        }
+
+        void clear() {
+            root = new Node();
+        }
+
+        /**
+         * Adds the words starting with the given prefix to a list, in alphabetical order.
+         *
+         * @param prefix the beginning of the words.
+         * @param limit  the maximum number of words to be added.
+         * @param result the list receiving the words.
+         */
+        void collect(String prefix, int limit, List<String> result) {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            if (node != null && limit > 0) {
+                collect(node, new StringBuilder(prefix), limit, result);
+            }
+        }
+
+        private static void collect(Node node, StringBuilder word, int limit, List<String> result) {
+            if (node.terminal) {
+                result.add(word.toString());
+            }
+            for (int i = 0; i < node.size && result.size() < limit; i++) {
+                word.append(node.keys[i]);
+                collect(node.children[i], word, limit, result);
+                word.setLength(word.length() - 1);
+            }
+        }
+    }
+
+    /**
+     * A node of the trie, with children in arrays sorted by character.
+     */
+    private static final class Node {
+
+        private static final char[] NO_KEYS = {};
+        private static final Node[] NO_CHILDREN = {};
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int size;
+
+        // Number of words ending at or below this node
+        private int words;
+        private boolean terminal;
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            return (index >= 0) ? children[index] : null;
+        }
+
+        Node childOrNew(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            index = -index - 1;
+            if (size == keys.length) {
+                int capacity = Math.max(2, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(children, index, children, index + 1, size - index);
+            Node child = new Node();
+            keys[index] = key;
+            children[index] = child;
+            size++;
+            return child;
+        }
+
+        void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(children, index + 1, children, index, size - index - 1);
+            size--;
+            children[size] = null;
+        }
+    }
+}
@@ -0,0 +1,484 @@
+package com.eisenhower.matrix;
+
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import com.eisenhower.util.TaskPropertyListener;
+import java.time.*;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Promotes tasks of an {@link EisenhowerMatrix} to urgent, as their deadlines approach.
+ * <p>
+ * A task scheduled on the promoter is moved from {@link Quadrant#SCHEDULE_IT} to {@link Quadrant#DO_IT_NOW},
+ * or from {@link Quadrant#ELIMINATE_IT} to {@link Quadrant#DELEGATE_OR_OPTIMIZE_IT}, once the time left
+ * before its deadline gets shorter than a configurable horizon. Tasks found in an urgent quadrant,
+ * or no longer in the matrix, are left as they are.
+ * </p>
+ *
+ * <p>On an {@link AbstractEisenhowerMatrix} ({@link EisenhowerMatrixSet} or {@link EisenhowerMatrixList}),
+ * the promoter follows the matrix: it schedules the tasks in a non-urgent quadrant when it is created
+ * and as they are added, cancels their promotion as they leave, and schedules the {@link Task}s again
+ * when their properties change (such as {@link TaskProperties#DATE}). Promotions found due then are
+ * made by the next {@link #advance()}, rather than while the matrix or the task is being changed.
+ * {@link #unregister()} stops following the matrix. On other matrices, tasks are scheduled explicitly
+ * with {@link #schedule(Comparable)} or {@link #scheduleAll()}.</p>
+ *
+ * <p>Pending promotions are kept in a hierarchical timing wheel: scheduling and cancelling a task
+ * take constant time, and {@link #advance()} only visits the tasks which are due (plus, rarely,
+ * the tasks moved from a coarser level of the wheel to a finer one), instead of scanning the whole
+ * matrix. Time is read from an injectable {@link Clock}, and it is measured in ticks of a configurable
+ * duration: a task is never promoted early, but it may be promoted up to a tick late.</p>
+ *
+ * <p>The promoter doesn't run by itself: {@link #advance()} should be called periodically (e.g. by
+ * a {@link java.util.concurrent.ScheduledExecutorService}, every tick). Its methods are synchronized,
+ * but the matrix is modified by the thread calling {@link #advance()}, so a matrix shared with other
+ * threads should be a {@link ConcurrentEisenhowerMatrix}.</p>
+ *
+ * @param <T> the type of task stored in the matrix.
+ */
+public class UrgencyPromoter<T extends Comparable<T>> {
+
+    // Each level of the wheel has 2^SLOT_BITS slots, covering 2^SLOT_BITS times the span of the previous one
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    // Enough levels to cover any difference between two (non-negative) tick numbers
+    private static final int LEVELS = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+
+    private final EisenhowerMatrix<T> matrix;
+    private final Function<? super T, Instant> deadlines;
+    private final long horizonMillis;
+    private final long tickMillis;
+    private final Clock clock;
+
+    // Pending promotions of each slot of each level, as doubly linked lists
+    private final Entry<T>[][] wheel;
+
+    // Number of pending promotions in each level
+    private final int[] levelSizes = new int[LEVELS];
+
+    // Pending promotion of each scheduled task instance, to cancel or reschedule it
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+
+    // Tasks in a non-urgent quadrant of a followed matrix, by instance, and the listener following them
+    private final Set<Object> followed = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Follower follower = new Follower();
+    private AbstractEisenhowerMatrix<T> observed;
+
+    // Last tick processed by advance()
+    private long currentTick;
+
+    /**
+     * Creates a promoter with a tick of one second.
+     *
+     * @param matrix    the matrix whose tasks are to be promoted.
+     * @param deadlines returns the deadline of a task, or {@code null} if it has none.
+     * @param horizon   how long before its deadline a task becomes urgent.
+     * @param clock     the clock used to read the current time.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code horizon} is negative.
+     */
+    public UrgencyPromoter(EisenhowerMatrix<T> matrix, Function<? super T, Instant> deadlines, Duration horizon, Clock clock) {
+        this(matrix, deadlines, horizon, Duration.ofSeconds(1), clock);
+    }
+
+    /**
+     * Creates a promoter.
+     *
+     * @param matrix    the matrix whose tasks are to be promoted.
+     * @param deadlines returns the deadline of a task, or {@code null} if it has none.
+     * @param horizon   how long before its deadline a task becomes urgent.
+     * @param tick      the time resolution of the promoter, at least one millisecond.
+     * @param clock     the clock used to read the current time.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code horizon} is negative, or {@code tick} is shorter than a millisecond.
+     */
+    @SuppressWarnings("unchecked")
+    public UrgencyPromoter(EisenhowerMatrix<T> matrix, Function<? super T, Instant> deadlines, Duration horizon, Duration tick, Clock clock) {
+        this.matrix = Objects.requireNonNull(matrix, "Matrix cannot be null.");
+        this.deadlines = Objects.requireNonNull(deadlines, "Deadlines function cannot be null.");
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null.");
+        Objects.requireNonNull(horizon, "Horizon cannot be null.");
+        Objects.requireNonNull(tick, "Tick cannot be null.");
+        if (horizon.isNegative()) {
+            throw new IllegalArgumentException("Horizon cannot be negative.");
+        }
+        if (tick.toMillis() < 1) {
+            throw new IllegalArgumentException("Tick must last at least one millisecond.");
+        }
+        this.horizonMillis = horizon.toMillis();
+        this.tickMillis = tick.toMillis();
+        this.wheel = (Entry<T>[][]) new Entry[LEVELS][SLOTS];
+        this.currentTick = Math.floorDiv(clock.millis(), tickMillis);
+
+        if (matrix instanceof AbstractEisenhowerMatrix<T> abstractMatrix) {
+            for (Quadrant quadrant : Quadrant.values()) {
+                if (!quadrant.isUrgent()) {
+                    for (T task : abstractMatrix.getTasks(quadrant)) {
+                        this.follow(task);
+                    }
+                }
+            }
+            abstractMatrix.addObserver(follower);
+            this.observed = abstractMatrix;
+        }
+    }
+
+    /**
+     * Returns the deadline of a {@link Task}, as set by its {@link TaskProperties#DATE} and
+     * {@link TaskProperties#TIME} properties, in the given time zone. A task without time
+     * is due by the end of its date.
+     *
+     * @param zone the time zone of the task dates.
+     * @return a function returning the deadline of a task, or {@code null} if it has no date.
+     * @throws NullPointerException if {@code zone} is {@code null}.
+     */
+    public static Function<Task, Instant> taskDeadlines(ZoneId zone) {
+        Objects.requireNonNull(zone, "Zone cannot be null.");
+        return task -> {
+            if (!(task.getProperty(TaskProperties.DATE) instanceof LocalDate date)) {
+                return null;
+            }
+            if (task.getProperty(TaskProperties.TIME) instanceof LocalTime time) {
+                return date.atTime(time).atZone(zone).toInstant();
+            }
+            return date.plusDays(1).atStartOfDay(zone).toInstant();
+        };
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Schedules the promotion of a task, replacing any previous one for the same task.
+     * A task whose promotion is already due is promoted right away.
+     *
+     * @param task the task to be promoted.
+     * @return {@code true} if the task was scheduled or promoted, {@code false} if it has no deadline.
+     * @throws NullPointerException if {@code task} is {@code null}.
+     */
+    public synchronized boolean schedule(T task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        return this.schedule(task, true);
+    }
+
+    /**
+     * Schedules the promotion of a task, replacing any previous one for the same task.
+     *
+     * @param task       the task to be promoted.
+     * @param promoteDue {@code true} to promote right away a task whose promotion is already due,
+     *                   {@code false} to leave it to the next {@link #advance()}.
+     * @return {@code true} if the task was scheduled or promoted, {@code false} if it has no deadline.
+     */
+    private boolean schedule(T task, boolean promoteDue) {
+        this.cancel(task);
+        Instant deadline = deadlines.apply(task);
+        if (deadline == null) {
+            return false;
+        }
+        long promotionMillis = deadline.toEpochMilli() - horizonMillis;
+        // Rounds up, so that a task is never promoted before its time
+        long dueTick = -Math.floorDiv(-promotionMillis, tickMillis);
+        if (dueTick <= currentTick) {
+            if (promoteDue) {
+                this.promote(task);
+                return true;
+            }
+            dueTick = currentTick + 1;
+        }
+        Entry<T> entry = new Entry<>(task, dueTick);
+        entries.put(task, entry);
+        this.insert(entry);
+        return true;
+    }
+
+    /**
+     * Schedules the promotion of all tasks currently in a non-urgent quadrant of the matrix.
+     *
+     * @return the number of tasks scheduled or promoted.
+     */
+    public synchronized int scheduleAll() {
+        int scheduled = 0;
+        for (Quadrant quadrant : Quadrant.values()) {
+            if (quadrant.isUrgent()) {
+                continue;
+            }
+            for (T task : new ArrayList<>(matrix.getTasks(quadrant))) {
+                if (this.schedule(task)) {
+                    scheduled++;
+                }
+            }
+        }
+        return scheduled;
+    }
+
+    /**
+     * Cancels the pending promotion of a task.
+     *
+     * @param task the task whose promotion is to be cancelled.
+     * @return {@code true} if a promotion was pending, {@code false} otherwise.
+     * @throws NullPointerException if {@code task} is {@code null}.
+     */
+    public synchronized boolean cancel(T task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        Entry<T> entry = entries.remove(task);
+        if (entry == null) {
+            return false;
+        }
+        this.unlink(entry);
+        return true;
+    }
+
+    /**
+     * Stops following the matrix: tasks added to it are not scheduled anymore, and the pending
+     * promotions are left as they are. Unregistering a promoter not following its matrix has no effect.
+     */
+    public synchronized void unregister() {
+        if (observed == null) {
+            return;
+        }
+        observed.removeObserver(follower);
+        observed = null;
+        for (Object task : followed) {
+            if (task instanceof Task followedTask) {
+                followedTask.removePropertyListener(follower);
+            }
+        }
+        followed.clear();
+    }
+
+    /**
+     * Returns the number of pending promotions.
+     *
+     * @return the number of scheduled tasks not yet promoted.
+     */
+    public synchronized int pendingCount() {
+        return entries.size();
+    }
+
+    /**
+     * Promotes all tasks whose promotion is due according to the clock.
+     *
+     * @return the number of tasks moved to an urgent quadrant.
+     */
+    public synchronized int advance() {
+        long targetTick = Math.floorDiv(clock.millis(), tickMillis);
+        int promoted = 0;
+        while (currentTick < targetTick) {
+            currentTick = Math.min(this.nextBusyTick(), targetTick);
+            promoted += this.processTick();
+        }
+        return promoted;
+    }
+
+    // ---- Timing wheel -------------------------------------------------- //
+
+    /**
+     * Returns the next tick which may need processing. Ticks are skipped while the finest levels 
+     * are empty, up to the next slot of the finest level holding some entry.
+     *
+     * @return the next tick after the current one which fires or spreads some slot.
+     */
+    private long nextBusyTick() {
+        int level = 0;
+        while (level < LEVELS - 1 && levelSizes[level] == 0) {
+            level++;
+        }
+        if (levelSizes[level] == 0) {
+            return Long.MAX_VALUE;
+        }
+        long span = 1L << (SLOT_BITS * level);
+        return (Math.floorDiv(currentTick, span) + 1) * span;
+    }
+
+    /**
+     * Processes the current tick: first, slots of coarser levels starting at this tick are spread
+     * over finer levels (from the coarsest one), and then the due slot of the finest level is fired.
+     *
+     * @return the number of tasks moved to an urgent quadrant.
+     */
+    private int processTick() {
+        int topLevel = 0;
+        while (topLevel < LEVELS - 1 && (currentTick & ((1L << (SLOT_BITS * (topLevel + 1))) - 1)) == 0) {
+            topLevel++;
+        }
+        for (int level = topLevel; level > 0; level--) {
+            Entry<T> entry = this.detachSlot(level, this.slotOf(currentTick, level));
+            while (entry != null) {
+                Entry<T> next = entry.next;
+                levelSizes[level]--;
+                this.insert(entry);
+                entry = next;
+            }
+        }
+
+        int promoted = 0;
+        Entry<T> entry = this.detachSlot(0, this.slotOf(currentTick, 0));
+        while (entry != null) {
+            Entry<T> next = entry.next;
+            levelSizes[0]--;
+            entries.remove(entry.task);
+            this.unfollow(entry.task);
+            if (this.promote(entry.task)) {
+                promoted++;
+            }
+            entry = next;
+        }
+        return promoted;
+    }
+
+    /**
+     * Inserts an entry in the finest level whose slots still distinguish its tick from the current one.
+     *
+     * @param entry the entry to be inserted, not linked to any slot.
+     */
+    private void insert(Entry<T> entry) {
+        long difference = entry.dueTick ^ currentTick;
+        int level = (difference == 0) ? 0 : (Long.SIZE - 1 - Long.numberOfLeadingZeros(difference)) / SLOT_BITS;
+        int slot = this.slotOf(entry.dueTick, level);
+        entry.level = level;
+        entry.slot = slot;
+        entry.previous = null;
+        entry.next = wheel[level][slot];
+        if (entry.next != null) {
+            entry.next.previous = entry;
+        }
+        wheel[level][slot] = entry;
+        levelSizes[level]++;
+    }
+
+    /**
+     * Removes an entry from its slot.
+     *
+     * @param entry the entry to be removed.
+     */
+    private void unlink(Entry<T> entry) {
+        if (entry.previous != null) {
+            entry.previous.next = entry.next;
+        } else {
+            wheel[entry.level][entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        }
+        entry.previous = null;
+        entry.next = null;
+        levelSizes[entry.level]--;
+    }
+
+    /**
+     * Empties a slot, returning its entries.
+     *
+     * @param level the level of the slot.
+     * @param slot  the index of the slot.
+     * @return the first of the entries, still linked to each other, or {@code null} if the slot was empty.
+     */
+    private Entry<T> detachSlot(int level, int slot) {
+        Entry<T> first = wheel[level][slot];
+        wheel[level][slot] = null;
+        return first;
+    }
+
+    private int slotOf(long tick, int level) {
+        return (int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK;
+    }
+
+    /**
+     * Moves a task to the urgent quadrant with the same importance, if it is in a non-urgent one.
+     *
+     * @param task the task to be promoted.
+     * @return {@code true} if the task was moved, {@code false} otherwise.
+     */
+    private boolean promote(T task) {
+        Quadrant quadrant = matrix.getQuadrant(task);
+        if (quadrant == null || quadrant.isUrgent()) {
+            return false;
+        }
+        return matrix.moveTask(task, quadrant, Quadrant.getQuadrant(true, quadrant.isImportant()));
+    }
+
+    // ---- Following the matrix ------------------------------------------- //
+
+    /**
+     * Schedules a task of the followed matrix if it is in a non-urgent quadrant, listening to its
+     * changes, or cancels its promotion otherwise.
+     *
+     * @param task a task added to, removed from or changed in the matrix.
+     */
+    private void follow(T task) {
+        boolean nonUrgent = false;
+        for (Quadrant quadrant : matrix.getQuadrants(task)) {
+            nonUrgent |= !quadrant.isUrgent();
+        }
+        if (!nonUrgent) {
+            this.unfollow(task);
+            this.cancel(task);
+            return;
+        }
+        if (followed.add(task) && task instanceof Task followedTask) {
+            followedTask.addPropertyListener(follower);
+        }
+        this.schedule(task, false);
+    }
+
+    private void unfollow(T task) {
+        if (followed.remove(task) && task instanceof Task followedTask) {
+            followedTask.removePropertyListener(follower);
+        }
+    }
+
+    /**
+     * Follows the tasks added to or removed from the matrix, and the changes of their properties.
+     */
+    private final class Follower implements QuadrantObserver<T>, TaskPropertyListener {
+
+        @Override
+        public void taskAdded(Quadrant quadrant, T task, int index) {
+            synchronized (UrgencyPromoter.this) {
+                UrgencyPromoter.this.follow(task);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void taskRemoved(Quadrant quadrant, Object task, int index) {
+            synchronized (UrgencyPromoter.this) {
+                // A set may report another instance equal to the task, whose promotion is then dropped when due
+                if (followed.contains(task)) {
+                    UrgencyPromoter.this.follow((T) task);
+                }
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void propertyChanged(Task task, String key, Object oldValue, Object newValue) {
+            synchronized (UrgencyPromoter.this) {
+                // Still in the matrix, which may not have re-keyed the task yet
+                if (followed.contains(task)) {
+                    UrgencyPromoter.this.schedule((T) task, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * A pending promotion, linked to the other ones of the same slot.
+     */
+    private static final class Entry<T> {
+
+        private final T task;
+        private final long dueTick;
+        private int level;
+        private int slot;
+        private Entry<T> previous;
+        private Entry<T> next;
+
+        Entry(T task, long dueTick) {
+            this.task = task;
+            this.dueTick = dueTick;
+        }
+    }
+}
@@ -0,0 +1,851 @@
+package com.eisenhower.offheap;
+
+import static com.eisenhower.offheap.TaskArena.NONE;
+import com.eisenhower.matrix.EisenhowerMatrix;
+import com.eisenhower.util.EQuadrantsSorting;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.*;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * An Eisenhower matrix whose tasks are stored off-heap, in a {@link TaskArena}, for matrices of
+ * tens of millions of tasks which would otherwise make garbage collections long.
+ * <p>
+ * The quadrant of each task is a slot of its record, and the tasks of each quadrant are linked
+ * through their records in the order they were added. The index of the records and the sorted
+ * order of the quadrants described below are held in direct buffers too, so the heap holds a few
+ * fields per quadrant, whatever the number of tasks. Each task added gets a {@code long} handle,
+ * which stays valid until it is removed from the matrix, even if it is moved to another quadrant. The methods taking
+ * handles ({@link #insert(Task, Quadrant)}, {@link #getTask(long)}, {@link #getQuadrant(long)},
+ * {@link #moveTask(long, Quadrant)}, {@link #removeTask(long)}, {@link #getHandlesSorted(Quadrant)},
+ * {@link #forEachHandle(Quadrant, LongConsumer)} and the field accessors) work in constant time
+ * (or in the size of the quadrant, for the whole quadrant) without creating any {@link Task}.
+ * </p>
+ *
+ * <p>The methods of {@link EisenhowerMatrix} read tasks back as new {@link Task} instances,
+ * {@link Task#deepEquals(Task) deeply equal} to the ones added but without their identity, if any,
+ * and look tasks up by deep equality through an index of the records by the {@link Task#deepHashCode()
+ * deep hash code} of their tasks, kept in their records: only the records with the same hash are
+ * compared, their date, time and priority in place, and read back if these match. Like a list, a
+ * quadrant may hold a task more than once; when it does, the first occurrence is found by walking
+ * the quadrant, without reading any task back. {@link #getTasks(Quadrant)} and {@link #toMap()}
+ * return unmodifiable snapshots instead of live views: add and remove tasks through the methods of
+ * the matrix.</p>
+ *
+ * <p>The sorted order of a quadrant is computed in place the first time it is needed, and kept until
+ * the quadrant changes, so that reading a sorted quadrant page by page sorts it only once.</p>
+ *
+ * <p>Tasks are stored with the limits of {@link TaskArena}: they cannot have subtasks, nor other
+ * properties than the name, location, additional information, date, time and priority. Direct
+ * memory is released once the matrix is garbage collected, and its maximum is set by
+ * {@code -XX:MaxDirectMemorySize}. The matrix is not thread-safe.</p>
+ */
+public final class OffHeapEisenhowerMatrix implements EisenhowerMatrix<Task> {
+
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+
+    private static final int[] NO_RECORDS = new int[0];
+
+    private final TaskArena arena;
+
+    // Records of the tasks, by deep hash code of the tasks
+    private final RecordIndex index;
+
+    // First and last record of each quadrant, and the number of its tasks
+    private final int[] heads;
+    private final int[] tails;
+    private final int[] counts;
+
+    // Records of each quadrant in sorted order, valid for the quadrants whose bit is set
+    private final IntBuffer[] sorted = new IntBuffer[QUADRANTS.length];
+    private int sortedQuadrants;
+
+    // Buffer where the records are merged while a quadrant is sorted
+    private IntBuffer merged;
+
+    /**
+     * Constructs an empty off-heap Eisenhower matrix.
+     */
+    public OffHeapEisenhowerMatrix() {
+        this.arena = new TaskArena();
+        this.index = new RecordIndex(arena);
+        this.heads = new int[QUADRANTS.length];
+        this.tails = new int[QUADRANTS.length];
+        this.counts = new int[QUADRANTS.length];
+        Arrays.fill(heads, NONE);
+        Arrays.fill(tails, NONE);
+    }
+
+    /**
+     * Constructs a copy of a matrix, whose direct buffers are copied in bulk. Handles stay the same.
+     */
+    private OffHeapEisenhowerMatrix(OffHeapEisenhowerMatrix other) {
+        this.arena = new TaskArena(other.arena);
+        this.index = new RecordIndex(other.index, arena);
+        this.heads = other.heads.clone();
+        this.tails = other.tails.clone();
+        this.counts = other.counts.clone();
+    }
+
+    // ---- Handles ---------------------------------------------------------- //
+
+    /**
+     * Adds a task to the end of a quadrant.
+     *
+     * @param task     the task to be added.
+     * @param quadrant the quadrant where the task is added.
+     * @return the handle of the added task.
+     * @throws NullPointerException     if {@code task} or {@code quadrant} is {@code null}.
+     * @throws IllegalArgumentException if the task cannot be stored off-heap (see {@link TaskArena}).
+     */
+    public long insert(Task task, Quadrant quadrant) {
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        long handle = arena.allocate(task);
+        int record = arena.record(handle);
+        index.add(record);
+        this.link(record, quadrant.ordinal());
+        return handle;
+    }
+
+    /**
+     * Reads back a task of the matrix.
+     *
+     * @param handle the handle of the task.
+     * @return a new task, equal to the one added.
+     * @throws IllegalArgumentException if the handle doesn't refer to a task of the matrix.
+     */
+    public Task getTask(long handle) {
+        return arena.get(handle);
+    }
+
+    /**
+     * Retrieves the quadrant of a task.
+     *
+     * @param handle the handle of the task.
+     * @return the quadrant holding the task, or {@code null} if the handle doesn't refer to a task of the matrix.
+     */
+    public Quadrant getQuadrant(long handle) {
+        return arena.isLive(handle) ? QUADRANTS[arena.quadrant(arena.record(handle))] : null;
+    }
+
+    /**
+     * Checks if a handle refers to a task of the matrix.
+     *
+     * @param handle the handle to be checked.
+     * @return {@code true} if the task has been added and not removed.
+     */
+    public boolean containsTask(long handle) {
+        return arena.isLive(handle);
+    }
+
+    /**
+     * Moves a task to the end of another quadrant. Its handle stays the same.
+     *
+     * @param handle the handle of the task.
+     * @param to     the quadrant where the task is moved.
+     * @return {@code true} if the task was moved, {@code false} if it already was in that quadrant.
+     * @throws NullPointerException     if {@code to} is {@code null}.
+     * @throws IllegalArgumentException if the handle doesn't refer to a task of the matrix.
+     */
+    public boolean moveTask(long handle, Quadrant to) {
+        Objects.requireNonNull(to, "Target quadrant cannot be null.");
+        int record = arena.record(handle);
+        if (arena.quadrant(record) == to.ordinal()) {
+            return false;
+        }
+        this.unlink(record);
+        this.link(record, to.ordinal());
+        return true;
+    }
+
+    /**
+     * Removes a task from the matrix, and frees its record.
+     *
+     * @param handle the handle of the task.
+     * @return {@code true} if the task was removed, {@code false} if the handle was already invalid.
+     */
+    public boolean removeTask(long handle) {
+        if (!arena.isLive(handle)) {
+            return false;
+        }
+        this.free(arena.record(handle));
+        return true;
+    }
+
+    /**
+     * Returns the number of tasks of a quadrant.
+     *
+     * @param quadrant the quadrant.
+     * @return the number of tasks in the quadrant.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    public int size(Quadrant quadrant) {
+        return counts[ordinal(quadrant)];
+    }
+
+    /**
+     * Performs an action on the handle of each task of a quadrant, in the order they were added.
+     * The matrix must not be modified by the action.
+     *
+     * @param quadrant the quadrant whose tasks are visited.
+     * @param action   the action to be performed on each handle.
+     * @throws NullPointerException if {@code quadrant} or {@code action} is {@code null}.
+     */
+    public void forEachHandle(Quadrant quadrant, LongConsumer action) {
+        Objects.requireNonNull(action, "Action cannot be null.");
+        for (int record = heads[ordinal(quadrant)]; record != NONE; record = arena.next(record)) {
+            action.accept(arena.handle(record));
+        }
+    }
+
+    /**
+     * Returns the handles of the tasks of a quadrant, in the order they were added.
+     *
+     * @param quadrant the quadrant whose tasks are returned.
+     * @return a new array of handles.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    public long[] getHandles(Quadrant quadrant) {
+        int q = ordinal(quadrant);
+        long[] handles = new long[counts[q]];
+        int i = 0;
+        for (int record = heads[q]; record != NONE; record = arena.next(record)) {
+            handles[i++] = arena.handle(record);
+        }
+        return handles;
+    }
+
+    /**
+     * Returns the handles of the tasks of a quadrant, sorted by the natural ordering of the tasks
+     * (tasks comparing equal are kept in the order they were added). The dates and times are
+     * compared in place, without reading any task back.
+     *
+     * @param quadrant the quadrant whose tasks are returned.
+     * @return a new array of sorted handles.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    public long[] getHandlesSorted(Quadrant quadrant) {
+        int q = ordinal(quadrant);
+        IntBuffer records = this.sortedRecords(q);
+        long[] handles = new long[counts[q]];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = arena.handle(records.get(i));
+        }
+        return handles;
+    }
+
+    /**
+     * Reads the date of a task, as an epoch day.
+     *
+     * @see TaskArena#epochDay(long)
+     */
+    public long epochDay(long handle) {
+        return arena.epochDay(handle);
+    }
+
+    /**
+     * Reads the time of a task, as a nano-of-day ({@code 0} if it has none).
+     *
+     * @see TaskArena#nanoOfDay(long)
+     */
+    public long nanoOfDay(long handle) {
+        return arena.nanoOfDay(handle);
+    }
+
+    /**
+     * Reads the priority of a task, or {@code defaultValue} if it has none.
+     *
+     * @see TaskArena#priority(long, int)
+     */
+    public int priority(long handle, int defaultValue) {
+        return arena.priority(handle, defaultValue);
+    }
+
+    /**
+     * Reads the name of a task.
+     *
+     * @see TaskArena#name(long)
+     */
+    public String name(long handle) {
+        return arena.name(handle);
+    }
+
+    /**
+     * Returns the number of bytes allocated off-heap by the matrix.
+     *
+     * @return the capacity of the direct buffers holding the tasks, their index and the sorted orders.
+     */
+    public long reservedBytes() {
+        long bytes = arena.reservedBytes() + index.reservedBytes();
+        for (IntBuffer records : sorted) {
+            bytes += (records != null) ? (long) records.capacity() * Integer.BYTES : 0;
+        }
+        return bytes + ((merged != null) ? (long) merged.capacity() * Integer.BYTES : 0);
+    }
+
+    // ---- Views ------------------------------------------------------------ //
+
+    @Override
+    public Map<Quadrant, Collection<Task>> toMap() {
+        Map<Quadrant, Collection<Task>> map = new EnumMap<>(Quadrant.class);
+        for (Quadrant quadrant : QUADRANTS) {
+            map.put(quadrant, this.getTasks(quadrant));
+        }
+        return map;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<Task>[][] toMatrix() {
+        Collection<Task>[][] matrix = new Collection[2][2];
+        for (Quadrant quadrant : QUADRANTS) {
+            int row = quadrant.isUrgent() ? 0 : 1;
+            int col = quadrant.isImportant() ? 0 : 1;
+            matrix[row][col] = this.getTasks(quadrant);
+        }
+        return matrix;
+    }
+
+    @Override
+    public Class<?> getImplementingCollectionType() {
+        return List.class;
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public boolean addTask(Task task, Quadrant quadrant) {
+        this.insert(task, quadrant);
+        return true;
+    }
+
+    @Override
+    public boolean addTask(Task task, boolean urgent, boolean important) {
+        return this.addTask(task, Quadrant.getQuadrant(urgent, important));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All the tasks are checked before any is added.
+     * </p>
+     *
+     * @throws IllegalArgumentException if a task cannot be stored off-heap.
+     */
+    @Override
+    public boolean addAllTasks(Quadrant quadrant, Collection<? extends Task> tasks) {
+        Objects.requireNonNull(quadrant, "Quadrant cannot be null.");
+        Objects.requireNonNull(tasks, "Tasks cannot be null.");
+        for (Task task : tasks) {
+            TaskArena.checkStorable(task);
+        }
+        for (Task task : tasks) {
+            this.insert(task, quadrant);
+        }
+        return !tasks.isEmpty();
+    }
+
+    @Override
+    public boolean addAllTasks(boolean urgent, boolean important, Collection<? extends Task> tasks) {
+        return this.addAllTasks(Quadrant.getQuadrant(urgent, important), tasks);
+    }
+
+    @Override
+    public boolean addAllTasks(Map<Quadrant, Collection<? extends Task>> eisenhowerMap) {
+        Objects.requireNonNull(eisenhowerMap, "Eisenhower map cannot be null.");
+        for (Collection<? extends Task> tasks : eisenhowerMap.values()) {
+            for (Task task : tasks) {
+                TaskArena.checkStorable(task);
+            }
+        }
+        boolean modified = false;
+        for (Map.Entry<Quadrant, Collection<? extends Task>> entry : eisenhowerMap.entrySet()) {
+            modified |= this.addAllTasks(entry.getKey(), entry.getValue());
+        }
+        return modified;
+    }
+
+    @Override
+    public void addTaskIfAbsentInQuadrant(Task task, Quadrant quadrant) {
+        if (!this.containsTask(task, quadrant)) {
+            this.insert(task, quadrant);
+        }
+    }
+
+    @Override
+    public void addTaskIfAbsentInQuadrant(Task task, boolean urgent, boolean important) {
+        this.addTaskIfAbsentInQuadrant(task, Quadrant.getQuadrant(urgent, important));
+    }
+
+    @Override
+    public void addTaskIfAbsentInMatrix(Task task, Quadrant quadrant) {
+        if (!this.containsTask(task)) {
+            this.insert(task, quadrant);
+        }
+    }
+
+    @Override
+    public void addTaskIfAbsentInMatrix(Task task, boolean urgent, boolean important) {
+        this.addTaskIfAbsentInMatrix(task, Quadrant.getQuadrant(urgent, important));
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Retrieves the tasks from the specified quadrant, in the order they were added.
+     *
+     * @param quadrant the quadrant from which to retrieve the tasks.
+     * @return an unmodifiable snapshot of the tasks in the quadrant.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    @Override
+    public Collection<Task> getTasks(Quadrant quadrant) {
+        int q = ordinal(quadrant);
+        List<Task> tasks = new ArrayList<>(counts[q]);
+        for (int record = heads[q]; record != NONE; record = arena.next(record)) {
+            tasks.add(arena.task(record));
+        }
+        return Collections.unmodifiableList(tasks);
+    }
+
+    @Override
+    public Collection<Task> getTasks(boolean urgent, boolean important) {
+        return this.getTasks(Quadrant.getQuadrant(urgent, important));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The tasks are sorted by their date and time in place, unless the quadrant hasn't changed
+     * since it was last sorted, then read back.
+     * </p>
+     */
+    @Override
+    public List<Task> getTasksSorted(Quadrant quadrant) {
+        return this.tasks(this.sortedRecords(ordinal(quadrant)), 0, counts[quadrant.ordinal()]);
+    }
+
+    @Override
+    public List<Task> getTasksSorted(boolean urgent, boolean important) {
+        return this.getTasksSorted(Quadrant.getQuadrant(urgent, important));
+    }
+
+    @Override
+    public List<Task> getTasksSorted(Quadrant quadrant, Comparator<Task> comparator) {
+        Objects.requireNonNull(comparator, "Comparator cannot be null.");
+        List<Task> sortedTasks = new ArrayList<>(this.getTasks(quadrant));
+        sortedTasks.sort(comparator);
+        return sortedTasks;
+    }
+
+    @Override
+    public List<Task> getTasksSorted(boolean urgent, boolean important, Comparator<Task> comparator) {
+        return this.getTasksSorted(Quadrant.getQuadrant(urgent, important), comparator);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The sorted order of the quadrant is kept until it changes, and only the tasks of the page
+     * are read back.
+     * </p>
+     */
+    @Override
+    public List<Task> getTasksSorted(Quadrant quadrant, int offset, int limit) {
+        int q = ordinal(quadrant);
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative.");
+        }
+        int from = Math.min(offset, counts[q]);
+        return this.tasks(this.sortedRecords(q), from, from + Math.min(limit, counts[q] - from));
+    }
+
+    @Override
+    public Set<Task> getAllTasks() {
+        Set<Task> allTasks = new HashSet<>();
+        for (Quadrant quadrant : QUADRANTS) {
+            allTasks.addAll(this.getTasks(quadrant));
+        }
+        return allTasks;
+    }
+
+    @Override
+    public List<Task> getAllTasksSorted(EQuadrantsSorting quadrantsOrdering) {
+        List<Task> allTasks = new ArrayList<>();
+        for (Quadrant quadrant : Quadrant.quadrantsSorted(quadrantsOrdering)) {
+            allTasks.addAll(this.getTasksSorted(quadrant));
+        }
+        return allTasks;
+    }
+
+    @Override
+    public List<Task> getAllTasksSorted(Comparator<Task> tasksComparator, EQuadrantsSorting quadrantsOrdering) {
+        Objects.requireNonNull(tasksComparator, "Comparator cannot be null.");
+        List<Task> allTasks = new ArrayList<>();
+        for (Quadrant quadrant : Quadrant.quadrantsSorted(quadrantsOrdering)) {
+            allTasks.addAll(this.getTasksSorted(quadrant, tasksComparator));
+        }
+        return allTasks;
+    }
+
+    @Override
+    public List<Task> getAllTasksSorted(Map<Quadrant, Comparator<Task>> comparators, EQuadrantsSorting quadrantsOrdering) {
+        Objects.requireNonNull(comparators, "Quadrant comparators map cannot be null.");
+        List<Task> allTasks = new ArrayList<>();
+        for (Quadrant quadrant : Quadrant.quadrantsSorted(quadrantsOrdering)) {
+            Comparator<Task> comparator = comparators.get(quadrant);
+            if (comparator == null) {
+                throw new UnsupportedOperationException("Comparator missing for quadrant: " + quadrant);
+            }
+            allTasks.addAll(this.getTasksSorted(quadrant, comparator));
+        }
+        return allTasks;
+    }
+
+    /**
+     * Streams all tasks from all quadrants, sorted by their natural ordering within each quadrant.
+     * Each quadrant is sorted in place when the stream reaches it, unless it hasn't changed since it
+     * was last sorted, and its tasks are read back as they are streamed. The matrix must not be modified while the stream is being consumed.
+     *
+     * @param quadrantsOrdering the order in which quadrants are streamed.
+     * @return an ordered stream of all tasks in the matrix.
+     * @throws NullPointerException if {@code quadrantsOrdering} is {@code null}.
+     */
+    @Override
+    public Stream<Task> streamAllTasksSorted(EQuadrantsSorting quadrantsOrdering) {
+        return Arrays.stream(Quadrant.quadrantsSorted(quadrantsOrdering)).flatMap(quadrant -> {
+            int q = quadrant.ordinal();
+            IntBuffer records = this.sortedRecords(q);
+            return IntStream.range(0, counts[q]).mapToObj(i -> arena.task(records.get(i)));
+        });
+    }
+
+    @Override
+    public Quadrant getQuadrant(Task task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        // Ordinal order matches IMPORTANCE_OVER_URGENCY
+        int first = QUADRANTS.length;
+        for (int record : this.matching(task, NONE)) {
+            first = Math.min(first, arena.quadrant(record));
+        }
+        return (first < QUADRANTS.length) ? QUADRANTS[first] : null;
+    }
+
+    @Override
+    public Set<Quadrant> getQuadrants(Task task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        Set<Quadrant> quadrantsWithTask = EnumSet.noneOf(Quadrant.class);
+        for (int record : this.matching(task, NONE)) {
+            quadrantsWithTask.add(QUADRANTS[arena.quadrant(record)]);
+        }
+        return quadrantsWithTask;
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public boolean containsTask(Task task) {
+        return this.getQuadrant(task) != null;
+    }
+
+    @Override
+    public boolean containsTask(Task task, Quadrant quadrant) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        return this.matching(task, ordinal(quadrant)).length > 0;
+    }
+
+    @Override
+    public boolean containsTask(Task task, boolean urgent, boolean important) {
+        return this.containsTask(task, Quadrant.getQuadrant(urgent, important));
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public boolean removeTask(Task task, Quadrant quadrant) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        int record = this.find(task, ordinal(quadrant));
+        if (record == NONE) {
+            return false;
+        }
+        this.free(record);
+        return true;
+    }
+
+    @Override
+    public boolean removeTask(Task task, boolean urgent, boolean important) {
+        return this.removeTask(task, Quadrant.getQuadrant(urgent, important));
+    }
+
+    @Override
+    public boolean removeTaskOccurrences(Task task, Quadrant quadrant) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        return this.free(this.matching(task, ordinal(quadrant)));
+    }
+
+    @Override
+    public boolean removeTaskOccurrences(Task task, boolean urgent, boolean important) {
+        return this.removeTaskOccurrences(task, Quadrant.getQuadrant(urgent, important));
+    }
+
+    @Override
+    public boolean removeTaskOccurrences(Task task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        return this.free(this.matching(task, NONE));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The first occurrence of the task is relinked to the target quadrant, keeping its handle.
+     * </p>
+     */
+    @Override
+    public boolean moveTask(Task task, Quadrant from, Quadrant to) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        Objects.requireNonNull(from, "Source quadrant cannot be null.");
+        Objects.requireNonNull(to, "Target quadrant cannot be null.");
+        int record = this.find(task, from.ordinal());
+        if (record == NONE) {
+            return false;
+        }
+        if (from != to) {
+            this.unlink(record);
+            this.link(record, to.ordinal());
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tasks are relinked to the target quadrant, keeping their handles. Each task is read back to be tested.
+     * </p>
+     */
+    @Override
+    public int reclassify(Quadrant from, Quadrant to, Predicate<? super Task> filter) {
+        Objects.requireNonNull(from, "Source quadrant cannot be null.");
+        Objects.requireNonNull(to, "Target quadrant cannot be null.");
+        Objects.requireNonNull(filter, "Filter cannot be null.");
+        if (from == to) {
+            return 0;
+        }
+        int moved = 0;
+        for (int record = heads[from.ordinal()]; record != NONE; ) {
+            int next = arena.next(record);
+            if (filter.test(arena.task(record))) {
+                this.unlink(record);
+                this.link(record, to.ordinal());
+                moved++;
+            }
+            record = next;
+        }
+        return moved;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Creates a copy of this matrix, in a new arena, without the tasks of the specified quadrant.
+     * This matrix is left untouched.
+     * <p>
+     * The direct buffers are copied in bulk, without reading any task back, then the records of the
+     * cleared quadrant are freed in place in the copy, which reuses them for its next tasks. The
+     * handles of the remaining tasks are the same in the copy.
+     * </p>
+     *
+     * @param quadrant the quadrant to be cleared.
+     * @return a copy of this Eisenhower Matrix with the specified quadrant cleared.
+     * @throws NullPointerException if {@code quadrant} is {@code null}.
+     */
+    @Override
+    public EisenhowerMatrix<Task> clearQuadrant(Quadrant quadrant) {
+        int cleared = ordinal(quadrant);
+        OffHeapEisenhowerMatrix copy = new OffHeapEisenhowerMatrix(this);
+        for (int record = copy.heads[cleared]; record != NONE; ) {
+            int next = copy.arena.next(record);
+            copy.index.remove(record);
+            copy.arena.freeRecord(record);
+            record = next;
+        }
+        copy.heads[cleared] = NONE;
+        copy.tails[cleared] = NONE;
+        copy.counts[cleared] = 0;
+        return copy;
+    }
+
+    @Override
+    public EisenhowerMatrix<Task> clearQuadrant(boolean urgent, boolean important) {
+        return this.clearQuadrant(Quadrant.getQuadrant(urgent, important));
+    }
+
+    /**
+     * Creates an empty off-heap matrix. This matrix is left untouched.
+     *
+     * @return a new empty matrix.
+     */
+    @Override
+    public EisenhowerMatrix<Task> clearAllTasks() {
+        return new OffHeapEisenhowerMatrix();
+    }
+
+    // ---- Records ---------------------------------------------------------- //
+
+    private void link(int record, int q) {
+        arena.setQuadrant(record, q);
+        arena.setPrevious(record, tails[q]);
+        arena.setNext(record, NONE);
+        if (tails[q] == NONE) {
+            heads[q] = record;
+        } else {
+            arena.setNext(tails[q], record);
+        }
+        tails[q] = record;
+        counts[q]++;
+        sortedQuadrants &= ~(1 << q);
+    }
+
+    private void unlink(int record) {
+        int q = arena.quadrant(record);
+        int previous = arena.previous(record);
+        int next = arena.next(record);
+        if (previous == NONE) {
+            heads[q] = next;
+        } else {
+            arena.setNext(previous, next);
+        }
+        if (next == NONE) {
+            tails[q] = previous;
+        } else {
+            arena.setPrevious(next, previous);
+        }
+        counts[q]--;
+        sortedQuadrants &= ~(1 << q);
+    }
+
+    private void free(int record) {
+        this.unlink(record);
+        index.remove(record);
+        arena.freeRecord(record);
+    }
+
+    private boolean free(int[] records) {
+        for (int record : records) {
+            this.free(record);
+        }
+        return records.length > 0;
+    }
+
+    /**
+     * Returns the first record of a quadrant holding a task equal to the given one, or {@code NONE}.
+     */
+    private int find(Task task, int q) {
+        int[] records = this.matching(task, q);
+        if (records.length <= 1) {
+            return (records.length == 0) ? NONE : records[0];
+        }
+        // Several occurrences: the first one is the closest to the head of the quadrant
+        for (int record = heads[q]; ; record = arena.next(record)) {
+            for (int occurrence : records) {
+                if (occurrence == record) {
+                    return record;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the records of a quadrant (or of any quadrant, if {@code q} is {@code NONE}) holding a
+     * task equal to the given one, looked up by its deep hash code.
+     */
+    private int[] matching(Task task, int q) {
+        int[] records = NO_RECORDS;
+        int count = 0;
+        int hash = task.deepHashCode();
+        for (int slot = index.first(hash); slot != NONE; slot = index.next(hash, slot)) {
+            int record = index.record(slot);
+            if ((q == NONE || arena.quadrant(record) == q) && this.matches(record, task)) {
+                if (count == records.length) {
+                    records = Arrays.copyOf(records, Math.max(2, count * 2));
+                }
+                records[count++] = record;
+            }
+        }
+        return (count == records.length) ? records : Arrays.copyOf(records, count);
+    }
+
+    private boolean matches(int record, Task task) {
+        return arena.mayEqual(record, task) && arena.task(record).deepEquals(task);
+    }
+
+    private List<Task> tasks(IntBuffer records, int from, int to) {
+        List<Task> tasks = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            tasks.add(arena.task(records.get(i)));
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the records of a quadrant sorted by the date and time of their tasks, in its first
+     * {@code counts[q]} positions. The quadrant is sorted with a stable merge sort unless its
+     * sorted order is still valid.
+     */
+    private IntBuffer sortedRecords(int q) {
+        if ((sortedQuadrants & (1 << q)) != 0) {
+            return sorted[q];
+        }
+        int count = counts[q];
+        IntBuffer records = sorted[q] = ensureCapacity(sorted[q], count);
+        IntBuffer buffer = merged = ensureCapacity(merged, count);
+        int i = 0;
+        for (int record = heads[q]; record != NONE; record = arena.next(record)) {
+            records.put(i++, record);
+        }
+        for (int width = 1; width < count; width *= 2) {
+            for (int low = 0; low < count; low += 2 * width) {
+                int middle = Math.min(low + width, count);
+                int high = Math.min(low + 2 * width, count);
+                int left = low;
+                int right = middle;
+                for (int k = low; k < high; k++) {
+                    if (right >= high || (left < middle && arena.compareRecords(records.get(left), records.get(right)) <= 0)) {
+                        buffer.put(k, records.get(left++));
+                    } else {
+                        buffer.put(k, records.get(right++));
+                    }
+                }
+            }
+            IntBuffer swap = records;
+            records = buffer;
+            buffer = swap;
+        }
+        // The sorted records may have ended up in the merge buffer
+        sorted[q] = records;
+        merged = buffer;
+        sortedQuadrants |= 1 << q;
+        return records;
+    }
+
+    /**
+     * Returns a direct buffer of at least the given number of records, reusing the given one if it is large enough.
+     */
+    private static IntBuffer ensureCapacity(IntBuffer records, int count) {
+        if (records != null && records.capacity() >= count) {
+            return records;
+        }
+        int capacity = Math.max(count, (records != null) ? records.capacity() + (records.capacity() >> 1) : 16);
+        return ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    private static int ordinal(Quadrant quadrant) {
+        return Objects.requireNonNull(quadrant, "Quadrant cannot be null.").ordinal();
+    }
+}
@@ -0,0 +1,202 @@
+package com.eisenhower.offheap;
+
+import static com.eisenhower.offheap.TaskArena.NONE;
+import java.nio.ByteBuffer;
+
+/**
+ * An index of the records of a {@link TaskArena} by the {@link com.eisenhower.util.Task#deepHashCode()
+ * deep hash code} of their tasks, so that a task can be looked up without reading back every record.
+ * <p>
+ * Records are stored in an open-addressing hash table with linear probing, at most half full, held
+ * in a direct buffer. Each slot holds the hash and the record of a task in a {@code long} (an empty
+ * slot holds {@code NONE} as record), so that probes don't read the records; the hash of a record
+ * being removed is read from the arena, which keeps it. Several records may have the same hash.
+ * Removals shift the following records of the probe sequence back, so that no tombstone is left.
+ * The index takes 16 to 32 bytes per record off-heap, and a few fields on the heap.
+ * </p>
+ */
+final class RecordIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final long EMPTY = NONE;
+
+    private final TaskArena arena;
+
+    private ByteBuffer slots;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates an empty index of the records of an arena.
+     *
+     * @param arena the arena holding the records, and their hashes.
+     */
+    RecordIndex(TaskArena arena) {
+        this.arena = arena;
+        this.slots = newSlots(INITIAL_CAPACITY);
+        this.mask = INITIAL_CAPACITY - 1;
+    }
+
+    /**
+     * Creates a copy of an index, for a copy of its arena. Its direct buffer is copied in bulk.
+     *
+     * @param other the index to be copied.
+     * @param arena the copy of the arena of {@code other}.
+     */
+    RecordIndex(RecordIndex other, TaskArena arena) {
+        this.arena = arena;
+        this.slots = StringPool.copyOf(other.slots);
+        this.mask = other.mask;
+        this.size = other.size;
+    }
+
+    /**
+     * Indexes a record, by the hash the arena keeps for it.
+     *
+     * @param record the record, not indexed yet.
+     */
+    void add(int record) {
+        int hash = arena.hash(record);
+        int slot = this.slot(hash);
+        while (record(slots, slot) != NONE) {
+            slot = (slot + 1) & mask;
+        }
+        put(slots, slot, hash, record);
+        if (++size * 2 > mask + 1) {
+            this.rehash((mask + 1) * 2);
+        }
+    }
+
+    /**
+     * Removes a record from the index.
+     *
+     * @param record an indexed record, not freed yet.
+     */
+    void remove(int record) {
+        for (int slot = this.slot(arena.hash(record)); record(slots, slot) != NONE; slot = (slot + 1) & mask) {
+            if (record(slots, slot) == record) {
+                this.shiftBack(slot);
+                size--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the first slot holding a record with the given hash.
+     * The index must not be modified while its slots are being visited.
+     *
+     * @param hash the deep hash code of a task.
+     * @return the slot, or {@code NONE} if no record has that hash.
+     */
+    int first(int hash) {
+        return this.find(hash, this.slot(hash));
+    }
+
+    /**
+     * Returns the next slot holding a record with the given hash.
+     *
+     * @param hash the deep hash code of a task.
+     * @param slot a slot returned by {@link #first(int)} or by this method for the same hash.
+     * @return the next slot, or {@code NONE} if there is no other record with that hash.
+     */
+    int next(int hash, int slot) {
+        return this.find(hash, (slot + 1) & mask);
+    }
+
+    /**
+     * Returns the record held by a slot.
+     *
+     * @param slot a slot returned by {@link #first(int)} or {@link #next(int, int)}.
+     * @return the record.
+     */
+    int record(int slot) {
+        return record(slots, slot);
+    }
+
+    /**
+     * Returns the number of bytes allocated off-heap by the index.
+     *
+     * @return the capacity of the direct buffer of the table.
+     */
+    long reservedBytes() {
+        return slots.capacity();
+    }
+
+    // -------------------------------------------------------------------------
+
+    private int find(int hash, int from) {
+        for (int slot = from; record(slots, slot) != NONE; slot = (slot + 1) & mask) {
+            if (hash(slots, slot) == hash) {
+                return slot;
+            }
+        }
+        return NONE;
+    }
+
+    private int slot(int hash) {
+        int spread = hash * 0x9E3779B9;
+        return (spread ^ (spread >>> 16)) & mask;
+    }
+
+    /**
+     * Empties a slot, moving back the records which could not be stored at their slot because of it.
+     */
+    private void shiftBack(int freed) {
+        int slot = freed;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long entry = slots.getLong(slot * Long.BYTES);
+            if ((int) entry == NONE) {
+                break;
+            }
+            int ideal = this.slot((int) (entry >>> 32));
+            // Moves the record back unless its ideal slot lies after the freed one, cyclically
+            boolean movable = (slot > freed) ? (ideal <= freed || ideal > slot) : (ideal <= freed && ideal > slot);
+            if (movable) {
+                slots.putLong(freed * Long.BYTES, entry);
+                freed = slot;
+            }
+        }
+        slots.putLong(freed * Long.BYTES, EMPTY);
+    }
+
+    private void rehash(int capacity) {
+        ByteBuffer oldSlots = slots;
+        int oldCapacity = mask + 1;
+        slots = newSlots(capacity);
+        mask = capacity - 1;
+        for (int oldSlot = 0; oldSlot < oldCapacity; oldSlot++) {
+            int record = record(oldSlots, oldSlot);
+            if (record != NONE) {
+                int hash = hash(oldSlots, oldSlot);
+                int slot = this.slot(hash);
+                while (record(slots, slot) != NONE) {
+                    slot = (slot + 1) & mask;
+                }
+                put(slots, slot, hash, record);
+            }
+        }
+    }
+
+    private static ByteBuffer newSlots(int capacity) {
+        ByteBuffer slots = ByteBuffer.allocateDirect(capacity * Long.BYTES);
+        for (int slot = 0; slot < capacity; slot++) {
+            slots.putLong(slot * Long.BYTES, EMPTY);
+        }
+        return slots;
+    }
+
+    private static int record(ByteBuffer slots, int slot) {
+        return (int) slots.getLong(slot * Long.BYTES);
+    }
+
+    private static int hash(ByteBuffer slots, int slot) {
+        return (int) (slots.getLong(slot * Long.BYTES) >>> 32);
+    }
+
+    private static void put(ByteBuffer slots, int slot, int hash, int record) {
+        slots.putLong(slot * Long.BYTES, ((long) hash << 32) | (record & 0xFFFFFFFFL));
+    }
+}
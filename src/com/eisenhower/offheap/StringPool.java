@@ -0,0 +1,196 @@
+package com.eisenhower.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * The strings of a {@link TaskArena}, stored off-heap as UTF-8 bytes.
+ * <p>
+ * Each string is stored in a block holding its length and its bytes, whose size is the next power
+ * of two (at least 16 bytes), carved out of 1 MiB direct buffers. Freed blocks are kept in a list
+ * per size, linked through their first bytes, and reused by the next strings of the same size.
+ * Strings larger than a buffer get a direct buffer of their own, dropped when they are freed.
+ * </p>
+ *
+ * <p>A string is referred to by a {@code long}: the index of its buffer in the high 32 bits,
+ * and the offset of its block in the low 32 bits.</p>
+ */
+final class StringPool {
+
+    /**
+     * The reference to a {@code null} string.
+     */
+    static final long NULL = -1L;
+
+    private static final int CHUNK_BYTES = 1 << 20;
+    private static final int MIN_BLOCK_SHIFT = 4;
+    private static final int BLOCK_SIZES = Integer.numberOfTrailingZeros(CHUNK_BYTES) - MIN_BLOCK_SHIFT + 1;
+
+    private ByteBuffer[] chunks = new ByteBuffer[4];
+    private int chunksCount;
+
+    // Indexes of the chunks of large strings which have been freed
+    private final Deque<Integer> freeChunks = new ArrayDeque<>();
+
+    // Chunk where new blocks are carved out (-1 if none), and offset of its free space
+    private int currentChunk = -1;
+    private int currentOffset = CHUNK_BYTES;
+
+    // First free block of each size (by power of two minus MIN_BLOCK_SHIFT)
+    private final long[] freeBlocks = new long[BLOCK_SIZES];
+
+    private long reservedBytes;
+
+    StringPool() {
+        Arrays.fill(freeBlocks, NULL);
+    }
+
+    /**
+     * Creates a copy of a pool, holding the same strings under the same references.
+     *
+     * @param other the pool to be copied.
+     */
+    StringPool(StringPool other) {
+        this.chunks = new ByteBuffer[other.chunks.length];
+        for (int i = 0; i < other.chunksCount; i++) {
+            // Chunks of large strings freed are null
+            this.chunks[i] = (other.chunks[i] != null) ? copyOf(other.chunks[i]) : null;
+        }
+        this.chunksCount = other.chunksCount;
+        this.freeChunks.addAll(other.freeChunks);
+        this.currentChunk = other.currentChunk;
+        this.currentOffset = other.currentOffset;
+        System.arraycopy(other.freeBlocks, 0, this.freeBlocks, 0, BLOCK_SIZES);
+        this.reservedBytes = other.reservedBytes;
+    }
+
+    /**
+     * Stores a string.
+     *
+     * @param string the string to be stored, possibly {@code null}.
+     * @return the reference to the string.
+     */
+    long add(String string) {
+        if (string == null) {
+            return NULL;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        int blockBytes = Integer.BYTES + bytes.length;
+        long reference;
+        if (blockBytes > CHUNK_BYTES) {
+            int chunk = this.newChunk(blockBytes);
+            reference = (long) chunk << 32;
+        } else {
+            int size = blockSize(blockBytes);
+            reference = freeBlocks[size];
+            if (reference != NULL) {
+                freeBlocks[size] = this.chunk(reference).getLong(offset(reference));
+            } else {
+                int sizeBytes = 1 << (size + MIN_BLOCK_SHIFT);
+                if (currentOffset + sizeBytes > CHUNK_BYTES) {
+                    currentChunk = this.newChunk(CHUNK_BYTES);
+                    currentOffset = 0;
+                }
+                reference = ((long) currentChunk << 32) | currentOffset;
+                currentOffset += sizeBytes;
+            }
+        }
+        ByteBuffer chunk = this.chunk(reference);
+        chunk.putInt(offset(reference), bytes.length);
+        chunk.put(offset(reference) + Integer.BYTES, bytes);
+        return reference;
+    }
+
+    /**
+     * Reads a string.
+     *
+     * @param reference the reference to the string.
+     * @return the string, possibly {@code null}.
+     */
+    String get(long reference) {
+        if (reference == NULL) {
+            return null;
+        }
+        ByteBuffer chunk = this.chunk(reference);
+        byte[] bytes = new byte[chunk.getInt(offset(reference))];
+        chunk.get(offset(reference) + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Frees a string, so that its block can be reused.
+     *
+     * @param reference the reference to the string, which must not be used anymore.
+     */
+    void free(long reference) {
+        if (reference == NULL) {
+            return;
+        }
+        ByteBuffer chunk = this.chunk(reference);
+        int blockBytes = Integer.BYTES + chunk.getInt(offset(reference));
+        if (blockBytes > CHUNK_BYTES) {
+            int index = (int) (reference >>> 32);
+            reservedBytes -= chunk.capacity();
+            chunks[index] = null;
+            freeChunks.push(index);
+            return;
+        }
+        int size = blockSize(blockBytes);
+        chunk.putLong(offset(reference), freeBlocks[size]);
+        freeBlocks[size] = reference;
+    }
+
+    /**
+     * Returns the number of bytes allocated off-heap for the strings.
+     *
+     * @return the capacity of the direct buffers.
+     */
+    long reservedBytes() {
+        return reservedBytes;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Copies a direct buffer, in bulk.
+     *
+     * @param buffer the buffer to be copied.
+     * @return a new direct buffer, with the same capacity and content.
+     */
+    static ByteBuffer copyOf(ByteBuffer buffer) {
+        ByteBuffer copy = ByteBuffer.allocateDirect(buffer.capacity());
+        copy.put(0, buffer, 0, buffer.capacity());
+        return copy;
+    }
+
+    private int newChunk(int bytes) {
+        ByteBuffer chunk = ByteBuffer.allocateDirect(bytes);
+        reservedBytes += bytes;
+        Integer free = freeChunks.poll();
+        if (free != null) {
+            chunks[free] = chunk;
+            return free;
+        }
+        if (chunksCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunksCount * 2);
+        }
+        chunks[chunksCount] = chunk;
+        return chunksCount++;
+    }
+
+    private ByteBuffer chunk(long reference) {
+        return chunks[(int) (reference >>> 32)];
+    }
+
+    private static int offset(long reference) {
+        return (int) reference;
+    }
+
+    private static int blockSize(int blockBytes) {
+        int shift = Integer.SIZE - Integer.numberOfLeadingZeros(blockBytes - 1);
+        return Math.max(shift, MIN_BLOCK_SHIFT) - MIN_BLOCK_SHIFT;
+    }
+}
@@ -0,0 +1,483 @@
+package com.eisenhower.offheap;
+
+import static com.eisenhower.util.TaskProperties.*;
+import com.eisenhower.util.Task;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * An off-heap store of tasks, which keeps them out of the reach of the garbage collector.
+ * <p>
+ * Each task is stored in a fixed-size record of a direct buffer: its date (as epoch day), its time
+ * (as nano-of-day), its priority, its deep hash code and its quadrant in fixed slots, and its name,
+ * location and additional information as references to a pool of UTF-8 strings held in direct
+ * buffers too.
+ * Records are allocated in 1 MiB buffers and reused once freed, so the heap only holds the
+ * buffer objects, whatever the number of tasks.
+ * </p>
+ *
+ * <p>A stored task is referred to by a {@code long} handle, which stays valid until the task is
+ * freed: handles of freed tasks are recognized as such, even after their record is reused. Tasks
+ * are read back as new {@link Task} instances, deeply equal to the ones stored, while their date, time,
+ * priority and name can also be read without creating any.</p>
+ *
+ * <p>Only the properties with a fixed slot can be stored: {@link com.eisenhower.util.TaskProperties#TASK_NAME TASK_NAME},
+ * {@code LOCATION} and {@code MORE_INFO} as {@link String}s, {@code DATE} as a {@link LocalDate},
+ * {@code TIME} as a {@link LocalTime} and {@code PRIORITY} as an {@link Integer} (or {@code null}).
+ * Tasks with other properties or with subtasks are rejected. The arena is not thread-safe.</p>
+ *
+ * @see OffHeapEisenhowerMatrix
+ */
+public final class TaskArena {
+
+    // Layout of a record
+    static final int RECORD_BYTES = 64;
+    private static final int FLAGS = 0;
+    private static final int GENERATION = 4;
+    private static final int EPOCH_DAY = 8;
+    private static final int NANO_OF_DAY = 16;
+    private static final int PRIORITY_VALUE = 24;
+    private static final int HASH = 28;
+    private static final int STRINGS = 32;
+    private static final int PREVIOUS = 56;
+    private static final int NEXT = 60;
+
+    private static final int CHUNK_RECORDS = (1 << 20) / RECORD_BYTES;
+    private static final int CHUNK_SHIFT = Integer.numberOfTrailingZeros(CHUNK_RECORDS);
+
+    // Flags of a record: the field bits tell whether a property is set, and whether it is null
+    private static final int LIVE = 1;
+    private static final int ATOMIC = 2;
+    private static final int SET_SHIFT = 8;
+    private static final int NULL_SHIFT = 16;
+
+    // The quadrant of a record is kept in the high byte of its flags, plus one (0 for none)
+    private static final int QUADRANT_SHIFT = 24;
+
+    // Properties stored, by field: the first 3 are strings, in the order of their references
+    private static final String[] FIELD_KEYS = {TASK_NAME, LOCATION, MORE_INFO, DATE, TIME, PRIORITY};
+    private static final int STRING_FIELDS = 3;
+    private static final int DATE_FIELD = 3;
+    private static final int TIME_FIELD = 4;
+    private static final int PRIORITY_FIELD = 5;
+
+    /**
+     * The record index returned for no record.
+     */
+    static final int NONE = -1;
+
+    private ByteBuffer[] chunks = new ByteBuffer[4];
+    private int chunksCount;
+
+    // Records used so far, and the first free one (linked through NEXT)
+    private int recordsCount;
+    private int freeRecord = NONE;
+
+    private int size;
+
+    private final StringPool strings;
+
+    /**
+     * Creates an empty arena. Direct buffers are allocated as tasks are stored.
+     */
+    public TaskArena() {
+        this.strings = new StringPool();
+    }
+
+    /**
+     * Creates a copy of an arena, holding the same tasks under the same handles.
+     * Its direct buffers are copied in bulk, without reading any task back.
+     *
+     * @param other the arena to be copied.
+     */
+    TaskArena(TaskArena other) {
+        this.chunks = new ByteBuffer[other.chunks.length];
+        for (int i = 0; i < other.chunksCount; i++) {
+            this.chunks[i] = StringPool.copyOf(other.chunks[i]);
+        }
+        this.chunksCount = other.chunksCount;
+        this.recordsCount = other.recordsCount;
+        this.freeRecord = other.freeRecord;
+        this.size = other.size;
+        this.strings = new StringPool(other.strings);
+    }
+
+    // ---- Tasks ------------------------------------------------------------ //
+
+    /**
+     * Stores a task.
+     *
+     * @param task the task to be stored.
+     * @return the handle of the stored task.
+     * @throws NullPointerException     if {@code task} is {@code null}.
+     * @throws IllegalArgumentException if the task has subtasks, or a property which cannot be stored.
+     */
+    public long allocate(Task task) {
+        checkStorable(task);
+        int record = this.newRecord();
+        ByteBuffer chunk = this.chunk(record);
+        int base = offset(record);
+        int flags = LIVE | (task.isAtomic() ? ATOMIC : 0);
+        for (int field = 0; field < FIELD_KEYS.length; field++) {
+            Object value = task.getProperty(FIELD_KEYS[field]);
+            if (value == null) {
+                if (task.getProperties().containsKey(FIELD_KEYS[field])) {
+                    flags |= (1 << (SET_SHIFT + field)) | (1 << (NULL_SHIFT + field));
+                }
+                if (field < STRING_FIELDS) {
+                    chunk.putLong(base + STRINGS + field * Long.BYTES, StringPool.NULL);
+                }
+                continue;
+            }
+            flags |= 1 << (SET_SHIFT + field);
+            switch (field) {
+                case DATE_FIELD -> chunk.putLong(base + EPOCH_DAY, ((LocalDate) value).toEpochDay());
+                case TIME_FIELD -> chunk.putLong(base + NANO_OF_DAY, ((LocalTime) value).toNanoOfDay());
+                case PRIORITY_FIELD -> chunk.putInt(base + PRIORITY_VALUE, (Integer) value);
+                default -> chunk.putLong(base + STRINGS + field * Long.BYTES, strings.add((String) value));
+            }
+        }
+        if ((flags & (1 << (SET_SHIFT + TIME_FIELD))) == 0 || (flags & (1 << (NULL_SHIFT + TIME_FIELD))) != 0) {
+            // Tasks without a time are sorted at midnight
+            chunk.putLong(base + NANO_OF_DAY, 0L);
+        }
+        chunk.putInt(base + FLAGS, flags);
+        chunk.putInt(base + HASH, task.deepHashCode());
+        chunk.putInt(base + PREVIOUS, NONE);
+        chunk.putInt(base + NEXT, NONE);
+        size++;
+        return this.handle(record);
+    }
+
+    /**
+     * Reads a stored task.
+     *
+     * @param handle the handle of the task.
+     * @return a new task, deeply equal to the one stored.
+     * @throws IllegalArgumentException if the handle doesn't refer to a stored task.
+     */
+    public Task get(long handle) {
+        return this.task(this.record(handle));
+    }
+
+    /**
+     * Frees a stored task. Its handle becomes invalid, and its record may be reused.
+     *
+     * @param handle the handle of the task.
+     * @return {@code true} if the task was freed, {@code false} if the handle was already invalid.
+     */
+    public boolean free(long handle) {
+        if (!this.isLive(handle)) {
+            return false;
+        }
+        this.freeRecord(recordOf(handle));
+        return true;
+    }
+
+    /**
+     * Tells whether a handle refers to a stored task.
+     *
+     * @param handle the handle to be checked.
+     * @return {@code true} if the task has been stored and not freed.
+     */
+    public boolean isLive(long handle) {
+        int record = recordOf(handle);
+        if (record < 0 || record >= recordsCount) {
+            return false;
+        }
+        ByteBuffer chunk = this.chunk(record);
+        int base = offset(record);
+        return (chunk.getInt(base + FLAGS) & LIVE) != 0 && chunk.getInt(base + GENERATION) == (int) (handle >>> 32);
+    }
+
+    /**
+     * Returns the number of stored tasks.
+     *
+     * @return the number of tasks allocated and not freed.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes allocated off-heap, for the records and the strings.
+     *
+     * @return the capacity of the direct buffers of the arena.
+     */
+    public long reservedBytes() {
+        return (long) chunksCount * CHUNK_RECORDS * RECORD_BYTES + strings.reservedBytes();
+    }
+
+    // ---- Fields ----------------------------------------------------------- //
+
+    /**
+     * Reads the date of a stored task, as an epoch day.
+     *
+     * @param handle the handle of the task.
+     * @return the epoch day of the date of the task.
+     * @throws IllegalArgumentException if the handle doesn't refer to a stored task.
+     * @throws NullPointerException     if the task has no date.
+     */
+    public long epochDay(long handle) {
+        int record = this.record(handle);
+        this.checkDate(record);
+        return this.chunk(record).getLong(offset(record) + EPOCH_DAY);
+    }
+
+    /**
+     * Reads the time of a stored task, as a nano-of-day.
+     *
+     * @param handle the handle of the task.
+     * @return the nano-of-day of the time of the task, {@code 0} (midnight) if it has none.
+     * @throws IllegalArgumentException if the handle doesn't refer to a stored task.
+     */
+    public long nanoOfDay(long handle) {
+        int record = this.record(handle);
+        return this.chunk(record).getLong(offset(record) + NANO_OF_DAY);
+    }
+
+    /**
+     * Reads the priority of a stored task.
+     *
+     * @param handle       the handle of the task.
+     * @param defaultValue the value returned if the task has no priority.
+     * @return the priority of the task, or {@code defaultValue}.
+     * @throws IllegalArgumentException if the handle doesn't refer to a stored task.
+     */
+    public int priority(long handle, int defaultValue) {
+        int record = this.record(handle);
+        if (!this.hasValue(record, PRIORITY_FIELD)) {
+            return defaultValue;
+        }
+        return this.chunk(record).getInt(offset(record) + PRIORITY_VALUE);
+    }
+
+    /**
+     * Reads the name of a stored task.
+     *
+     * @param handle the handle of the task.
+     * @return the name of the task, or {@code null} if it has none.
+     * @throws IllegalArgumentException if the handle doesn't refer to a stored task.
+     */
+    public String name(long handle) {
+        int record = this.record(handle);
+        return strings.get(this.chunk(record).getLong(offset(record) + STRINGS));
+    }
+
+    /**
+     * Compares two stored tasks by their natural ordering (see {@link Task#compareTo(Task)}),
+     * without reading them back.
+     *
+     * @param handle      the handle of a task.
+     * @param otherHandle the handle of another task.
+     * @return a negative integer, zero, or a positive integer as the first task is earlier,
+     *         equal to, or later than the second one (tasks without a date come last, 
+     *         as in {@link Task#compareTo(Task)}).
+     * @throws IllegalArgumentException if a handle doesn't refer to a stored task.
+     */
+    public int compare(long handle, long otherHandle) {
+        return this.compareRecords(this.record(handle), this.record(otherHandle));
+    }
+
+    // ---- Records ---------------------------------------------------------- //
+
+    /**
+     * Returns the record of a live task.
+     *
+     * @throws IllegalArgumentException if the handle doesn't refer to a stored task.
+     */
+    int record(long handle) {
+        if (!this.isLive(handle)) {
+            throw new IllegalArgumentException("Invalid task handle: " + handle);
+        }
+        return recordOf(handle);
+    }
+
+    long handle(int record) {
+        return ((long) this.chunk(record).getInt(offset(record) + GENERATION) << 32) | record;
+    }
+
+    private static int recordOf(long handle) {
+        return (int) handle;
+    }
+
+    Task task(int record) {
+        ByteBuffer chunk = this.chunk(record);
+        int base = offset(record);
+        int flags = chunk.getInt(base + FLAGS);
+        Map<String, Object> properties = new HashMap<>();
+        for (int field = 0; field < FIELD_KEYS.length; field++) {
+            if ((flags & (1 << (SET_SHIFT + field))) == 0) {
+                continue;
+            }
+            Object value = null;
+            if ((flags & (1 << (NULL_SHIFT + field))) == 0) {
+                value = switch (field) {
+                    case DATE_FIELD -> LocalDate.ofEpochDay(chunk.getLong(base + EPOCH_DAY));
+                    case TIME_FIELD -> LocalTime.ofNanoOfDay(chunk.getLong(base + NANO_OF_DAY));
+                    case PRIORITY_FIELD -> chunk.getInt(base + PRIORITY_VALUE);
+                    default -> strings.get(chunk.getLong(base + STRINGS + field * Long.BYTES));
+                };
+            }
+            properties.put(FIELD_KEYS[field], value);
+        }
+        return Task.fromProperties(properties, (flags & ATOMIC) != 0);
+    }
+
+    /**
+     * Tells whether a stored task may be equal to a task, comparing the fixed slots only.
+     * Tasks which cannot be stored never match.
+     */
+    boolean mayEqual(int record, Task task) {
+        if (task.subtasksCount() > 0) {
+            return false;
+        }
+        ByteBuffer chunk = this.chunk(record);
+        int base = offset(record);
+        for (int field = STRING_FIELDS; field < FIELD_KEYS.length; field++) {
+            Object value = task.getProperty(FIELD_KEYS[field]);
+            if (this.hasValue(record, field) != (value != null)) {
+                return false;
+            }
+            boolean same = switch (field) {
+                case DATE_FIELD -> !(value instanceof LocalDate date) || date.toEpochDay() == chunk.getLong(base + EPOCH_DAY);
+                case TIME_FIELD -> !(value instanceof LocalTime time) || time.toNanoOfDay() == chunk.getLong(base + NANO_OF_DAY);
+                default -> !(value instanceof Integer priority) || priority == chunk.getInt(base + PRIORITY_VALUE);
+            };
+            if (!same) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int compareRecords(int record, int otherRecord) {
+        ByteBuffer chunk = this.chunk(record);
+        ByteBuffer otherChunk = this.chunk(otherRecord);
+        long epochDay = this.hasValue(record, DATE_FIELD) ? chunk.getLong(offset(record) + EPOCH_DAY) : Long.MAX_VALUE;
+        long otherEpochDay = this.hasValue(otherRecord, DATE_FIELD)
+                ? otherChunk.getLong(offset(otherRecord) + EPOCH_DAY) : Long.MAX_VALUE;
+        int dateComparison = Long.compare(epochDay, otherEpochDay);
+        if (dateComparison != 0) {
+            return dateComparison;
+        }
+        return Long.compare(chunk.getLong(offset(record) + NANO_OF_DAY), otherChunk.getLong(offset(otherRecord) + NANO_OF_DAY));
+    }
+
+    /**
+     * Returns the {@link Task#deepHashCode() deep hash code} of a stored task, computed when it was stored.
+     */
+    int hash(int record) {
+        return this.chunk(record).getInt(offset(record) + HASH);
+    }
+
+    /**
+     * Returns the quadrant ordinal of a record, or {@code NONE} if none was set.
+     */
+    int quadrant(int record) {
+        return (this.chunk(record).getInt(offset(record) + FLAGS) >>> QUADRANT_SHIFT) - 1;
+    }
+
+    void setQuadrant(int record, int quadrant) {
+        ByteBuffer chunk = this.chunk(record);
+        int base = offset(record);
+        int flags = chunk.getInt(base + FLAGS) & ((1 << QUADRANT_SHIFT) - 1);
+        chunk.putInt(base + FLAGS, flags | ((quadrant + 1) << QUADRANT_SHIFT));
+    }
+
+    int previous(int record) {
+        return this.chunk(record).getInt(offset(record) + PREVIOUS);
+    }
+
+    void setPrevious(int record, int previous) {
+        this.chunk(record).putInt(offset(record) + PREVIOUS, previous);
+    }
+
+    int next(int record) {
+        return this.chunk(record).getInt(offset(record) + NEXT);
+    }
+
+    void setNext(int record, int next) {
+        this.chunk(record).putInt(offset(record) + NEXT, next);
+    }
+
+    void freeRecord(int record) {
+        ByteBuffer chunk = this.chunk(record);
+        int base = offset(record);
+        for (int field = 0; field < STRING_FIELDS; field++) {
+            strings.free(chunk.getLong(base + STRINGS + field * Long.BYTES));
+        }
+        chunk.putInt(base + FLAGS, 0);
+        // Invalidates the handles of the task
+        chunk.putInt(base + GENERATION, chunk.getInt(base + GENERATION) + 1);
+        chunk.putInt(base + NEXT, freeRecord);
+        freeRecord = record;
+        size--;
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Checks that a task can be stored.
+     *
+     * @param task the task to be checked.
+     * @throws NullPointerException     if {@code task} is {@code null}.
+     * @throws IllegalArgumentException if the task has subtasks, or a property which cannot be stored.
+     */
+    static void checkStorable(Task task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+        if (task.subtasksCount() > 0) {
+            throw new IllegalArgumentException("Tasks with subtasks cannot be stored off-heap.");
+        }
+        for (Map.Entry<String, Object> property : task.getProperties().entrySet()) {
+            String key = property.getKey();
+            Object value = property.getValue();
+            boolean storable = switch (key) {
+                case TASK_NAME, LOCATION, MORE_INFO -> value == null || value instanceof String;
+                case DATE -> value == null || value instanceof LocalDate;
+                case TIME -> value == null || value instanceof LocalTime;
+                case PRIORITY -> value == null || value instanceof Integer;
+                default -> false;
+            };
+            if (!storable) {
+                throw new IllegalArgumentException("Property cannot be stored off-heap: " + key);
+            }
+        }
+    }
+
+    private boolean hasValue(int record, int field) {
+        int flags = this.chunk(record).getInt(offset(record) + FLAGS);
+        return (flags & (1 << (SET_SHIFT + field))) != 0 && (flags & (1 << (NULL_SHIFT + field))) == 0;
+    }
+
+    private void checkDate(int record) {
+        if (!this.hasValue(record, DATE_FIELD)) {
+            throw new NullPointerException("Task has no date.");
+        }
+    }
+
+    private int newRecord() {
+        if (freeRecord != NONE) {
+            int record = freeRecord;
+            freeRecord = this.next(record);
+            return record;
+        }
+        if (recordsCount == chunksCount * CHUNK_RECORDS) {
+            if (chunksCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunksCount * 2);
+            }
+            chunks[chunksCount++] = ByteBuffer.allocateDirect(CHUNK_RECORDS * RECORD_BYTES);
+        }
+        return recordsCount++;
+    }
+
+    private ByteBuffer chunk(int record) {
+        return chunks[record >>> CHUNK_SHIFT];
+    }
+
+    private static int offset(int record) {
+        return (record & (CHUNK_RECORDS - 1)) * RECORD_BYTES;
+    }
+}
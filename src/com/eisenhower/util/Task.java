@@ -1,8 +1,11 @@
 package com.eisenhower.util;
 
 import static com.eisenhower.util.TaskProperties.*;
+import java.lang.ref.WeakReference;
 import java.time.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 /**
  * Represents a task with customizable properties and optional subtasks. 
@@ -17,17 +20,48 @@ import java.util.*;
  * Tasks can be compared based on their associated date and time, and can be 
  * customized by adding properties dynamically.
  * </p>
+ * 
+ * <p>
+ * By default, two tasks are equal if they hold the same properties and subtasks, so looking 
+ * up a task in a collection compares its whole tree, and modifying a task held by a 
+ * {@link HashSet} makes it unreachable. A task with an identity (see {@link #withIdentity()}) 
+ * has a generated, stable {@link #getId() ID} instead: it is only equal to itself, and its 
+ * hash code doesn't change when it is modified. The structural comparison is still available 
+ * as {@link #deepEquals(Task)} and {@link #deepHashCode()}.
+ * </p>
  */
 public class Task implements Comparable<Task>, Cloneable {
 
-    // Map containing the properties of the task
-    private final Map<String, Object> properties = new HashMap<>();
+    // Generator of the IDs of tasks with an identity (0 means no identity)
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
+    // Map containing the properties of the task (well-known keys are stored in fixed slots)
+    private TaskPropertyMap properties = new TaskPropertyMap();
     
-    // Collection of subtasks (empty if the task is atomic)
-    private final Collection<Task> subtasks = new ArrayList<>();
+    // List of subtasks (null until needed, and always null if the task is atomic)
+    private SubtaskList subtasks;
+    
+    // Tasks having this one as subtask, once per occurrence, held weakly (null if none)
+    private List<WeakReference<Task>> parents;
+    
+    // Listeners notified when a property changes, replaced on each registration (null if none)
+    private volatile TaskPropertyListener[] listeners;
     
     private boolean atomicTask;
     
+    // Stable ID, if the task has an identity (0 otherwise)
+    private long id;
+    
+    // Cached deep hash code (0 if not computed), invalidated when properties or subtasks 
+    // (at any depth) change. A single field, so that it is published atomically to other threads
+    private int hash;
+    
+    // Cached sort key, computed from DATE and TIME and invalidated when they change.
+    // The flag is volatile and written last, so that a thread seeing it set sees both fields
+    private long sortEpochDay;
+    private long sortNanoOfDay;
+    private volatile boolean sortKeyValid;
+    
     
     // ---------------------------------------------------------------------- //
     //  Constructors                                                          //
@@ -104,6 +138,24 @@ public class Task implements Comparable<Task>, Cloneable {
         this.atomicTask = atomicTask;
     }
     
+    /**
+     * Creates a task holding the given properties, such as a task read back from storage.
+     * <p>
+     * Like the protected constructors, it doesn't check that required properties are set.
+     * </p>
+     * 
+     * @param properties The properties of the task.
+     * @param atomicTask {@code true} if the task is atomic, {@code false} otherwise.
+     * @return A new task holding a copy of the given properties.
+     * @throws NullPointerException if {@code properties} is null.
+     */
+    public static Task fromProperties(Map<String, ?> properties, boolean atomicTask) {
+        Objects.requireNonNull(properties, "Properties cannot be null.");
+        Task task = new Task(atomicTask);
+        task.properties.putAll(properties);
+        return task;
+    }
+    
     // ---------------------------------------------------------------------- //
     //  Instance Methods                                                      //
     // ---------------------------------------------------------------------- //
@@ -139,6 +191,15 @@ public class Task implements Comparable<Task>, Cloneable {
     public final int propertiesCount() {
         return properties.size();
     }
+    
+    /**
+     * Returns an unmodifiable view of the properties of the task.
+     * 
+     * @return The properties, by key.
+     */
+    public final Map<String, Object> getProperties() {
+        return Collections.unmodifiableMap(properties);
+    }
 
     /**
      * Adds or updates a property of the task.
@@ -148,7 +209,12 @@ public class Task implements Comparable<Task>, Cloneable {
      * @return The previous value associated with the key, or {@code null} if none existed.
      */
     public final Object putProperty(String key, Object value) {
-        return properties.put(key, value);
+        Object previous = properties.get(key);
+        List<Task> ancestors = this.beforePropertyChange(key, previous, value);
+        this.propertyChanged(key);
+        properties.put(key, value);
+        this.afterPropertyChange(ancestors, key, previous, value);
+        return previous;
     }
 
     /**
@@ -159,7 +225,15 @@ public class Task implements Comparable<Task>, Cloneable {
      * @return The previous value associated with the key, or {@code null} if none existed.
      */
     public final Object putPropertyIfAbsent(String key, Object value) {
-        return properties.putIfAbsent(key, value);
+        Object previous = properties.get(key);
+        if (previous != null) {
+            return previous;
+        }
+        List<Task> ancestors = this.beforePropertyChange(key, null, value);
+        this.propertyChanged(key);
+        properties.put(key, value);
+        this.afterPropertyChange(ancestors, key, null, value);
+        return null;
     }
 
     /**
@@ -198,7 +272,15 @@ public class Task implements Comparable<Task>, Cloneable {
         if (getRequiredProperties().contains(key)) {
             throw new UnsupportedOperationException("This property is required and cannot be removed.");
         }
-        return properties.remove(key);
+        if (!properties.containsKey(key)) {
+            return null;
+        }
+        Object previous = properties.get(key);
+        List<Task> ancestors = this.beforePropertyChange(key, previous, null);
+        this.propertyChanged(key);
+        properties.remove(key);
+        this.afterPropertyChange(ancestors, key, previous, null);
+        return previous;
     }
 
     /**
@@ -212,7 +294,304 @@ public class Task implements Comparable<Task>, Cloneable {
     public final Object replaceProperty(String key, Object newValue) {
         Objects.requireNonNull(key, "Key cannot be null.");
         Objects.requireNonNull(newValue, "New value for an existing entry cannot be null.");
-        return properties.replace(key, newValue);
+        if (!properties.containsKey(key)) {
+            return null;
+        }
+        Object previous = properties.get(key);
+        List<Task> ancestors = this.beforePropertyChange(key, previous, newValue);
+        this.propertyChanged(key);
+        properties.put(key, newValue);
+        this.afterPropertyChange(ancestors, key, previous, newValue);
+        return previous;
+    }
+    
+    /**
+     * Registers a listener, to be notified whenever a property of this task changes.
+     * A listener registered more than once is notified as many times.
+     * <p>
+     * Listeners are not copied by {@link #clone()}. They may be registered and unregistered 
+     * from any thread, and even while being notified: a notification goes to the listeners 
+     * registered when it started.
+     * </p>
+     * 
+     * @param listener The listener to be registered.
+     * @throws NullPointerException if {@code listener} is null.
+     */
+    public final synchronized void addPropertyListener(TaskPropertyListener listener) {
+        Objects.requireNonNull(listener, "Listener cannot be null.");
+        TaskPropertyListener[] current = listeners;
+        if (current == null) {
+            listeners = new TaskPropertyListener[] { listener };
+        } else {
+            TaskPropertyListener[] extended = Arrays.copyOf(current, current.length + 1);
+            extended[current.length] = listener;
+            listeners = extended;
+        }
+    }
+    
+    /**
+     * Unregisters a listener, once.
+     * 
+     * @param listener The listener to be unregistered.
+     * @return {@code true} if the listener was registered, {@code false} otherwise.
+     */
+    public final synchronized boolean removePropertyListener(TaskPropertyListener listener) {
+        TaskPropertyListener[] current = listeners;
+        if (current == null) {
+            return false;
+        }
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                if (current.length == 1) {
+                    listeners = null;
+                } else {
+                    TaskPropertyListener[] reduced = new TaskPropertyListener[current.length - 1];
+                    System.arraycopy(current, 0, reduced, 0, i);
+                    System.arraycopy(current, i + 1, reduced, i, current.length - i - 1);
+                    listeners = reduced;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Notifies the listeners that a property is about to change: first the listeners of this task, 
+     * then those of the tasks containing it (at any depth), as a change of their subtasks.
+     * <p>
+     * If a listener of this task rejects the change, the listeners already notified are told 
+     * that the property has not changed, and the exception is rethrown.
+     * </p>
+     * 
+     * @param key The key of the property.
+     * @param oldValue The current value of the property.
+     * @param newValue The value about to be set.
+     * @return The tasks containing this one whose listeners have been notified.
+     */
+    private List<Task> beforePropertyChange(String key, Object oldValue, Object newValue) {
+        TaskPropertyListener[] notified = listeners;
+        if (notified != null) {
+            for (int i = 0; i < notified.length; i++) {
+                try {
+                    notified[i].propertyChanging(this, key, oldValue, newValue);
+                } catch (RuntimeException | Error e) {
+                    for (int j = 0; j < i; j++) {
+                        notified[j].propertyChanged(this, key, oldValue, oldValue);
+                    }
+                    throw e;
+                }
+            }
+        }
+        List<Task> ancestors = this.observedAncestors();
+        notifySubtasksChanging(ancestors);
+        return ancestors;
+    }
+    
+    /**
+     * Notifies the listeners that a property has changed: first the listeners of this task, 
+     * then those of the tasks containing it, which were notified of the upcoming change.
+     * 
+     * @param ancestors The tasks returned by {@link #beforePropertyChange(String, Object, Object)}.
+     * @param key The key of the property.
+     * @param oldValue The previous value of the property.
+     * @param newValue The current value of the property.
+     */
+    private void afterPropertyChange(List<Task> ancestors, String key, Object oldValue, Object newValue) {
+        TaskPropertyListener[] notified = listeners;
+        if (notified != null) {
+            for (TaskPropertyListener listener : notified) {
+                listener.propertyChanged(this, key, oldValue, newValue);
+            }
+        }
+        notifySubtasksChanged(ancestors);
+    }
+    
+    /**
+     * Notifies the listeners of this task and of the tasks containing it (at any depth) 
+     * that the subtasks of this task are about to change.
+     * 
+     * @return The tasks whose listeners have been notified.
+     */
+    private List<Task> beforeSubtasksChange() {
+        List<Task> ancestors = this.observedAncestors();
+        List<Task> changing = ancestors;
+        if (listeners != null) {
+            changing = new ArrayList<>(ancestors.size() + 1);
+            changing.add(this);
+            changing.addAll(ancestors);
+        }
+        notifySubtasksChanging(changing);
+        return changing;
+    }
+    
+    private static void notifySubtasksChanging(List<Task> tasks) {
+        for (Task task : tasks) {
+            TaskPropertyListener[] notified = task.listeners;
+            if (notified != null) {
+                for (TaskPropertyListener listener : notified) {
+                    listener.subtasksChanging(task);
+                }
+            }
+        }
+    }
+    
+    private static void notifySubtasksChanged(List<Task> tasks) {
+        for (Task task : tasks) {
+            TaskPropertyListener[] notified = task.listeners;
+            if (notified != null) {
+                for (TaskPropertyListener listener : notified) {
+                    listener.subtasksChanged(task);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Returns the tasks containing this one as a subtask, at any depth, which have listeners.
+     * Each of them is returned once, even if it contains this task through several paths.
+     * 
+     * @return The observed ancestors of this task, possibly none.
+     */
+    private List<Task> observedAncestors() {
+        if (parents == null) {
+            return List.of();
+        }
+        List<Task> observed = new ArrayList<>();
+        Set<Task> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Task> pending = new ArrayDeque<>();
+        this.pushParents(pending);
+        while (!pending.isEmpty()) {
+            Task ancestor = pending.pop();
+            if (!visited.add(ancestor)) {
+                continue;
+            }
+            if (ancestor.listeners != null) {
+                observed.add(ancestor);
+            }
+            ancestor.pushParents(pending);
+        }
+        return observed;
+    }
+    
+    /**
+     * Pushes the parents of this task which have not been garbage collected.
+     * 
+     * @param tasks The stack receiving the parents.
+     */
+    private void pushParents(Deque<Task> tasks) {
+        if (parents == null) {
+            return;
+        }
+        for (WeakReference<Task> reference : parents) {
+            Task parent = reference.get();
+            if (parent != null) {
+                tasks.push(parent);
+            }
+        }
+    }
+    
+    /**
+     * Invalidates the cached values depending on the given property: the hash code, 
+     * and the sort key if the property is used to compute it.
+     * 
+     * @param key The key of the property being modified.
+     * @see #compareTo(Task)
+     * @see #hashCode()
+     */
+    private void propertyChanged(String key) {
+        if (DATE.equals(key) || TIME.equals(key)) {
+            sortKeyValid = false;
+        }
+        this.invalidateHashCode();
+    }
+    
+    /**
+     * Invalidates the cached hash code of this task, and of all tasks containing it 
+     * as a subtask (at any depth).
+     * <p>
+     * A task can only have a valid hash code if all its subtasks do, since computing it 
+     * caches theirs too. Therefore, the propagation stops at tasks whose hash code is 
+     * already invalid.
+     * </p>
+     */
+    private void invalidateHashCode() {
+        if (hash == 0) {
+            return;
+        }
+        hash = 0;
+        if (parents != null) {
+            for (WeakReference<Task> reference : parents) {
+                Task parent = reference.get();
+                if (parent != null) {
+                    parent.invalidateHashCode();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Records that this task has been added as subtask of the given one.
+     * <p>
+     * Parents are held weakly: a task sharing its subtasks with others, such as a copy made 
+     * by {@link #clone()}, can be garbage collected without being removed from them. The 
+     * references to collected parents are dropped each time the number of parents reaches 
+     * a power of two, so that dropping them costs a constant time per parent, on average.
+     * </p>
+     * 
+     * @param parent The task containing this one.
+     */
+    private void addParent(Task parent) {
+        if (parents == null) {
+            parents = new ArrayList<>(1);
+        } else if (Integer.bitCount(parents.size()) == 1) {
+            parents.removeIf(reference -> reference.get() == null);
+        }
+        parents.add(new WeakReference<>(parent));
+    }
+    
+    /**
+     * Records that this task has been removed, once, from the subtasks of the given one.
+     * 
+     * @param parent The task which contained this one.
+     */
+    private void removeParent(Task parent) {
+        if (parents == null) {
+            return;
+        }
+        for (int i = 0; i < parents.size(); i++) {
+            if (parents.get(i).get() == parent) {
+                parents.remove(i);
+                break;
+            }
+        }
+        if (parents.isEmpty()) {
+            parents = null;
+        }
+    }
+    
+    /**
+     * Computes the sort key from the current date and time, if not already cached.
+     * The date is stored as epoch day and the time as nano-of-day, so that comparing 
+     * the two primitive fields is equivalent to comparing their {@link LocalDateTime}.
+     * A task without a date gets an epoch day greater than any date's, so that it comes last.
+     * <p>
+     * The valid flag is written after both fields: as it is volatile, tasks compared by 
+     * several threads at once, such as under a shared read lock, never use a half-written key.
+     * </p>
+     * 
+     * @throws ClassCastException if date or time are not a {@link LocalDate} and a {@link LocalTime}.
+     */
+    private void ensureSortKey() {
+        if (sortKeyValid) {
+            return;
+        }
+        LocalDate date = (LocalDate) properties.get(DATE);
+        LocalTime time = (LocalTime) properties.get(TIME);
+        
+        sortEpochDay = (date != null) ? date.toEpochDay() : Long.MAX_VALUE;
+        sortNanoOfDay = (time != null) ? time.toNanoOfDay() : 0L;
+        sortKeyValid = true;
     }
     
     // -------------------------------------------------------------------------
@@ -221,12 +600,44 @@ public class Task implements Comparable<Task>, Cloneable {
      * Returns the subtasks of this task.
      * <p>
      * If the task is atomic, the list will be empty and unmodifiable.
+     * Otherwise, the returned collection is live and modifiable.
      * </p>
      * 
      * @return A collection of subtasks, or an empty list if the task is atomic.
      */
     public Collection<Task> getSubtasks() {
-        return atomicTask ? List.of() : subtasks;
+        return atomicTask ? List.of() : this.subtasks();
+    }
+    
+    /**
+     * Returns the number of direct subtasks of this task, without allocating their list.
+     * 
+     * @return The number of subtasks, {@code 0} if the task is atomic.
+     */
+    public final int subtasksCount() {
+        return (subtasks != null) ? subtasks.size() : 0;
+    }
+    
+    /**
+     * Checks if this task is atomic, that is it cannot have subtasks.
+     * 
+     * @return {@code true} if the task is atomic, {@code false} otherwise.
+     */
+    public final boolean isAtomic() {
+        return atomicTask;
+    }
+    
+    /**
+     * Returns the modifiable list of subtasks of this non-atomic task, 
+     * allocating it on first use.
+     * 
+     * @return the list of subtasks.
+     */
+    private SubtaskList subtasks() {
+        if (subtasks == null) {
+            subtasks = new SubtaskList();
+        }
+        return subtasks;
     }
 
     /**
@@ -239,7 +650,7 @@ public class Task implements Comparable<Task>, Cloneable {
         if (subtask == null || subtask.equals(this) || atomicTask) {
             return false;
         }
-        return this.getSubtasks().add(subtask);
+        return this.subtasks().add(subtask);
     }
 
     /**
@@ -252,7 +663,7 @@ public class Task implements Comparable<Task>, Cloneable {
         if (tasks == null || tasks.isEmpty() || atomicTask) {
             return false;
         }
-        return this.getSubtasks().addAll(tasks);
+        return this.subtasks().addAll(tasks);
     }
 
     /**
@@ -262,10 +673,10 @@ public class Task implements Comparable<Task>, Cloneable {
      * @return {@code true} if the subtask was removed, {@code false} otherwise.
      */
     public final boolean removeSubtask(Task subtask) {
-        if (subtask == null) {
+        if (subtask == null || subtasks == null) {
             return false;
         }
-        return this.getSubtasks().remove(subtask);
+        return subtasks.remove(subtask);
     }
 
     /**
@@ -275,10 +686,10 @@ public class Task implements Comparable<Task>, Cloneable {
      * @return {@code true} if the subtasks were removed, {@code false} otherwise.
      */
     public final boolean removeAllSubtasks(Collection<Task> tasks) {
-        if (tasks == null || tasks.isEmpty()) {
+        if (tasks == null || tasks.isEmpty() || subtasks == null) {
             return false;
         }
-        return this.getSubtasks().removeAll(tasks);
+        return subtasks.removeAll(tasks);
     }
 
     /**
@@ -288,8 +699,8 @@ public class Task implements Comparable<Task>, Cloneable {
      * </p>
      */
     public final void clearSubtasks() {
-        if (!atomicTask) {
-            this.getSubtasks().clear();
+        if (subtasks != null) {
+            subtasks.clear();
         }
     }
     
@@ -310,8 +721,8 @@ public class Task implements Comparable<Task>, Cloneable {
         }
         
         Task clonedTask = new Task(true);
-        clonedTask.properties.putAll(this.properties);
-        clonedTask.subtasks.clear();
+        clonedTask.properties = new TaskPropertyMap(this.properties);
+        clonedTask.id = this.copyId();
         return clonedTask;
     }
     
@@ -330,19 +741,85 @@ public class Task implements Comparable<Task>, Cloneable {
         }
         
         Task clonedTask = new Task(false);
-        clonedTask.properties.putAll(this.properties);
-        clonedTask.subtasks.clear();
+        clonedTask.properties = new TaskPropertyMap(this.properties);
+        clonedTask.id = this.copyId();
         return clonedTask;
     }
 
+    // -------------------------------------------------------------------------
+    
+    /**
+     * Returns a copy of this task, with an identity: a generated {@link #getId() ID}, 
+     * which stays the same as long as the task lives, whatever changes are made to it.
+     * If this already has an identity, the method returns this.
+     * <p>
+     * The copy holds the same properties and subtasks, but it is only {@link #equals(Object) equal} 
+     * to itself, and its {@link #hashCode() hash code} is derived from its ID. Therefore, 
+     * collections of tasks (such as the quadrants of a matrix) look it up in constant time, 
+     * whatever the size of its subtask tree, and keep finding it after it has been modified. 
+     * Copies made later by {@link #clone()}, {@link #turnIntoAtomic()} and {@link #allowSubtasks()} 
+     * have an identity too, with an ID of their own.
+     * </p>
+     * 
+     * @return a copy of this task, with an identity.
+     * @see #deepEquals(Task)
+     */
+    public Task withIdentity() {
+        if (this.hasIdentity()) {
+            return this;
+        }
+        
+        Task identifiedTask = (Task) this.clone();
+        identifiedTask.id = NEXT_ID.getAndIncrement();
+        return identifiedTask;
+    }
+    
+    /**
+     * Checks if this task has an identity, that is a stable ID used for equality.
+     * 
+     * @return {@code true} if the task has an identity, {@code false} otherwise.
+     * @see #withIdentity()
+     */
+    public final boolean hasIdentity() {
+        return id != 0;
+    }
+    
+    /**
+     * Returns the ID of this task. IDs are positive, unique among the tasks created 
+     * by this JVM, and generated in increasing order.
+     * 
+     * @return the ID of this task.
+     * @throws IllegalStateException if the task has no identity.
+     * @see #withIdentity()
+     */
+    public final long getId() {
+        if (id == 0) {
+            throw new IllegalStateException("Task has no identity.");
+        }
+        return id;
+    }
+    
+    /**
+     * Returns the ID for a copy of this task: a new one if this has an identity, none otherwise.
+     * 
+     * @return the ID of the copy, {@code 0} if none.
+     */
+    private long copyId() {
+        return (id != 0) ? NEXT_ID.getAndIncrement() : 0;
+    }
+
     // ---- Override the following methods for equality and comparison ------ //
     
     /**
      * This equal {@code obj} if the other object is a task and both contain
      * the same property and subtasks.
+     * <p>
+     * A task with an {@link #hasIdentity() identity} is only equal to itself.
+     * </p>
      * 
      * @param obj
      * @return 
+     * @see #deepEquals(Task)
      */
     @Override
     public final boolean equals(Object obj) {
@@ -353,17 +830,114 @@ public class Task implements Comparable<Task>, Cloneable {
             return false;
         }
         final Task other = (Task) obj;
-        return Objects.equals(this.properties, other.properties) 
-                && Objects.equals(this.getSubtasks(), other.getSubtasks());
+        if (this.hasIdentity() || other.hasIdentity()) {
+            return false;
+        }
+        return this.deepEquals(other);
     }
 
+    /**
+     * Returns the hash code of this task, computed from its properties and subtasks.
+     * <p>
+     * The value is cached, and only recomputed after a property or a subtask 
+     * (at any depth) has been changed.
+     * A task with an {@link #hasIdentity() identity} returns the hash code of its ID instead.
+     * </p>
+     * 
+     * @return the hash code of this task.
+     * @see #deepHashCode()
+     */
     @Override
     public final int hashCode() {
-        return Objects.hash(this.properties, getSubtasks());
+        return (id != 0) ? Long.hashCode(id) : this.deepHashCode();
+    }
+    
+    /**
+     * Checks if this task holds the same properties and subtasks as another one, comparing 
+     * subtasks the same way (at any depth), regardless of identities.
+     * For tasks without an identity, it is the same comparison as {@link #equals(Object)}.
+     * 
+     * @param other The task to compare to.
+     * @return {@code true} if both tasks are of the same class and hold equal properties, 
+     *         and deeply equal subtasks in the same order, {@code false} otherwise.
+     */
+    public final boolean deepEquals(Task other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        int thisHash = this.hash;
+        int otherHash = other.hash;
+        if (thisHash != 0 && otherHash != 0 && thisHash != otherHash) {
+            return false;
+        }
+        if (!Objects.equals(this.properties, other.properties)) {
+            return false;
+        }
+        List<Task> thisSubtasks = this.subtaskList();
+        List<Task> otherSubtasks = other.subtaskList();
+        if (thisSubtasks.size() != otherSubtasks.size()) {
+            return false;
+        }
+        for (int i = 0; i < thisSubtasks.size(); i++) {
+            if (!thisSubtasks.get(i).deepEquals(otherSubtasks.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Returns the hash code of the properties and subtasks of this task (at any depth), 
+     * consistent with {@link #deepEquals(Task)}.
+     * For tasks without an identity, it is the same value as {@link #hashCode()}.
+     * <p>
+     * The value is cached, and only recomputed after a property or a subtask 
+     * (at any depth) has been changed. As for {@link String#hashCode()}, the cache is 
+     * a single field where 0 means "not computed", so that a thread never sees a 
+     * stale value marked as valid; a computed value of 0 is cached as 1 instead.
+     * </p>
+     * 
+     * @return the deep hash code of this task.
+     */
+    public final int deepHashCode() {
+        int h = hash;
+        if (h == 0) {
+            // Same value as Objects.hash(properties, subtasks), but with the deep hash of subtasks
+            int subtasksHash = 1;
+            for (Task subtask : this.subtaskList()) {
+                subtasksHash = 31 * subtasksHash + subtask.deepHashCode();
+            }
+            h = 31 * (31 + properties.hashCode()) + subtasksHash;
+            // Never cache 0, which would be taken as "not computed" and stop invalidations
+            if (h == 0) {
+                h = 1;
+            }
+            hash = h;
+        }
+        return h;
+    }
+    
+    /**
+     * Returns the list of subtasks considered for equality, regardless of any 
+     * override of {@link #getSubtasks()}.
+     * 
+     * @return the subtasks, or an empty list if the task is atomic.
+     */
+    private List<Task> subtaskList() {
+        return (subtasks != null) ? subtasks : List.of();
     }
 
     /**
      * Compares this task with another task, based on their date and time.
+     * Tasks without a time are considered to be at midnight, and tasks without a date 
+     * come after all the others.
+     * <p>
+     * The comparison relies on a primitive sort key cached by each task, which is 
+     * recomputed only after its date or time has been changed: it doesn't allocate.
+     * </p>
      * 
      * @param other The other task to compare to.
      * @return A negative integer, zero, or a positive integer as this task is earlier, 
@@ -371,27 +945,158 @@ public class Task implements Comparable<Task>, Cloneable {
      */
     @Override
     public int compareTo(Task other) {
-        LocalDate thisDate = (LocalDate) this.getProperty(DATE);
-        LocalDate otherDate = (LocalDate) other.getProperty(DATE);
+        this.ensureSortKey();
+        other.ensureSortKey();
         
-        LocalTime thisTime = (LocalTime) this.getPropertyOrDefault(TIME, LocalTime.of(0, 0));
-        LocalTime otherTime = (LocalTime) other.getPropertyOrDefault(TIME, LocalTime.of(0, 0));
-
-        return LocalDateTime.of(thisDate, thisTime)
-                .compareTo(LocalDateTime.of(otherDate, otherTime));
+        int dateComparison = Long.compare(this.sortEpochDay, other.sortEpochDay);
+        if (dateComparison != 0) {
+            return dateComparison;
+        }
+        return Long.compare(this.sortNanoOfDay, other.sortNanoOfDay);
     }
 
     @Override
     public Object clone() {
         try {
             Task clonedTask = (Task) super.clone();
-            clonedTask.properties.clear();
-            clonedTask.properties.putAll(this.properties);
-            clonedTask.subtasks.clear();
-            clonedTask.subtasks.addAll(this.subtasks);
+            clonedTask.properties = new TaskPropertyMap(this.properties);
+            clonedTask.parents = null;
+            clonedTask.listeners = null;
+            clonedTask.subtasks = null;
+            clonedTask.id = this.copyId();
+            if (this.subtasks != null) {
+                clonedTask.subtasks().addAll(this.subtasks);
+            }
             return clonedTask;
         } catch (ClassCastException | CloneNotSupportedException ex) {
             return null;
         }
     }
+    
+    // ---------------------------------------------------------------------- //
+    //  Subtasks                                                              //
+    // ---------------------------------------------------------------------- //
+    
+    /**
+     * The list of subtasks of a task. 
+     * It keeps track of the parents of each subtask, invalidates the cached hash code 
+     * of the owning task on each modification, and notifies the listeners of the owning 
+     * task and of the tasks containing it before and after.
+     * <p>
+     * Subtasks keep a weak reference to their parent tasks, until they are removed from them.
+     * </p>
+     */
+    private final class SubtaskList extends AbstractList<Task> {
+        
+        private final ArrayList<Task> elements = new ArrayList<>();
+
+        @Override
+        public int size() {
+            return elements.size();
+        }
+
+        @Override
+        public Task get(int index) {
+            return elements.get(index);
+        }
+
+        @Override
+        public Task set(int index, Task subtask) {
+            Objects.requireNonNull(subtask, "Subtask cannot be null.");
+            Objects.checkIndex(index, elements.size());
+            List<Task> changing = Task.this.beforeSubtasksChange();
+            try {
+                Task previous = elements.set(index, subtask);
+                previous.removeParent(Task.this);
+                subtask.addParent(Task.this);
+                Task.this.invalidateHashCode();
+                return previous;
+            } finally {
+                notifySubtasksChanged(changing);
+            }
+        }
+
+        @Override
+        public void add(int index, Task subtask) {
+            Objects.requireNonNull(subtask, "Subtask cannot be null.");
+            Objects.checkIndex(index, elements.size() + 1);
+            List<Task> changing = Task.this.beforeSubtasksChange();
+            try {
+                elements.add(index, subtask);
+                subtask.addParent(Task.this);
+                modCount++;
+                Task.this.invalidateHashCode();
+            } finally {
+                notifySubtasksChanged(changing);
+            }
+        }
+
+        @Override
+        public Task remove(int index) {
+            Objects.checkIndex(index, elements.size());
+            List<Task> changing = Task.this.beforeSubtasksChange();
+            try {
+                Task removed = elements.remove(index);
+                removed.removeParent(Task.this);
+                modCount++;
+                Task.this.invalidateHashCode();
+                return removed;
+            } finally {
+                notifySubtasksChanged(changing);
+            }
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> tasks) {
+            Objects.requireNonNull(tasks, "Tasks collection cannot be null.");
+            return this.removeIf(tasks::contains);
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super Task> filter) {
+            Objects.requireNonNull(filter, "Filter cannot be null.");
+            if (elements.isEmpty()) {
+                return false;
+            }
+            List<Task> changing = Task.this.beforeSubtasksChange();
+            try {
+                List<Task> removedTasks = new ArrayList<>();
+                boolean modified = elements.removeIf(subtask -> {
+                    if (filter.test(subtask)) {
+                        removedTasks.add(subtask);
+                        return true;
+                    }
+                    return false;
+                });
+                if (modified) {
+                    for (Task subtask : removedTasks) {
+                        subtask.removeParent(Task.this);
+                    }
+                    modCount++;
+                    Task.this.invalidateHashCode();
+                }
+                return modified;
+            } finally {
+                notifySubtasksChanged(changing);
+            }
+        }
+
+        @Override
+        public void clear() {
+            if (elements.isEmpty()) {
+                return;
+            }
+            List<Task> changing = Task.this.beforeSubtasksChange();
+            try {
+                for (Task subtask : elements) {
+                    subtask.removeParent(Task.this);
+                }
+                elements.clear();
+                modCount++;
+                Task.this.invalidateHashCode();
+            } finally {
+                notifySubtasksChanged(changing);
+            }
+        }
+    }
 }
@@ -0,0 +1,71 @@
+package com.eisenhower.util;
+
+/**
+ * Listens to the changes of the properties of a {@link Task}.
+ * <p>
+ * Listeners are notified after the change, only if the task actually held, or now holds,
+ * a value for the property. They should not modify the task they are notified about.
+ * </p>
+ *
+ * <p>Listeners can also be notified just before a change, and of the changes made to the subtasks
+ * of the task at any depth, which change its {@link Task#equals(Object) equality} and
+ * {@link Task#hashCode() hash code} but not its own properties: indexes keyed by the task
+ * use them to take it out before the change, and put it back afterwards.</p>
+ *
+ * @see Task#addPropertyListener(TaskPropertyListener)
+ */
+@FunctionalInterface
+public interface TaskPropertyListener {
+
+    /**
+     * Called after a property of a task has been added, replaced or removed.
+     * <p>
+     * If the change has been rejected by a listener (see
+     * {@link #propertyChanging(Task, String, Object, Object) propertyChanging}), the listeners
+     * already notified of the upcoming change are called with {@code newValue} being {@code oldValue}.
+     * </p>
+     *
+     * @param task     the task whose property changed.
+     * @param key      the key of the property.
+     * @param oldValue the previous value of the property, or {@code null} if it was not set.
+     * @param newValue the current value of the property, or {@code null} if it has been removed.
+     */
+    void propertyChanged(Task task, String key, Object oldValue, Object newValue);
+
+    /**
+     * Called before a property of a task is added, replaced or removed.
+     * <p>
+     * A listener may reject the change by throwing an exception, which is rethrown to the caller:
+     * the property is then left unchanged, and the listeners already notified of the upcoming
+     * change are notified that it has not happened. By default, it does nothing.
+     * </p>
+     *
+     * @param task     the task whose property is about to change.
+     * @param key      the key of the property.
+     * @param oldValue the current value of the property, or {@code null} if it is not set.
+     * @param newValue the value about to be set, or {@code null} if the property is about to be removed.
+     */
+    default void propertyChanging(Task task, String key, Object oldValue, Object newValue) {
+    }
+
+    /**
+     * Called before the subtasks of a task change, at any depth: a subtask is about to be added,
+     * removed or replaced, or a property or the subtasks of one of its subtasks are about to change.
+     * It is always followed by {@link #subtasksChanged(Task)}, and must not throw.
+     * By default, it does nothing.
+     *
+     * @param task the task whose subtasks are about to change.
+     */
+    default void subtasksChanging(Task task) {
+    }
+
+    /**
+     * Called after the subtasks of a task have changed, at any depth.
+     * By default, it does nothing.
+     *
+     * @param task the task whose subtasks changed.
+     * @see #subtasksChanging(Task)
+     */
+    default void subtasksChanged(Task task) {
+    }
+}
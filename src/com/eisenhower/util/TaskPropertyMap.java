@@ -0,0 +1,329 @@
+package com.eisenhower.util;
+
+import static com.eisenhower.util.TaskProperties.*;
+import java.util.*;
+
+/**
+ * The map holding the properties of a {@link Task}.
+ * <p>
+ * The well-known keys declared in {@link TaskProperties} are stored in fixed slots of an array,
+ * whose presence is tracked by a bitmask. The array is only as long as the highest slot in use,
+ * and slots are ordered by how commonly they are set (name and date first). Any other (custom) 
+ * key is stored in a small overflow map, allocated only when the first custom property is added. 
+ * This avoids the table and the per-entry nodes of a {@link HashMap} for the properties held 
+ * by most tasks.
+ * </p>
+ *
+ * <p>Apart from memory layout, it behaves like a {@link HashMap}: {@code null} keys and values
+ * are allowed, and {@link #equals(Object)} and {@link #hashCode()} follow the {@link Map} contract.</p>
+ */
+final class TaskPropertyMap extends AbstractMap<String, Object> {
+
+    // Keys stored in fixed slots, indexed by slot number
+    private static final String[] SLOT_KEYS = {TASK_NAME, DATE, TIME, PRIORITY, LOCATION, MORE_INFO, IMAGE};
+    
+    // Shared array for maps without well-known properties
+    private static final Object[] NO_SLOTS = {};
+
+    // Values of the well-known properties, indexed by slot number (up to the highest one in use)
+    private Object[] slots = NO_SLOTS;
+
+    // Bitmask of the slots holding a value (which may be null)
+    private int presentSlots;
+
+    // Properties with custom keys (null if none)
+    private Map<String, Object> customProperties;
+
+    /**
+     * Constructs an empty map of properties.
+     */
+    TaskPropertyMap() {
+    }
+
+    /**
+     * Constructs a map of properties, with the same mappings as the given one.
+     *
+     * @param other the map whose properties are to be copied.
+     */
+    TaskPropertyMap(TaskPropertyMap other) {
+        this.slots = (other.slots.length > 0) ? other.slots.clone() : NO_SLOTS;
+        this.presentSlots = other.presentSlots;
+        if (other.customProperties != null) {
+            this.customProperties = new HashMap<>(other.customProperties);
+        }
+    }
+
+    /**
+     * Returns the slot reserved to the given key.
+     *
+     * @param key the property key.
+     * @return the slot number, or {@code -1} if the key is a custom one.
+     */
+    private static int slotOf(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        return switch ((String) key) {
+            case TASK_NAME -> 0;
+            case DATE -> 1;
+            case TIME -> 2;
+            case PRIORITY -> 3;
+            case LOCATION -> 4;
+            case MORE_INFO -> 5;
+            case IMAGE -> 6;
+            default -> -1;
+        };
+    }
+
+    private boolean isPresent(int slot) {
+        return (presentSlots & (1 << slot)) != 0;
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public int size() {
+        int size = Integer.bitCount(presentSlots);
+        return (customProperties != null) ? size + customProperties.size() : size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            return this.isPresent(slot);
+        }
+        return (customProperties != null) && customProperties.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            return (slot < slots.length) ? slots[slot] : null;
+        }
+        return (customProperties != null) ? customProperties.get(key) : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            if (slot >= slots.length) {
+                slots = Arrays.copyOf(slots, slot + 1);
+            }
+            Object previous = slots[slot];
+            slots[slot] = value;
+            presentSlots |= (1 << slot);
+            return previous;
+        }
+        if (customProperties == null) {
+            customProperties = new HashMap<>(4);
+        }
+        return customProperties.put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            return this.removeSlot(slot);
+        }
+        if (customProperties == null) {
+            return null;
+        }
+        Object previous = customProperties.remove(key);
+        if (customProperties.isEmpty()) {
+            customProperties = null;
+        }
+        return previous;
+    }
+
+    /**
+     * Removes the value held by a slot.
+     *
+     * @param slot the slot number.
+     * @return the removed value, or {@code null} if the slot was empty.
+     */
+    private Object removeSlot(int slot) {
+        if (!this.isPresent(slot)) {
+            return null;
+        }
+        Object previous = slots[slot];
+        slots[slot] = null;
+        presentSlots &= ~(1 << slot);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        slots = NO_SLOTS;
+        presentSlots = 0;
+        customProperties = null;
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TaskPropertyMap)) {
+            return super.equals(obj);
+        }
+        TaskPropertyMap other = (TaskPropertyMap) obj;
+        if (this.presentSlots != other.presentSlots) {
+            return false;
+        }
+        for (int slot = 0; slot < SLOT_KEYS.length; slot++) {
+            if (this.isPresent(slot) && !Objects.equals(this.slots[slot], other.slots[slot])) {
+                return false;
+            }
+        }
+        Map<String, Object> thisCustom = (this.customProperties != null) ? this.customProperties : Map.of();
+        Map<String, Object> otherCustom = (other.customProperties != null) ? other.customProperties : Map.of();
+        return thisCustom.equals(otherCustom);
+    }
+
+    @Override
+    public int hashCode() {
+        // Same value as the sum of the hash codes of the entries, as required by Map
+        int hash = 0;
+        for (int slot = 0; slot < SLOT_KEYS.length; slot++) {
+            if (this.isPresent(slot)) {
+                hash += SLOT_KEYS[slot].hashCode() ^ Objects.hashCode(slots[slot]);
+            }
+        }
+        return (customProperties != null) ? hash + customProperties.hashCode() : hash;
+    }
+
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return TaskPropertyMap.this.size();
+            }
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+        };
+    }
+
+    /**
+     * Iterates over the properties held by slots first, and then over custom ones.
+     */
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private int nextSlot = this.findSlot(0);
+        private int lastSlot = -1;
+        private Iterator<Entry<String, Object>> customIterator;
+
+        /**
+         * Finds the first slot holding a value, starting from the given one.
+         *
+         * @param from the first slot to check.
+         * @return the slot number, or the number of slots if none is found.
+         */
+        private int findSlot(int from) {
+            int slot = from;
+            while (slot < SLOT_KEYS.length && !isPresent(slot)) {
+                slot++;
+            }
+            return slot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextSlot < SLOT_KEYS.length) {
+                return true;
+            }
+            if (customIterator == null) {
+                if (customProperties == null) {
+                    return false;
+                }
+                customIterator = customProperties.entrySet().iterator();
+            }
+            return customIterator.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (nextSlot < SLOT_KEYS.length) {
+                lastSlot = nextSlot;
+                nextSlot = this.findSlot(nextSlot + 1);
+                return new SlotEntry(lastSlot);
+            }
+            lastSlot = -1;
+            return customIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastSlot >= 0) {
+                removeSlot(lastSlot);
+                lastSlot = -1;
+            } else if (customIterator != null) {
+                customIterator.remove();
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    /**
+     * A property held by a slot, writing through to it.
+     */
+    private final class SlotEntry implements Entry<String, Object> {
+
+        private final int slot;
+
+        SlotEntry(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public String getKey() {
+            return SLOT_KEYS[slot];
+        }
+
+        @Override
+        public Object getValue() {
+            return slots[slot];
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object previous = slots[slot];
+            slots[slot] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> other = (Entry<?, ?>) obj;
+            return Objects.equals(this.getKey(), other.getKey()) && Objects.equals(this.getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return this.getKey().hashCode() ^ Objects.hashCode(this.getValue());
+        }
+
+        @Override
+        public String toString() {
+            return this.getKey() + "=" + this.getValue();
+        }
+    }
+}
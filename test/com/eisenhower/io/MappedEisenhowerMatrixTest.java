@@ -0,0 +1,161 @@
+package com.eisenhower.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eisenhower.matrix.EisenhowerMatrix;
+import com.eisenhower.matrix.EisenhowerMatrixList;
+import com.eisenhower.matrix.EisenhowerMatrixSet;
+import com.eisenhower.matrix.TaskPeriods;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of {@link MappedEisenhowerMatrix}: indexed snapshots served as the matrices written.
+ */
+class MappedEisenhowerMatrixTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 3);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void servesListSnapshot() throws IOException {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task report = new Task("Write report", DATE.plusDays(2));
+        report.putProperty(TaskProperties.LOCATION, "Office");
+        Task call = new Task("Call supplier", DATE, LocalTime.NOON);
+        Task plan = new Task("Plan week", DATE);
+        matrix.addTask(report, Quadrant.DO_IT_NOW);
+        matrix.addTask(call, Quadrant.DO_IT_NOW);
+        matrix.addTask(plan, Quadrant.DO_IT_NOW);
+        matrix.addTask(call, Quadrant.ELIMINATE_IT);
+
+        MappedEisenhowerMatrix mapped = MappedEisenhowerMatrix.open(this.write(matrix, true));
+
+        assertEquals(List.class, mapped.getImplementingCollectionType());
+        for (Quadrant quadrant : Quadrant.values()) {
+            assertEquals(matrix.getTasks(quadrant), List.copyOf(mapped.getTasks(quadrant)));
+            assertEquals(matrix.getTasksSorted(quadrant), mapped.getTasksSorted(quadrant));
+        }
+        assertEquals(List.of(call, report), mapped.getTasksSorted(Quadrant.DO_IT_NOW, 1, 5));
+        assertEquals(2, mapped.rankOf(report, Quadrant.DO_IT_NOW));
+        assertEquals(List.of(plan, call), TaskPeriods.getTasksDue(mapped, Quadrant.DO_IT_NOW, DATE, DATE.plusDays(1)));
+        assertEquals(EnumSet.of(Quadrant.DO_IT_NOW, Quadrant.ELIMINATE_IT), mapped.getQuadrants(call));
+        assertEquals(Quadrant.DO_IT_NOW, mapped.getQuadrant(call));
+        assertFalse(mapped.containsTask(new Task("Write report", DATE.plusDays(2))));
+    }
+
+    @Test
+    void servesSetSnapshotAsReadOnly() throws IOException {
+        EisenhowerMatrixSet<Task> matrix = new EisenhowerMatrixSet<>();
+        Task report = new Task("Write report", DATE);
+        Task plan = new Task("Plan week", DATE.plusDays(1));
+        matrix.addTask(report, Quadrant.SCHEDULE_IT);
+        matrix.addTask(plan, Quadrant.DELEGATE_OR_OPTIMIZE_IT);
+
+        MappedEisenhowerMatrix mapped = MappedEisenhowerMatrix.open(this.write(matrix, true));
+
+        assertEquals(Set.class, mapped.getImplementingCollectionType());
+        assertEquals(Set.of(report, plan), mapped.getAllTasks());
+        assertTrue(mapped.containsTask(report, Quadrant.SCHEDULE_IT));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.addTask(report, Quadrant.DO_IT_NOW));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.removeTask(report, Quadrant.SCHEDULE_IT));
+
+        EisenhowerMatrix<Task> copy = mapped.clearQuadrant(Quadrant.SCHEDULE_IT);
+        assertTrue(copy.addTask(new Task("Book room", DATE), Quadrant.SCHEDULE_IT));
+        assertEquals(Set.of(plan), Set.copyOf(copy.getTasks(Quadrant.DELEGATE_OR_OPTIMIZE_IT)));
+        assertEquals(Set.of(report), Set.copyOf(mapped.getTasks(Quadrant.SCHEDULE_IT)));
+    }
+
+    @Test
+    void locatesRangesWithoutDecodingTasks() throws IOException {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            Task task = new Task("Task " + i, DATE.plusDays(random.nextInt(10)));
+            // Properties of every type around the date and time, which are skipped
+            task.putProperty("attempts", random.nextInt(5));
+            task.putProperty(TaskProperties.LOCATION, "Room " + random.nextInt(5));
+            if (random.nextBoolean()) {
+                task.putProperty(TaskProperties.TIME, LocalTime.of(random.nextInt(24), 0));
+            }
+            task.putProperty("estimate", random.nextDouble());
+            task.putProperty("created", DATE.atTime(9, 0));
+            task.putProperty("size", (long) i << 40);
+            task.putProperty("done", random.nextBoolean());
+            matrix.addTask(task, Quadrant.SCHEDULE_IT);
+        }
+
+        MappedEisenhowerMatrix mapped = MappedEisenhowerMatrix.open(this.write(matrix, true));
+
+        for (int i = 0; i < 50; i++) {
+            LocalDate day = DATE.plusDays(random.nextInt(10));
+            Task from = new Task("From", day, LocalTime.of(random.nextInt(24), 0));
+            Task to = new Task("To", day.plusDays(1 + random.nextInt(4)));
+            assertEquals(matrix.getTasksBetween(Quadrant.SCHEDULE_IT, from, to), mapped.getTasksBetween(Quadrant.SCHEDULE_IT, from, to));
+        }
+        for (Task task : matrix.getTasks(Quadrant.SCHEDULE_IT)) {
+            assertEquals(matrix.rankOf(task, Quadrant.SCHEDULE_IT), mapped.rankOf(task, Quadrant.SCHEDULE_IT));
+        }
+    }
+
+    @Test
+    void rejectsHashTableWithoutEmptySlot() throws IOException {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        matrix.addTask(new Task("Write report", DATE), Quadrant.DO_IT_NOW);
+        Path path = this.write(matrix, true);
+
+        // The table ends the index, before its offset and magic number, and follows its capacity
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+        int tableEnd = bytes.limit() - 2 * Integer.BYTES;
+        int capacity = 1;
+        while (bytes.getInt(tableEnd - capacity * 3 * Integer.BYTES - Integer.BYTES) != capacity) {
+            capacity *= 2;
+        }
+        for (int slot = 0; slot < capacity; slot++) {
+            // Identifier + 1 of the task in the slot
+            bytes.putInt(tableEnd - (capacity - slot) * 3 * Integer.BYTES + Integer.BYTES, 1);
+        }
+        Files.write(path, bytes.array());
+        MappedEisenhowerMatrix mapped = MappedEisenhowerMatrix.open(path);
+
+        assertThrows(UncheckedIOException.class, () -> mapped.containsTask(new Task("Missing", DATE)));
+    }
+
+    @Test
+    void rejectsSnapshotWithoutIndex() throws IOException {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        matrix.addTask(new Task("Write report", DATE), Quadrant.DO_IT_NOW);
+        Path path = this.write(matrix, false);
+
+        assertThrows(IOException.class, () -> MappedEisenhowerMatrix.open(path));
+    }
+
+    // -------------------------------------------------------------------------
+
+    private Path write(EisenhowerMatrix<Task> matrix, boolean indexed) throws IOException {
+        Path path = directory.resolve("matrix.emx");
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try (MatrixWriter writer = new MatrixWriter(channel, indexed)) {
+            writer.writeMatrix(matrix);
+        }
+        return path;
+    }
+}
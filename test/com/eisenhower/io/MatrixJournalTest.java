@@ -0,0 +1,239 @@
+package com.eisenhower.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eisenhower.matrix.AbstractEisenhowerMatrix;
+import com.eisenhower.matrix.AbstractTaskIndex;
+import com.eisenhower.matrix.EisenhowerMatrixList;
+import com.eisenhower.matrix.EisenhowerMatrixSet;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import com.eisenhower.util.TaskPropertyListener;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of {@link MatrixJournal}: recovery from the checkpoint and the log, and rejection of the
+ * changes which cannot be logged.
+ */
+class MatrixJournalTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 3);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysListChanges() throws IOException {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        try (MatrixJournal journal = new MatrixJournal(directory, matrix)) {
+            Task report = new Task("Write report", DATE);
+            Task call = new Task("Call supplier", DATE.plusDays(1));
+            List<Task> doNow = (List<Task>) matrix.getTasks(Quadrant.DO_IT_NOW);
+            doNow.add(report);
+            doNow.add(0, call);
+            doNow.add(report);
+            report.putProperty(TaskProperties.LOCATION, "Office");
+            call.putProperty("phone", "555-0100");
+            report.removeProperty(TaskProperties.LOCATION);
+            report.putProperty("attempts", 2);
+            doNow.set(1, new Task("Book room", DATE));
+            matrix.addTask(new Task("Plan week", DATE), Quadrant.SCHEDULE_IT);
+            matrix.getTasks(Quadrant.SCHEDULE_IT).clear();
+            matrix.addTask(new Task("Archive mails", DATE), Quadrant.ELIMINATE_IT);
+            doNow.removeIf(task -> task == call);
+        }
+
+        assertRecovered(matrix, this.reopenList());
+    }
+
+    @Test
+    void replaysSetChanges() throws IOException {
+        EisenhowerMatrixSet<Task> matrix = new EisenhowerMatrixSet<>();
+        try (MatrixJournal journal = new MatrixJournal(directory, matrix)) {
+            Task report = new Task("Write report", DATE);
+            matrix.addTask(report, Quadrant.DO_IT_NOW);
+            Task call = new Task("Call supplier", DATE);
+            matrix.addTask(call, Quadrant.DO_IT_NOW);
+            matrix.addTask(new Task("Plan week", DATE), Quadrant.SCHEDULE_IT);
+            report.putProperty(TaskProperties.LOCATION, "Office");
+            matrix.getTasks(Quadrant.DO_IT_NOW).removeIf(task -> task == call);
+            matrix.getTasks(Quadrant.SCHEDULE_IT).clear();
+        }
+
+        EisenhowerMatrixSet<Task> recovered = new EisenhowerMatrixSet<>();
+        new MatrixJournal(directory, recovered).close();
+        for (Quadrant quadrant : Quadrant.values()) {
+            assertEquals(new HashSet<>(matrix.getTasks(quadrant)), new HashSet<>(recovered.getTasks(quadrant)));
+        }
+    }
+
+    @Test
+    void recoversFromCheckpointAndLog() throws IOException {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        try (MatrixJournal journal = new MatrixJournal(directory, matrix)) {
+            matrix.addTask(new Task("Write report", DATE), Quadrant.DO_IT_NOW);
+            journal.checkpoint();
+            Task call = new Task("Call supplier", DATE);
+            matrix.addTask(call, Quadrant.SCHEDULE_IT);
+            call.putProperty(TaskProperties.LOCATION, "Phone");
+        }
+
+        assertEquals(List.of("checkpoint-1.emx", "journal-1.log"), this.files());
+        assertRecovered(matrix, this.reopenList());
+    }
+
+    @Test
+    void dropsTornRecord() throws IOException {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        try (MatrixJournal journal = new MatrixJournal(directory, matrix)) {
+            matrix.addTask(new Task("Write report", DATE), Quadrant.DO_IT_NOW);
+        }
+        Path log = directory.resolve("journal-0.log");
+        long size = Files.size(log);
+        Files.write(log, new byte[] {12, 0, 0, 0, 1, 2}, StandardOpenOption.APPEND);
+
+        assertRecovered(matrix, this.reopenList());
+        assertEquals(size, Files.size(log));
+    }
+
+    @Test
+    void groupCommitReturnsOnceChangeIsLogged() throws IOException {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        try (MatrixJournal journal = new MatrixJournal(directory, matrix, Duration.ofMillis(20))) {
+            Task report = new Task("Write report", DATE);
+            matrix.addTask(report, Quadrant.DO_IT_NOW);
+            report.putProperty(TaskProperties.LOCATION, "Office");
+
+            // Read from the log while the journal is still open
+            assertRecovered(matrix, this.reopenList());
+        }
+    }
+
+    @Test
+    void rejectsCorruptedJournal() throws IOException {
+        Files.write(directory.resolve("journal-0.log"), new byte[] {1, 2, 3, 4, 5});
+
+        assertThrows(StreamCorruptedException.class, () -> new MatrixJournal(directory, new EisenhowerMatrixList<>()));
+        // The log has been closed, and can be replaced
+        Files.delete(directory.resolve("journal-0.log"));
+        assertTrue(this.reopenList().getAllTasks().isEmpty());
+    }
+
+    @Test
+    void rejectsChangesWhichCannotBeLogged() throws IOException {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task report = new Task("Write report", DATE);
+        try (MatrixJournal journal = new MatrixJournal(directory, matrix)) {
+            matrix.addTask(report, Quadrant.DO_IT_NOW);
+            Task unsupported = new Task("Unsupported", DATE);
+            unsupported.putProperty("weight", 1.5f);
+
+            assertThrows(IllegalArgumentException.class, () -> report.putProperty("weight", 1.5f));
+            assertThrows(IllegalArgumentException.class, () -> matrix.addTask(unsupported, Quadrant.DO_IT_NOW));
+
+            assertNull(report.getProperty("weight"));
+            assertEquals(List.of(report), matrix.getTasks(Quadrant.DO_IT_NOW));
+            journal.commit();
+        }
+
+        assertRecovered(matrix, this.reopenList());
+    }
+
+    @Test
+    void undoesChangesRejectedByAnotherIndex() throws IOException {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task report = new Task("Write report", DATE);
+        try (MatrixJournal journal = new MatrixJournal(directory, matrix)) {
+            matrix.addTask(report, Quadrant.DO_IT_NOW);
+            new RejectingIndex(matrix);
+            report.addPropertyListener(new TaskPropertyListener() {
+                @Override
+                public void propertyChanged(Task task, String key, Object oldValue, Object newValue) {
+                }
+
+                @Override
+                public void propertyChanging(Task task, String key, Object oldValue, Object newValue) {
+                    throw new IllegalStateException("Rejected.");
+                }
+            });
+
+            assertThrows(IllegalStateException.class, () -> report.putProperty(TaskProperties.LOCATION, "Office"));
+            assertThrows(IllegalStateException.class, () -> matrix.addTask(new Task("Rejected", DATE), Quadrant.DO_IT_NOW));
+            assertThrows(IllegalStateException.class, () -> matrix.getTasks(Quadrant.DO_IT_NOW).clear());
+
+            assertEquals(List.of(report), matrix.getTasks(Quadrant.DO_IT_NOW));
+        }
+
+        assertRecovered(matrix, this.reopenList());
+    }
+
+    // -------------------------------------------------------------------------
+
+    private EisenhowerMatrixList<Task> reopenList() throws IOException {
+        EisenhowerMatrixList<Task> recovered = new EisenhowerMatrixList<>();
+        new MatrixJournal(directory, recovered).close();
+        return recovered;
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static void assertRecovered(AbstractEisenhowerMatrix<Task> expected, AbstractEisenhowerMatrix<Task> actual) {
+        for (Quadrant quadrant : Quadrant.values()) {
+            assertEquals(new ArrayList<>(expected.getTasks(quadrant)), new ArrayList<>(actual.getTasks(quadrant)));
+        }
+    }
+
+    /**
+     * An index rejecting every addition and removal of tasks, once registered after the journal.
+     */
+    private static final class RejectingIndex extends AbstractTaskIndex {
+
+        RejectingIndex(AbstractEisenhowerMatrix<Task> matrix) {
+            super(matrix);
+            this.register();
+        }
+
+        @Override
+        protected void occurrenceAdding(Task task, Quadrant quadrant, int index) {
+            throw new IllegalStateException("Rejected.");
+        }
+
+        @Override
+        protected void occurrenceRemoving(Task task, Quadrant quadrant, int index) {
+            throw new IllegalStateException("Rejected.");
+        }
+
+        @Override
+        protected void link(Task task) {
+        }
+
+        @Override
+        protected void unlink(Task task) {
+        }
+
+        @Override
+        protected void unlinkAll() {
+        }
+
+        @Override
+        protected void propertyChanged(Task task, String key, Object oldValue, Object newValue) {
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.eisenhower.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eisenhower.matrix.EisenhowerMatrix;
+import com.eisenhower.matrix.EisenhowerMatrixList;
+import com.eisenhower.matrix.EisenhowerMatrixSet;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of {@link MatrixWriter} and {@link MatrixReader}: snapshots read back as the matrices written.
+ */
+class MatrixWriterTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 3);
+
+    @Test
+    void readsBackListMatrix() throws IOException {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task report = new Task("Write report", DATE, LocalTime.of(9, 30));
+        report.putProperty(TaskProperties.LOCATION, "Office");
+        report.putProperty(TaskProperties.PRIORITY, 2);
+        report.putProperty(TaskProperties.MORE_INFO, null);
+        report.putProperty("reviewed", true);
+        report.putProperty("archived", false);
+        report.putProperty("estimate", 2.5);
+        report.putProperty("size", 1L << 40);
+        report.putProperty("reminder", LocalDateTime.of(2024, 6, 2, 18, 0));
+        report.putProperty("history", LocalDate.of(1950, 1, 1));
+        Task call = new Task("Call supplier", DATE.plusDays(1), true);
+        matrix.addTask(report, Quadrant.DO_IT_NOW);
+        matrix.addTask(call, Quadrant.DO_IT_NOW);
+        matrix.addTask(report, Quadrant.DO_IT_NOW);
+        matrix.addTask(new Task("Plan week", DATE), Quadrant.ELIMINATE_IT);
+
+        EisenhowerMatrixList<Task> copy = new EisenhowerMatrixList<>();
+        try (MatrixReader reader = new MatrixReader(this.channel(this.write(matrix)))) {
+            assertEquals(4, reader.readInto(copy));
+        }
+
+        for (Quadrant quadrant : Quadrant.values()) {
+            assertEquals(matrix.getTasks(quadrant), copy.getTasks(quadrant));
+        }
+        List<Task> doNow = new ArrayList<>(copy.getTasks(Quadrant.DO_IT_NOW));
+        assertEquals(report, doNow.get(0));
+        assertTrue(doNow.get(1).isAtomic());
+        // A task written twice is read back as a single instance
+        assertSame(doNow.get(0), doNow.get(2));
+    }
+
+    @Test
+    void readsBackSharedSubtasksOnce() throws IOException {
+        EisenhowerMatrixSet<Task> matrix = new EisenhowerMatrixSet<>();
+        Task figures = new Task("Collect figures", DATE);
+        figures.putProperty("source", new byte[] {1, 2, 3});
+        Task report = new Task("Write report", DATE);
+        Task slides = new Task("Prepare slides", DATE);
+        report.getSubtasks().add(figures);
+        slides.getSubtasks().add(figures);
+        matrix.addTask(report, Quadrant.SCHEDULE_IT);
+        matrix.addTask(slides, Quadrant.DELEGATE_OR_OPTIMIZE_IT);
+
+        List<Task> tasks = new ArrayList<>();
+        try (MatrixReader reader = new MatrixReader(this.channel(this.write(matrix)))) {
+            reader.forEachRemaining((quadrant, task) -> tasks.add(task));
+        }
+
+        assertEquals(2, tasks.size());
+        Task first = tasks.get(0).getSubtasks().iterator().next();
+        Task second = tasks.get(1).getSubtasks().iterator().next();
+        assertSame(first, second);
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) first.getProperty("source"));
+        // Byte arrays are equal by identity only: the parents are compared by name
+        assertEquals("Write report", tasks.get(0).getProperty(TaskProperties.TASK_NAME));
+        assertEquals("Prepare slides", tasks.get(1).getProperty(TaskProperties.TASK_NAME));
+    }
+
+    @Test
+    void rejectsUnsupportedValues() throws IOException {
+        Task task = new Task("Weigh parcel", DATE);
+        task.putProperty("weight", 1.5f);
+        try (MatrixWriter writer = new MatrixWriter(Channels.newChannel(new ByteArrayOutputStream()))) {
+            assertThrows(IllegalArgumentException.class, () -> writer.writeTask(task, Quadrant.DO_IT_NOW));
+        }
+    }
+
+    @Test
+    void rejectsCorruptedSnapshots() throws IOException {
+        byte[] bytes = this.write(new EisenhowerMatrixList<>());
+        byte[] notSnapshot = bytes.clone();
+        notSnapshot[0] = 'X';
+        byte[] invalidQuadrant = bytes.clone();
+        invalidQuadrant[bytes.length - 1] = 7;
+
+        assertThrows(StreamCorruptedException.class, () -> new MatrixReader(this.channel(notSnapshot)));
+        try (MatrixReader reader = new MatrixReader(this.channel(invalidQuadrant))) {
+            assertThrows(StreamCorruptedException.class, () -> reader.readInto(new EisenhowerMatrixList<>()));
+        }
+        try (MatrixReader reader = new MatrixReader(this.channel(Arrays.copyOf(bytes, bytes.length - 1)))) {
+            assertThrows(IOException.class, () -> reader.readInto(new EisenhowerMatrixList<>()));
+        }
+    }
+
+    // -------------------------------------------------------------------------
+
+    private byte[] write(EisenhowerMatrix<Task> matrix) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MatrixWriter writer = new MatrixWriter(Channels.newChannel(bytes))) {
+            writer.writeMatrix(matrix);
+        }
+        return bytes.toByteArray();
+    }
+
+    private ReadableByteChannel channel(byte[] bytes) {
+        return Channels.newChannel(new ByteArrayInputStream(bytes));
+    }
+}
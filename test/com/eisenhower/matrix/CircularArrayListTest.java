@@ -0,0 +1,108 @@
+package com.eisenhower.matrix;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of {@link CircularArrayList}: growth of the backing array and wraparound of its elements,
+ * checked against an {@link ArrayList}.
+ */
+class CircularArrayListTest {
+
+    @Test
+    void growsWhileWrappedAround() {
+        CircularArrayList<Integer> list = new CircularArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            list.add(i);
+        }
+        // Moves the head forward, so that the next additions wrap around the end of the array
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i, list.remove(0));
+        }
+        for (int i = 8; i < 40; i++) {
+            list.add(i);
+        }
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 6; i < 40; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, list);
+        assertArrayEquals(expected.toArray(), list.toArray());
+        assertArrayEquals(expected.toArray(new Integer[0]), list.toArray(new Integer[0]));
+    }
+
+    @Test
+    void insertsAndRemovesOnBothSidesOfWrap() {
+        CircularArrayList<Integer> list = new CircularArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+        list.remove(0);
+        list.remove(0);
+        list.add(10);
+        list.add(11);
+        expected.subList(0, 2).clear();
+        expected.add(10);
+        expected.add(11);
+
+        list.add(1, 100);
+        expected.add(1, 100);
+        list.add(9, 200);
+        expected.add(9, 200);
+        assertEquals(expected, list);
+
+        assertEquals(expected.remove(8), list.remove(8));
+        assertEquals(expected.remove(2), list.remove(2));
+        assertEquals(expected.set(7, -1), list.set(7, -1));
+        assertEquals(expected, list);
+    }
+
+    @Test
+    void matchesArrayListUnderRandomChanges() {
+        CircularArrayList<Integer> list = new CircularArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 4 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, i);
+                expected.add(index, i);
+            } else if (operation < 6) {
+                list.add(i);
+                expected.add(i);
+            } else if (operation < 9) {
+                int index = random.nextBoolean() ? 0 : random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else {
+                int divisor = 2 + random.nextInt(5);
+                assertEquals(expected.removeIf(e -> e % divisor == 0), list.removeIf(e -> e % divisor == 0));
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        assertEquals(expected, list);
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        list.add(1);
+        assertEquals(List.of(1), list);
+    }
+
+    @Test
+    void rejectsIndexesOutOfBounds() {
+        CircularArrayList<Integer> list = new CircularArrayList<>();
+        list.add(1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(2, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.set(1, 0));
+    }
+}
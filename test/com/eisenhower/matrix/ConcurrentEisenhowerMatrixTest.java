@@ -0,0 +1,235 @@
+package com.eisenhower.matrix;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of {@link ConcurrentEisenhowerMatrix}, in particular of its invariants under concurrent
+ * additions, moves and removals.
+ */
+class ConcurrentEisenhowerMatrixTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 3);
+    private static final Quadrant[] QUADRANTS = Quadrant.values();
+    private static final int THREADS = 8;
+
+    @Test
+    void repositionsTaskWhenItsDateChanges() {
+        ConcurrentEisenhowerMatrix<Task> matrix = new ConcurrentEisenhowerMatrix<>();
+        Task first = new Task("First", DATE).withIdentity();
+        Task second = new Task("Second", DATE.plusDays(1)).withIdentity();
+        matrix.addTask(first, Quadrant.DO_IT_NOW);
+        matrix.addTask(second, Quadrant.DO_IT_NOW);
+
+        first.putProperty(TaskProperties.DATE, DATE.plusDays(2));
+
+        assertEquals(List.of(second, first), matrix.getTasksSorted(Quadrant.DO_IT_NOW));
+        assertTrue(matrix.moveTask(first, Quadrant.DO_IT_NOW, Quadrant.SCHEDULE_IT));
+        first.putProperty(TaskProperties.DATE, DATE);
+        assertEquals(List.of(second), matrix.getTasksSorted(Quadrant.DO_IT_NOW));
+        assertEquals(List.of(first), matrix.getTasksSorted(Quadrant.SCHEDULE_IT));
+    }
+
+    @Test
+    void findsAndRemovesTaskAfterItChanges() {
+        ConcurrentEisenhowerMatrix<Task> matrix = new ConcurrentEisenhowerMatrix<>();
+        Task report = new Task("Write report", DATE);
+        matrix.addTask(report, Quadrant.DO_IT_NOW);
+
+        report.putProperty("owner", "Alice");
+
+        assertTrue(matrix.containsTask(report));
+        assertEquals(Quadrant.DO_IT_NOW, matrix.getQuadrant(report));
+        assertFalse(matrix.addTask(report, Quadrant.SCHEDULE_IT));
+        assertTrue(matrix.removeTask(report, Quadrant.DO_IT_NOW));
+        assertFalse(matrix.containsTask(report));
+        assertTrue(matrix.getAllTasks().isEmpty());
+        assertTrue(matrix.getTasksSorted(Quadrant.DO_IT_NOW).isEmpty());
+    }
+
+    @Test
+    void mergesTaskBecomingEqualToAnother() {
+        ConcurrentEisenhowerMatrix<Task> matrix = new ConcurrentEisenhowerMatrix<>();
+        Task report = new Task("Write report", DATE);
+        Task assigned = new Task("Write report", DATE);
+        assigned.putProperty("owner", "Alice");
+        matrix.addTask(report, Quadrant.DO_IT_NOW);
+        matrix.addTask(assigned, Quadrant.SCHEDULE_IT);
+
+        report.putProperty("owner", "Alice");
+
+        assertEquals(Set.of(assigned), matrix.getAllTasks());
+        assertEquals(Quadrant.SCHEDULE_IT, matrix.getQuadrant(report));
+        assertTrue(matrix.getTasksSorted(Quadrant.DO_IT_NOW).isEmpty());
+    }
+
+    @Test
+    void sharesTasksWithDerivedMatrixUntilEitherChanges() {
+        ConcurrentEisenhowerMatrix<Task> matrix = new ConcurrentEisenhowerMatrix<>();
+        Task report = new Task("Write report", DATE);
+        Task call = new Task("Call supplier", DATE);
+        matrix.addTask(report, Quadrant.DO_IT_NOW);
+        matrix.addTask(call, Quadrant.SCHEDULE_IT);
+
+        EisenhowerMatrix<Task> derived = matrix.clearQuadrant(Quadrant.DO_IT_NOW);
+        call.putProperty("owner", "Alice");
+
+        assertFalse(derived.containsTask(report));
+        assertEquals(Quadrant.SCHEDULE_IT, derived.getQuadrant(call));
+        assertTrue(derived.addTask(report, Quadrant.DELEGATE_OR_OPTIMIZE_IT));
+        assertTrue(matrix.removeTask(call, Quadrant.SCHEDULE_IT));
+
+        assertEquals(Map.of(Quadrant.DO_IT_NOW, Set.of(report)), nonEmpty(matrix.toMap()));
+        assertEquals(Map.of(Quadrant.SCHEDULE_IT, Set.of(call), Quadrant.DELEGATE_OR_OPTIMIZE_IT, Set.of(report)),
+                nonEmpty(derived.toMap()));
+    }
+
+    @Test
+    void keepsEachTaskInOneQuadrantUnderConcurrentChanges() throws Exception {
+        ConcurrentEisenhowerMatrix<Task> matrix = new ConcurrentEisenhowerMatrix<>();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            tasks.add(new Task("Task " + i, DATE.plusDays(i % 7)));
+        }
+        // Successful additions minus successful removals, by task
+        AtomicIntegerArray balances = new AtomicIntegerArray(tasks.size());
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 5000; i++) {
+                        int index = random.nextInt(tasks.size());
+                        Task task = tasks.get(index);
+                        Quadrant quadrant = QUADRANTS[random.nextInt(QUADRANTS.length)];
+                        switch (random.nextInt(3)) {
+                            case 0 -> {
+                                if (matrix.addTask(task, quadrant)) {
+                                    balances.incrementAndGet(index);
+                                }
+                            }
+                            case 1 -> matrix.moveTask(task, quadrant, QUADRANTS[random.nextInt(QUADRANTS.length)]);
+                            default -> {
+                                if (matrix.removeTask(task, quadrant)) {
+                                    balances.decrementAndGet(index);
+                                }
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Future<?> reader = executor.submit(() -> {
+                start.await();
+                while (running.get()) {
+                    assertDisjoint(matrix.toMap());
+                }
+                return null;
+            });
+
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(1, TimeUnit.MINUTES);
+            }
+            running.set(false);
+            reader.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<Quadrant, Collection<Task>> map = matrix.toMap();
+        assertDisjoint(map);
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            Quadrant quadrant = matrix.getQuadrant(task);
+            assertEquals(balances.get(i), (quadrant != null) ? 1 : 0);
+            if (quadrant != null) {
+                assertTrue(map.get(quadrant).contains(task));
+                assertEquals(Set.of(quadrant), matrix.getQuadrants(task));
+            }
+        }
+        for (Quadrant quadrant : QUADRANTS) {
+            assertEquals(new HashSet<>(map.get(quadrant)), new HashSet<>(matrix.getTasksSorted(quadrant)));
+        }
+    }
+
+    @Test
+    void movesEachTaskOnceWhenThreadsCompete() throws Exception {
+        ConcurrentEisenhowerMatrix<Task> matrix = new ConcurrentEisenhowerMatrix<>();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Task task = new Task("Task " + i, DATE);
+            tasks.add(task);
+            matrix.addTask(task, Quadrant.SCHEDULE_IT);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        int moved = 0;
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> movers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Quadrant to = (t % 2 == 0) ? Quadrant.DO_IT_NOW : Quadrant.ELIMINATE_IT;
+                movers.add(executor.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (Task task : tasks) {
+                        if (matrix.moveTask(task, Quadrant.SCHEDULE_IT, to)) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> mover : movers) {
+                moved += mover.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(tasks.size(), moved);
+        assertTrue(matrix.getTasks(Quadrant.SCHEDULE_IT).isEmpty());
+        assertEquals(tasks.size(), matrix.getTasks(Quadrant.DO_IT_NOW).size() + matrix.getTasks(Quadrant.ELIMINATE_IT).size());
+        assertEquals(new HashSet<>(tasks), matrix.getAllTasks());
+    }
+
+    private static Map<Quadrant, Collection<Task>> nonEmpty(Map<Quadrant, Collection<Task>> map) {
+        map.values().removeIf(Collection::isEmpty);
+        return map;
+    }
+
+    private static void assertDisjoint(Map<Quadrant, Collection<Task>> map) {
+        Set<Task> seen = new HashSet<>();
+        for (Collection<Task> tasks : map.values()) {
+            for (Task task : tasks) {
+                assertTrue(seen.add(task), "Task in several quadrants: " + task);
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.eisenhower.matrix;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Tests of {@link EisenhowerMatrixList}, in particular of its membership index when the tasks
+ * it holds are modified.
+ */
+class EisenhowerMatrixListTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 3);
+
+    @ParameterizedTest
+    @EnumSource(EListStorage.class)
+    void findsTaskAfterPropertyChange(EListStorage storage) {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>(storage);
+        Task task = new Task("Write report", DATE);
+        matrix.addTask(task, Quadrant.DO_IT_NOW);
+
+        task.putProperty("owner", "Alice");
+
+        assertTrue(matrix.containsTask(task));
+        assertEquals(Quadrant.DO_IT_NOW, matrix.getQuadrant(task));
+        assertTrue(matrix.removeTask(task, Quadrant.DO_IT_NOW));
+        assertFalse(matrix.containsTask(task));
+    }
+
+    @ParameterizedTest
+    @EnumSource(EListStorage.class)
+    void findsTaskAfterSubtaskChange(EListStorage storage) {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>(storage);
+        Task subtask = new Task("Collect figures", DATE);
+        Task task = new Task("Write report", DATE);
+        task.getSubtasks().add(subtask);
+        matrix.addTask(task, Quadrant.SCHEDULE_IT);
+
+        subtask.putProperty("owner", "Bob");
+        task.getSubtasks().add(new Task("Proofread", DATE));
+
+        assertTrue(matrix.containsTask(task, Quadrant.SCHEDULE_IT));
+        assertTrue(matrix.getTasks(Quadrant.SCHEDULE_IT).contains(task));
+        assertTrue(matrix.removeTaskOccurrences(task, Quadrant.SCHEDULE_IT));
+        assertTrue(matrix.getTasks(Quadrant.SCHEDULE_IT).isEmpty());
+    }
+
+    @Test
+    void keepsOccurrencesOfEqualTasksWhenOneChanges() {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task changed = new Task("Call supplier", DATE);
+        Task unchanged = new Task("Call supplier", DATE);
+        matrix.addTask(changed, Quadrant.DELEGATE_OR_OPTIMIZE_IT);
+        matrix.addTask(unchanged, Quadrant.DELEGATE_OR_OPTIMIZE_IT);
+        matrix.addTask(unchanged, Quadrant.DELEGATE_OR_OPTIMIZE_IT);
+
+        changed.putProperty("phone", "555-0100");
+
+        assertTrue(matrix.removeTask(unchanged, Quadrant.DELEGATE_OR_OPTIMIZE_IT));
+        assertTrue(matrix.removeTask(unchanged, Quadrant.DELEGATE_OR_OPTIMIZE_IT));
+        assertFalse(matrix.removeTask(unchanged, Quadrant.DELEGATE_OR_OPTIMIZE_IT));
+        assertTrue(matrix.removeTask(changed, Quadrant.DELEGATE_OR_OPTIMIZE_IT));
+        assertTrue(matrix.getTasks(Quadrant.DELEGATE_OR_OPTIMIZE_IT).isEmpty());
+    }
+
+    @Test
+    void mergesTaskBecomingEqualToAnother() {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task first = new Task("Call supplier", DATE);
+        Task second = new Task("Call supplier", DATE);
+        second.putProperty("phone", "555-0100");
+        matrix.addTask(first, Quadrant.DO_IT_NOW);
+        matrix.addTask(second, Quadrant.DO_IT_NOW);
+
+        second.removeProperty("phone");
+
+        assertTrue(matrix.removeTask(first, Quadrant.DO_IT_NOW));
+        assertTrue(matrix.removeTask(first, Quadrant.DO_IT_NOW));
+        assertFalse(matrix.containsTask(second));
+    }
+
+    @Test
+    void stopsTrackingRemovedTasks() {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task task = new Task("Write report", DATE);
+        matrix.addTask(task, Quadrant.DO_IT_NOW);
+        matrix.removeTask(task, Quadrant.DO_IT_NOW);
+
+        task.putProperty("owner", "Alice");
+
+        assertFalse(matrix.containsTask(task));
+        assertNull(matrix.getQuadrant(task));
+    }
+
+    @Test
+    void clonesFollowChangesOfSharedTasks() {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task task = new Task("Write report", DATE);
+        matrix.addTask(task, Quadrant.DO_IT_NOW);
+        EisenhowerMatrix<Task> derived = matrix.clearQuadrant(Quadrant.ELIMINATE_IT);
+
+        task.putProperty("owner", "Alice");
+        derived.addTask(new Task("Book room", DATE), Quadrant.DO_IT_NOW);
+        task.putProperty("owner", "Bob");
+
+        assertTrue(matrix.containsTask(task));
+        assertTrue(derived.containsTask(task));
+        assertTrue(derived.removeTask(task, Quadrant.DO_IT_NOW));
+        assertTrue(matrix.containsTask(task));
+    }
+
+    @ParameterizedTest
+    @EnumSource(EListStorage.class)
+    void copiesSharedQuadrantOnFirstWriteThroughView(EListStorage storage) {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>(storage);
+        Task report = new Task("Write report", DATE);
+        Task call = new Task("Call supplier", DATE.plusDays(1));
+        matrix.addTask(report, Quadrant.DO_IT_NOW);
+        matrix.addTask(call, Quadrant.DO_IT_NOW);
+        @SuppressWarnings("unchecked")
+        EisenhowerMatrixList<Task> clone = (EisenhowerMatrixList<Task>) matrix.clone();
+        EisenhowerMatrix<Task> derived = clone.clearQuadrant(Quadrant.ELIMINATE_IT);
+
+        Iterator<Task> iterator = clone.getTasks(Quadrant.DO_IT_NOW).iterator();
+        iterator.next();
+        iterator.remove();
+        ((List<Task>) derived.getTasks(Quadrant.DO_IT_NOW)).set(1, new Task("Book room", DATE));
+        Task plan = new Task("Plan week", DATE);
+        clone.addTask(plan, Quadrant.DO_IT_NOW);
+
+        assertEquals(List.of(report, call), matrix.getTasks(Quadrant.DO_IT_NOW));
+        assertEquals(List.of(report, call), matrix.getTasksSorted(Quadrant.DO_IT_NOW));
+        assertEquals(List.of(call, plan), clone.getTasks(Quadrant.DO_IT_NOW));
+        assertEquals(List.of(plan, call), clone.getTasksSorted(Quadrant.DO_IT_NOW));
+        assertEquals(List.of(report, new Task("Book room", DATE)), derived.getTasks(Quadrant.DO_IT_NOW));
+    }
+
+    @Test
+    void repositionsTaskWhenItsDateChanges() {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task first = new Task("First", DATE);
+        Task second = new Task("Second", DATE.plusDays(1));
+        Task third = new Task("Third", DATE.plusDays(2));
+        matrix.addTask(first, Quadrant.DO_IT_NOW);
+        matrix.addTask(second, Quadrant.DO_IT_NOW);
+        matrix.addTask(third, Quadrant.DO_IT_NOW);
+        assertEquals(List.of(first, second, third), matrix.getTasksSorted(Quadrant.DO_IT_NOW));
+
+        first.putProperty(TaskProperties.DATE, DATE.plusDays(3));
+        second.putProperty(TaskProperties.TIME, LocalTime.NOON);
+
+        assertEquals(List.of(second, third, first), matrix.getTasksSorted(Quadrant.DO_IT_NOW));
+        assertEquals(2, matrix.rankOf(first, Quadrant.DO_IT_NOW));
+        assertTrue(matrix.removeTask(first, Quadrant.DO_IT_NOW));
+        assertEquals(List.of(second, third), matrix.getTasksSorted(Quadrant.DO_IT_NOW));
+    }
+
+    @Test
+    void sortsTasksWithoutDateLast() {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task dated = new Task("Dated", DATE);
+        matrix.addTask(dated, Quadrant.DO_IT_NOW);
+        matrix.getTasksSorted(Quadrant.DO_IT_NOW);
+        Task undated = new Task("Undated", DATE);
+        undated.putProperty(TaskProperties.DATE, null);
+
+        matrix.addTask(undated, Quadrant.DO_IT_NOW);
+
+        assertEquals(List.of(dated, undated), matrix.getTasksSorted(Quadrant.DO_IT_NOW));
+        assertTrue(matrix.removeTask(undated, Quadrant.DO_IT_NOW));
+    }
+
+    @Test
+    void leavesQuadrantUnchangedWhenTaskCannotBeIndexed() {
+        EisenhowerMatrixList<Version> matrix = new EisenhowerMatrixList<>();
+        matrix.addTask(new Version(1), Quadrant.DO_IT_NOW);
+        matrix.getTasksSorted(Quadrant.DO_IT_NOW);
+        Version incomparable = new Version(-1);
+
+        assertThrows(IllegalArgumentException.class, () -> matrix.addTask(incomparable, Quadrant.DO_IT_NOW));
+
+        assertFalse(matrix.containsTask(incomparable));
+        assertEquals(1, matrix.getTasks(Quadrant.DO_IT_NOW).size());
+        assertEquals(1, matrix.getTasksSorted(Quadrant.DO_IT_NOW).size());
+    }
+
+    /**
+     * A task which cannot be compared when its number is negative.
+     */
+    private record Version(int number) implements Comparable<Version> {
+
+        @Override
+        public int compareTo(Version other) {
+            if (number < 0 || other.number < 0) {
+                throw new IllegalArgumentException("Negative version.");
+            }
+            return Integer.compare(number, other.number);
+        }
+    }
+}
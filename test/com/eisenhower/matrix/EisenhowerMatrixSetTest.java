@@ -0,0 +1,48 @@
+package com.eisenhower.matrix;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of {@link EisenhowerMatrixSet}, in particular of its sorted index when the tasks
+ * it holds are modified.
+ */
+class EisenhowerMatrixSetTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 3);
+
+    @Test
+    void repositionsTaskWhenItsDateChanges() {
+        EisenhowerMatrixSet<Task> matrix = new EisenhowerMatrixSet<>();
+        Task first = new Task("First", DATE).withIdentity();
+        Task second = new Task("Second", DATE.plusDays(1)).withIdentity();
+        matrix.addTask(first, Quadrant.SCHEDULE_IT);
+        matrix.addTask(second, Quadrant.SCHEDULE_IT);
+        assertEquals(List.of(first, second), matrix.getTasksSorted(Quadrant.SCHEDULE_IT));
+
+        first.putProperty(TaskProperties.DATE, DATE.plusDays(2));
+
+        assertEquals(List.of(second, first), matrix.getTasksSorted(Quadrant.SCHEDULE_IT));
+        assertTrue(matrix.removeTask(first, Quadrant.SCHEDULE_IT));
+        assertEquals(List.of(second), matrix.getTasksSorted(Quadrant.SCHEDULE_IT));
+        assertEquals(-1, matrix.rankOf(first, Quadrant.SCHEDULE_IT));
+    }
+
+    @Test
+    void sortsTasksWithoutDateLast() {
+        EisenhowerMatrixSet<Task> matrix = new EisenhowerMatrixSet<>();
+        Task undated = new Task("Undated", DATE).withIdentity();
+        undated.putProperty(TaskProperties.DATE, null);
+        Task dated = new Task("Dated", DATE).withIdentity();
+        matrix.addTask(undated, Quadrant.DO_IT_NOW);
+        matrix.addTask(dated, Quadrant.DO_IT_NOW);
+
+        assertEquals(List.of(dated, undated), matrix.getTasksSorted(Quadrant.DO_IT_NOW));
+    }
+}
@@ -0,0 +1,143 @@
+package com.eisenhower.matrix;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Tests of the contract of {@link EisenhowerMatrix}, run against each implementation.
+ */
+class EisenhowerMatrixTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 3);
+    private static final LocalDate SATURDAY = MONDAY.plusDays(5);
+
+    /**
+     * The implementations under test.
+     */
+    enum Implementation {
+        SET(EisenhowerMatrixSet::new),
+        LIST_LINKED(() -> new EisenhowerMatrixList<>(EListStorage.LINKED)),
+        LIST_ARRAY(() -> new EisenhowerMatrixList<>(EListStorage.ARRAY)),
+        CONCURRENT(ConcurrentEisenhowerMatrix::new);
+
+        private final Supplier<EisenhowerMatrix<Task>> factory;
+
+        Implementation(Supplier<EisenhowerMatrix<Task>> factory) {
+            this.factory = factory;
+        }
+
+        EisenhowerMatrix<Task> newMatrix() {
+            return factory.get();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Implementation.class)
+    void getsTasksDueInAPeriodOfDays(Implementation implementation) {
+        EisenhowerMatrix<Task> matrix = implementation.newMatrix();
+        Task sunday = new Task("Sunday", MONDAY.minusDays(1), LocalTime.MAX).withIdentity();
+        Task monday = new Task("Monday", MONDAY).withIdentity();
+        Task friday = new Task("Friday", SATURDAY.minusDays(1), LocalTime.of(18, 0)).withIdentity();
+        Task saturday = new Task("Saturday", SATURDAY).withIdentity();
+        matrix.addTask(friday, Quadrant.SCHEDULE_IT);
+        matrix.addTask(saturday, Quadrant.SCHEDULE_IT);
+        matrix.addTask(monday, Quadrant.SCHEDULE_IT);
+        matrix.addTask(sunday, Quadrant.SCHEDULE_IT);
+
+        assertEquals(List.of(monday, friday), TaskPeriods.getTasksDue(matrix, Quadrant.SCHEDULE_IT, MONDAY, SATURDAY));
+        assertEquals(List.of(friday), TaskPeriods.getTasksDue(matrix, Quadrant.SCHEDULE_IT,
+                SATURDAY.minusDays(1).atTime(12, 0), SATURDAY.atStartOfDay()));
+        assertEquals(List.of(), TaskPeriods.getTasksDue(matrix, Quadrant.DO_IT_NOW, MONDAY, SATURDAY));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Implementation.class)
+    void getsTasksDueInAPeriodFromAllQuadrants(Implementation implementation) {
+        EisenhowerMatrix<Task> matrix = implementation.newMatrix();
+        Task tuesday = new Task("Tuesday", MONDAY.plusDays(1)).withIdentity();
+        Task monday = new Task("Monday", MONDAY).withIdentity();
+        Task nextWeek = new Task("Next week", MONDAY.plusDays(7)).withIdentity();
+        matrix.addTask(tuesday, Quadrant.DO_IT_NOW);
+        matrix.addTask(monday, Quadrant.ELIMINATE_IT);
+        matrix.addTask(nextWeek, Quadrant.SCHEDULE_IT);
+
+        assertEquals(List.of(monday, tuesday), TaskPeriods.getAllTasksDue(matrix, MONDAY, SATURDAY));
+        assertEquals(List.of(monday), TaskPeriods.getAllTasksDue(matrix, MONDAY.atStartOfDay(), MONDAY.atTime(LocalTime.MAX)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Implementation.class)
+    void followsTasksWhoseDateChanges(Implementation implementation) {
+        EisenhowerMatrix<Task> matrix = implementation.newMatrix();
+        Task task = new Task("Moved", MONDAY).withIdentity();
+        matrix.addTask(task, Quadrant.DO_IT_NOW);
+        assertEquals(List.of(task), TaskPeriods.getTasksDue(matrix, Quadrant.DO_IT_NOW, MONDAY, SATURDAY));
+
+        task.putProperty(TaskProperties.DATE, SATURDAY);
+
+        assertEquals(List.of(), TaskPeriods.getTasksDue(matrix, Quadrant.DO_IT_NOW, MONDAY, SATURDAY));
+        assertEquals(List.of(task), TaskPeriods.getAllTasksDue(matrix, SATURDAY, SATURDAY.plusDays(1)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Implementation.class)
+    void rejectsInvalidRanges(Implementation implementation) {
+        EisenhowerMatrix<Task> matrix = implementation.newMatrix();
+
+        assertThrows(IllegalArgumentException.class, () -> TaskPeriods.getTasksDue(matrix, Quadrant.DO_IT_NOW, SATURDAY, MONDAY));
+        assertThrows(IllegalArgumentException.class, () -> TaskPeriods.getAllTasksDue(matrix, SATURDAY, MONDAY));
+        assertThrows(NullPointerException.class, () -> TaskPeriods.getTasksDue(matrix, Quadrant.DO_IT_NOW, MONDAY, (LocalDate) null));
+        assertThrows(NullPointerException.class, () -> TaskPeriods.getAllTasksDue(matrix, (LocalDateTime) null, SATURDAY.atStartOfDay()));
+        assertThrows(NullPointerException.class, () -> matrix.getTasksBetween(Quadrant.DO_IT_NOW, null, new Task("To", SATURDAY)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Implementation.class)
+    void clearsQuadrantInIndependentCopy(Implementation implementation) {
+        EisenhowerMatrix<Task> matrix = implementation.newMatrix();
+        Task report = new Task("Write report", MONDAY);
+        Task call = new Task("Call supplier", MONDAY.plusDays(1));
+        Task plan = new Task("Plan week", MONDAY);
+        matrix.addTask(report, Quadrant.DO_IT_NOW);
+        matrix.addTask(call, Quadrant.DO_IT_NOW);
+        matrix.addTask(plan, Quadrant.SCHEDULE_IT);
+
+        EisenhowerMatrix<Task> derived = matrix.clearQuadrant(Quadrant.SCHEDULE_IT);
+        Task book = new Task("Book room", MONDAY.minusDays(1));
+        derived.addTask(book, Quadrant.DO_IT_NOW);
+        derived.removeTask(call, Quadrant.DO_IT_NOW);
+        matrix.removeTask(report, Quadrant.DO_IT_NOW);
+
+        assertEquals(List.of(call), matrix.getTasksSorted(Quadrant.DO_IT_NOW));
+        assertEquals(List.of(plan), matrix.getTasksSorted(Quadrant.SCHEDULE_IT));
+        assertEquals(List.of(book, report), derived.getTasksSorted(Quadrant.DO_IT_NOW));
+        assertTrue(derived.getTasks(Quadrant.SCHEDULE_IT).isEmpty());
+        assertFalse(derived.containsTask(plan));
+        assertFalse(matrix.containsTask(book));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Implementation.class)
+    void clearsAllTasksInIndependentCopy(Implementation implementation) {
+        EisenhowerMatrix<Task> matrix = implementation.newMatrix();
+        Task report = new Task("Write report", MONDAY);
+        matrix.addTask(report, Quadrant.DO_IT_NOW);
+
+        EisenhowerMatrix<Task> cleared = matrix.clearAllTasks();
+        cleared.addTask(new Task("Plan week", MONDAY), Quadrant.DO_IT_NOW);
+
+        assertEquals(List.of(report), matrix.getTasksSorted(Quadrant.DO_IT_NOW));
+        assertEquals(1, cleared.getAllTasks().size());
+        assertFalse(cleared.containsTask(report));
+    }
+}
@@ -0,0 +1,130 @@
+package com.eisenhower.matrix;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of {@link LongBitmap}: transitions between array and bitmap containers, checked against
+ * a {@link TreeSet}.
+ */
+class LongBitmapTest {
+
+    // Largest cardinality of an array container
+    private static final int ARRAY_MAX = 4096;
+
+    @Test
+    void switchesContainerKindAroundArrayMax() {
+        LongBitmap bitmap = new LongBitmap();
+        TreeSet<Long> expected = new TreeSet<>();
+        // Every other value, so that the container is neither full nor a single run
+        for (long value = 0; expected.size() < ARRAY_MAX; value += 2) {
+            assertTrue(bitmap.add(value));
+            expected.add(value);
+        }
+        assertFalse(bitmap.add(0));
+        assertMatches(expected, bitmap);
+
+        // Becomes a bitmap container
+        bitmap.add(1);
+        expected.add(1L);
+        assertMatches(expected, bitmap);
+
+        // And an array container again
+        assertTrue(bitmap.remove(1));
+        assertFalse(bitmap.remove(1));
+        expected.remove(1L);
+        assertMatches(expected, bitmap);
+        assertTrue(bitmap.remove(2));
+        expected.remove(2L);
+        assertMatches(expected, bitmap);
+
+        for (long value : expected) {
+            bitmap.remove(value);
+        }
+        assertTrue(bitmap.isEmpty());
+        assertEquals(new LongBitmap(), bitmap);
+    }
+
+    @Test
+    void combinesContainersOfBothKinds() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            TreeSet<Long> first = randomValues(random);
+            TreeSet<Long> second = randomValues(random);
+            LongBitmap firstBitmap = LongBitmap.of(toArray(first));
+            LongBitmap secondBitmap = LongBitmap.of(toArray(second));
+
+            TreeSet<Long> union = new TreeSet<>(first);
+            union.addAll(second);
+            TreeSet<Long> intersection = new TreeSet<>(first);
+            intersection.retainAll(second);
+            TreeSet<Long> difference = new TreeSet<>(first);
+            difference.removeAll(second);
+
+            assertMatches(union, LongBitmap.or(firstBitmap, secondBitmap));
+            assertMatches(intersection, LongBitmap.and(firstBitmap, secondBitmap));
+            assertMatches(difference, LongBitmap.andNot(firstBitmap, secondBitmap));
+            assertEquals(!intersection.isEmpty(), firstBitmap.intersects(secondBitmap));
+
+            LongBitmap inPlace = firstBitmap.copy();
+            inPlace.or(secondBitmap);
+            inPlace.andNot(secondBitmap);
+            assertMatches(difference, inPlace);
+            inPlace.and(firstBitmap);
+            assertMatches(difference, inPlace);
+
+            // The arguments are left unchanged
+            assertMatches(first, firstBitmap);
+            assertMatches(second, secondBitmap);
+        }
+    }
+
+    @Test
+    void ordersValuesAcrossContainers() {
+        long[] values = {Long.MIN_VALUE, -70_000, -1, 0, 65_535, 65_536, 1L << 40, Long.MAX_VALUE};
+        LongBitmap bitmap = LongBitmap.of(values[5], values[2], values[7], values[0], values[4], values[1], values[6], values[3]);
+
+        assertArrayEquals(values, bitmap.toArray());
+        assertArrayEquals(Arrays.copyOfRange(values, 2, 5), bitmap.toArray(2, 3));
+        assertEquals(3, bitmap.rank(0));
+        assertEquals(7, bitmap.rank(Long.MAX_VALUE));
+        assertArrayEquals(values, bitmap.stream().toArray());
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * Draws values over three containers: a sparse one, a dense one and one of either kind.
+     */
+    private static TreeSet<Long> randomValues(Random random) {
+        TreeSet<Long> values = new TreeSet<>();
+        int[] counts = {100, 20_000, (random.nextBoolean() ? 3_000 : 6_000)};
+        for (int container = 0; container < counts.length; container++) {
+            long high = (long) (container * 7) << 16;
+            for (int i = 0; i < counts[container]; i++) {
+                values.add(high | random.nextInt(1 << 16));
+            }
+        }
+        return values;
+    }
+
+    private static long[] toArray(TreeSet<Long> values) {
+        return values.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static void assertMatches(TreeSet<Long> expected, LongBitmap bitmap) {
+        long[] values = toArray(expected);
+        assertEquals(values.length, bitmap.size());
+        assertArrayEquals(values, bitmap.toArray());
+        assertEquals(LongBitmap.of(values), bitmap);
+        assertEquals(LongBitmap.of(values).hashCode(), bitmap.hashCode());
+        for (long probe = -1; probe < 70_000; probe += 997) {
+            assertEquals(expected.contains(probe), bitmap.contains(probe));
+            assertEquals(expected.headSet(probe).size(), bitmap.rank(probe));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.eisenhower.matrix;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Tests of {@link PropertyIndex}, kept in sync with the matrix and with the properties of its tasks.
+ */
+class PropertyIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 3);
+
+    @ParameterizedTest
+    @EnumSource(EPropertyIndex.class)
+    void followsPropertyChanges(EPropertyIndex type) {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task task = new Task("Meet client", DATE);
+        task.putProperty(TaskProperties.LOCATION, "Office");
+        matrix.addTask(task, Quadrant.DO_IT_NOW);
+        PropertyIndex locations = new PropertyIndex(matrix, TaskProperties.LOCATION, type);
+
+        task.putProperty(TaskProperties.LOCATION, "Home");
+
+        assertTrue(locations.getTasks("Office").isEmpty());
+        assertEquals(Set.of(task), locations.getTasks("Home", Quadrant.DO_IT_NOW));
+        assertTrue(locations.getTasks("Home", Quadrant.ELIMINATE_IT).isEmpty());
+
+        matrix.removeTask(task, Quadrant.DO_IT_NOW);
+        assertTrue(locations.getTasks("Home").isEmpty());
+    }
+
+    @Test
+    void ordersValuesOfDifferentClassesWithoutComparingThem() {
+        EisenhowerMatrixSet<Task> matrix = new EisenhowerMatrixSet<>();
+        PropertyIndex priorities = new PropertyIndex(matrix, "priority", EPropertyIndex.SORTED);
+        Task low = this.taskWithPriority("Low", 1);
+        Task high = this.taskWithPriority("High", 3);
+        Task named = this.taskWithPriority("Named", "urgent");
+        matrix.addTask(low, Quadrant.SCHEDULE_IT);
+        matrix.addTask(named, Quadrant.SCHEDULE_IT);
+        matrix.addTask(high, Quadrant.SCHEDULE_IT);
+
+        low.putProperty("priority", "minor");
+
+        assertEquals(List.of(high), List.copyOf(priorities.getTasksBetween(0, 10)));
+        assertEquals(List.of(low, named), List.copyOf(priorities.getTasksBetween("a", "z")));
+        assertEquals(Set.of(named), priorities.getTasks("urgent"));
+    }
+
+    @Test
+    void rejectsBoundsOfDifferentClasses() {
+        EisenhowerMatrixSet<Task> matrix = new EisenhowerMatrixSet<>();
+        PropertyIndex priorities = new PropertyIndex(matrix, "priority", EPropertyIndex.SORTED);
+
+        assertThrows(ClassCastException.class, () -> priorities.getTasksBetween(0, "z"));
+        assertThrows(IllegalArgumentException.class, () -> priorities.getTasksBetween(10, 0));
+    }
+
+    @Test
+    void rejectsRangeLookupsOnHashIndex() {
+        EisenhowerMatrixSet<Task> matrix = new EisenhowerMatrixSet<>();
+        PropertyIndex priorities = new PropertyIndex(matrix, "priority", EPropertyIndex.HASH);
+
+        assertThrows(UnsupportedOperationException.class, () -> priorities.getTasksBetween(0, 10));
+    }
+
+    @Test
+    void unlinksTaskRemovedThroughAnEqualInstance() {
+        EisenhowerMatrixSet<Task> matrix = new EisenhowerMatrixSet<>();
+        PropertyIndex priorities = new PropertyIndex(matrix, "priority", EPropertyIndex.HASH);
+        matrix.addTask(this.taskWithPriority("Review", 2), Quadrant.DO_IT_NOW);
+
+        assertTrue(matrix.removeTask(this.taskWithPriority("Review", 2), Quadrant.DO_IT_NOW));
+
+        assertTrue(priorities.getTasks(2).isEmpty());
+    }
+
+    @Test
+    void cannotBeUsedOnceUnregistered() {
+        EisenhowerMatrixSet<Task> matrix = new EisenhowerMatrixSet<>();
+        PropertyIndex priorities = new PropertyIndex(matrix, "priority", EPropertyIndex.HASH);
+
+        priorities.unregister();
+
+        assertThrows(IllegalStateException.class, () -> priorities.getTasks(1));
+    }
+
+    private Task taskWithPriority(String name, Object priority) {
+        Task task = new Task(name, DATE);
+        task.putProperty("priority", priority);
+        return task;
+    }
+}
@@ -0,0 +1,104 @@
+package com.eisenhower.matrix;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eisenhower.util.Task;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of {@link SortedTasks}: ranks, pages and ranges, checked against a sorted list.
+ */
+class SortedTasksTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 3);
+
+    @Test
+    void matchesSortedListUnderRandomChanges() {
+        SortedTasks<Integer> tasks = new SortedTasks<>(new ArrayList<Integer>());
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 3000; i++) {
+            Integer value = random.nextInt(200);
+            if (random.nextInt(3) > 0) {
+                tasks.add(value);
+                int index = Collections.binarySearch(expected, value);
+                // After the values equal to it
+                while (index >= 0 && index < expected.size() && expected.get(index).equals(value)) {
+                    index++;
+                }
+                expected.add((index < 0) ? -index - 1 : index, value);
+            } else {
+                assertEquals(expected.remove(value), tasks.remove(value));
+            }
+
+            if (i % 100 == 0) {
+                this.assertMatches(expected, tasks, random);
+            }
+        }
+        this.assertMatches(expected, tasks, random);
+    }
+
+    @Test
+    void ranksTiesInInsertionOrder() {
+        Task first = new Task("First", DATE);
+        Task second = new Task("Second", DATE);
+        Task later = new Task("Later", DATE.plusDays(1));
+        Task earlier = new Task("Earlier", DATE.minusDays(1));
+        SortedTasks<Task> tasks = new SortedTasks<>(List.of(later, first, second, earlier));
+
+        assertEquals(List.of(earlier, first, second, later), tasks.toList());
+        assertEquals(1, tasks.rankOf(first));
+        assertEquals(2, tasks.rankOf(second));
+        assertEquals(-1, tasks.rankOf(new Task("Missing", DATE)));
+        assertEquals(List.of(first, second), tasks.toList(first, later));
+        assertEquals(List.of(second, later), tasks.toList(2, 5));
+        assertTrue(tasks.toList(4, 1).isEmpty());
+    }
+
+    @Test
+    void removesOnlyTheGivenInstance() {
+        Task task = new Task("Call supplier", DATE);
+        Task copy = new Task("Call supplier", DATE);
+        SortedTasks<Task> tasks = new SortedTasks<>(List.of(task, copy));
+
+        assertTrue(tasks.removeInstance(copy));
+        assertFalse(tasks.removeInstance(copy));
+
+        assertEquals(1, tasks.size());
+        assertSame(task, tasks.toList().get(0));
+    }
+
+    @Test
+    void copiesIndependently() {
+        SortedTasks<Integer> tasks = new SortedTasks<>(List.of(3, 1, 2));
+        SortedTasks<Integer> copy = new SortedTasks<>(tasks);
+
+        copy.add(0);
+        tasks.remove(2);
+
+        assertEquals(List.of(1, 3), tasks.toList());
+        assertEquals(List.of(0, 1, 2, 3), copy.toList());
+    }
+
+    private void assertMatches(List<Integer> expected, SortedTasks<Integer> tasks, Random random) {
+        assertEquals(expected.size(), tasks.size());
+        assertEquals(expected, tasks.toList());
+        for (int i = 0; i < 20; i++) {
+            Integer value = random.nextInt(200);
+            assertEquals(expected.indexOf(value), tasks.rankOf(value));
+
+            Integer to = value + random.nextInt(50);
+            assertEquals(expected.stream().filter(v -> v >= value && v < to).toList(), tasks.toList(value, to));
+
+            int offset = random.nextInt(expected.size() + 10);
+            int limit = random.nextInt(30);
+            List<Integer> page = expected.subList(Math.min(offset, expected.size()), Math.min(offset + limit, expected.size()));
+            assertEquals(page, tasks.toList(offset, limit));
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.eisenhower.matrix;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of {@link UrgencyPromoter}: promotions at their deadline, whatever the level of the
+ * timing wheel they were scheduled in.
+ */
+class UrgencyPromoterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 6, 3, 8, 0);
+    private static final Function<Task, Instant> DEADLINES = UrgencyPromoter.taskDeadlines(ZoneOffset.UTC);
+
+    @Test
+    void promotesTaskOnceItsDeadlineIsWithinHorizon() {
+        MutableClock clock = new MutableClock();
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task report = this.taskDueAt("Write report", START.plusHours(3));
+        matrix.addTask(report, Quadrant.SCHEDULE_IT);
+        UrgencyPromoter<Task> promoter = new UrgencyPromoter<>(matrix, DEADLINES, Duration.ofHours(1), clock);
+
+        assertTrue(promoter.schedule(report));
+        clock.advance(Duration.ofHours(2).minusSeconds(1));
+        assertEquals(0, promoter.advance());
+        assertEquals(Quadrant.SCHEDULE_IT, matrix.getQuadrant(report));
+
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(1, promoter.advance());
+        assertEquals(Quadrant.DO_IT_NOW, matrix.getQuadrant(report));
+        assertEquals(0, promoter.pendingCount());
+    }
+
+    @Test
+    void promotesUnimportantTaskToDelegate() {
+        MutableClock clock = new MutableClock();
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task mails = this.taskDueAt("Archive mails", START.plusMinutes(30));
+        matrix.addTask(mails, Quadrant.ELIMINATE_IT);
+        UrgencyPromoter<Task> promoter = new UrgencyPromoter<>(matrix, DEADLINES, Duration.ofHours(1), clock);
+
+        // Already within the horizon: promoted right away
+        assertTrue(promoter.schedule(mails));
+
+        assertEquals(Quadrant.DELEGATE_OR_OPTIMIZE_IT, matrix.getQuadrant(mails));
+        assertEquals(0, promoter.pendingCount());
+    }
+
+    @Test
+    void sweepsTasksScheduledOverSeveralLevels() {
+        MutableClock clock = new MutableClock();
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            // Deadlines spread from minutes to months ahead, on whole minutes
+            Task task = this.taskDueAt("Task " + i, START.plusMinutes(1 + random.nextInt(90 * 24 * 60)));
+            matrix.addTask(task, (i % 2 == 0) ? Quadrant.SCHEDULE_IT : Quadrant.ELIMINATE_IT);
+            tasks.add(task);
+        }
+        UrgencyPromoter<Task> promoter = new UrgencyPromoter<>(matrix, DEADLINES, Duration.ofMinutes(15), Duration.ofSeconds(1), clock);
+        assertEquals(tasks.size(), promoter.scheduleAll());
+
+        int promoted = 0;
+        while (promoter.pendingCount() > 0) {
+            clock.advance(Duration.ofMinutes(1 + random.nextInt(3 * 24 * 60)));
+            promoted += promoter.advance();
+            Instant now = clock.instant();
+            for (Task task : tasks) {
+                boolean due = !DEADLINES.apply(task).minus(Duration.ofMinutes(15)).isAfter(now);
+                assertEquals(due, matrix.getQuadrant(task).isUrgent(), task.toString());
+            }
+        }
+        assertEquals(tasks.size(), promoted);
+    }
+
+    @Test
+    void cancelsAndReschedulesPromotions() {
+        MutableClock clock = new MutableClock();
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task report = this.taskDueAt("Write report", START.plusHours(2));
+        Task call = this.taskDueAt("Call supplier", START.plusHours(2));
+        matrix.addTask(report, Quadrant.SCHEDULE_IT);
+        matrix.addTask(call, Quadrant.SCHEDULE_IT);
+        UrgencyPromoter<Task> promoter = new UrgencyPromoter<>(matrix, DEADLINES, Duration.ofHours(1), clock);
+        promoter.schedule(report);
+        promoter.schedule(call);
+
+        assertTrue(promoter.cancel(report));
+        assertFalse(promoter.cancel(report));
+        assertTrue(promoter.schedule(call));
+        assertEquals(1, promoter.pendingCount());
+
+        clock.advance(Duration.ofHours(1));
+        assertEquals(1, promoter.advance());
+        assertEquals(Quadrant.SCHEDULE_IT, matrix.getQuadrant(report));
+        assertEquals(Quadrant.DO_IT_NOW, matrix.getQuadrant(call));
+    }
+
+    @Test
+    void skipsTasksWithoutDeadlineOrRemoved() {
+        MutableClock clock = new MutableClock();
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task report = this.taskDueAt("Write report", START.plusHours(2));
+        matrix.addTask(report, Quadrant.SCHEDULE_IT);
+        UrgencyPromoter<Task> promoter = new UrgencyPromoter<>(matrix, task -> null, Duration.ofHours(1), clock);
+        UrgencyPromoter<Task> removed = new UrgencyPromoter<>(matrix, DEADLINES, Duration.ofHours(1), clock);
+
+        assertFalse(promoter.schedule(report));
+        assertTrue(removed.schedule(report));
+        matrix.removeTask(report, Quadrant.SCHEDULE_IT);
+        clock.advance(Duration.ofHours(1));
+
+        assertEquals(0, removed.advance());
+        assertEquals(0, removed.pendingCount());
+        assertNull(matrix.getQuadrant(report));
+    }
+
+    @Test
+    void followsTasksAddedToMatrixAndTheirDateChanges() {
+        MutableClock clock = new MutableClock();
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        Task existing = this.taskDueAt("Plan week", START.plusHours(2));
+        matrix.addTask(existing, Quadrant.SCHEDULE_IT);
+        UrgencyPromoter<Task> promoter = new UrgencyPromoter<>(matrix, DEADLINES, Duration.ofHours(1), clock);
+        Task report = this.taskDueAt("Write report", START.plusHours(3));
+        Task copy = this.taskDueAt("Write report", START.plusHours(3));
+        matrix.addTask(report, Quadrant.SCHEDULE_IT);
+        matrix.addTask(copy, Quadrant.ELIMINATE_IT);
+        assertEquals(3, promoter.pendingCount());
+
+        // Postponed: its promotion moves with its date
+        report.putProperty(TaskProperties.DATE, START.toLocalDate().plusDays(1));
+        clock.advance(Duration.ofHours(2));
+        assertEquals(2, promoter.advance());
+        assertEquals(Quadrant.DO_IT_NOW, matrix.getQuadrant(existing));
+        assertEquals(Quadrant.SCHEDULE_IT, matrix.getQuadrant(report));
+        assertSame(copy, matrix.getTasks(Quadrant.DELEGATE_OR_OPTIMIZE_IT).iterator().next());
+
+        // Brought forward: already due, promoted by the next advance
+        report.putProperty(TaskProperties.DATE, START.toLocalDate());
+        assertEquals(Quadrant.SCHEDULE_IT, matrix.getQuadrant(report));
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(1, promoter.advance());
+        assertEquals(Quadrant.DO_IT_NOW, matrix.getQuadrant(report));
+        assertEquals(0, promoter.pendingCount());
+    }
+
+    @Test
+    void stopsFollowingTasksRemovedOrUnregistered() {
+        MutableClock clock = new MutableClock();
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        UrgencyPromoter<Task> promoter = new UrgencyPromoter<>(matrix, DEADLINES, Duration.ofHours(1), clock);
+        Task report = this.taskDueAt("Write report", START.plusHours(3));
+        matrix.addTask(report, Quadrant.SCHEDULE_IT);
+        // Found by instance, even after its hash code has changed
+        report.putProperty(TaskProperties.LOCATION, "Office");
+        matrix.removeTask(report, Quadrant.SCHEDULE_IT);
+        assertEquals(0, promoter.pendingCount());
+
+        promoter.unregister();
+        matrix.addTask(report, Quadrant.SCHEDULE_IT);
+        assertEquals(0, promoter.pendingCount());
+        clock.advance(Duration.ofHours(3));
+        assertEquals(0, promoter.advance());
+        assertEquals(Quadrant.SCHEDULE_IT, matrix.getQuadrant(report));
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        EisenhowerMatrixList<Task> matrix = new EisenhowerMatrixList<>();
+        MutableClock clock = new MutableClock();
+
+        assertThrows(IllegalArgumentException.class, () -> new UrgencyPromoter<>(matrix, DEADLINES, Duration.ofHours(-1), clock));
+        assertThrows(IllegalArgumentException.class, () -> new UrgencyPromoter<>(matrix, DEADLINES, Duration.ZERO, Duration.ofNanos(1), clock));
+        assertThrows(NullPointerException.class, () -> new UrgencyPromoter<>(matrix, DEADLINES, Duration.ZERO, null));
+    }
+
+    // -------------------------------------------------------------------------
+
+    private Task taskDueAt(String name, LocalDateTime deadline) {
+        Task task = new Task(name, deadline.toLocalDate());
+        task.putProperty(TaskProperties.TIME, deadline.toLocalTime());
+        return task;
+    }
+
+    /**
+     * A clock which only moves when told to.
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant = START.toInstant(ZoneOffset.UTC);
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.eisenhower.offheap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eisenhower.matrix.EisenhowerMatrix;
+import com.eisenhower.util.EQuadrantsSorting;
+import com.eisenhower.util.Quadrant;
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of {@link OffHeapEisenhowerMatrix}: lookups of tasks by deep equality, sorted pages, and
+ * copies with a cleared quadrant.
+ */
+class OffHeapEisenhowerMatrixTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 3);
+
+    @Test
+    void findsTasksByDeepEquality() {
+        OffHeapEisenhowerMatrix matrix = new OffHeapEisenhowerMatrix();
+        for (int i = 0; i < 100; i++) {
+            matrix.addTask(this.task("Task " + i, i), Quadrant.values()[i % 4]);
+        }
+
+        assertEquals(Quadrant.SCHEDULE_IT, matrix.getQuadrant(this.task("Task 41", 41)));
+        assertTrue(matrix.containsTask(this.task("Task 42", 42), Quadrant.DELEGATE_OR_OPTIMIZE_IT));
+        assertFalse(matrix.containsTask(this.task("Task 42", 43)));
+        assertTrue(matrix.removeTask(this.task("Task 42", 42), Quadrant.DELEGATE_OR_OPTIMIZE_IT));
+        assertFalse(matrix.containsTask(this.task("Task 42", 42)));
+        assertNull(matrix.getQuadrant(this.task("Task 42", 42)));
+        assertEquals(99, matrix.getAllTasks().size());
+    }
+
+    @Test
+    void removesFirstOccurrenceOfTask() {
+        OffHeapEisenhowerMatrix matrix = new OffHeapEisenhowerMatrix();
+        long first = matrix.insert(this.task("Call supplier", 1), Quadrant.DO_IT_NOW);
+        matrix.insert(this.task("Write report", 1), Quadrant.DO_IT_NOW);
+        long second = matrix.insert(this.task("Call supplier", 1), Quadrant.DO_IT_NOW);
+        matrix.insert(this.task("Call supplier", 1), Quadrant.ELIMINATE_IT);
+
+        assertEquals(EnumSet.of(Quadrant.DO_IT_NOW, Quadrant.ELIMINATE_IT), matrix.getQuadrants(this.task("Call supplier", 1)));
+        assertTrue(matrix.removeTask(this.task("Call supplier", 1), Quadrant.DO_IT_NOW));
+        assertFalse(matrix.containsTask(first));
+        assertTrue(matrix.containsTask(second));
+
+        assertTrue(matrix.removeTaskOccurrences(this.task("Call supplier", 1)));
+        assertEquals(List.of(this.task("Write report", 1)), matrix.getTasks(Quadrant.DO_IT_NOW));
+        assertTrue(matrix.getTasks(Quadrant.ELIMINATE_IT).isEmpty());
+    }
+
+    @Test
+    void keepsLookupsInSyncWithRemovals() {
+        OffHeapEisenhowerMatrix matrix = new OffHeapEisenhowerMatrix();
+        List<Task> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            Task task = this.task("Task " + random.nextInt(50), random.nextInt(3));
+            if (random.nextBoolean()) {
+                matrix.addTask(task, Quadrant.DO_IT_NOW);
+                expected.add(task);
+            } else {
+                assertEquals(expected.remove(task), matrix.removeTask(task, Quadrant.DO_IT_NOW));
+            }
+        }
+
+        assertEquals(expected, matrix.getTasks(Quadrant.DO_IT_NOW));
+        for (Task task : expected) {
+            assertTrue(matrix.containsTask(task));
+        }
+    }
+
+    @Test
+    void keepsSortedPagesInSyncWithChanges() {
+        OffHeapEisenhowerMatrix matrix = new OffHeapEisenhowerMatrix();
+        List<Task> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            Task task = new Task("Task " + i, DATE.plusDays(random.nextInt(30)));
+            long handle = matrix.insert(task, Quadrant.SCHEDULE_IT);
+            expected.add(task);
+            if (i % 7 == 0) {
+                matrix.moveTask(handle, Quadrant.DO_IT_NOW);
+                expected.remove(task);
+            } else if (i % 11 == 0) {
+                matrix.removeTask(handle);
+                expected.remove(task);
+            }
+
+            if (i % 50 == 0) {
+                // Read twice, the second time from the sorted order kept
+                for (int round = 0; round < 2; round++) {
+                    List<Task> sortedTasks = new ArrayList<>(expected);
+                    sortedTasks.sort(null);
+                    int offset = random.nextInt(expected.size() + 5);
+                    int to = Math.min(offset + 20, expected.size());
+                    assertEquals(sortedTasks.subList(Math.min(offset, to), to), matrix.getTasksSorted(Quadrant.SCHEDULE_IT, offset, 20));
+                    assertEquals(sortedTasks, matrix.getTasksSorted(Quadrant.SCHEDULE_IT));
+                }
+            }
+        }
+        assertEquals(expected.size(), matrix.getHandlesSorted(Quadrant.SCHEDULE_IT).length);
+        assertEquals(matrix.getTasksSorted(Quadrant.DO_IT_NOW), matrix.streamAllTasksSorted(EQuadrantsSorting.IMPORTANCE_OVER_URGENCY)
+                .limit(matrix.size(Quadrant.DO_IT_NOW)).toList());
+    }
+
+    @Test
+    void clearsQuadrantInCopy() {
+        OffHeapEisenhowerMatrix matrix = new OffHeapEisenhowerMatrix();
+        long kept = matrix.insert(this.task("Write report", 1), Quadrant.DO_IT_NOW);
+        long cleared = matrix.insert(this.task("Plan week", 2), Quadrant.SCHEDULE_IT);
+
+        OffHeapEisenhowerMatrix copy = (OffHeapEisenhowerMatrix) matrix.clearQuadrant(Quadrant.SCHEDULE_IT);
+
+        assertTrue(copy.getTasks(Quadrant.SCHEDULE_IT).isEmpty());
+        assertFalse(copy.containsTask(cleared));
+        assertFalse(copy.containsTask(this.task("Plan week", 2)));
+        assertEquals(this.task("Write report", 1), copy.getTask(kept));
+        assertEquals(Quadrant.DO_IT_NOW, copy.getQuadrant(this.task("Write report", 1)));
+
+        // Both matrices change independently
+        matrix.removeTask(kept);
+        copy.insert(this.task("Archive mails", 3), Quadrant.SCHEDULE_IT);
+        assertTrue(copy.containsTask(kept));
+        assertTrue(matrix.containsTask(cleared));
+        assertEquals(List.of(this.task("Plan week", 2)), matrix.getTasks(Quadrant.SCHEDULE_IT));
+        assertEquals(List.of(this.task("Archive mails", 3)), copy.getTasks(Quadrant.SCHEDULE_IT));
+    }
+
+    @Test
+    void clearsQuadrantBySide() {
+        EisenhowerMatrix<Task> matrix = new OffHeapEisenhowerMatrix();
+        matrix.addTask(this.task("Write report", 1), true, true);
+
+        EisenhowerMatrix<Task> copy = matrix.clearQuadrant(true, true);
+
+        assertTrue(copy.getAllTasks().isEmpty());
+        assertEquals(1, matrix.getAllTasks().size());
+    }
+
+    private Task task(String name, int priority) {
+        Task task = new Task(name, DATE);
+        task.putProperty(TaskProperties.PRIORITY, priority);
+        return task;
+    }
+}
@@ -0,0 +1,90 @@
+package com.eisenhower.offheap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.eisenhower.util.Task;
+import com.eisenhower.util.TaskProperties;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of {@link TaskArena}: storage of tasks, and generations of the handles of reused records.
+ */
+class TaskArenaTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 3);
+
+    @Test
+    void readsBackStoredTask() {
+        TaskArena arena = new TaskArena();
+        Task task = new Task("Write report", DATE);
+        task.putProperty(TaskProperties.TIME, LocalTime.of(9, 30));
+        task.putProperty(TaskProperties.LOCATION, "Office");
+        task.putProperty(TaskProperties.PRIORITY, 2);
+
+        long handle = arena.allocate(task);
+
+        assertTrue(arena.get(handle).deepEquals(task));
+        assertEquals("Write report", arena.name(handle));
+        assertEquals(DATE.toEpochDay(), arena.epochDay(handle));
+        assertEquals(2, arena.priority(handle, 0));
+        assertEquals(1, arena.size());
+    }
+
+    @Test
+    void invalidatesHandleOfFreedTask() {
+        TaskArena arena = new TaskArena();
+        long handle = arena.allocate(new Task("Write report", DATE));
+
+        assertTrue(arena.free(handle));
+
+        assertFalse(arena.isLive(handle));
+        assertFalse(arena.free(handle));
+        assertThrows(IllegalArgumentException.class, () -> arena.get(handle));
+        assertEquals(0, arena.size());
+    }
+
+    @Test
+    void reusesRecordWithNewGeneration() {
+        TaskArena arena = new TaskArena();
+        long freed = arena.allocate(new Task("Write report", DATE));
+        arena.free(freed);
+
+        Task call = new Task("Call supplier", DATE);
+        long reused = arena.allocate(call);
+
+        assertEquals((int) freed, arena.record(reused));
+        assertNotEquals(freed, reused);
+        assertFalse(arena.isLive(freed));
+        assertTrue(arena.isLive(reused));
+        assertThrows(IllegalArgumentException.class, () -> arena.get(freed));
+        assertFalse(arena.free(freed));
+        assertTrue(arena.get(reused).deepEquals(call));
+    }
+
+    @Test
+    void copiesTasksUnderSameHandles() {
+        TaskArena arena = new TaskArena();
+        Task task = new Task("Write report", DATE);
+        task.putProperty(TaskProperties.MORE_INFO, "Quarterly figures");
+        long handle = arena.allocate(task);
+
+        TaskArena copy = new TaskArena(arena);
+        arena.free(handle);
+
+        assertTrue(copy.isLive(handle));
+        assertTrue(copy.get(handle).deepEquals(task));
+        assertNotEquals(copy.allocate(task), handle);
+    }
+
+    @Test
+    void rejectsTasksWhichCannotBeStored() {
+        TaskArena arena = new TaskArena();
+        Task task = new Task("Write report", DATE);
+        task.putProperty("owner", "Alice");
+
+        assertThrows(IllegalArgumentException.class, () -> arena.allocate(task));
+        assertEquals(0, arena.size());
+    }
+}
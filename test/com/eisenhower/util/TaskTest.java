@@ -0,0 +1,172 @@
+package com.eisenhower.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.ref.WeakReference;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of {@link Task}, in particular of the notifications sent to its listeners.
+ */
+class TaskTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 3);
+
+    @Test
+    void notifiesListenersBeforeAndAfterPropertyChange() {
+        Task task = new Task("Write report", DATE);
+        List<String> events = new ArrayList<>();
+        task.addPropertyListener(new TaskPropertyListener() {
+            @Override
+            public void propertyChanging(Task t, String key, Object oldValue, Object newValue) {
+                events.add("changing " + key + " " + t.getProperty(key));
+            }
+
+            @Override
+            public void propertyChanged(Task t, String key, Object oldValue, Object newValue) {
+                events.add("changed " + key + " " + t.getProperty(key));
+            }
+        });
+
+        task.putProperty("owner", "Alice");
+        task.removeProperty("missing");
+
+        assertEquals(List.of("changing owner null", "changed owner Alice"), events);
+    }
+
+    @Test
+    void rejectedChangeLeavesPropertyUnchanged() {
+        Task task = new Task("Write report", DATE);
+        task.putProperty("owner", "Alice");
+        List<Object> notified = new ArrayList<>();
+        task.addPropertyListener((t, key, oldValue, newValue) -> notified.add(newValue));
+        task.addPropertyListener(new TaskPropertyListener() {
+            @Override
+            public void propertyChanging(Task t, String key, Object oldValue, Object newValue) {
+                throw new IllegalArgumentException("Rejected.");
+            }
+
+            @Override
+            public void propertyChanged(Task t, String key, Object oldValue, Object newValue) {
+                fail("Rejected change notified.");
+            }
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> task.putProperty("owner", "Bob"));
+        assertEquals("Alice", task.getProperty("owner"));
+        assertEquals(List.of("Alice"), notified);
+    }
+
+    @Test
+    void notifiesAncestorsOfSubtaskChanges() {
+        Task leaf = new Task("Collect figures", DATE);
+        Task middle = new Task("Draft", DATE);
+        Task root = new Task("Write report", DATE);
+        middle.getSubtasks().add(leaf);
+        root.getSubtasks().add(middle);
+        List<String> events = new ArrayList<>();
+        root.addPropertyListener(new TaskPropertyListener() {
+            @Override
+            public void propertyChanged(Task t, String key, Object oldValue, Object newValue) {
+                events.add("changed");
+            }
+
+            @Override
+            public void subtasksChanging(Task t) {
+                events.add("subtasks changing " + t.hashCode());
+            }
+
+            @Override
+            public void subtasksChanged(Task t) {
+                events.add("subtasks changed " + t.hashCode());
+            }
+        });
+        int before = root.hashCode();
+
+        leaf.putProperty("owner", "Alice");
+
+        assertEquals(List.of("subtasks changing " + before, "subtasks changed " + root.hashCode()), events);
+        assertNotEquals(before, root.hashCode());
+    }
+
+    @Test
+    void invalidatesHashCodeOfCopiesSharingASubtask() {
+        Task subtask = new Task("Collect figures", DATE);
+        Task task = new Task("Write report", DATE);
+        task.getSubtasks().add(subtask);
+        Task copy = (Task) task.clone();
+        int hashBefore = copy.hashCode();
+
+        subtask.putProperty("owner", "Alice");
+
+        assertNotEquals(hashBefore, copy.hashCode());
+        assertEquals(task.hashCode(), copy.hashCode());
+    }
+
+    @Test
+    void invalidatesParentOfSubtaskHashingToZero() {
+        Task subtask = new Task("Collect figures", DATE);
+        // Add the property which brings the deep hash of the subtask, 31 * (31 + p) + 1, to 0
+        int inverse = 31;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - 31 * inverse;
+        }
+        int properties = (subtask.hashCode() - 1) * inverse - 31;
+        int target = -inverse - 31;
+        subtask.putProperty("filler", (target - properties) ^ "filler".hashCode());
+        Task task = new Task("Write report", DATE);
+        task.getSubtasks().add(subtask);
+        int hashBefore = task.hashCode();
+
+        assertEquals(1, subtask.hashCode());
+        subtask.putProperty("owner", "Alice");
+
+        assertNotEquals(hashBefore, task.hashCode());
+    }
+
+    @Test
+    void subtasksDoNotRetainCopiesOfTheirParents() {
+        Task subtask = new Task("Collect figures", DATE);
+        Task task = new Task("Write report", DATE);
+        task.getSubtasks().add(subtask);
+        WeakReference<Task> copy = new WeakReference<>((Task) task.clone());
+        WeakReference<Task> identified = new WeakReference<>(task.withIdentity());
+
+        for (int i = 0; i < 50 && (copy.get() != null || identified.get() != null); i++) {
+            System.gc();
+            subtask.putProperty("attempt", i);
+        }
+
+        assertNull(copy.get());
+        assertNull(identified.get());
+        assertEquals(1, task.getSubtasks().size());
+    }
+
+    @Test
+    void removedSubtasksStopInvalidatingTheirFormerParent() {
+        Task subtask = new Task("Collect figures", DATE);
+        Task task = new Task("Write report", DATE);
+        task.getSubtasks().add(subtask);
+        task.getSubtasks().remove(subtask);
+        int hashBefore = task.hashCode();
+        List<Task> notified = new ArrayList<>();
+        task.addPropertyListener(new TaskPropertyListener() {
+            @Override
+            public void propertyChanged(Task t, String key, Object oldValue, Object newValue) {
+            }
+
+            @Override
+            public void subtasksChanging(Task t) {
+                notified.add(t);
+            }
+        });
+
+        subtask.putProperty("owner", "Alice");
+
+        assertEquals(hashBefore, task.hashCode());
+        assertTrue(notified.isEmpty());
+    }
+}